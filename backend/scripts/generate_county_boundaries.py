@@ -0,0 +1,134 @@
+#!/usr/bin/env python3
+"""Generate approximate county boundaries for CountyLocator.
+
+Writes src/main/resources/gazetteer/kenya-counties.geojson: every place in
+gazetteer/kenya-places.csv gets the part of a coarse national outline that is
+closer to it than to any other place (a Voronoi cell), and a county is the
+MultiPolygon of its places' cells. Adding places to the gazetteer and re-running
+sharpens the boundaries.
+
+The result is marked "approximate": CountyLocator then trusts the typed county
+name first and uses these shapes only when the names do not resolve. Replace the
+file with the IEBC or GADM county boundaries (any FeatureCollection with a county
+code or name per feature, without the "approximate" member) to make coordinates
+authoritative.
+
+Usage: python3 scripts/generate_county_boundaries.py   (from backend/)
+"""
+import csv
+import json
+import os
+import re
+
+BACKEND = os.path.dirname(os.path.dirname(os.path.abspath(__file__)))
+PLACES = os.path.join(BACKEND, "src/main/resources/gazetteer/kenya-places.csv")
+COUNTIES = os.path.join(BACKEND, "src/main/java/com/tujulishanehub/backend/models/KenyaCounty.java")
+OUTPUT = os.path.join(BACKEND, "src/main/resources/gazetteer/kenya-counties.geojson")
+
+# Coarse national outline as [lng, lat], counter-clockwise from the Uganda border on
+# Lake Victoria; accurate to a few tens of kilometres, which is all a Voronoi
+# approximation can use
+OUTLINE = [
+    (34.02, 0.22), (33.93, -0.45), (33.92, -1.00),
+    (37.60, -2.98), (37.75, -3.25), (37.60, -3.45), (37.80, -3.68), (39.20, -4.68),
+    (39.45, -4.45), (39.68, -4.06), (39.85, -3.75), (40.12, -3.25), (40.18, -2.90),
+    (40.25, -2.60), (40.65, -2.45), (40.90, -2.27), (41.20, -2.00), (41.56, -1.66),
+    (41.00, -0.87), (41.00, 2.80), (41.90, 3.98),
+    (41.15, 3.95), (40.78, 4.28), (39.85, 3.85), (39.06, 3.52), (38.48, 3.62),
+    (38.12, 3.60), (36.85, 4.44), (36.04, 4.45), (35.94, 4.62),
+    (35.80, 5.02), (35.10, 5.00), (34.39, 4.61), (33.99, 4.22),
+    (34.40, 3.75), (34.45, 3.20), (34.95, 2.55), (34.90, 1.90), (34.80, 1.25),
+    (34.55, 1.12), (34.27, 0.63), (34.11, 0.46),
+]
+
+
+def county_codes():
+    codes = {}
+    with open(COUNTIES, encoding="utf-8") as f:
+        for code, name in re.findall(r'[A-Z_]+\((\d+), "([^"]+)"\)', f.read()):
+            codes[name] = int(code)
+    return codes
+
+
+def places():
+    rows = []
+    with open(PLACES, encoding="utf-8") as f:
+        for row in csv.reader(line for line in f if not line.startswith("#")):
+            if len(row) >= 5 and row[0] != "type":
+                rows.append((row[2].strip(), float(row[4]), float(row[3])))
+    return rows
+
+
+def clip(polygon, a, b, c):
+    """Part of polygon where a*x + b*y <= c (Sutherland-Hodgman against one half-plane)"""
+    result = []
+    for i, current in enumerate(polygon):
+        previous = polygon[i - 1]
+        inside_current = a * current[0] + b * current[1] <= c
+        inside_previous = a * previous[0] + b * previous[1] <= c
+        if inside_current != inside_previous:
+            dx, dy = current[0] - previous[0], current[1] - previous[1]
+            t = (c - a * previous[0] - b * previous[1]) / (a * dx + b * dy)
+            result.append((previous[0] + t * dx, previous[1] + t * dy))
+        if inside_current:
+            result.append(current)
+    return result
+
+
+def cell(point, others):
+    polygon = list(OUTLINE)
+    for other in others:
+        if other == point:
+            continue
+        # Closer to point than to other: (other - point) . x <= (|other|^2 - |point|^2) / 2
+        a, b = other[0] - point[0], other[1] - point[1]
+        c = (other[0] ** 2 + other[1] ** 2 - point[0] ** 2 - point[1] ** 2) / 2
+        polygon = clip(polygon, a, b, c)
+        if len(polygon) < 3:
+            return None
+    return polygon
+
+
+def main():
+    codes = county_codes()
+    rows = places()
+    points = sorted({(lng, lat) for _, lng, lat in rows})
+    owner = {}
+    for county, lng, lat in rows:
+        owner.setdefault((lng, lat), county)
+
+    cells = {}
+    for point in points:
+        polygon = cell(point, points)
+        if polygon:
+            ring = [[round(x, 4), round(y, 4)] for x, y in polygon]
+            ring.append(ring[0])
+            cells.setdefault(owner[point], []).append([ring])
+
+    features = []
+    for county in sorted(cells, key=lambda name: codes.get(name, 0)):
+        if county not in codes:
+            raise SystemExit("Unknown county in gazetteer: " + county)
+        features.append({
+            "type": "Feature",
+            "properties": {"code": codes[county], "name": county},
+            "geometry": {"type": "MultiPolygon", "coordinates": cells[county]},
+        })
+    missing = sorted(set(codes) - set(cells))
+    if missing:
+        raise SystemExit("No cell for counties: " + ", ".join(missing))
+
+    collection = {
+        "type": "FeatureCollection",
+        "approximate": True,
+        "source": "Generated by scripts/generate_county_boundaries.py from gazetteer/kenya-places.csv",
+        "features": features,
+    }
+    with open(OUTPUT, "w", encoding="utf-8") as f:
+        json.dump(collection, f, separators=(",", ":"))
+        f.write("\n")
+    print("Wrote %d counties from %d places to %s" % (len(features), len(points), OUTPUT))
+
+
+if __name__ == "__main__":
+    main()
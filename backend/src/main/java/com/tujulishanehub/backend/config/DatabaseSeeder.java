@@ -234,6 +234,7 @@ public class DatabaseSeeder {
                 loc.setMapsAddress(locData.mapsAddress);
                 loc.setLatitude(locData.latitude);
                 loc.setLongitude(locData.longitude);
+                loc.setGeocodeStatus(ProjectLocation.GeocodeStatus.PROVIDED);
                 loc.setCreatedAt(LocalDateTime.now());
                 locations.add(loc);
             }
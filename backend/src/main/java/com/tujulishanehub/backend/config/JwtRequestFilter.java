@@ -38,8 +38,9 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             token = authHeader.substring(7);
             try {
-                username = jwtUtil.getUsernameFromToken(token);
-                role = jwtUtil.getRoleFromToken(token);
+                JwtUtil.VerifiedClaims claims = jwtUtil.verifyToken(token);
+                username = claims.getUsername();
+                role = claims.getRole();
             } catch (Exception e) {
                 logger.warn("JWT parsing failed for request {} {}: {}", request.getMethod(), request.getRequestURI(), e.getMessage());
             }
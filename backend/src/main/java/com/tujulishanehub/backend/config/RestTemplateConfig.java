@@ -1,14 +1,45 @@
 package com.tujulishanehub.backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 @Configuration
 public class RestTemplateConfig {
     
     @Bean
+    @Primary
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
-}
\ No newline at end of file
+    
+    /**
+     * Shared client for the geocoding provider: one pooled HTTP client with timeouts,
+     * and the User-Agent header Nominatim requires set once for every request
+     */
+    @Bean
+    public RestTemplate geocodingRestTemplate(
+            @Value("${geocoding.http.connect-timeout-ms:3000}") long connectTimeoutMs,
+            @Value("${geocoding.http.read-timeout-ms:10000}") long readTimeoutMs,
+            @Value("${geocoding.user-agent:TujulishaneHub/1.0 (contact@tujulishanehub.org)}") String userAgent) {
+        HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add((request, body, execution) -> {
+            request.getHeaders().set("User-Agent", userAgent);
+            return execution.execute(request, body);
+        });
+        return restTemplate;
+    }
+}
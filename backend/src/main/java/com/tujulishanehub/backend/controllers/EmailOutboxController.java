@@ -0,0 +1,127 @@
+package com.tujulishanehub.backend.controllers;
+
+import com.tujulishanehub.backend.payload.ApiResponse;
+import com.tujulishanehub.backend.services.EmailOutboxDispatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Admin view of the outgoing email queue
+ */
+@RestController
+@RequestMapping("/api/admin/email-outbox")
+@PreAuthorize("hasRole('SUPER_ADMIN')")
+public class EmailOutboxController {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxController.class);
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    @Autowired
+    private EmailOutboxDispatcher emailOutboxDispatcher;
+
+    /**
+     * Get queue depth by status, age of the oldest unsent email and recent send latency
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getStatistics() {
+        try {
+            Map<String, Object> stats = emailOutboxDispatcher.getStatistics();
+
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Email outbox statistics retrieved successfully",
+                stats
+            );
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            logger.error("Error retrieving email outbox statistics: {}", e.getMessage(), e);
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "Failed to retrieve email outbox statistics: " + e.getMessage(),
+                null
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Get emails that were given up on after the maximum number of attempts
+     */
+    @GetMapping("/dead-letters")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getDeadLetters(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            Page<Map<String, Object>> deadLetters = emailOutboxDispatcher.getDeadLetters(
+                Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("emails", deadLetters.getContent());
+            result.put("currentPage", deadLetters.getNumber());
+            result.put("totalItems", deadLetters.getTotalElements());
+            result.put("totalPages", deadLetters.getTotalPages());
+            result.put("hasNext", deadLetters.hasNext());
+            result.put("hasPrevious", deadLetters.hasPrevious());
+
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Dead-lettered emails retrieved successfully",
+                result
+            );
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            logger.error("Error retrieving dead-lettered emails: {}", e.getMessage(), e);
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "Failed to retrieve dead-lettered emails: " + e.getMessage(),
+                null
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Re-queue a dead-lettered email
+     */
+    @PostMapping("/{id}/retry")
+    public ResponseEntity<ApiResponse<Void>> retry(@PathVariable Long id) {
+        try {
+            emailOutboxDispatcher.retry(id);
+
+            ApiResponse<Void> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Email re-queued for delivery",
+                null
+            );
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalStateException e) {
+            ApiResponse<Void> response = new ApiResponse<>(
+                HttpStatus.BAD_REQUEST.value(),
+                e.getMessage(),
+                null
+            );
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            logger.error("Error re-queueing email {}: {}", id, e.getMessage(), e);
+            ApiResponse<Void> response = new ApiResponse<>(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "Failed to re-queue email: " + e.getMessage(),
+                null
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+}
@@ -2,29 +2,34 @@ package com.tujulishanehub.backend.controllers;
 
 import com.tujulishanehub.backend.models.ApprovalStatus;
 import com.tujulishanehub.backend.models.Organization;
+import com.tujulishanehub.backend.models.OrganizationLogo;
 import com.tujulishanehub.backend.models.User;
 import com.tujulishanehub.backend.payload.ApiResponse;
+import com.tujulishanehub.backend.services.OrganizationLogoService;
 import com.tujulishanehub.backend.services.OrganizationService;
 import com.tujulishanehub.backend.services.UserService;
+import com.tujulishanehub.backend.util.KeysetCursor;
+import com.tujulishanehub.backend.util.KeysetPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
+import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/organizations")
@@ -35,6 +40,9 @@ public class OrganizationController {
     @Autowired
     private OrganizationService organizationService;
     
+    @Autowired
+    private OrganizationLogoService organizationLogoService;
+    
     @Autowired
     private UserService userService;
     
@@ -77,28 +85,28 @@ public class OrganizationController {
     
     /**
      * Get all organizations with pagination
+     *
+     * Either by page number, or (faster for deep pages) from the nextCursor of the previous page.
+     * sortBy is one of id, created_at or name. The total is counted by default in page mode and
+     * only with includeTotal=true in cursor mode; counts are cached for a few seconds.
      */
     @GetMapping
     public ResponseEntity<ApiResponse<Map<String, Object>>> getAllOrganizations(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean includeTotal) {
         
         try {
-            Sort sort = sortDir.equalsIgnoreCase("desc") ? 
-                Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+            KeysetPage<Organization> organizationPage = cursor != null
+                ? organizationService.getOrganizationsAfter(KeysetCursor.decode(cursor), size, Boolean.TRUE.equals(includeTotal))
+                : organizationService.getAllOrganizations(KeysetCursor.SortKey.fromParam(sortBy),
+                    sortDir.equalsIgnoreCase("desc"), page, size, !Boolean.FALSE.equals(includeTotal));
             
-            Pageable pageable = PageRequest.of(page, size, sort);
-            Page<Organization> organizationPage = organizationService.getAllOrganizations(pageable);
-            
-            Map<String, Object> data = new HashMap<>();
-            data.put("organizations", organizationPage.getContent());
-            data.put("currentPage", organizationPage.getNumber());
-            data.put("totalItems", organizationPage.getTotalElements());
-            data.put("totalPages", organizationPage.getTotalPages());
-            data.put("hasNext", organizationPage.hasNext());
-            data.put("hasPrevious", organizationPage.hasPrevious());
+            Map<String, Object> data = organizationPage.toPageData(cursor == null ? page : null, size);
+            data.put("organizations", organizationPage.getItems());
             
             ApiResponse<Map<String, Object>> response = new ApiResponse<>(
                 HttpStatus.OK.value(), 
@@ -107,6 +115,13 @@ public class OrganizationController {
             );
             return ResponseEntity.ok(response);
             
+        } catch (IllegalArgumentException e) {
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.BAD_REQUEST.value(), 
+                e.getMessage(), 
+                null
+            );
+            return ResponseEntity.badRequest().body(response);
         } catch (Exception e) {
             logger.error("Error retrieving organizations: {}", e.getMessage(), e);
             ApiResponse<Map<String, Object>> response = new ApiResponse<>(
@@ -275,14 +290,16 @@ public class OrganizationController {
             organizationDetails.setWebsiteUrl(websiteUrl);
             organizationDetails.setRegistrationNumber(registrationNumber);
             
-            // Handle logo file if provided
+            // The details and the logo are saved together, or not at all
+            byte[] logoData = null;
+            String logoContentType = null;
             if (logoFile != null && !logoFile.isEmpty()) {
-                organizationDetails.setLogoData(logoFile.getBytes());
-                organizationDetails.setLogoContentType(logoFile.getContentType());
                 logger.info("Logo file received: {} bytes, content type: {}", logoFile.getSize(), logoFile.getContentType());
+                logoData = logoFile.getBytes();
+                logoContentType = logoFile.getContentType();
             }
-            
-            Organization updatedOrganization = organizationService.updateOrganization(id, organizationDetails);
+            Organization updatedOrganization = organizationService.updateOrganization(id, organizationDetails,
+                logoData, logoContentType);
             
             ApiResponse<Organization> response = new ApiResponse<>(
                 HttpStatus.OK.value(), 
@@ -311,10 +328,15 @@ public class OrganizationController {
     }
 
     /**
-     * Get organization logo as image
+     * Get organization logo as image.
+     * Optional size returns a PNG thumbnail fitting within size x size (32, 64, 128 or 256).
+     * Conditional requests are answered from Organization metadata without reading the image.
      */
     @GetMapping("/{id}/logo")
-    public ResponseEntity<?> getOrganizationLogo(@PathVariable Long id) {
+    public ResponseEntity<?> getOrganizationLogo(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
         try {
             Organization organization = organizationService.getOrganizationById(id).orElse(null);
             
@@ -327,7 +349,35 @@ public class OrganizationController {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
             }
             
-            if (organization.getLogoData() == null || organization.getLogoData().length == 0) {
+            if (organization.getLogoEtag() == null) {
+                ApiResponse<Object> response = new ApiResponse<>(
+                    HttpStatus.NOT_FOUND.value(),
+                    "Logo not found",
+                    null
+                );
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+            
+            if (size != null && !OrganizationLogoService.THUMBNAIL_SIZES.contains(size)) {
+                ApiResponse<Object> response = new ApiResponse<>(
+                    HttpStatus.BAD_REQUEST.value(),
+                    "Unsupported logo size. Allowed sizes: " + OrganizationLogoService.THUMBNAIL_SIZES,
+                    null
+                );
+                return ResponseEntity.badRequest().body(response);
+            }
+            
+            String etag = size == null ? organization.getLogoEtag() : organization.getLogoEtag() + "-" + size;
+            long lastModified = organization.getLogoUpdatedAt() != null
+                ? organization.getLogoUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+            if (webRequest.checkNotModified(etag, lastModified)) {
+                // 304 Not Modified has already been prepared
+                return null;
+            }
+            
+            OrganizationLogo logo = organizationLogoService.getLogo(id).orElse(null);
+            if (logo == null) {
                 ApiResponse<Object> response = new ApiResponse<>(
                     HttpStatus.NOT_FOUND.value(),
                     "Logo not found",
@@ -336,13 +386,25 @@ public class OrganizationController {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
             }
             
-            String contentType = organization.getLogoContentType() != null ? 
-                organization.getLogoContentType() : "image/jpeg";
+            byte[] body = logo.getData();
+            String contentType = logo.getContentType() != null ? logo.getContentType() : "image/jpeg";
+            if (size != null) {
+                byte[] thumbnail = organizationLogoService.getThumbnail(logo, size);
+                if (thumbnail != null) {
+                    body = thumbnail;
+                    contentType = MediaType.IMAGE_PNG_VALUE;
+                }
+            }
             
-            return ResponseEntity.ok()
-                .header("Content-Type", contentType)
-                .header("Content-Length", String.valueOf(organization.getLogoData().length))
-                .body(organization.getLogoData());
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(contentType))
+                .contentLength(body.length)
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic())
+                .eTag(etag);
+            if (lastModified > 0) {
+                builder.lastModified(lastModified);
+            }
+            return builder.body(body);
             
         } catch (Exception e) {
             logger.error("Error retrieving organization logo: {}", e.getMessage(), e);
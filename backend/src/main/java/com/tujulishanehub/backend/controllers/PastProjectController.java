@@ -2,7 +2,11 @@ package com.tujulishanehub.backend.controllers;
 
 import com.tujulishanehub.backend.models.PastProject;
 import com.tujulishanehub.backend.models.Project;
+import com.tujulishanehub.backend.models.ProjectCategory;
+import com.tujulishanehub.backend.models.ProjectTheme;
 import com.tujulishanehub.backend.payload.ApiResponse;
+import com.tujulishanehub.backend.payload.MapMarker;
+import com.tujulishanehub.backend.payload.NearbyMarker;
 import com.tujulishanehub.backend.services.PastProjectService;
 import com.tujulishanehub.backend.services.ProjectService;
 import org.slf4j.Logger;
@@ -148,23 +152,27 @@ public class PastProjectController {
     }
 
     /**
-     * Get past projects with coordinates for map display
+     * Get map markers for past projects, optionally limited to a bounding box
      */
     @GetMapping("/map")
-    public ResponseEntity<ApiResponse<List<PastProject>>> getPastProjectsForMap() {
+    public ResponseEntity<ApiResponse<List<MapMarker>>> getPastProjectsForMap(
+            @RequestParam(defaultValue = "-90") double minLat,
+            @RequestParam(defaultValue = "90") double maxLat,
+            @RequestParam(defaultValue = "-180") double minLng,
+            @RequestParam(defaultValue = "180") double maxLng) {
         try {
-            List<PastProject> pastProjects = pastProjectService.getPastProjectsWithCoordinates();
+            List<MapMarker> markers = pastProjectService.getMapMarkersInBoundingBox(minLat, maxLat, minLng, maxLng);
 
-            ApiResponse<List<PastProject>> response = new ApiResponse<>(
+            ApiResponse<List<MapMarker>> response = new ApiResponse<>(
                 HttpStatus.OK.value(),
                 "Past projects for map retrieved successfully",
-                pastProjects
+                markers
             );
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
             logger.error("Error retrieving past projects for map: {}", e.getMessage(), e);
-            ApiResponse<List<PastProject>> response = new ApiResponse<>(
+            ApiResponse<List<MapMarker>> response = new ApiResponse<>(
                 HttpStatus.INTERNAL_SERVER_ERROR.value(),
                 "Failed to retrieve past projects for map: " + e.getMessage(),
                 null
@@ -173,6 +181,48 @@ public class PastProjectController {
         }
     }
 
+    /**
+     * Get the past projects nearest to a point, closest first, optionally within radiusKm and
+     * filtered by theme and/or category codes
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<ApiResponse<List<NearbyMarker>>> getPastProjectsNearby(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String theme,
+            @RequestParam(required = false) String category) {
+        try {
+            ProjectTheme projectTheme = theme != null && !theme.isBlank() ? ProjectTheme.fromCode(theme.trim()) : null;
+            ProjectCategory projectCategory = category != null && !category.isBlank() ? ProjectCategory.fromCode(category.trim()) : null;
+            List<NearbyMarker> markers = pastProjectService.getNearestMapMarkers(lat, lng, radiusKm, limit, projectTheme, projectCategory);
+
+            ApiResponse<List<NearbyMarker>> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Nearby past projects retrieved successfully",
+                markers
+            );
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            ApiResponse<List<NearbyMarker>> response = new ApiResponse<>(
+                HttpStatus.BAD_REQUEST.value(),
+                e.getMessage(),
+                null
+            );
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            logger.error("Error retrieving nearby past projects: {}", e.getMessage(), e);
+            ApiResponse<List<NearbyMarker>> response = new ApiResponse<>(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "Failed to retrieve nearby past projects: " + e.getMessage(),
+                null
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     /**
      * Create a new past project directly (Admin only)
      */
@@ -10,22 +10,40 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.http.MediaType;
 import com.tujulishanehub.backend.payload.ProjectUpdateRequest;
 import com.tujulishanehub.backend.payload.ProjectResponse;
+import com.tujulishanehub.backend.payload.ProjectView;
+import com.tujulishanehub.backend.payload.ProjectCounts;
+import com.tujulishanehub.backend.payload.AdminDashboardStats;
 import com.tujulishanehub.backend.payload.ApiResponse;
+import com.tujulishanehub.backend.payload.MapCluster;
+import com.tujulishanehub.backend.payload.MapMarker;
+import com.tujulishanehub.backend.payload.NearbyMarker;
 import com.tujulishanehub.backend.models.Project;
 import com.tujulishanehub.backend.models.PastProject;
-import com.tujulishanehub.backend.models.ProjectLocation;
 import com.tujulishanehub.backend.models.User;
 import com.tujulishanehub.backend.models.ApprovalStatus;
 import com.tujulishanehub.backend.models.ApprovalWorkflowStatus;
 import com.tujulishanehub.backend.models.ProjectCategory;
 import com.tujulishanehub.backend.models.ProjectTheme;
+import com.tujulishanehub.backend.services.CountyLocator;
+import com.tujulishanehub.backend.services.DocumentStore;
+import com.tujulishanehub.backend.services.GeocodeCache;
+import com.tujulishanehub.backend.services.DashboardAggregateService;
+import com.tujulishanehub.backend.services.GeocodingService;
+import com.tujulishanehub.backend.services.MapMarkerIndex;
+import com.tujulishanehub.backend.services.ProjectGeocodingWorker;
 import com.tujulishanehub.backend.services.ProjectService;
+import com.tujulishanehub.backend.services.ProjectViewStats;
 import com.tujulishanehub.backend.services.ProjectCollaboratorService;
+import com.tujulishanehub.backend.services.PublicStatisticsService;
 import com.tujulishanehub.backend.services.UserService;
+import com.tujulishanehub.backend.util.DocumentResponseUtil;
+import com.tujulishanehub.backend.util.KeysetCursor;
+import com.tujulishanehub.backend.util.KeysetPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -37,12 +55,15 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.validation.Valid;
@@ -52,11 +73,11 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.Arrays;
 
@@ -72,6 +93,9 @@ public class ProjectController {
     @Autowired
     private ProjectRepository projectRepository;
     
+    @Autowired
+    private DocumentStore documentStore;
+    
     private static final Logger logger = LoggerFactory.getLogger(ProjectController.class);
     
     private static final long MAX_FILE_SIZE = 20 * 1024 * 1024; // 20MB
@@ -90,6 +114,30 @@ public class ProjectController {
     @Autowired
     private ProjectService projectService;
     
+    @Autowired
+    private ProjectViewStats projectViewStats;
+    
+    @Autowired
+    private DashboardAggregateService dashboardAggregateService;
+    
+    @Autowired
+    private PublicStatisticsService publicStatisticsService;
+    
+    @Autowired
+    private MapMarkerIndex mapMarkerIndex;
+    
+    @Autowired
+    private CountyLocator countyLocator;
+    
+    @Autowired
+    private ProjectGeocodingWorker projectGeocodingWorker;
+    
+    @Autowired
+    private GeocodeCache geocodeCache;
+    
+    @Autowired
+    private GeocodingService geocodingService;
+    
     @Autowired
     private UserService userService;
     
@@ -179,8 +227,9 @@ public class ProjectController {
                     ProjectDocument doc = new ProjectDocument();
                     doc.setFileName(file.getOriginalFilename());
                     doc.setFileType(file.getContentType());
-                    doc.setFileSize(file.getSize()); // Store file size
-                    doc.setData(file.getBytes());
+                    DocumentStore.StoredDocument stored = storeUpload(file);
+                    doc.setFileSize(stored.getSize()); // Store file size
+                    doc.setStorageKey(stored.getStorageKey());
                     doc.setProject(createdProject);
                     
                     // Set additional fields
@@ -242,40 +291,69 @@ public class ProjectController {
     /**
      * Get all projects with pagination
      * Filters out rejected/inactive projects for non-admin users
+     *
+     * Either by page number, or (faster for deep pages) from the nextCursor of the previous page.
+     * sortBy is one of id, created_at or title. The total is counted by default in page mode and
+     * only with includeTotal=true in cursor mode; counts are cached for a few seconds.
+     *
+     * view (summary, map or full) or fields (comma-separated ProjectResponse fields) trims each
+     * project to what the page needs; fields picks the cheapest view that covers them.
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getAllProjects(
+    public ResponseEntity<?> getAllProjects(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean includeTotal,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields) {
         
         try {
-            Sort sort = sortDir.equalsIgnoreCase("desc") ?
-                Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
-
-            Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Project> projectPage = projectService.getProjects(pageable);
-
-        List<ProjectResponse> projectResponses = projectPage.getContent().stream()
-            .map(projectService::toProjectResponse)
-            .collect(Collectors.toList());
-
-            Map<String, Object> data = new HashMap<>();
-        data.put("projects", projectResponses);
-            data.put("currentPage", projectPage.getNumber());
-            data.put("totalItems", projectPage.getTotalElements());
-            data.put("totalPages", projectPage.getTotalPages());
-            data.put("hasNext", projectPage.hasNext());
-            data.put("hasPrevious", projectPage.hasPrevious());
+            Set<String> requestedFields = null;
+            if (fields != null && !fields.isBlank()) {
+                requestedFields = Arrays.stream(fields.split(","))
+                    .map(String::trim)
+                    .filter(field -> !field.isEmpty())
+                    .collect(Collectors.toSet());
+            }
+            ProjectView projectView = requestedFields != null
+                ? ProjectView.covering(requestedFields)
+                : ProjectView.fromParam(view);
+            
+            KeysetPage<ProjectResponse> projectPage = cursor != null
+                ? projectService.getProjectsAfter(KeysetCursor.decode(cursor), size, Boolean.TRUE.equals(includeTotal), projectView)
+                : projectService.getProjects(KeysetCursor.SortKey.fromParam(sortBy), sortDir.equalsIgnoreCase("desc"),
+                    page, size, !Boolean.FALSE.equals(includeTotal), projectView);
+            
+            // Sparse fieldsets are applied by Jackson while writing the response, not by copying each project
+            FilterProvider fieldFilter = requestedFields != null ? ProjectResponse.onlyFields(requestedFields) : null;
+            projectViewStats.samplePayload(projectView, projectPage.getItems(), fieldFilter);
+            
+            Map<String, Object> data = projectPage.toPageData(cursor == null ? page : null, size);
+            data.put("projects", projectPage.getItems());
+            data.put("view", projectView.name().toLowerCase());
             
             ApiResponse<Map<String, Object>> response = new ApiResponse<>(
                 HttpStatus.OK.value(), 
                 "Projects retrieved successfully", 
                 data
             );
-            return ResponseEntity.ok(response);
+            if (fieldFilter == null) {
+                return ResponseEntity.ok(response);
+            }
+            MappingJacksonValue body = new MappingJacksonValue(response);
+            body.setFilters(fieldFilter);
+            return ResponseEntity.ok(body);
             
+        } catch (IllegalArgumentException e) {
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.BAD_REQUEST.value(), 
+                e.getMessage(), 
+                null
+            );
+            return ResponseEntity.badRequest().body(response);
         } catch (Exception e) {
             logger.error("Error retrieving projects: {}", e.getMessage(), e);
             ApiResponse<Map<String, Object>> response = new ApiResponse<>(
@@ -395,63 +473,29 @@ public class ProjectController {
     }
 
     /**
-     * Get public statistics (no authentication required)
+     * Get public statistics (no authentication required).
+     * Served from the incrementally maintained snapshot, with ETag revalidation.
      */
     @GetMapping("/public/statistics")
     @PreAuthorize("permitAll()")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getPublicStatistics() {
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getPublicStatistics(WebRequest webRequest) {
         try {
-            Map<String, Object> stats = new HashMap<>();
-
-            // Get all projects with locations eagerly loaded
-            List<Project> allProjects = projectRepository.findAllWithLocations();
-
-            // Filter to only include APPROVED projects for public statistics
-            List<Project> approvedProjects = allProjects.stream()
-                .filter(p -> p.getApprovalWorkflowStatus() == ApprovalWorkflowStatus.APPROVED)
-                .collect(Collectors.toList());
-
-            // Get total projects count (only approved projects)
-            stats.put("totalProjects", (long) approvedProjects.size());
-
-            // Get unique counties count
-            Set<String> uniqueCounties = new HashSet<>();
-            for (Project project : approvedProjects) {
-                if (project.getLocations() != null && !project.getLocations().isEmpty()) {
-                    for (ProjectLocation location : project.getLocations()) {
-                        if (location.getCounty() != null && !location.getCounty().trim().isEmpty()) {
-                            uniqueCounties.add(location.getCounty());
-                        }
-                    }
-                }
+            PublicStatisticsService.Snapshot snapshot = publicStatisticsService.getSnapshot();
+            String etag = snapshot.getEtag();
+            if (webRequest.checkNotModified(etag)) {
+                // 304 Not Modified has already been prepared
+                return null;
             }
-            stats.put("totalCounties", uniqueCounties.size());
-
-            // Get unique partners/stakeholders count
-            Set<String> uniquePartners = new HashSet<>();
-            for (Project project : approvedProjects) {
-                if (project.getPartner() != null && !project.getPartner().trim().isEmpty()) {
-                    uniquePartners.add(project.getPartner());
-                }
-            }
-            stats.put("totalStakeholders", uniquePartners.size());
-
-            // Get counts by category
-            Map<String, Long> categoryCount = new HashMap<>();
-            for (ProjectCategory category : ProjectCategory.values()) {
-                long count = approvedProjects.stream()
-                    .filter(p -> p.getProjectCategory() == category)
-                    .count();
-                categoryCount.put(category.name(), count);
-            }
-            stats.put("byCategory", categoryCount);
             
             ApiResponse<Map<String, Object>> response = new ApiResponse<>(
                 HttpStatus.OK.value(),
                 "Public statistics retrieved successfully",
-                stats
+                snapshot.toMap()
             );
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic())
+                .eTag(etag)
+                .body(response);
             
         } catch (Exception e) {
             logger.error("Error retrieving public statistics: {}", e.getMessage(), e);
@@ -464,6 +508,97 @@ public class ProjectController {
         }
     }
     
+    /**
+     * Rebuild the public statistics from the database (SUPER_ADMIN only).
+     * Reports the values before and after so drift in the incremental state can be checked.
+     */
+    @PostMapping("/admin/statistics/rebuild")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> rebuildPublicStatistics() {
+        try {
+            Map<String, Object> result = publicStatisticsService.rebuild();
+            
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Public statistics rebuilt successfully",
+                result
+            );
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error rebuilding public statistics: {}", e.getMessage(), e);
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "Failed to rebuild statistics: " + e.getMessage(),
+                null
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+    
+    /**
+     * Rebuild the in-memory map marker index from the database (SUPER_ADMIN only)
+     */
+    @PostMapping("/admin/map-index/rebuild")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> rebuildMapMarkerIndex() {
+        try {
+            Map<String, Object> result = mapMarkerIndex.rebuild();
+            
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Map marker index rebuilt successfully",
+                result
+            );
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error rebuilding map marker index: {}", e.getMessage(), e);
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "Failed to rebuild map marker index: " + e.getMessage(),
+                null
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+    
+    /**
+     * Derive county codes for existing project locations (SUPER_ADMIN only).
+     * By default only locations without a code are visited; all=true re-derives every location.
+     */
+    @PostMapping("/admin/county-codes/backfill")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> backfillCountyCodes(
+            @RequestParam(defaultValue = "false") boolean all) {
+        try {
+            Map<String, Object> result = countyLocator.backfill(all);
+            
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "County codes backfilled successfully",
+                result
+            );
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalStateException e) {
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.BAD_REQUEST.value(),
+                e.getMessage(),
+                null
+            );
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            logger.error("Error backfilling county codes: {}", e.getMessage(), e);
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "Failed to backfill county codes: " + e.getMessage(),
+                null
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+    
     /**
      * Update project (Owner, Admin, or Collaborator with EDITOR/CO_OWNER role)
      */
@@ -531,8 +666,9 @@ public class ProjectController {
                     ProjectDocument doc = new ProjectDocument();
                     doc.setFileName(file.getOriginalFilename());
                     doc.setFileType(file.getContentType());
-                    doc.setFileSize(file.getSize()); // Store file size
-                    doc.setData(file.getBytes());
+                    DocumentStore.StoredDocument stored = storeUpload(file);
+                    doc.setFileSize(stored.getSize()); // Store file size
+                    doc.setStorageKey(stored.getStorageKey());
                     doc.setProject(updatedProject);
 
                     // Set additional fields
@@ -730,6 +866,95 @@ public class ProjectController {
         }
     }
     
+    /**
+     * Get APPROVED project locations in a bounding box aggregated for a map zoom level: clusters
+     * (count, centroid, dominant theme) up to the cluster max zoom, individual markers above it
+     */
+    @GetMapping("/map/clusters")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getProjectClusters(
+            @RequestParam double minLat,
+            @RequestParam double maxLat,
+            @RequestParam double minLng,
+            @RequestParam double maxLng,
+            @RequestParam int zoom) {
+        
+        try {
+            Map<String, Object> result = new HashMap<>();
+            result.put("zoom", zoom);
+            if (mapMarkerIndex.isClustered(zoom)) {
+                List<MapCluster> clusters = mapMarkerIndex.findProjectClusters(minLat, maxLat, minLng, maxLng, zoom);
+                result.put("clustered", true);
+                result.put("clusters", clusters);
+                result.put("totalLocations", clusters.stream().mapToLong(MapCluster::getCount).sum());
+            } else {
+                List<MapMarker> markers = mapMarkerIndex.findApprovedProjectMarkers(minLat, maxLat, minLng, maxLng);
+                result.put("clustered", false);
+                result.put("markers", markers);
+                result.put("totalLocations", markers.size());
+            }
+            
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.OK.value(), 
+                "Project clusters retrieved successfully", 
+                result
+            );
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error retrieving project clusters: {}", e.getMessage(), e);
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(), 
+                "Failed to retrieve project clusters: " + e.getMessage(), 
+                null
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+    
+    /**
+     * Get the APPROVED project locations nearest to a point, closest first, optionally within radiusKm and
+     * filtered by theme and/or category codes
+     */
+    @GetMapping("/nearby")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<List<NearbyMarker>>> getProjectsNearby(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String theme,
+            @RequestParam(required = false) String category) {
+        try {
+            ProjectTheme projectTheme = theme != null && !theme.isBlank() ? ProjectTheme.fromCode(theme.trim()) : null;
+            ProjectCategory projectCategory = category != null && !category.isBlank() ? ProjectCategory.fromCode(category.trim()) : null;
+            List<NearbyMarker> markers = projectService.getNearestMapMarkers(lat, lng, radiusKm, limit, projectTheme, projectCategory);
+    
+            ApiResponse<List<NearbyMarker>> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Nearby APPROVED project locations retrieved successfully",
+                markers
+            );
+            return ResponseEntity.ok(response);
+    
+        } catch (IllegalArgumentException e) {
+            ApiResponse<List<NearbyMarker>> response = new ApiResponse<>(
+                HttpStatus.BAD_REQUEST.value(),
+                e.getMessage(),
+                null
+            );
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            logger.error("Error retrieving nearby APPROVED project locations: {}", e.getMessage(), e);
+            ApiResponse<List<NearbyMarker>> response = new ApiResponse<>(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "Failed to retrieve nearby APPROVED project locations: " + e.getMessage(),
+                null
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+    
     /**
      * Get all projects (for priority projects display)
      * Filters out rejected/inactive projects for non-admin users
@@ -759,28 +984,28 @@ public class ProjectController {
     }
     
     /**
-     * Get projects within a geographic bounding box
+     * Get map markers (one per project location) within a geographic bounding box
      */
     @GetMapping("/in-bounds")
-    public ResponseEntity<ApiResponse<List<ProjectResponse>>> getProjectsInBoundingBox(
-            @RequestParam Double minLat,
-            @RequestParam Double maxLat,
-            @RequestParam Double minLng,
-            @RequestParam Double maxLng) {
+    public ResponseEntity<ApiResponse<List<MapMarker>>> getProjectsInBoundingBox(
+            @RequestParam double minLat,
+            @RequestParam double maxLat,
+            @RequestParam double minLng,
+            @RequestParam double maxLng) {
         
         try {
-            List<Project> projects = projectService.getProjectsInBoundingBox(minLat, maxLat, minLng, maxLng);
+            List<MapMarker> markers = projectService.getMapMarkersInBoundingBox(minLat, maxLat, minLng, maxLng);
             
-            ApiResponse<List<ProjectResponse>> response = new ApiResponse<>(
+            ApiResponse<List<MapMarker>> response = new ApiResponse<>(
                 HttpStatus.OK.value(), 
                 "Projects in bounding box retrieved successfully", 
-                mapProjects(projects)
+                markers
             );
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
             logger.error("Error retrieving projects in bounding box: {}", e.getMessage(), e);
-            ApiResponse<List<ProjectResponse>> response = new ApiResponse<>(
+            ApiResponse<List<MapMarker>> response = new ApiResponse<>(
                 HttpStatus.INTERNAL_SERVER_ERROR.value(), 
                 "Failed to retrieve projects: " + e.getMessage(), 
                 null
@@ -920,17 +1145,17 @@ public class ProjectController {
     }
     
     /**
-     * Batch process projects that need geocoding
+     * Queue all locations without coordinates for background geocoding
      */
     @PostMapping("/geocode-batch")
     public ResponseEntity<ApiResponse<Object>> batchGeocodeProjects() {
         try {
-            projectService.processProjectsNeedingGeocoding();
+            int queued = projectService.processProjectsNeedingGeocoding();
             
             ApiResponse<Object> response = new ApiResponse<>(
                 HttpStatus.OK.value(), 
-                "Batch geocoding process completed successfully", 
-                null
+                "Queued " + queued + " locations for geocoding", 
+                Map.of("queued", queued)
             );
             return ResponseEntity.ok(response);
             
@@ -947,6 +1172,61 @@ public class ProjectController {
     
     // ==================== ADMIN ENDPOINTS ====================
     
+    /**
+     * Cost of each project list view: queries, load time and payload size per page (SUPER_ADMIN only)
+     */
+    @GetMapping("/admin/view-stats")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getProjectViewStatistics() {
+        try {
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Project view statistics retrieved successfully",
+                projectViewStats.snapshot()
+            );
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error retrieving project view statistics: {}", e.getMessage(), e);
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "Failed to retrieve project view statistics: " + e.getMessage(),
+                null
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+    
+    /**
+     * Geocoding queue, location geocode status counts, geocode cache hit rates and provider requests (SUPER_ADMIN only)
+     */
+    @GetMapping("/admin/geocoding/stats")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getGeocodingStatistics() {
+        try {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("worker", projectGeocodingWorker.getStatistics());
+            stats.put("cache", geocodeCache.getStatistics());
+            stats.put("provider", geocodingService.getProviderStatistics());
+            
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Geocoding statistics retrieved successfully",
+                stats
+            );
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error retrieving geocoding statistics: {}", e.getMessage(), e);
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "Failed to retrieve geocoding statistics: " + e.getMessage(),
+                null
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+    
     /**
      * Approve a project (Admin only)
      */
@@ -1064,10 +1344,10 @@ public class ProjectController {
      */
     @GetMapping("/admin/dashboard-stats")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getAdminDashboardStats() {
+    public ResponseEntity<ApiResponse<AdminDashboardStats>> getAdminDashboardStats() {
         try {
-            Map<String, Object> stats = projectService.getAdminDashboardStats();
-            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+            AdminDashboardStats stats = projectService.getAdminDashboardStats();
+            ApiResponse<AdminDashboardStats> response = new ApiResponse<>(
                 HttpStatus.OK.value(), 
                 "Admin dashboard statistics retrieved successfully", 
                 stats
@@ -1075,7 +1355,7 @@ public class ProjectController {
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             logger.error("Error retrieving admin dashboard stats: {}", e.getMessage(), e);
-            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+            ApiResponse<AdminDashboardStats> response = new ApiResponse<>(
                 HttpStatus.INTERNAL_SERVER_ERROR.value(), 
                 "Failed to retrieve dashboard statistics", 
                 null
@@ -1354,6 +1634,67 @@ public class ProjectController {
         }
     }
     
+    /**
+     * Get a page of the reviewer work queue (filtered by reviewer's thematic areas in the database)
+     */
+    @GetMapping("/admin/review-queue")
+    @PreAuthorize("hasRole('SUPER_ADMIN_REVIEWER')")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getReviewQueue(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            User reviewer = userService.getUserByEmail(auth.getName());
+
+            Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").ascending());
+            Page<Project> projectPage = projectService.getReviewQueue(reviewer, pageable);
+
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Review queue retrieved successfully",
+                toPageData(projectPage)
+            );
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            logger.error("Error retrieving review queue: {}", e.getMessage(), e);
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "Failed to retrieve review queue",
+                null
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Get a page of projects awaiting final approval (SUPER_ADMIN_APPROVER only)
+     */
+    @GetMapping("/admin/final-approval-queue")
+    @PreAuthorize("hasRole('SUPER_ADMIN_APPROVER') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getFinalApprovalQueue(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").ascending());
+            Page<Project> projectPage = projectService.getFinalApprovalQueue(pageable);
+
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Final approval queue retrieved successfully",
+                toPageData(projectPage)
+            );
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            logger.error("Error retrieving final approval queue: {}", e.getMessage(), e);
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "Failed to retrieve final approval queue",
+                null
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     /**
      * Get user's own projects (Authenticated users)
      * PARTNER/DONOR: Returns projects they created
@@ -1587,9 +1928,30 @@ public class ProjectController {
      * Helper method to map Project entities to ProjectResponse DTOs
      */
     private List<ProjectResponse> mapProjects(List<Project> projects) {
-        return projects.stream()
-                .map(projectService::toProjectResponse)
-                .collect(Collectors.toList());
+        return projectService.toProjectResponses(projects);
+    }
+
+    /**
+     * Helper method to stream an uploaded file into the document store
+     */
+    private DocumentStore.StoredDocument storeUpload(MultipartFile file) throws java.io.IOException {
+        try (java.io.InputStream in = file.getInputStream()) {
+            return documentStore.store(in);
+        }
+    }
+
+    /**
+     * Helper method to build the standard paged response body
+     */
+    private Map<String, Object> toPageData(Page<Project> projectPage) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("projects", mapProjects(projectPage.getContent()));
+        data.put("currentPage", projectPage.getNumber());
+        data.put("totalItems", projectPage.getTotalElements());
+        data.put("totalPages", projectPage.getTotalPages());
+        data.put("hasNext", projectPage.hasNext());
+        data.put("hasPrevious", projectPage.hasPrevious());
+        return data;
     }
 
     /**
@@ -1667,11 +2029,8 @@ public class ProjectController {
             }
 
             // Return the file for inline viewing (not as attachment)
-            return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(document.getFileType()))
-                .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, 
-                    "inline; filename=\"" + document.getFileName() + "\"")
-                .body(document.getData());
+            return DocumentResponseUtil.buildFileResponse(documentStore, document.getStorageKey(), document.getData(),
+                document.getFileName(), document.getFileType(), document.getFileSize(), true);
 
         } catch (Exception e) {
             logger.error("Error viewing document {} for project {}: {}", documentId, projectId, e.getMessage(), e);
@@ -1714,11 +2073,8 @@ public class ProjectController {
             }
 
             // Return the file with appropriate headers
-            return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(document.getFileType()))
-                .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, 
-                    "attachment; filename=\"" + document.getFileName() + "\"")
-                .body(document.getData());
+            return DocumentResponseUtil.buildFileResponse(documentStore, document.getStorageKey(), document.getData(),
+                document.getFileName(), document.getFileType(), document.getFileSize(), false);
 
         } catch (Exception e) {
             logger.error("Error downloading document {} for project {}: {}", documentId, projectId, e.getMessage(), e);
@@ -1805,8 +2161,9 @@ public class ProjectController {
             ProjectReportDocument reportDoc = new ProjectReportDocument();
             reportDoc.setFileName(file.getOriginalFilename());
             reportDoc.setFileType(contentType);
-            reportDoc.setFileSize(file.getSize());
-            reportDoc.setData(file.getBytes());
+            DocumentStore.StoredDocument stored = storeUpload(file);
+            reportDoc.setFileSize(stored.getSize());
+            reportDoc.setStorageKey(stored.getStorageKey());
             reportDoc.setProject(project);
             reportDoc.setUploadedBy(userEmail);
             
@@ -1925,11 +2282,8 @@ public class ProjectController {
             }
 
             // Return the file with appropriate headers
-            return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(document.getFileType()))
-                .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, 
-                    "attachment; filename=\"" + document.getFileName() + "\"")
-                .body(document.getData());
+            return DocumentResponseUtil.buildFileResponse(documentStore, document.getStorageKey(), document.getData(),
+                document.getFileName(), document.getFileType(), document.getFileSize(), false);
 
         } catch (Exception e) {
             logger.error("Error downloading report document {} for project {}: {}", documentId, projectId, e.getMessage(), e);
@@ -2030,10 +2384,11 @@ public class ProjectController {
     /**
      * Get project counts summary
      * Role-based: MoH users see all projects, PARTNER/DONOR users see only their own
+     * Computed in one grouped query and cached briefly per scope
      */
     @GetMapping("/counts")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getProjectCounts(
+    public ResponseEntity<ApiResponse<ProjectCounts>> getProjectCounts(
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String category) {
         try {
@@ -2041,72 +2396,9 @@ public class ProjectController {
             String userEmail = auth.getName();
             User currentUser = userService.getUserByEmail(userEmail);
             
-            Map<String, Object> counts = new HashMap<>();
-            
-            // Check if user is MoH (can see all counts)
-            boolean isMoH = currentUser != null && 
-                (currentUser.getRole() == User.Role.SUPER_ADMIN ||
-                 currentUser.getRole() == User.Role.SUPER_ADMIN_REVIEWER ||
-                 currentUser.getRole() == User.Role.SUPER_ADMIN_APPROVER);
-            
-            if (isMoH) {
-                // MoH users see all project counts
-                long totalProjects = projectRepository.count();
-                counts.put("total", totalProjects);
-                
-                // Count by approval status
-                long pendingCount = projectRepository.countByApprovalStatus(ApprovalStatus.PENDING);
-                long approvedCount = projectRepository.countByApprovalStatus(ApprovalStatus.APPROVED);
-                long rejectedCount = projectRepository.countByApprovalStatus(ApprovalStatus.REJECTED);
-                
-                counts.put("pending", pendingCount);
-                counts.put("approved", approvedCount);
-                counts.put("rejected", rejectedCount);
-                counts.put("active", approvedCount);
-                
-                // Count by category
-                Map<String, Long> categoryCounts = new HashMap<>();
-                for (ProjectCategory cat : ProjectCategory.values()) {
-                    long count = projectRepository.countByProjectCategory(cat);
-                    categoryCounts.put(cat.name(), count);
-                }
-                counts.put("byCategory", categoryCounts);
-            } else {
-                // PARTNER/DONOR users see only their own project counts
-                List<Project> userProjects = projectService.getProjectsByPartnerEmail(userEmail);
-                
-                long totalProjects = userProjects.size();
-                counts.put("total", totalProjects);
-                
-                // Count by approval status for user's projects
-                long pendingCount = userProjects.stream()
-                    .filter(p -> p.getApprovalStatus() == ApprovalStatus.PENDING)
-                    .count();
-                long approvedCount = userProjects.stream()
-                    .filter(p -> p.getApprovalStatus() == ApprovalStatus.APPROVED)
-                    .count();
-                long rejectedCount = userProjects.stream()
-                    .filter(p -> p.getApprovalStatus() == ApprovalStatus.REJECTED)
-                    .count();
-                
-                counts.put("pending", pendingCount);
-                counts.put("approved", approvedCount);
-                counts.put("rejected", rejectedCount);
-                counts.put("active", approvedCount);
-                
-                // Count by category for user's projects
-                Map<String, Long> categoryCounts = new HashMap<>();
-                for (ProjectCategory cat : ProjectCategory.values()) {
-                    long count = userProjects.stream()
-                        .filter(p -> p.getProjectCategory() == cat)
-                        .count();
-                    categoryCounts.put(cat.name(), count);
-                }
-                counts.put("byCategory", categoryCounts);
-            }
+            ProjectCounts counts = dashboardAggregateService.getProjectCounts(currentUser, userEmail);
             
-            
-            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+            ApiResponse<ProjectCounts> response = new ApiResponse<>(
                 HttpStatus.OK.value(),
                 "Project counts retrieved successfully",
                 counts
@@ -2115,7 +2407,7 @@ public class ProjectController {
             
         } catch (Exception e) {
             logger.error("Error retrieving project counts: {}", e.getMessage(), e);
-            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+            ApiResponse<ProjectCounts> response = new ApiResponse<>(
                 HttpStatus.INTERNAL_SERVER_ERROR.value(),
                 "Failed to retrieve project counts: " + e.getMessage(),
                 null
@@ -2185,9 +2477,8 @@ public class ProjectController {
                 if (loc.getCounty() == null || loc.getCounty().trim().isEmpty()) {
                     errors.add("County is required for location " + (i + 1));
                 }
-                if (loc.getLatitude() == null || loc.getLongitude() == null) {
-                    errors.add("Latitude and longitude are required for location " + (i + 1));
-                }
+                // Coordinates may be left out; they are resolved in the background from the maps
+                // address, or from the county via the offline gazetteer
             }
         }
         
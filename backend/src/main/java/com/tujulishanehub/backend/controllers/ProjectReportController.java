@@ -3,8 +3,12 @@ package com.tujulishanehub.backend.controllers;
 import com.tujulishanehub.backend.models.ProjectReport;
 import com.tujulishanehub.backend.models.User;
 import com.tujulishanehub.backend.payload.ApiResponse;
+import com.tujulishanehub.backend.payload.ReportSearchHit;
 import com.tujulishanehub.backend.services.ProjectReportService;
+import com.tujulishanehub.backend.services.ReportSearchService;
 import com.tujulishanehub.backend.services.UserService;
+import com.tujulishanehub.backend.util.KeysetCursor;
+import com.tujulishanehub.backend.util.KeysetPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,6 +41,9 @@ public class ProjectReportController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private ReportSearchService reportSearchService;
+    
     /**
      * Create a new project report (Authenticated users only)
      */
@@ -231,21 +238,28 @@ public class ProjectReportController {
     
     /**
      * Get completion reports
+     *
+     * Either by page number, or (faster for deep pages) from the nextCursor of the previous page.
+     * sortBy is one of id, created_at or title. The total is counted by default in page mode and
+     * only with includeTotal=true in cursor mode; counts are cached for a few seconds.
      */
     @GetMapping("/completion")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getCompletionReports(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "created_at") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean includeTotal) {
         
         try {
-            Pageable pageable = PageRequest.of(page, size, Sort.by("publishedAt").descending());
-            Page<ProjectReport> reportPage = projectReportService.getCompletionReports(pageable);
+            KeysetPage<ProjectReport> reportPage = cursor != null
+                ? projectReportService.getCompletionReportsAfter(KeysetCursor.decode(cursor), size, Boolean.TRUE.equals(includeTotal))
+                : projectReportService.getCompletionReports(KeysetCursor.SortKey.fromParam(sortBy),
+                    sortDir.equalsIgnoreCase("desc"), page, size, !Boolean.FALSE.equals(includeTotal));
             
-            Map<String, Object> data = new HashMap<>();
-            data.put("reports", reportPage.getContent());
-            data.put("currentPage", reportPage.getNumber());
-            data.put("totalItems", reportPage.getTotalElements());
-            data.put("totalPages", reportPage.getTotalPages());
+            Map<String, Object> data = reportPage.toPageData(cursor == null ? page : null, size);
+            data.put("reports", reportPage.getItems());
             
             ApiResponse<Map<String, Object>> response = new ApiResponse<>(
                 HttpStatus.OK.value(), 
@@ -254,6 +268,13 @@ public class ProjectReportController {
             );
             return ResponseEntity.ok(response);
             
+        } catch (IllegalArgumentException e) {
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.BAD_REQUEST.value(), 
+                e.getMessage(), 
+                null
+            );
+            return ResponseEntity.badRequest().body(response);
         } catch (Exception e) {
             logger.error("Error retrieving completion reports: {}", e.getMessage(), e);
             ApiResponse<Map<String, Object>> response = new ApiResponse<>(
@@ -266,57 +287,73 @@ public class ProjectReportController {
     }
     
     /**
-     * Search reports
+     * Search reports: ranked full-text search over title, summary and content with highlighted
+     * snippets when a keyword is given, otherwise newest first. Only reports the caller may see
+     * (published ones, their own, or all for super admins) are matched.
      */
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<ProjectReport>>> searchReports(
+    public ResponseEntity<ApiResponse<Map<String, Object>>> searchReports(
             @RequestParam(required = false) Long projectId,
             @RequestParam(required = false) String reportType,
             @RequestParam(required = false) String reportStatus,
-            @RequestParam(required = false) String keyword) {
+            @RequestParam(required = false) String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
         
+        ProjectReport.ReportType type;
+        ProjectReport.ReportStatus status;
         try {
-            ProjectReport.ReportType type = reportType != null ? 
-                ProjectReport.ReportType.valueOf(reportType.toUpperCase()) : null;
-            ProjectReport.ReportStatus status = reportStatus != null ? 
-                ProjectReport.ReportStatus.valueOf(reportStatus.toUpperCase()) : null;
-            
-            List<ProjectReport> reports = projectReportService.searchReports(projectId, type, status, keyword);
-            
-            // Filter based on user access
+            type = reportType != null ? ProjectReport.ReportType.valueOf(reportType.toUpperCase()) : null;
+            status = reportStatus != null ? ProjectReport.ReportStatus.valueOf(reportStatus.toUpperCase()) : null;
+        } catch (IllegalArgumentException e) {
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.BAD_REQUEST.value(), 
+                "Invalid report type or status", 
+                null
+            );
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        try {
+            // Limit the search to reports the caller can see
+            Long viewerId = null;
+            boolean allVisible = false;
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            if (auth == null || !auth.isAuthenticated()) {
-                reports = reports.stream()
-                    .filter(ProjectReport::isPublished)
-                    .toList();
-            } else {
-                String userEmail = auth.getName();
-                User user = userService.getUserByEmail(userEmail);
-                
-                if (!user.isSuperAdmin()) {
-                    reports = reports.stream()
-                        .filter(report -> report.isPublished() || report.getSubmittedBy().equals(user.getId()))
-                        .toList();
+            if (auth != null && auth.isAuthenticated()) {
+                User user = userService.getUserByEmail(auth.getName());
+                if (user != null) {
+                    viewerId = user.getId();
+                    allVisible = user.isSuperAdmin();
                 }
             }
             
-            ApiResponse<List<ProjectReport>> response = new ApiResponse<>(
+            Page<ReportSearchHit> results = reportSearchService.search(keyword, projectId, type, status,
+                viewerId, allVisible, page, size);
+            
+            Map<String, Object> data = new HashMap<>();
+            data.put("reports", results.getContent());
+            data.put("currentPage", results.getNumber());
+            data.put("totalItems", results.getTotalElements());
+            data.put("totalPages", results.getTotalPages());
+            data.put("engine", reportSearchService.getEngine());
+            
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
                 HttpStatus.OK.value(), 
                 "Reports search completed", 
-                reports
+                data
             );
             return ResponseEntity.ok(response);
             
         } catch (IllegalArgumentException e) {
-            ApiResponse<List<ProjectReport>> response = new ApiResponse<>(
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
                 HttpStatus.BAD_REQUEST.value(), 
-                "Invalid report type or status", 
+                e.getMessage(), 
                 null
             );
             return ResponseEntity.badRequest().body(response);
         } catch (Exception e) {
             logger.error("Error searching reports: {}", e.getMessage(), e);
-            ApiResponse<List<ProjectReport>> response = new ApiResponse<>(
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
                 HttpStatus.INTERNAL_SERVER_ERROR.value(), 
                 "Failed to search reports", 
                 null
@@ -325,6 +362,31 @@ public class ProjectReportController {
         }
     }
     
+    /**
+     * Rebuild the in-memory report search index (SUPER_ADMIN only; a no-op on Postgres)
+     */
+    @PostMapping("/admin/search-index/rebuild")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> rebuildSearchIndex() {
+        try {
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.OK.value(), 
+                "Report search index rebuilt successfully", 
+                reportSearchService.rebuild()
+            );
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error rebuilding report search index: {}", e.getMessage(), e);
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(), 
+                "Failed to rebuild report search index: " + e.getMessage(), 
+                null
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+    
     /**
      * Update report (Author only)
      */
@@ -1,31 +1,44 @@
 package com.tujulishanehub.backend.controllers;
 
-import com.tujulishanehub.backend.models.ProjectDocument;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tujulishanehub.backend.models.ProjectReport;
-import com.tujulishanehub.backend.models.UserDocument;
 import com.tujulishanehub.backend.payload.ApiResponse;
 import com.tujulishanehub.backend.repositories.ProjectDocumentRepository;
 import com.tujulishanehub.backend.repositories.ProjectReportRepository;
 import com.tujulishanehub.backend.repositories.UserDocumentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.security.Principal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api")
 public class ProtectedController {
 
+    private static final Logger logger = LoggerFactory.getLogger(ProtectedController.class);
+
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final int MAX_PAGE_SIZE = 200;
+
     @Autowired
     private ProjectDocumentRepository projectDocumentRepository;
 
@@ -35,6 +48,9 @@ public class ProtectedController {
     @Autowired
     private ProjectReportRepository projectReportRepository;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping("/protected")
     public ResponseEntity<ApiResponse<Object>> protectedEndpoint(Principal principal) {
         HashMap<String, Object> data = new HashMap<>();
@@ -44,35 +60,28 @@ public class ProtectedController {
     }
 
     /**
-     * Get all project documents for admin dashboard
+     * Get all project documents for admin dashboard.
+     * With page/size a single page is returned; otherwise all rows are streamed in keyset batches.
      */
     @GetMapping("/project-documents")
     @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('SUPER_ADMIN_REVIEWER') or hasRole('SUPER_ADMIN_APPROVER')")
-    @Transactional(readOnly = true)
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getAllProjectDocuments() {
+    public ResponseEntity<?> getAllProjectDocuments(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "50") int size) {
         try {
-            List<ProjectDocument> documents = projectDocumentRepository.findAllActiveWithRelationships();
-
-            List<Map<String, Object>> documentData = documents.stream().map(doc -> {
-                Map<String, Object> data = new HashMap<>();
-                data.put("id", doc.getId());
-                data.put("fileName", doc.getFileName());
-                data.put("project", doc.getProject() != null ? doc.getProject().getTitle() : "Unknown");
-                data.put("uploadedBy", doc.getUploadedBy() != null ? doc.getUploadedBy().getName() : "Unknown");
-                data.put("type", doc.getFileType());
-                data.put("size", doc.getFileSize());
-                data.put("status", doc.getStatus() != null ? doc.getStatus().toString() : "ACTIVE");
-                data.put("date", doc.getUploadDate() != null ? doc.getUploadDate().toString() : null);
-                data.put("createdAt", doc.getCreatedAt() != null ? doc.getCreatedAt().toString() : null);
-                return data;
-            }).collect(Collectors.toList());
-
-            ApiResponse<List<Map<String, Object>>> response = new ApiResponse<>(
-                HttpStatus.OK.value(),
-                "Project documents retrieved successfully",
-                documentData
-            );
-            return ResponseEntity.ok(response);
+            if (page != null) {
+                Page<Map<String, Object>> documents = projectDocumentRepository.findActiveListing(
+                    PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE)));
+                ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                    HttpStatus.OK.value(),
+                    "Project documents retrieved successfully",
+                    toPageData("projectDocuments", documents)
+                );
+                return ResponseEntity.ok(response);
+            }
+
+            return streamListing("Project documents retrieved successfully",
+                afterId -> projectDocumentRepository.findActiveListingAfter(afterId, PageRequest.of(0, STREAM_BATCH_SIZE)));
 
         } catch (Exception e) {
             ApiResponse<List<Map<String, Object>>> response = new ApiResponse<>(
@@ -85,35 +94,28 @@ public class ProtectedController {
     }
 
     /**
-     * Get all user documents for admin dashboard
+     * Get all user documents for admin dashboard.
+     * With page/size a single page is returned; otherwise all rows are streamed in keyset batches.
      */
     @GetMapping("/user-documents")
     @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('SUPER_ADMIN_REVIEWER') or hasRole('SUPER_ADMIN_APPROVER')")
-    @Transactional(readOnly = true)
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getAllUserDocuments() {
+    public ResponseEntity<?> getAllUserDocuments(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "50") int size) {
         try {
-            List<UserDocument> documents = userDocumentRepository.findAllActiveWithRelationships();
-
-            List<Map<String, Object>> documentData = documents.stream().map(doc -> {
-                Map<String, Object> data = new HashMap<>();
-                data.put("id", doc.getId());
-                data.put("fileName", doc.getFileName());
-                data.put("user", doc.getUser() != null ? doc.getUser().getName() : "Unknown");
-                data.put("uploadedBy", doc.getUploadedBy() != null ? doc.getUploadedBy().getName() : "Unknown");
-                data.put("type", doc.getFileType());
-                data.put("size", doc.getFileSize());
-                data.put("status", doc.getStatus() != null ? doc.getStatus().toString() : "ACTIVE");
-                data.put("date", doc.getUploadDate() != null ? doc.getUploadDate().toString() : null);
-                data.put("createdAt", doc.getCreatedAt() != null ? doc.getCreatedAt().toString() : null);
-                return data;
-            }).collect(Collectors.toList());
-
-            ApiResponse<List<Map<String, Object>>> response = new ApiResponse<>(
-                HttpStatus.OK.value(),
-                "User documents retrieved successfully",
-                documentData
-            );
-            return ResponseEntity.ok(response);
+            if (page != null) {
+                Page<Map<String, Object>> documents = userDocumentRepository.findActiveListing(
+                    PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE)));
+                ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                    HttpStatus.OK.value(),
+                    "User documents retrieved successfully",
+                    toPageData("userDocuments", documents)
+                );
+                return ResponseEntity.ok(response);
+            }
+
+            return streamListing("User documents retrieved successfully",
+                afterId -> userDocumentRepository.findActiveListingAfter(afterId, PageRequest.of(0, STREAM_BATCH_SIZE)));
 
         } catch (Exception e) {
             ApiResponse<List<Map<String, Object>>> response = new ApiResponse<>(
@@ -164,4 +166,55 @@ public class ProtectedController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
+
+    private Map<String, Object> toPageData(String key, Page<Map<String, Object>> page) {
+        Map<String, Object> data = new HashMap<>();
+        data.put(key, page.getContent());
+        data.put("currentPage", page.getNumber());
+        data.put("totalItems", page.getTotalElements());
+        data.put("totalPages", page.getTotalPages());
+        data.put("hasNext", page.hasNext());
+        data.put("hasPrevious", page.hasPrevious());
+        return data;
+    }
+
+    /**
+     * Stream listing rows inside the usual ApiResponse envelope.
+     * Rows are fetched in keyset batches and written as they arrive, so only one batch is held in memory.
+     */
+    private ResponseEntity<StreamingResponseBody> streamListing(String message,
+                                                                Function<Long, List<Map<String, Object>>> nextBatch) {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartObject();
+                generator.writeNumberField("status", HttpStatus.OK.value());
+                generator.writeStringField("message", message);
+                generator.writeArrayFieldStart("data");
+
+                long lastId = 0L;
+                List<Map<String, Object>> batch = nextBatch.apply(lastId);
+                while (!batch.isEmpty()) {
+                    for (Map<String, Object> row : batch) {
+                        generator.writeObject(row);
+                    }
+                    generator.flush();
+                    if (batch.size() < STREAM_BATCH_SIZE) {
+                        break;
+                    }
+                    lastId = ((Number) batch.get(batch.size() - 1).get("id")).longValue();
+                    batch = nextBatch.apply(lastId);
+                }
+
+                generator.writeEndArray();
+                generator.writeEndObject();
+            } catch (Exception e) {
+                // Headers are already committed at this point, so the truncated body is all the client will see
+                logger.error("Failed to stream document listing: {}", e.getMessage());
+                throw e;
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body);
+    }
 }
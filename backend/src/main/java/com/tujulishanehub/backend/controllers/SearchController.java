@@ -0,0 +1,121 @@
+package com.tujulishanehub.backend.controllers;
+
+import com.tujulishanehub.backend.models.User;
+import com.tujulishanehub.backend.payload.ApiResponse;
+import com.tujulishanehub.backend.services.SearchIndexService;
+import com.tujulishanehub.backend.services.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SearchController.class);
+    
+    @Autowired
+    private SearchIndexService searchIndexService;
+    
+    @Autowired
+    private UserService userService;
+    
+    /**
+     * Search projects, past projects, reports and organizations at once. Results are ranked across
+     * all types; types (comma-separated, e.g. PROJECT,REPORT) narrows them, and facets count the
+     * matches per type either way. Reports follow the same visibility as /api/reports/search.
+     */
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String types,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        try {
+            Set<SearchIndexService.EntityType> wanted = EnumSet.noneOf(SearchIndexService.EntityType.class);
+            if (types != null && !types.isBlank()) {
+                for (String type : types.split(",")) {
+                    if (type.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        wanted.add(SearchIndexService.EntityType.valueOf(type.trim().toUpperCase()));
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Unknown search type: " + type.trim());
+                    }
+                }
+            }
+            
+            Long viewerId = null;
+            boolean allReports = false;
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.isAuthenticated()) {
+                User user = userService.getUserByEmail(auth.getName());
+                if (user != null) {
+                    viewerId = user.getId();
+                    allReports = user.isSuperAdmin();
+                }
+            }
+            
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.OK.value(), 
+                "Search completed", 
+                searchIndexService.search(q, wanted, viewerId, allReports, page, size)
+            );
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.BAD_REQUEST.value(), 
+                e.getMessage(), 
+                null
+            );
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            logger.error("Error searching: {}", e.getMessage(), e);
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(), 
+                "Failed to search", 
+                null
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+    
+    /**
+     * Rebuild the search index from the database (SUPER_ADMIN only)
+     */
+    @PostMapping("/admin/rebuild")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> rebuildIndex() {
+        try {
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.OK.value(), 
+                "Search index rebuilt successfully", 
+                searchIndexService.rebuild()
+            );
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error rebuilding search index: {}", e.getMessage(), e);
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(), 
+                "Failed to rebuild search index: " + e.getMessage(), 
+                null
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+}
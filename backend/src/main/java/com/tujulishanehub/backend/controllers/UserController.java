@@ -6,13 +6,14 @@ import com.tujulishanehub.backend.models.UserDocument;
 import com.tujulishanehub.backend.payload.ApiResponse;
 import com.tujulishanehub.backend.payload.UserProfileDTO;
 import com.tujulishanehub.backend.repositories.UserDocumentRepository;
+import com.tujulishanehub.backend.services.DocumentStore;
 import com.tujulishanehub.backend.services.OrganizationService;
 import com.tujulishanehub.backend.services.UserService;
+import com.tujulishanehub.backend.util.DocumentResponseUtil;
 import com.tujulishanehub.backend.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -21,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +50,9 @@ public class UserController {
     @Autowired
     private UserDocumentRepository userDocumentRepository;
 
+    @Autowired
+    private DocumentStore documentStore;
+
     @Value("${jwt.expiration:3600}")
     private Long jwtExpiration;
 
@@ -108,8 +113,11 @@ public class UserController {
                             document.setUser(registeredUser);
                             document.setFileName(file.getOriginalFilename());
                             document.setFileType(file.getContentType());
-                            document.setFileSize(file.getSize());
-                            document.setFileData(file.getBytes());
+                            try (java.io.InputStream in = file.getInputStream()) {
+                                DocumentStore.StoredDocument stored = documentStore.store(in);
+                                document.setFileSize(stored.getSize());
+                                document.setStorageKey(stored.getStorageKey());
+                            }
                             
                             // Set additional fields
                             document.setUploadedBy(registeredUser); // User uploads their own documents
@@ -1377,11 +1385,8 @@ public class UserController {
             logger.info("Returning document: {} ({})", document.getFileName(), document.getFileType());
 
             // Return the file with appropriate headers for download
-            return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(document.getFileType()))
-                .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, 
-                    "attachment; filename=\"" + document.getFileName() + "\"")
-                .body(document.getFileData());
+            return DocumentResponseUtil.buildFileResponse(documentStore, document.getStorageKey(), document.getFileData(),
+                document.getFileName(), document.getFileType(), document.getFileSize(), false);
 
         } catch (Exception e) {
             logger.error("Error downloading document {} for user {}: {}", documentId, userId, e.getMessage(), e);
@@ -1432,11 +1437,8 @@ public class UserController {
             logger.info("Returning document for inline view: {} ({})", document.getFileName(), document.getFileType());
 
             // Return the file with appropriate headers for inline viewing
-            return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(document.getFileType()))
-                .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, 
-                    "inline; filename=\"" + document.getFileName() + "\"")
-                .body(document.getFileData());
+            return DocumentResponseUtil.buildFileResponse(documentStore, document.getStorageKey(), document.getFileData(),
+                document.getFileName(), document.getFileType(), document.getFileSize(), true);
 
         } catch (Exception e) {
             logger.error("Error viewing document {} for user {}: {}", documentId, userId, e.getMessage(), e);
@@ -1503,14 +1505,18 @@ public class UserController {
     }
     
     /**
-     * Search users by name or email (for reviewer conversion)
+     * Search users by name or email (for reviewer conversion).
+     * Keyset-paged: pass the returned nextCursor as "after" to get the next page.
      */
     @GetMapping("/admin/users/search")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'SUPER_ADMIN_APPROVER')")
-    public ResponseEntity<ApiResponse<List<User>>> searchUsers(@RequestParam String query) {
+    public ResponseEntity<ApiResponse<Map<String, Object>>> searchUsers(
+            @RequestParam String query,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "10") int limit) {
         try {
             if (query == null || query.trim().length() < 2) {
-                ApiResponse<List<User>> response = new ApiResponse<>(
+                ApiResponse<Map<String, Object>> response = new ApiResponse<>(
                     HttpStatus.BAD_REQUEST.value(),
                     "Search query must be at least 2 characters",
                     null
@@ -1518,16 +1524,29 @@ public class UserController {
                 return ResponseEntity.badRequest().body(response);
             }
             
-            List<User> users = userService.searchUsersByNameOrEmail(query.trim());
-            ApiResponse<List<User>> response = new ApiResponse<>(
+            int pageSize = Math.min(Math.max(limit, 1), 50);
+            // Fetch one extra row to know whether there is a next page
+            List<Map<String, Object>> users = new ArrayList<>(
+                userService.searchUsersByNameOrEmail(query.trim(), after, pageSize + 1));
+            boolean hasNext = users.size() > pageSize;
+            if (hasNext) {
+                users = users.subList(0, pageSize);
+            }
+            
+            Map<String, Object> data = new HashMap<>();
+            data.put("users", users);
+            data.put("hasNext", hasNext);
+            data.put("nextCursor", hasNext ? users.get(users.size() - 1).get("id") : null);
+            
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
                 HttpStatus.OK.value(),
                 "Users found",
-                users
+                data
             );
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             logger.error("Error searching users: {}", e.getMessage(), e);
-            ApiResponse<List<User>> response = new ApiResponse<>(
+            ApiResponse<Map<String, Object>> response = new ApiResponse<>(
                 HttpStatus.INTERNAL_SERVER_ERROR.value(),
                 "Failed to search users",
                 null
@@ -0,0 +1,32 @@
+package com.tujulishanehub.backend.events;
+
+/**
+ * Published when a project is created or its fields, workflow status, themes or locations change.
+ * Views derived from projects (public statistics, map markers, search) refresh from the committed
+ * row once the publishing transaction commits.
+ */
+public final class ProjectChanged {
+
+    private final Long projectId;
+    private final boolean created;
+
+    public ProjectChanged(Long projectId) {
+        this(projectId, false);
+    }
+
+    public ProjectChanged(Long projectId, boolean created) {
+        this.projectId = projectId;
+        this.created = created;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    /**
+     * True for a new project, which changes the row count of the project listing
+     */
+    public boolean isCreated() {
+        return created;
+    }
+}
@@ -0,0 +1,18 @@
+package com.tujulishanehub.backend.events;
+
+/**
+ * Published when a project is deleted, so views derived from projects drop it once the publishing
+ * transaction commits.
+ */
+public final class ProjectDeleted {
+
+    private final Long projectId;
+
+    public ProjectDeleted(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+}
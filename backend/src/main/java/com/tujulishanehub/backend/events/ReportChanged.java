@@ -0,0 +1,19 @@
+package com.tujulishanehub.backend.events;
+
+/**
+ * Published when a project report is created, edited, moves through review or is moved to a past
+ * project. The report search indexes refresh from the committed row once the publishing
+ * transaction commits.
+ */
+public final class ReportChanged {
+
+    private final Long reportId;
+
+    public ReportChanged(Long reportId) {
+        this.reportId = reportId;
+    }
+
+    public Long getReportId() {
+        return reportId;
+    }
+}
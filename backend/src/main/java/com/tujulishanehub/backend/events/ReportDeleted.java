@@ -0,0 +1,18 @@
+package com.tujulishanehub.backend.events;
+
+/**
+ * Published when a project report is deleted, so the search indexes drop it once the publishing
+ * transaction commits.
+ */
+public final class ReportDeleted {
+
+    private final Long reportId;
+
+    public ReportDeleted(Long reportId) {
+        this.reportId = reportId;
+    }
+
+    public Long getReportId() {
+        return reportId;
+    }
+}
@@ -0,0 +1,29 @@
+package com.tujulishanehub.backend.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An uploaded document held by the DatabaseDocumentStore, keyed by its SHA-256 hash so identical
+ * uploads are stored once. The bytes are in DocumentContentChunk rows; Document rows only keep
+ * the key.
+ */
+@Entity
+@Table(name = "document_content")
+@Data
+@NoArgsConstructor
+public class DocumentContent {
+
+    @Id
+    @Column(name = "storage_key", length = 64)
+    private String storageKey;
+
+    @Column(name = "file_size", nullable = false)
+    private long fileSize;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,40 @@
+package com.tujulishanehub.backend.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One fixed-size piece of a document's content, so downloads never hold more than one chunk in
+ * memory. Written and read by DatabaseDocumentStore through JDBC; mapped so the schema exists
+ * wherever Hibernate generates it.
+ */
+@Entity
+@Table(name = "document_content_chunks")
+@IdClass(DocumentContentChunk.Key.class)
+@Data
+@NoArgsConstructor
+public class DocumentContentChunk {
+
+    @Id
+    @Column(name = "storage_key", length = 64)
+    private String storageKey;
+
+    @Id
+    @Column(name = "chunk_index")
+    private int chunkIndex;
+
+    @Column(name = "data", nullable = false, columnDefinition = "bytea")
+    private byte[] data;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String storageKey;
+        private int chunkIndex;
+    }
+}
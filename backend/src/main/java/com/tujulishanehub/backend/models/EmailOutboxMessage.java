@@ -0,0 +1,75 @@
+package com.tujulishanehub.backend.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An email waiting to be sent (or already sent / given up on).
+ * Rows are written in the same transaction as the business change that triggers the email,
+ * and delivered afterwards by the EmailOutboxDispatcher. The body of a sent message is cleared,
+ * so one-time codes and links do not outlive their delivery in the table.
+ */
+@Entity
+@Table(name = "email_outbox")
+@Data
+@NoArgsConstructor
+public class EmailOutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    // TEXT: subjects embed project titles, which may already be 255 characters
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Column(nullable = false)
+    private boolean html;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // Set while a dispatcher is sending the message; a stale claim is picked up again
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    public enum Status {
+        PENDING,    // Waiting for (another) delivery attempt
+        SENDING,    // Claimed by the dispatcher
+        SENT,       // Delivered to the SMTP server
+        DEAD        // Gave up after the maximum number of attempts
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+}
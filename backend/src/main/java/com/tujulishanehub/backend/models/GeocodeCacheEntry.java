@@ -0,0 +1,40 @@
+package com.tujulishanehub.backend.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A remembered geocoder answer for a normalized address.
+ * Negative entries (no match) have null coordinates and always carry an expiry so the address is retried later.
+ */
+@Entity
+@Table(name = "geocode_cache")
+@Data
+@NoArgsConstructor
+public class GeocodeCacheEntry {
+
+    @Id
+    @Column(name = "address_key", length = 512)
+    private String addressKey;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    @Column(length = 255)
+    private String message;
+
+    @Column(name = "cached_at", nullable = false)
+    private LocalDateTime cachedAt;
+
+    // Null means the entry never expires
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+}
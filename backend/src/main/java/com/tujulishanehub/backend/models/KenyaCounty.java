@@ -0,0 +1,105 @@
+package com.tujulishanehub.backend.models;
+
+import java.util.Locale;
+
+/**
+ * The 47 counties of Kenya with their official county codes (First Schedule of the Constitution)
+ */
+public enum KenyaCounty {
+    MOMBASA(1, "Mombasa"),
+    KWALE(2, "Kwale"),
+    KILIFI(3, "Kilifi"),
+    TANA_RIVER(4, "Tana River"),
+    LAMU(5, "Lamu"),
+    TAITA_TAVETA(6, "Taita Taveta"),
+    GARISSA(7, "Garissa"),
+    WAJIR(8, "Wajir"),
+    MANDERA(9, "Mandera"),
+    MARSABIT(10, "Marsabit"),
+    ISIOLO(11, "Isiolo"),
+    MERU(12, "Meru"),
+    THARAKA_NITHI(13, "Tharaka Nithi"),
+    EMBU(14, "Embu"),
+    KITUI(15, "Kitui"),
+    MACHAKOS(16, "Machakos"),
+    MAKUENI(17, "Makueni"),
+    NYANDARUA(18, "Nyandarua"),
+    NYERI(19, "Nyeri"),
+    KIRINYAGA(20, "Kirinyaga"),
+    MURANGA(21, "Murang'a"),
+    KIAMBU(22, "Kiambu"),
+    TURKANA(23, "Turkana"),
+    WEST_POKOT(24, "West Pokot"),
+    SAMBURU(25, "Samburu"),
+    TRANS_NZOIA(26, "Trans Nzoia"),
+    UASIN_GISHU(27, "Uasin Gishu"),
+    ELGEYO_MARAKWET(28, "Elgeyo Marakwet"),
+    NANDI(29, "Nandi"),
+    BARINGO(30, "Baringo"),
+    LAIKIPIA(31, "Laikipia"),
+    NAKURU(32, "Nakuru"),
+    NAROK(33, "Narok"),
+    KAJIADO(34, "Kajiado"),
+    KERICHO(35, "Kericho"),
+    BOMET(36, "Bomet"),
+    KAKAMEGA(37, "Kakamega"),
+    VIHIGA(38, "Vihiga"),
+    BUNGOMA(39, "Bungoma"),
+    BUSIA(40, "Busia"),
+    SIAYA(41, "Siaya"),
+    KISUMU(42, "Kisumu"),
+    HOMA_BAY(43, "Homa Bay"),
+    MIGORI(44, "Migori"),
+    KISII(45, "Kisii"),
+    NYAMIRA(46, "Nyamira"),
+    NAIROBI(47, "Nairobi");
+
+    private final int code;
+    private final String displayName;
+
+    KenyaCounty(int code, String displayName) {
+        this.code = code;
+        this.displayName = displayName;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public static KenyaCounty fromCode(Integer code) {
+        if (code == null) {
+            return null;
+        }
+        for (KenyaCounty county : values()) {
+            if (county.code == code) {
+                return county;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Exact match on the county name, ignoring case, punctuation and a trailing "County"
+     * ("Murang'a", "muranga county", "Taita-Taveta"). Misspellings are left to KenyaGazetteer.
+     */
+    public static KenyaCounty fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        String key = key(name.replaceAll("(?i)\\s+(city\\s+)?county\\s*$", ""));
+        for (KenyaCounty county : values()) {
+            if (key(county.displayName).equals(key)) {
+                return county;
+            }
+        }
+        return null;
+    }
+
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+    }
+}
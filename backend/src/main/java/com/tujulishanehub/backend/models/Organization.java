@@ -46,11 +46,16 @@ public class Organization {
     @Column(name = "registration_number")
     private String registrationNumber;
     
-    @Column(name = "logo_data", columnDefinition = "bytea")
-    private byte[] logoData;
-    
+    // Logo bytes live in organization_logos and are served by GET /api/organizations/{id}/logo;
+    // only the metadata needed for caching is kept here
     @Column(name = "logo_content_type")
     private String logoContentType;
+    
+    @Column(name = "logo_etag", length = 64)
+    private String logoEtag;
+    
+    @Column(name = "logo_updated_at")
+    private LocalDateTime logoUpdatedAt;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "approval_status")
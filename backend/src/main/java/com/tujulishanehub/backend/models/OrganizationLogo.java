@@ -0,0 +1,39 @@
+package com.tujulishanehub.backend.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Organization logo bytes, kept in their own table so loading an Organization
+ * (or a User, which fetches its organization eagerly) never reads the image.
+ * Metadata needed for HTTP caching is mirrored on Organization itself.
+ */
+@Entity
+@Table(name = "organization_logos")
+@Data
+@NoArgsConstructor
+public class OrganizationLogo {
+
+    @Id
+    @Column(name = "organization_id")
+    private Long organizationId;
+
+    @Column(name = "data", nullable = false, columnDefinition = "bytea")
+    private byte[] data;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    // SHA-256 of the data, used as the HTTP entity tag
+    @Column(name = "etag", length = 64)
+    private String etag;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -13,9 +13,13 @@ public class ProjectDocument {
     private String fileType;
     private Long fileSize; // Size in bytes
 
+    // Legacy inline content; new uploads are kept in the DocumentStore under storageKey
     @Column(columnDefinition = "bytea")
     private byte[] data;
 
+    @Column(name = "storage_key", length = 64)
+    private String storageKey;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id")
     private Project project;
@@ -49,6 +53,9 @@ public class ProjectDocument {
     public byte[] getData() { return data; }
     public void setData(byte[] data) { this.data = data; }
 
+    public String getStorageKey() { return storageKey; }
+    public void setStorageKey(String storageKey) { this.storageKey = storageKey; }
+
     public Project getProject() { return project; }
     public void setProject(Project project) { this.project = project; }
 
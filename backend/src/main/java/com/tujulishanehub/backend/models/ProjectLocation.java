@@ -31,22 +31,39 @@ public class ProjectLocation {
     @Column(nullable = false)
     private String county;
 
+    // Official county code (KenyaCounty) derived from the coordinates and names; null if unknown
+    @Column(name = "county_code")
+    private Integer countyCode;
+
     @Column(name = "sub_county")
     private String subCounty;
 
     @Column(name = "maps_address", columnDefinition = "TEXT")
     private String mapsAddress;
 
-    // Geographic coordinates
-    @Column(nullable = false)
+    // Geographic coordinates (null while the maps address is still being geocoded)
     private Double latitude;
     
-    @Column(nullable = false)
     private Double longitude;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "geocode_status", length = 20)
+    private GeocodeStatus geocodeStatus;
+
+    @Column(name = "geocoded_at")
+    private LocalDateTime geocodedAt;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    public enum GeocodeStatus {
+        PROVIDED,       // Coordinates supplied with the location
+        PENDING,        // Waiting for the geocoding worker to resolve the maps address
+        RESOLVED,       // Coordinates found from the maps address, or a town/sub-county in the gazetteer
+        APPROXIMATE,    // Only the county (or nothing) matched; county or Kenya centre used as a placeholder
+        FAILED          // Nothing to geocode, or geocoding raised an error
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -57,6 +74,12 @@ public class ProjectLocation {
         return latitude != null && longitude != null;
     }
 
+    // Canonical county name when the county code is known, otherwise the county as typed
+    public String getCanonicalCounty() {
+        KenyaCounty canonical = KenyaCounty.fromCode(countyCode);
+        return canonical != null ? canonical.getDisplayName() : county;
+    }
+
     // Helper method to get formatted coordinate string
     public String getCoordinatesString() {
         if (hasCoordinates()) {
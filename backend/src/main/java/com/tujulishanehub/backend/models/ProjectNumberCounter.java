@@ -0,0 +1,26 @@
+package com.tujulishanehub.backend.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Named counter row used to hand out sequential numbers (e.g. project numbers).
+ * Rows are locked with SELECT ... FOR UPDATE while a block of values is reserved.
+ */
+@Entity
+@Table(name = "project_number_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectNumberCounter {
+
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+
+    // Next value that has not been handed out yet
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
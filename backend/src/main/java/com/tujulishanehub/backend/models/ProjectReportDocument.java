@@ -16,9 +16,13 @@ public class ProjectReportDocument {
     @Column(name = "file_size")
     private Long fileSize; // in bytes
 
+    // Legacy inline content; new uploads are kept in the DocumentStore under storageKey
     @Column(columnDefinition = "bytea")
     private byte[] data;
 
+    @Column(name = "storage_key", length = 64)
+    private String storageKey;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id")
     private Project project;
@@ -75,6 +79,14 @@ public class ProjectReportDocument {
         this.data = data; 
     }
 
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public void setStorageKey(String storageKey) {
+        this.storageKey = storageKey;
+    }
+
     public Project getProject() { 
         return project; 
     }
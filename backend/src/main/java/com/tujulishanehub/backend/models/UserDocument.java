@@ -25,10 +25,14 @@ public class UserDocument {
     @Column(name = "file_size", nullable = false)
     private Long fileSize; // Size in bytes
 
-    @Column(name = "file_data", nullable = false)
+    // Legacy inline content; new uploads are kept in the DocumentStore under storageKey
+    @Column(name = "file_data")
     @JdbcTypeCode(SqlTypes.VARBINARY)
     private byte[] fileData;
 
+    @Column(name = "storage_key", length = 64)
+    private String storageKey;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "uploaded_by")
     private User uploadedBy;
@@ -99,6 +103,14 @@ public class UserDocument {
         this.fileData = fileData;
     }
 
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public void setStorageKey(String storageKey) {
+        this.storageKey = storageKey;
+    }
+
     public User getUploadedBy() {
         return uploadedBy;
     }
@@ -0,0 +1,42 @@
+package com.tujulishanehub.backend.payload;
+
+import com.tujulishanehub.backend.models.Project;
+
+import java.util.List;
+
+/**
+ * Admin dashboard: project counts by approval status and the ten most recently created projects
+ */
+public class AdminDashboardStats {
+    private final ProjectCounts counts;
+    private final List<Project> recentProjects;
+
+    public AdminDashboardStats(ProjectCounts counts, List<Project> recentProjects) {
+        this.counts = counts;
+        this.recentProjects = recentProjects;
+    }
+
+    public long getTotalProjects() {
+        return counts.getTotal();
+    }
+
+    public long getPendingProjects() {
+        return counts.getPending();
+    }
+
+    public long getSubmittedProjects() {
+        return counts.getSubmitted();
+    }
+
+    public long getApprovedProjects() {
+        return counts.getApproved();
+    }
+
+    public long getRejectedProjects() {
+        return counts.getRejected();
+    }
+
+    public List<Project> getRecentProjects() {
+        return recentProjects;
+    }
+}
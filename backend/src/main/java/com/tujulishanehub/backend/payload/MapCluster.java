@@ -0,0 +1,35 @@
+package com.tujulishanehub.backend.payload;
+
+/**
+ * A group of project locations drawn as one map marker: how many there are, their centroid and
+ * the theme most of them share
+ */
+public class MapCluster {
+    private final int count;
+    private final double latitude;
+    private final double longitude;
+    private final String dominantTheme;
+
+    public MapCluster(int count, double latitude, double longitude, String dominantTheme) {
+        this.count = count;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.dominantTheme = dominantTheme;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public String getDominantTheme() {
+        return dominantTheme;
+    }
+}
@@ -0,0 +1,74 @@
+package com.tujulishanehub.backend.payload;
+
+import java.util.List;
+
+/**
+ * What a map needs to draw one marker: the (past) project, the location, and a few display fields.
+ * A project with several locations has one marker per location. Category and themes are enum names.
+ */
+public class MapMarker {
+    private final Long id;
+    private final Long locationId;
+    private final String title;
+    private final String status;
+    private final String approvalWorkflowStatus;
+    private final String county;
+    private final Double latitude;
+    private final Double longitude;
+    private final String category;
+    private final List<String> themes;
+
+    public MapMarker(Long id, Long locationId, String title, String status, String approvalWorkflowStatus,
+                     String county, Double latitude, Double longitude, String category, List<String> themes) {
+        this.id = id;
+        this.locationId = locationId;
+        this.title = title;
+        this.status = status;
+        this.approvalWorkflowStatus = approvalWorkflowStatus;
+        this.county = county;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.category = category;
+        this.themes = themes != null ? themes : List.of();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getLocationId() {
+        return locationId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getApprovalWorkflowStatus() {
+        return approvalWorkflowStatus;
+    }
+
+    public String getCounty() {
+        return county;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public List<String> getThemes() {
+        return themes;
+    }
+}
@@ -0,0 +1,22 @@
+package com.tujulishanehub.backend.payload;
+
+/**
+ * A map marker found by a nearest-neighbour search and its great-circle distance from the search point
+ */
+public class NearbyMarker {
+    private final double distanceKm;
+    private final MapMarker marker;
+
+    public NearbyMarker(double distanceKm, MapMarker marker) {
+        this.distanceKm = distanceKm;
+        this.marker = marker;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public MapMarker getMarker() {
+        return marker;
+    }
+}
@@ -0,0 +1,54 @@
+package com.tujulishanehub.backend.payload;
+
+import java.util.Map;
+
+/**
+ * Project counters for a dashboard: totals by approval status and by category. "active" is the
+ * approved count, kept under the name the dashboard cards use.
+ */
+public class ProjectCounts {
+    private final long total;
+    private final long pending;
+    private final long submitted;
+    private final long approved;
+    private final long rejected;
+    private final Map<String, Long> byCategory;
+
+    public ProjectCounts(long total, long pending, long submitted, long approved, long rejected,
+                         Map<String, Long> byCategory) {
+        this.total = total;
+        this.pending = pending;
+        this.submitted = submitted;
+        this.approved = approved;
+        this.rejected = rejected;
+        this.byCategory = byCategory;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getPending() {
+        return pending;
+    }
+
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    public long getApproved() {
+        return approved;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getActive() {
+        return approved;
+    }
+
+    public Map<String, Long> getByCategory() {
+        return byCategory;
+    }
+}
@@ -7,6 +7,7 @@ public class ProjectLocationDto {
     private String mapsAddress;
     private Double latitude;
     private Double longitude;
+    private String geocodeStatus;
 
     public ProjectLocationDto() {
     }
@@ -20,6 +21,12 @@ public class ProjectLocationDto {
         this.longitude = longitude;
     }
 
+    public ProjectLocationDto(Long id, String county, String subCounty, String mapsAddress, Double latitude, Double longitude,
+                              String geocodeStatus) {
+        this(id, county, subCounty, mapsAddress, latitude, longitude);
+        this.geocodeStatus = geocodeStatus;
+    }
+
     public Long getId() {
         return id;
     }
@@ -67,4 +74,12 @@ public class ProjectLocationDto {
     public void setLongitude(Double longitude) {
         this.longitude = longitude;
     }
+
+    public String getGeocodeStatus() {
+        return geocodeStatus;
+    }
+
+    public void setGeocodeStatus(String geocodeStatus) {
+        this.geocodeStatus = geocodeStatus;
+    }
 }
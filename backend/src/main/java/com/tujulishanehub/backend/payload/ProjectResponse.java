@@ -1,6 +1,10 @@
 package com.tujulishanehub.backend.payload;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import com.tujulishanehub.backend.models.ApprovalStatus;
 import com.tujulishanehub.backend.models.ApprovalWorkflowStatus;
 import com.tujulishanehub.backend.models.ProjectCategory;
@@ -9,10 +13,18 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonFilter(ProjectResponse.FIELD_FILTER)
 public class ProjectResponse {
 
+    /**
+     * Jackson filter id for sparse fieldsets; the application ObjectMapper's default filter
+     * writes every field, so responses are only trimmed where onlyFields() is passed in
+     */
+    public static final String FIELD_FILTER = "projectResponseFields";
+
     private Long id;
     private String projectNo;
     private String partner;
@@ -44,6 +56,14 @@ public class ProjectResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    /**
+     * Filters that serialize only the given fields of each ProjectResponse (nested DTOs stay whole)
+     */
+    public static FilterProvider onlyFields(Set<String> fields) {
+        return new SimpleFilterProvider()
+            .addFilter(FIELD_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+    }
+
     public Long getId() {
         return id;
     }
@@ -0,0 +1,89 @@
+package com.tujulishanehub.backend.payload;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Named views of a project in list responses. Each view is served by its own projection, so a
+ * lighter view never loads the TEXT columns (objectives, activity type) or child collections it
+ * does not return; fields outside a view are left null and omitted from the JSON.
+ */
+public enum ProjectView {
+
+    /**
+     * Table and card lists: scalar columns and the partner's name and organization
+     */
+    SUMMARY(Set.of("id", "projectNo", "partner", "partnerName", "organizationName", "createdByRole", "title",
+        "projectCategory", "startDate", "endDate", "county", "status", "completionPercentage", "approvalStatus",
+        "approvalWorkflowStatus", "createdAt")),
+
+    /**
+     * Map pages: what a marker and its popup show, with theme codes and location coordinates
+     */
+    MAP(Set.of("id", "projectNo", "title", "projectCategory", "county", "status", "createdAt", "themes", "locations")),
+
+    /**
+     * Everything in ProjectResponse
+     */
+    FULL(Set.of());
+
+    /**
+     * Every field a project response has, i.e. every name fields= accepts
+     */
+    public static final Set<String> RESPONSE_FIELDS = Arrays.stream(ProjectResponse.class.getDeclaredFields())
+        .filter(field -> !Modifier.isStatic(field.getModifiers()))
+        .map(Field::getName)
+        .collect(Collectors.toUnmodifiableSet());
+
+    private final Set<String> fields;
+
+    ProjectView(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Whether the view returns a field (every field for FULL)
+     */
+    public boolean includes(String field) {
+        return this == FULL || fields.contains(field);
+    }
+
+    public static ProjectView fromParam(String view) {
+        if (view == null || view.isBlank()) {
+            return FULL;
+        }
+        try {
+            return valueOf(view.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("view must be one of summary, map, full");
+        }
+    }
+
+    /**
+     * The cheapest view that returns all of the requested fields. Names that are not
+     * ProjectResponse fields are rejected rather than silently widening the view to FULL.
+     */
+    public static ProjectView covering(Set<String> requested) {
+        if (requested.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one field");
+        }
+        Set<String> unknown = new TreeSet<>(requested);
+        unknown.removeAll(RESPONSE_FIELDS);
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown fields: " + String.join(", ", unknown)
+                + ". Valid fields are: " + String.join(", ", new TreeSet<>(RESPONSE_FIELDS)));
+        }
+        if (SUMMARY.fields.containsAll(requested)) {
+            return SUMMARY;
+        }
+        if (MAP.fields.containsAll(requested)) {
+            return MAP;
+        }
+        return FULL;
+    }
+}
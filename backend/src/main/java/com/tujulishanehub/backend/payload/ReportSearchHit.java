@@ -0,0 +1,31 @@
+package com.tujulishanehub.backend.payload;
+
+import com.tujulishanehub.backend.models.ProjectReport;
+
+/**
+ * One report search result: the report, its relevance (higher is better, only comparable within
+ * one search) and an HTML-escaped excerpt with the matching words wrapped in &lt;mark&gt;
+ */
+public class ReportSearchHit {
+    private final ProjectReport report;
+    private final double rank;
+    private final String snippet;
+
+    public ReportSearchHit(ProjectReport report, double rank, String snippet) {
+        this.report = report;
+        this.rank = rank;
+        this.snippet = snippet;
+    }
+
+    public ProjectReport getReport() {
+        return report;
+    }
+
+    public double getRank() {
+        return rank;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+}
@@ -0,0 +1,54 @@
+package com.tujulishanehub.backend.payload;
+
+/**
+ * One cross-entity search result: which entity it is (type and id), what to show for it, its
+ * relevance (higher is better, only comparable within one search) and an HTML-escaped excerpt with
+ * the matching words wrapped in &lt;mark&gt;
+ */
+public class SearchResult {
+    private final String type;
+    private final Long id;
+    private final String title;
+    private final String subtitle;
+    private final String status;
+    private final double rank;
+    private final String snippet;
+
+    public SearchResult(String type, Long id, String title, String subtitle, String status, double rank, String snippet) {
+        this.type = type;
+        this.id = id;
+        this.title = title;
+        this.subtitle = subtitle;
+        this.status = status;
+        this.rank = rank;
+        this.snippet = snippet;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getSubtitle() {
+        return subtitle;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public double getRank() {
+        return rank;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+}
@@ -0,0 +1,9 @@
+package com.tujulishanehub.backend.repositories;
+
+import com.tujulishanehub.backend.models.DocumentContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DocumentContentRepository extends JpaRepository<DocumentContent, String> {
+}
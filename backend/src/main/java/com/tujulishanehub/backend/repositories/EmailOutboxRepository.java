@@ -0,0 +1,64 @@
+package com.tujulishanehub.backend.repositories;
+
+import com.tujulishanehub.backend.models.EmailOutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    /**
+     * Lock the next batch of messages that are due, skipping rows another dispatcher already holds.
+     * Includes messages whose SENDING claim has gone stale (e.g. the instance died mid-send).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM EmailOutboxMessage m WHERE " +
+           "(m.status = com.tujulishanehub.backend.models.EmailOutboxMessage.Status.PENDING AND m.nextAttemptAt <= :now) OR " +
+           "(m.status = com.tujulishanehub.backend.models.EmailOutboxMessage.Status.SENDING AND m.claimedAt < :staleBefore) " +
+           "ORDER BY m.id")
+    List<EmailOutboxMessage> findDueForUpdate(@Param("now") LocalDateTime now,
+                                              @Param("staleBefore") LocalDateTime staleBefore,
+                                              Pageable pageable);
+
+    /**
+     * Count messages by status (queue depth)
+     */
+    long countByStatus(EmailOutboxMessage.Status status);
+
+    /**
+     * Creation time of the oldest message still waiting to be sent
+     */
+    @Query("SELECT MIN(m.createdAt) FROM EmailOutboxMessage m WHERE m.status IN " +
+           "(com.tujulishanehub.backend.models.EmailOutboxMessage.Status.PENDING, com.tujulishanehub.backend.models.EmailOutboxMessage.Status.SENDING)")
+    LocalDateTime findOldestUnsentCreatedAt();
+
+    /**
+     * Most recently sent messages, for send latency figures
+     */
+    List<EmailOutboxMessage> findTop200ByStatusOrderBySentAtDesc(EmailOutboxMessage.Status status);
+
+    /**
+     * Messages in a status, newest first (e.g. the dead-letter list)
+     */
+    Page<EmailOutboxMessage> findByStatusOrderByCreatedAtDesc(EmailOutboxMessage.Status status, Pageable pageable);
+
+    /**
+     * Purge delivered messages older than the retention window
+     */
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.status = com.tujulishanehub.backend.models.EmailOutboxMessage.Status.SENT AND m.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
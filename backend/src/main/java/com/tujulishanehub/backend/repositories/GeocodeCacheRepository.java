@@ -0,0 +1,29 @@
+package com.tujulishanehub.backend.repositories;
+
+import com.tujulishanehub.backend.models.GeocodeCacheEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface GeocodeCacheRepository extends JpaRepository<GeocodeCacheEntry, String> {
+
+    /**
+     * Most recently cached live entries, used to warm the in-memory cache at startup
+     */
+    @Query("SELECT e FROM GeocodeCacheEntry e WHERE e.expiresAt IS NULL OR e.expiresAt > :now ORDER BY e.cachedAt DESC")
+    List<GeocodeCacheEntry> findLive(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Remove expired entries
+     */
+    @Modifying
+    @Query("DELETE FROM GeocodeCacheEntry e WHERE e.expiresAt IS NOT NULL AND e.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,9 @@
+package com.tujulishanehub.backend.repositories;
+
+import com.tujulishanehub.backend.models.OrganizationLogo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrganizationLogoRepository extends JpaRepository<OrganizationLogo, Long> {
+}
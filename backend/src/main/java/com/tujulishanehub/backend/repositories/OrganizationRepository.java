@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -64,6 +65,39 @@ public interface OrganizationRepository extends JpaRepository<Organization, Long
     @Query("SELECT o FROM Organization o WHERE LOWER(o.name) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<Organization> searchByNameContaining(@Param("keyword") String keyword, Pageable pageable);
     
+    /**
+     * (id, name, type, description, address, registration number, approval status) of every
+     * organization, for building the cross-entity search index
+     */
+    @Query("SELECT o.id, o.name, o.organizationType, o.description, o.address, o.registrationNumber, o.approvalStatus FROM Organization o")
+    List<Object[]> findSearchIndexRows();
+    
+    // ==================== Keyset pagination ====================
+    // One page of GET /api/organizations, ordered and limited by the Pageable's sort (sort key, then
+    // id) and size. The seek predicates pick up after the last row of the previous page, as a
+    // row-value comparison so the (sort key, id) index is read as one range.
+    
+    @Query("SELECT o FROM Organization o")
+    List<Organization> findPage(Pageable pageable);
+    
+    @Query("SELECT o FROM Organization o WHERE o.id > :id")
+    List<Organization> findPageAfterId(@Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT o FROM Organization o WHERE o.id < :id")
+    List<Organization> findPageBeforeId(@Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT o FROM Organization o WHERE (o.createdAt, o.id) > (:createdAt, :id)")
+    List<Organization> findPageAfterCreatedAt(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT o FROM Organization o WHERE (o.createdAt, o.id) < (:createdAt, :id)")
+    List<Organization> findPageBeforeCreatedAt(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT o FROM Organization o WHERE (o.name, o.id) > (:name, :id)")
+    List<Organization> findPageAfterName(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT o FROM Organization o WHERE (o.name, o.id) < (:name, :id)")
+    List<Organization> findPageBeforeName(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+    
     /**
      * Count organizations by approval status
      */
@@ -49,14 +49,14 @@ public interface PastProjectRepository extends JpaRepository<PastProject, Long>
     @Query("SELECT p FROM PastProject p WHERE p.latitude IS NOT NULL AND p.longitude IS NOT NULL")
     List<PastProject> findPastProjectsWithCoordinates();
 
-    // Find past projects within a geographic bounding box
-    @Query("SELECT p FROM PastProject p WHERE p.latitude BETWEEN :minLat AND :maxLat AND p.longitude BETWEEN :minLng AND :maxLng")
-    List<PastProject> findPastProjectsInBoundingBox(
-        @Param("minLat") Double minLatitude,
-        @Param("maxLat") Double maxLatitude,
-        @Param("minLng") Double minLongitude,
-        @Param("maxLng") Double maxLongitude
-    );
+    // (id, title, final status, county, latitude, longitude, theme, category) of located past projects, for the map marker index
+    @Query("SELECT p.id, p.title, p.finalStatus, p.county, p.latitude, p.longitude, p.projectTheme, p.projectCategory FROM PastProject p " +
+           "WHERE p.latitude IS NOT NULL AND p.longitude IS NOT NULL")
+    List<Object[]> findMapMarkerRows();
+
+    // (id, title, partner, activity type, county, objectives, lessons learned, final status) of every past project, for the search index
+    @Query("SELECT p.id, p.title, p.partner, p.activityType, p.county, p.objectives, p.lessonsLearned, p.finalStatus FROM PastProject p")
+    List<Object[]> findSearchIndexRows();
 
     // Search past projects by multiple criteria
     @Query("SELECT p FROM PastProject p WHERE " +
@@ -1,6 +1,8 @@
 package com.tujulishanehub.backend.repositories;
 
 import com.tujulishanehub.backend.models.ProjectDocument;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -19,9 +21,25 @@ public interface ProjectDocumentRepository extends JpaRepository<ProjectDocument
     List<Map<String, Object>> findMetadataByProjectId(@Param("projectId") Long projectId);
 
     /**
-     * Get all project documents with relationships loaded for admin dashboard
+     * Page of active project document listing rows for the admin dashboard.
+     * Only metadata columns are selected, so the file data (LOB) is never read.
      */
-    @Query("SELECT d FROM ProjectDocument d LEFT JOIN FETCH d.project p LEFT JOIN FETCH d.uploadedBy u WHERE d.status = 'ACTIVE'")
-    List<ProjectDocument> findAllActiveWithRelationships();
+    @Query(value = "SELECT new map(d.id as id, d.fileName as fileName, COALESCE(p.title, 'Unknown') as project, " +
+                   "COALESCE(u.name, 'Unknown') as uploadedBy, d.fileType as type, d.fileSize as size, " +
+                   "d.status as status, d.uploadDate as date, d.createdAt as createdAt) " +
+                   "FROM ProjectDocument d LEFT JOIN d.project p LEFT JOIN d.uploadedBy u " +
+                   "WHERE d.status = 'ACTIVE' ORDER BY d.id",
+           countQuery = "SELECT COUNT(d) FROM ProjectDocument d WHERE d.status = 'ACTIVE'")
+    Page<Map<String, Object>> findActiveListing(Pageable pageable);
+
+    /**
+     * Next batch of active project document listing rows after the given ID (keyset), used to stream the full listing
+     */
+    @Query("SELECT new map(d.id as id, d.fileName as fileName, COALESCE(p.title, 'Unknown') as project, " +
+           "COALESCE(u.name, 'Unknown') as uploadedBy, d.fileType as type, d.fileSize as size, " +
+           "d.status as status, d.uploadDate as date, d.createdAt as createdAt) " +
+           "FROM ProjectDocument d LEFT JOIN d.project p LEFT JOIN d.uploadedBy u " +
+           "WHERE d.status = 'ACTIVE' AND d.id > :afterId ORDER BY d.id")
+    List<Map<String, Object>> findActiveListingAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
 
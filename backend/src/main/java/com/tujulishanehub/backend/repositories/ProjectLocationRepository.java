@@ -0,0 +1,40 @@
+package com.tujulishanehub.backend.repositories;
+
+import com.tujulishanehub.backend.models.ProjectLocation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProjectLocationRepository extends JpaRepository<ProjectLocation, Long> {
+
+    /**
+     * Ids of locations waiting for the geocoding worker
+     */
+    @Query("SELECT l.id FROM ProjectLocation l WHERE l.geocodeStatus = com.tujulishanehub.backend.models.ProjectLocation.GeocodeStatus.PENDING ORDER BY l.id")
+    List<Long> findPendingGeocodeIds();
+
+    /**
+     * Ids of locations that have a maps address, county or sub-county but no coordinates
+     */
+    @Query("SELECT l.id FROM ProjectLocation l WHERE (l.latitude IS NULL OR l.longitude IS NULL) " +
+           "AND ((l.mapsAddress IS NOT NULL AND l.mapsAddress <> '') " +
+           "OR (l.county IS NOT NULL AND l.county <> '') " +
+           "OR (l.subCounty IS NOT NULL AND l.subCounty <> '')) ORDER BY l.id")
+    List<Long> findIdsMissingCoordinates();
+
+    /**
+     * Next page of location ids after afterId for the county backfill: rows without a county
+     * code, or every row when all is true
+     */
+    @Query("SELECT l.id FROM ProjectLocation l WHERE l.id > :afterId AND (:all = true OR l.countyCode IS NULL) ORDER BY l.id")
+    List<Long> findIdsForCountyBackfill(@Param("afterId") Long afterId, @Param("all") boolean all, Pageable pageable);
+
+    // Count locations by geocode status
+    @Query("SELECT l.geocodeStatus, COUNT(l) FROM ProjectLocation l GROUP BY l.geocodeStatus")
+    List<Object[]> countByGeocodeStatus();
+}
@@ -0,0 +1,22 @@
+package com.tujulishanehub.backend.repositories;
+
+import com.tujulishanehub.backend.models.ProjectNumberCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ProjectNumberCounterRepository extends JpaRepository<ProjectNumberCounter, String> {
+
+    /**
+     * Find a counter and lock its row until the current transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ProjectNumberCounter c WHERE c.name = :name")
+    Optional<ProjectNumberCounter> findByNameForUpdate(@Param("name") String name);
+}
@@ -15,6 +15,16 @@ import java.util.Optional;
 @Repository
 public interface ProjectReportRepository extends JpaRepository<ProjectReport, Long> {
     
+    // Filters shared by the native full-text queries; the casts give Postgres a type for null parameters
+    String FULL_TEXT_FILTERS =
+        "AND (CAST(:projectId AS BIGINT) IS NULL OR r.project_id = CAST(:projectId AS BIGINT)) " +
+        "AND (CAST(:reportType AS VARCHAR) IS NULL OR r.report_type = CAST(:reportType AS VARCHAR)) " +
+        "AND (CAST(:reportStatus AS VARCHAR) IS NULL OR r.report_status = CAST(:reportStatus AS VARCHAR)) " +
+        "AND (:allVisible = TRUE OR r.report_status = 'PUBLISHED' OR r.submitted_by = CAST(:viewerId AS BIGINT)) ";
+    
+    // Published completion reports, for the keyset-paginated completion listing
+    String PUBLISHED_COMPLETION = "r.reportType = 'COMPLETION' AND r.reportStatus = 'PUBLISHED'";
+    
     /**
      * Find reports by project ID
      */
@@ -73,24 +83,6 @@ public interface ProjectReportRepository extends JpaRepository<ProjectReport, Lo
      */
     Page<ProjectReport> findBySubmittedBy(Long userId, Pageable pageable);
     
-    /**
-     * Search reports by title containing keyword
-     */
-    @Query("SELECT r FROM ProjectReport r WHERE LOWER(r.title) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<ProjectReport> searchByTitleContaining(@Param("keyword") String keyword);
-    
-    /**
-     * Search reports by title containing keyword with pagination
-     */
-    @Query("SELECT r FROM ProjectReport r WHERE LOWER(r.title) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    Page<ProjectReport> searchByTitleContaining(@Param("keyword") String keyword, Pageable pageable);
-    
-    /**
-     * Search reports by content containing keyword
-     */
-    @Query("SELECT r FROM ProjectReport r WHERE LOWER(r.content) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(r.summary) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<ProjectReport> searchByContentContaining(@Param("keyword") String keyword);
-    
     /**
      * Find reports by project and report type
      */
@@ -123,6 +115,12 @@ public interface ProjectReportRepository extends JpaRepository<ProjectReport, Lo
      */
     Long countByReportType(ProjectReport.ReportType reportType);
     
+    /**
+     * (status, type, count) over all reports, in one grouped scan for dashboards
+     */
+    @Query("SELECT r.reportStatus, r.reportType, COUNT(r) FROM ProjectReport r GROUP BY r.reportStatus, r.reportType")
+    List<Object[]> countGroupedByStatusAndType();
+    
     /**
      * Count reports by project
      */
@@ -141,48 +139,113 @@ public interface ProjectReportRepository extends JpaRepository<ProjectReport, Lo
     List<ProjectReport> findCompletionReports();
     
     /**
-     * Find completion reports with pagination
+     * Number of published completion reports
      */
-    @Query("SELECT r FROM ProjectReport r WHERE r.reportType = 'COMPLETION' AND r.reportStatus = 'PUBLISHED' ORDER BY r.publishedAt DESC")
-    Page<ProjectReport> findCompletionReports(Pageable pageable);
+    @Query("SELECT COUNT(r) FROM ProjectReport r WHERE r.reportType = 'COMPLETION' AND r.reportStatus = 'PUBLISHED'")
+    long countCompletionReports();
+    
+    // ==================== Keyset pagination ====================
+    // One page of published completion reports, ordered and limited by the Pageable's sort (sort
+    // key, then id) and size. The seek predicates pick up after the last row of the previous page.
+    // Being row-value comparisons, they match the (sort key, id) indexes directly.
+    
+    @Query("SELECT r FROM ProjectReport r WHERE " + PUBLISHED_COMPLETION)
+    List<ProjectReport> findCompletionPage(Pageable pageable);
+    
+    @Query("SELECT r FROM ProjectReport r WHERE " + PUBLISHED_COMPLETION + " AND r.id > :id")
+    List<ProjectReport> findCompletionPageAfterId(@Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT r FROM ProjectReport r WHERE " + PUBLISHED_COMPLETION + " AND r.id < :id")
+    List<ProjectReport> findCompletionPageBeforeId(@Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT r FROM ProjectReport r WHERE " + PUBLISHED_COMPLETION +
+           " AND (r.createdAt, r.id) > (:createdAt, :id)")
+    List<ProjectReport> findCompletionPageAfterCreatedAt(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT r FROM ProjectReport r WHERE " + PUBLISHED_COMPLETION +
+           " AND (r.createdAt, r.id) < (:createdAt, :id)")
+    List<ProjectReport> findCompletionPageBeforeCreatedAt(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT r FROM ProjectReport r WHERE " + PUBLISHED_COMPLETION +
+           " AND (r.title, r.id) > (:title, :id)")
+    List<ProjectReport> findCompletionPageAfterTitle(@Param("title") String title, @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT r FROM ProjectReport r WHERE " + PUBLISHED_COMPLETION +
+           " AND (r.title, r.id) < (:title, :id)")
+    List<ProjectReport> findCompletionPageBeforeTitle(@Param("title") String title, @Param("id") Long id, Pageable pageable);
     
     /**
-     * Search reports by multiple criteria
+     * Reports visible to a viewer: everything when allVisible, otherwise published reports plus the
+     * viewer's own (viewerId may be null for anonymous viewers)
      */
     @Query("SELECT r FROM ProjectReport r WHERE " +
            "(:projectId IS NULL OR r.project.id = :projectId) AND " +
            "(:reportType IS NULL OR r.reportType = :reportType) AND " +
            "(:reportStatus IS NULL OR r.reportStatus = :reportStatus) AND " +
-           "(:keyword IS NULL OR :keyword = '' OR " +
-           "  LOWER(r.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "  LOWER(r.summary) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
-           "ORDER BY r.createdAt DESC")
-    List<ProjectReport> searchReports(
+           "(:allVisible = true OR r.reportStatus = com.tujulishanehub.backend.models.ProjectReport.ReportStatus.PUBLISHED " +
+           "  OR (:viewerId IS NOT NULL AND r.submittedBy = :viewerId))")
+    Page<ProjectReport> findVisibleReports(
         @Param("projectId") Long projectId,
         @Param("reportType") ProjectReport.ReportType reportType,
         @Param("reportStatus") ProjectReport.ReportStatus reportStatus,
-        @Param("keyword") String keyword
+        @Param("allVisible") boolean allVisible,
+        @Param("viewerId") Long viewerId,
+        Pageable pageable
     );
     
     /**
-     * Search reports with pagination
+     * Full-text match (Postgres): (id, rank) of one page of visible reports matching a web-search
+     * style query, best first. Uses the search_vector column and GIN index from V14.
      */
-    @Query("SELECT r FROM ProjectReport r WHERE " +
-           "(:projectId IS NULL OR r.project.id = :projectId) AND " +
-           "(:reportType IS NULL OR r.reportType = :reportType) AND " +
-           "(:reportStatus IS NULL OR r.reportStatus = :reportStatus) AND " +
-           "(:keyword IS NULL OR :keyword = '' OR " +
-           "  LOWER(r.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "  LOWER(r.summary) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
-           "ORDER BY r.createdAt DESC")
-    Page<ProjectReport> searchReports(
+    @Query(value = "SELECT r.id, ts_rank_cd(r.search_vector, query) AS rank " +
+           "FROM project_reports r, websearch_to_tsquery('english', :query) query " +
+           "WHERE r.search_vector @@ query " + FULL_TEXT_FILTERS +
+           "ORDER BY rank DESC, r.id DESC LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Object[]> findFullTextMatches(
+        @Param("query") String query,
         @Param("projectId") Long projectId,
-        @Param("reportType") ProjectReport.ReportType reportType,
-        @Param("reportStatus") ProjectReport.ReportStatus reportStatus,
-        @Param("keyword") String keyword,
-        Pageable pageable
+        @Param("reportType") String reportType,
+        @Param("reportStatus") String reportStatus,
+        @Param("allVisible") boolean allVisible,
+        @Param("viewerId") Long viewerId,
+        @Param("limit") int limit,
+        @Param("offset") long offset
     );
     
+    /**
+     * Full-text match count (Postgres), with the same filters as findFullTextMatches
+     */
+    @Query(value = "SELECT COUNT(*) FROM project_reports r, websearch_to_tsquery('english', :query) query " +
+           "WHERE r.search_vector @@ query " + FULL_TEXT_FILTERS, nativeQuery = true)
+    long countFullTextMatches(
+        @Param("query") String query,
+        @Param("projectId") Long projectId,
+        @Param("reportType") String reportType,
+        @Param("reportStatus") String reportStatus,
+        @Param("allVisible") boolean allVisible,
+        @Param("viewerId") Long viewerId
+    );
+    
+    /**
+     * Highlighted excerpts of the summary and content (Postgres) for the given reports
+     */
+    @Query(value = "SELECT r.id, ts_headline('english', concat_ws(' ', r.summary, r.content), " +
+           "websearch_to_tsquery('english', :query), :options) " +
+           "FROM project_reports r WHERE r.id IN (:ids)", nativeQuery = true)
+    List<Object[]> findFullTextHeadlines(
+        @Param("query") String query,
+        @Param("options") String options,
+        @Param("ids") List<Long> ids
+    );
+    
+    /**
+     * (id, title, summary, content, status, type, project id, submitted by) of every report, for
+     * building the in-memory search index when Postgres full-text search is unavailable
+     */
+    @Query("SELECT r.id, r.title, r.summary, r.content, r.reportStatus, r.reportType, p.id, r.submittedBy " +
+           "FROM ProjectReport r LEFT JOIN r.project p")
+    List<Object[]> findSearchIndexRows();
+    
     /**
      * Check if project has completion report
      */
@@ -1,6 +1,7 @@
 package com.tujulishanehub.backend.repositories;
 
 import com.tujulishanehub.backend.models.ApprovalStatus;
+import com.tujulishanehub.backend.models.ApprovalWorkflowStatus;
 import com.tujulishanehub.backend.models.Project;
 import com.tujulishanehub.backend.models.ProjectCategory;
 import com.tujulishanehub.backend.models.ProjectTheme;
@@ -13,6 +14,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,6 +39,10 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     // Find projects by project number
     Optional<Project> findByProjectNo(String projectNo);
     
+    // Highest numeric part of existing P-NNNN project numbers (seeds the project number counter)
+    @Query("SELECT MAX(CAST(SUBSTRING(p.projectNo, 3) AS long)) FROM Project p WHERE p.projectNo LIKE 'P-%'")
+    Long findMaxProjectNumber();
+    
     // Find projects by title
     List<Project> findByTitleContainingIgnoreCase(String title);
     
@@ -48,6 +55,10 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     @Query("SELECT DISTINCT p FROM Project p JOIN p.locations loc WHERE LOWER(loc.county) LIKE LOWER(CONCAT('%', :county, '%'))")
     List<Project> findByCountyContainingIgnoreCase(@Param("county") String county);
     
+    // Find projects with a location in a canonical county (KenyaCounty code)
+    @Query("SELECT DISTINCT p FROM Project p JOIN p.locations loc WHERE loc.countyCode = :countyCode")
+    List<Project> findByCountyCode(@Param("countyCode") Integer countyCode);
+    
     // Find projects by sub-county (searches in locations)
     @Query("SELECT DISTINCT p FROM Project p JOIN p.locations loc WHERE LOWER(loc.subCounty) LIKE LOWER(CONCAT('%', :subCounty, '%'))")
     List<Project> findBySubCountyContainingIgnoreCase(@Param("subCounty") String subCounty);
@@ -98,17 +109,45 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     // Count projects by category
     long countByProjectCategory(ProjectCategory projectCategory);
     
+    /**
+     * (approval status, category, count) over all projects, in one grouped scan for dashboards
+     */
+    @Query("SELECT p.approvalStatus, p.projectCategory, COUNT(p) FROM Project p " +
+           "GROUP BY p.approvalStatus, p.projectCategory")
+    List<Object[]> countGroupedByApprovalStatusAndCategory();
+    
+    /**
+     * (approval status, category, count) over a partner's projects (as partner or contact person)
+     */
+    @Query("SELECT p.approvalStatus, p.projectCategory, COUNT(p) FROM Project p " +
+           "WHERE p.partner = :email OR p.contactPersonEmail = :email " +
+           "GROUP BY p.approvalStatus, p.projectCategory")
+    List<Object[]> countGroupedByApprovalStatusAndCategoryForPartner(@Param("email") String email);
+    
     // Find recent projects (top 10)
     List<Project> findTop10ByOrderByCreatedAtDesc();
     
-    // Find projects within a geographic bounding box
-    @Query("SELECT DISTINCT p FROM Project p JOIN p.locations loc WHERE loc.latitude BETWEEN :minLat AND :maxLat AND loc.longitude BETWEEN :minLng AND :maxLng")
-    List<Project> findProjectsInBoundingBox(
-        @Param("minLat") Double minLatitude,
-        @Param("maxLat") Double maxLatitude,
-        @Param("minLng") Double minLongitude,
-        @Param("maxLng") Double maxLongitude
-    );
+    /**
+     * (project id, location id, title, status, approval workflow status, county, latitude, longitude, category)
+     * for every located project location, for rebuilding the map marker index
+     */
+    @Query("SELECT p.id, loc.id, p.title, p.status, p.approvalWorkflowStatus, loc.county, loc.latitude, loc.longitude, p.projectCategory " +
+           "FROM Project p JOIN p.locations loc WHERE loc.latitude IS NOT NULL AND loc.longitude IS NOT NULL")
+    List<Object[]> findMapMarkerRows();
+
+    /**
+     * (project id, theme) pairs for located projects, for rebuilding the map marker index and cluster pyramid
+     */
+    @Query("SELECT DISTINCT p.id, t.projectTheme FROM Project p JOIN p.themes t JOIN p.locations loc " +
+           "WHERE loc.latitude IS NOT NULL AND loc.longitude IS NOT NULL")
+    List<Object[]> findMapThemeRows();
+
+    /**
+     * (id, title, partner, project no, activity type, objectives, county, status) of every project,
+     * for building the cross-entity search index
+     */
+    @Query("SELECT p.id, p.title, p.partner, p.projectNo, p.activityType, p.objectives, p.county, p.status FROM Project p")
+    List<Object[]> findSearchIndexRows();
     
     // Search projects by multiple criteria
     @Query("SELECT DISTINCT p FROM Project p LEFT JOIN p.locations loc WHERE " +
@@ -132,6 +171,147 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     List<Object[]> countProjectsByStatus();
     
     // Count projects by county (from locations)
-    @Query("SELECT loc.county, COUNT(DISTINCT p) FROM Project p JOIN p.locations loc WHERE loc.county IS NOT NULL GROUP BY loc.county")
-    List<Object[]> countProjectsByCounty();
+    @Query("SELECT loc.countyCode, COUNT(DISTINCT p) FROM Project p JOIN p.locations loc WHERE loc.countyCode IS NOT NULL GROUP BY loc.countyCode")
+    List<Object[]> countProjectsByCountyCode();
+    
+    // Count projects by typed county, for locations whose canonical county could not be derived
+    @Query("SELECT loc.county, COUNT(DISTINCT p) FROM Project p JOIN p.locations loc " +
+           "WHERE loc.countyCode IS NULL AND loc.county IS NOT NULL GROUP BY loc.county")
+    List<Object[]> countProjectsByUncodedCounty();
+
+    // ==================== PUBLIC STATISTICS ====================
+
+    /**
+     * (id, category, partner) of every APPROVED project, for rebuilding the public statistics
+     */
+    @Query("SELECT p.id, p.projectCategory, p.partner FROM Project p " +
+           "WHERE p.approvalWorkflowStatus = com.tujulishanehub.backend.models.ApprovalWorkflowStatus.APPROVED")
+    List<Object[]> findApprovedStatisticsRows();
+
+    /**
+     * (project id, county code, county) triples for APPROVED projects, for rebuilding the public statistics
+     */
+    @Query("SELECT DISTINCT p.id, loc.countyCode, loc.county FROM Project p JOIN p.locations loc " +
+           "WHERE p.approvalWorkflowStatus = com.tujulishanehub.backend.models.ApprovalWorkflowStatus.APPROVED AND loc.county IS NOT NULL")
+    List<Object[]> findApprovedCountyRows();
+
+    // ==================== REVIEWER WORK QUEUE ====================
+
+    /**
+     * Page of project IDs in the given workflow statuses that carry at least one of the given themes.
+     * IDs are paged in SQL first so the entity graph fetch below never paginates in memory.
+     */
+    @Query(value = "SELECT p.id FROM Project p WHERE p.approvalWorkflowStatus IN :statuses AND EXISTS " +
+                   "(SELECT 1 FROM ProjectThemeAssignment t WHERE t.project = p AND t.projectTheme IN :themes)",
+           countQuery = "SELECT COUNT(p) FROM Project p WHERE p.approvalWorkflowStatus IN :statuses AND EXISTS " +
+                        "(SELECT 1 FROM ProjectThemeAssignment t WHERE t.project = p AND t.projectTheme IN :themes)")
+    Page<Long> findReviewQueueIds(
+        @Param("statuses") Collection<ApprovalWorkflowStatus> statuses,
+        @Param("themes") Collection<ProjectTheme> themes,
+        Pageable pageable
+    );
+
+    /**
+     * Page of project IDs in the given workflow statuses, regardless of theme (final approver queue)
+     */
+    @Query(value = "SELECT p.id FROM Project p WHERE p.approvalWorkflowStatus IN :statuses",
+           countQuery = "SELECT COUNT(p) FROM Project p WHERE p.approvalWorkflowStatus IN :statuses")
+    Page<Long> findIdsByApprovalWorkflowStatusIn(
+        @Param("statuses") Collection<ApprovalWorkflowStatus> statuses,
+        Pageable pageable
+    );
+
+    /**
+     * All projects in the given workflow statuses that carry at least one of the given themes
+     */
+    @EntityGraph(attributePaths = {"themes", "locations"})
+    @Query("SELECT DISTINCT p FROM Project p WHERE p.approvalWorkflowStatus IN :statuses AND EXISTS " +
+           "(SELECT 1 FROM ProjectThemeAssignment t WHERE t.project = p AND t.projectTheme IN :themes) " +
+           "ORDER BY p.createdAt ASC")
+    List<Project> findReviewQueue(
+        @Param("statuses") Collection<ApprovalWorkflowStatus> statuses,
+        @Param("themes") Collection<ProjectTheme> themes
+    );
+
+    /**
+     * All projects in the given workflow statuses with themes and locations loaded
+     */
+    @EntityGraph(attributePaths = {"themes", "locations"})
+    @Query("SELECT DISTINCT p FROM Project p WHERE p.approvalWorkflowStatus IN :statuses ORDER BY p.createdAt ASC")
+    List<Project> findByApprovalWorkflowStatusIn(@Param("statuses") Collection<ApprovalWorkflowStatus> statuses);
+
+    /**
+     * All projects carrying at least one of the given themes, with themes and locations loaded
+     */
+    @EntityGraph(attributePaths = {"themes", "locations"})
+    @Query("SELECT DISTINCT p FROM Project p WHERE EXISTS " +
+           "(SELECT 1 FROM ProjectThemeAssignment t WHERE t.project = p AND t.projectTheme IN :themes)")
+    List<Project> findByThemeIn(@Param("themes") Collection<ProjectTheme> themes);
+
+    // ==================== Keyset pagination ====================
+    // Project IDs of one page of GET /api/projects, ordered and limited by the Pageable's sort
+    // (sort key, then id) and size. The seek predicates pick up after the last row of the previous
+    // page, so deep pages cost the same as the first and no COUNT(*) is run. They compare row
+    // values, which PostgreSQL answers with one range scan of the (sort key, id) index.
+
+    @Query("SELECT p.id FROM Project p")
+    List<Long> findPageIds(Pageable pageable);
+
+    @Query("SELECT p.id FROM Project p WHERE p.id > :id")
+    List<Long> findPageIdsAfterId(@Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT p.id FROM Project p WHERE p.id < :id")
+    List<Long> findPageIdsBeforeId(@Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT p.id FROM Project p WHERE (p.createdAt, p.id) > (:createdAt, :id)")
+    List<Long> findPageIdsAfterCreatedAt(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT p.id FROM Project p WHERE (p.createdAt, p.id) < (:createdAt, :id)")
+    List<Long> findPageIdsBeforeCreatedAt(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT p.id FROM Project p WHERE (p.title, p.id) > (:title, :id)")
+    List<Long> findPageIdsAfterTitle(@Param("title") String title, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT p.id FROM Project p WHERE (p.title, p.id) < (:title, :id)")
+    List<Long> findPageIdsBeforeTitle(@Param("title") String title, @Param("id") Long id, Pageable pageable);
+
+    // ==================== List view projections ====================
+    // Rows for the lighter ProjectView list views, by project ID. They select no TEXT columns and
+    // no child collections.
+
+    /**
+     * (id, project no, partner, title, category, start date, end date, county, status, completion %,
+     * approval status, workflow status, created at) for the summary view
+     */
+    @Query("SELECT p.id, p.projectNo, p.partner, p.title, p.projectCategory, p.startDate, p.endDate, p.county, " +
+           "p.status, p.completionPercentage, p.approvalStatus, p.approvalWorkflowStatus, p.createdAt " +
+           "FROM Project p WHERE p.id IN :ids")
+    List<Object[]> findSummaryRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * (id, project no, title, category, county, status, created at) for the map view
+     */
+    @Query("SELECT p.id, p.projectNo, p.title, p.projectCategory, p.county, p.status, p.createdAt " +
+           "FROM Project p WHERE p.id IN :ids")
+    List<Object[]> findMapRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * (project id, theme) pairs of the given projects
+     */
+    @Query("SELECT t.project.id, t.projectTheme FROM ProjectThemeAssignment t WHERE t.project.id IN :ids")
+    List<Object[]> findThemeRowsByProjectIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * (project id, location id, county, sub-county, latitude, longitude) of the given projects' locations
+     */
+    @Query("SELECT loc.project.id, loc.id, loc.county, loc.subCounty, loc.latitude, loc.longitude " +
+           "FROM ProjectLocation loc WHERE loc.project.id IN :ids ORDER BY loc.id")
+    List<Object[]> findLocationRowsByProjectIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Hydrate a page of projects by ID with themes and locations in a single query
+     */
+    @EntityGraph(attributePaths = {"themes", "locations"})
+    @Query("SELECT DISTINCT p FROM Project p WHERE p.id IN :ids")
+    List<Project> findAllWithThemesAndLocationsByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
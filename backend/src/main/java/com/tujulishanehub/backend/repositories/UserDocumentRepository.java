@@ -1,19 +1,39 @@
 package com.tujulishanehub.backend.repositories;
 
 import com.tujulishanehub.backend.models.UserDocument;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Map;
 
 @Repository
 public interface UserDocumentRepository extends JpaRepository<UserDocument, Long> {
     List<UserDocument> findByUserId(Long userId);
 
     /**
-     * Get all user documents with relationships loaded for admin dashboard
+     * Page of active user document listing rows for the admin dashboard.
+     * Only metadata columns are selected, so the file data (LOB) is never read.
      */
-    @Query("SELECT d FROM UserDocument d LEFT JOIN FETCH d.user u LEFT JOIN FETCH d.uploadedBy ub WHERE d.status = 'ACTIVE'")
-    List<UserDocument> findAllActiveWithRelationships();
+    @Query(value = "SELECT new map(d.id as id, d.fileName as fileName, COALESCE(u.name, 'Unknown') as user, " +
+                   "COALESCE(ub.name, 'Unknown') as uploadedBy, d.fileType as type, d.fileSize as size, " +
+                   "d.status as status, d.uploadDate as date, d.createdAt as createdAt) " +
+                   "FROM UserDocument d LEFT JOIN d.user u LEFT JOIN d.uploadedBy ub " +
+                   "WHERE d.status = 'ACTIVE' ORDER BY d.id",
+           countQuery = "SELECT COUNT(d) FROM UserDocument d WHERE d.status = 'ACTIVE'")
+    Page<Map<String, Object>> findActiveListing(Pageable pageable);
+
+    /**
+     * Next batch of active user document listing rows after the given ID (keyset), used to stream the full listing
+     */
+    @Query("SELECT new map(d.id as id, d.fileName as fileName, COALESCE(u.name, 'Unknown') as user, " +
+           "COALESCE(ub.name, 'Unknown') as uploadedBy, d.fileType as type, d.fileSize as size, " +
+           "d.status as status, d.uploadDate as date, d.createdAt as createdAt) " +
+           "FROM UserDocument d LEFT JOIN d.user u LEFT JOIN d.uploadedBy ub " +
+           "WHERE d.status = 'ACTIVE' AND d.id > :afterId ORDER BY d.id")
+    List<Map<String, Object>> findActiveListingAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
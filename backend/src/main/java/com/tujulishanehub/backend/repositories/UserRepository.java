@@ -2,10 +2,15 @@ package com.tujulishanehub.backend.repositories;
 
 import com.tujulishanehub.backend.models.ApprovalStatus;
 import com.tujulishanehub.backend.models.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
@@ -15,4 +20,25 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRole(User.Role role);
     List<User> findByParentDonorId(Long parentDonorId);
     List<User> findByRoleAndParentDonorIsNull(User.Role role);
+
+    /**
+     * Name, role and organization name for a set of partner emails, in one query.
+     * Selects only the columns project responses need, so the eager organization and
+     * thematic area associations are not loaded.
+     */
+    @Query("SELECT new map(u.email as email, u.name as name, u.role as role, o.name as organizationName) " +
+           "FROM User u LEFT JOIN u.organization o WHERE u.email IN :emails")
+    List<Map<String, Object>> findPartnerSummariesByEmailIn(@Param("emails") Collection<String> emails);
+
+    /**
+     * Typeahead search on name or email, keyset-paged by ID.
+     * The pattern must already be lower-cased and wrapped in %...%; on Postgres the
+     * LOWER(...) LIKE predicates are served by the trigram indexes from V8.
+     */
+    @Query("SELECT new map(u.id as id, u.name as name, u.email as email, u.role as role) FROM User u " +
+           "WHERE (LOWER(u.name) LIKE :pattern ESCAPE '\\' OR LOWER(u.email) LIKE :pattern ESCAPE '\\') " +
+           "AND u.id > :afterId ORDER BY u.id")
+    List<Map<String, Object>> searchByNameOrEmail(@Param("pattern") String pattern,
+                                                  @Param("afterId") Long afterId,
+                                                  Pageable pageable);
 }
@@ -0,0 +1,274 @@
+package com.tujulishanehub.backend.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tujulishanehub.backend.models.KenyaCounty;
+import com.tujulishanehub.backend.models.ProjectLocation;
+import com.tujulishanehub.backend.repositories.ProjectLocationRepository;
+import com.tujulishanehub.backend.util.PolygonIndex;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Derives the canonical county (KenyaCounty code) of a project location, so statistics and
+ * county filters group on a code instead of the free text partners type in.
+ *
+ * In order of preference:
+ * 1. Point-in-polygon of the coordinates against county boundaries from the classpath
+ *    (gazetteer/kenya-counties.geojson, a FeatureCollection with a county code or name per feature)
+ * 2. The typed county, then sub-county, matched against the offline gazetteer (tolerates typos)
+ *
+ * The bundled boundaries are generated from the gazetteer (scripts/generate_county_boundaries.py)
+ * and marked "approximate": near a border they can name the neighbouring county, so they are only
+ * consulted after the names fail. Dropping in surveyed boundaries (IEBC, GADM) without that member
+ * restores the order above. A location that matches nothing keeps a null code rather than a guess.
+ */
+@Component
+public class CountyLocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CountyLocator.class);
+
+    private static final String BOUNDARIES_RESOURCE = "gazetteer/kenya-counties.geojson";
+    private static final String[] CODE_PROPERTIES = {"code", "county_code", "COUNTY_COD"};
+    private static final String[] NAME_PROPERTIES = {"name", "county", "COUNTY_NAM"};
+
+    @Autowired
+    private KenyaGazetteer gazetteer;
+
+    @Autowired
+    private ProjectLocationRepository locationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PublicStatisticsService publicStatisticsService;
+
+    @Value("${county.backfill.batch-size:500}")
+    private int batchSize;
+
+    private PolygonIndex<KenyaCounty> boundaries = new PolygonIndex<>();
+    private boolean approximateBoundaries;
+    private TransactionTemplate transactionTemplate;
+    private final AtomicBoolean backfillRunning = new AtomicBoolean();
+
+    @PostConstruct
+    public void load() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        ClassPathResource resource = new ClassPathResource(BOUNDARIES_RESOURCE);
+        if (!resource.exists()) {
+            logger.info("No county boundaries at {}; deriving counties from names only",
+                BOUNDARIES_RESOURCE);
+            return;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            PolygonIndex<KenyaCounty> index = new PolygonIndex<>();
+            JsonNode collection = new ObjectMapper().readTree(in);
+            for (JsonNode feature : collection.path("features")) {
+                KenyaCounty county = countyOf(feature.path("properties"));
+                if (county == null) {
+                    logger.warn("Skipping county boundary with unknown code/name: {}", feature.path("properties"));
+                    continue;
+                }
+                index.add(county, polygons(feature.path("geometry")));
+            }
+            boundaries = index;
+            approximateBoundaries = collection.path("approximate").asBoolean(false);
+            logger.info("Loaded {} {}county boundaries", index.size(), approximateBoundaries ? "approximate " : "");
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not load county boundaries ({}); falling back to names", e.getMessage());
+        }
+    }
+
+    /**
+     * Canonical county for a position and/or typed names, or null if neither the boundaries nor
+     * the names match
+     */
+    public KenyaCounty locate(Double latitude, Double longitude, String county, String subCounty) {
+        boolean hasPosition = latitude != null && longitude != null;
+        if (hasPosition && !approximateBoundaries) {
+            KenyaCounty byBoundary = boundaries.locate(latitude, longitude);
+            if (byBoundary != null) {
+                return byBoundary;
+            }
+        }
+
+        KenyaCounty byName = locateByName(county, subCounty);
+        if (byName != null || !hasPosition || !approximateBoundaries) {
+            return byName;
+        }
+        return boundaries.locate(latitude, longitude);
+    }
+
+    /**
+     * Set a location's county code from its coordinates and names; returns true if it changed
+     */
+    public boolean assign(ProjectLocation location) {
+        KenyaCounty county = locate(location.getLatitude(), location.getLongitude(),
+            location.getCounty(), location.getSubCounty());
+        Integer code = county != null ? county.getCode() : null;
+        if (Objects.equals(code, location.getCountyCode())) {
+            return false;
+        }
+        location.setCountyCode(code);
+        return true;
+    }
+
+    /**
+     * Derive county codes for existing locations, in batches of batch-size rows each in its own
+     * transaction. Only rows without a code are visited unless all is set (e.g. after adding
+     * boundary data).
+     */
+    public Map<String, Object> backfill(boolean all) {
+        if (!backfillRunning.compareAndSet(false, true)) {
+            throw new IllegalStateException("A county backfill is already running");
+        }
+        try {
+            long start = System.nanoTime();
+            long processed = 0, changed = 0, unmatched = 0;
+            long afterId = 0;
+            while (true) {
+                List<Long> ids = locationRepository.findIdsForCountyBackfill(afterId, all, PageRequest.of(0, Math.max(1, batchSize)));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                long[] counts = transactionTemplate.execute(status -> {
+                    long batchChanged = 0, batchUnmatched = 0;
+                    List<ProjectLocation> dirty = new ArrayList<>();
+                    for (ProjectLocation location : locationRepository.findAllById(ids)) {
+                        if (assign(location)) {
+                            dirty.add(location);
+                            batchChanged++;
+                        }
+                        if (location.getCountyCode() == null) {
+                            batchUnmatched++;
+                        }
+                    }
+                    locationRepository.saveAll(dirty);
+                    return new long[]{batchChanged, batchUnmatched};
+                });
+                processed += ids.size();
+                changed += counts[0];
+                unmatched += counts[1];
+                afterId = ids.get(ids.size() - 1);
+            }
+
+            if (changed > 0) {
+                // The public county count groups on the canonical county
+                publicStatisticsService.rebuild();
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("processed", processed);
+            result.put("changed", changed);
+            result.put("unmatched", unmatched);
+            result.put("boundaries", boundaries.size());
+            result.put("elapsedMs", (System.nanoTime() - start) / 1_000_000);
+            logger.info("County backfill: {}", result);
+            return result;
+        } finally {
+            backfillRunning.set(false);
+        }
+    }
+
+    /**
+     * Fill in county codes for rows saved before codes existed, without holding up startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissing() {
+        Thread.ofVirtual().name("county-backfill").start(() -> {
+            try {
+                backfill(false);
+            } catch (Exception e) {
+                logger.warn("County backfill at startup failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    private KenyaCounty locateByName(String county, String subCounty) {
+        KenyaCounty byName = KenyaCounty.fromName(county);
+        if (byName != null) {
+            return byName;
+        }
+        KenyaGazetteer.Match match = gazetteer.find(county, null, KenyaGazetteer.PlaceType.COUNTY);
+        if (match == null) {
+            match = gazetteer.find(subCounty, null, null);
+        }
+        if (match == null) {
+            // A town or sub-county typed into the county field
+            match = gazetteer.find(county, null, null);
+        }
+        return match != null ? KenyaCounty.fromName(match.getCounty()) : null;
+    }
+
+    private static KenyaCounty countyOf(JsonNode properties) {
+        for (String property : CODE_PROPERTIES) {
+            JsonNode code = properties.path(property);
+            if (code.canConvertToInt() || code.isTextual()) {
+                try {
+                    KenyaCounty county = KenyaCounty.fromCode(code.isTextual() ? Integer.parseInt(code.asText().trim()) : code.asInt());
+                    if (county != null) {
+                        return county;
+                    }
+                } catch (NumberFormatException ignored) {
+                    // fall through to the name properties
+                }
+            }
+        }
+        for (String property : NAME_PROPERTIES) {
+            KenyaCounty county = KenyaCounty.fromName(properties.path(property).asText(null));
+            if (county != null) {
+                return county;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Polygons of a GeoJSON Polygon or MultiPolygon geometry as lists of [lng, lat] rings
+     */
+    private static List<List<double[][]>> polygons(JsonNode geometry) {
+        List<List<double[][]>> polygons = new ArrayList<>();
+        String type = geometry.path("type").asText();
+        JsonNode coordinates = geometry.path("coordinates");
+        if ("Polygon".equals(type)) {
+            polygons.add(rings(coordinates));
+        } else if ("MultiPolygon".equals(type)) {
+            for (JsonNode polygon : coordinates) {
+                polygons.add(rings(polygon));
+            }
+        }
+        return polygons;
+    }
+
+    private static List<double[][]> rings(JsonNode polygon) {
+        List<double[][]> rings = new ArrayList<>();
+        for (JsonNode ring : polygon) {
+            double[][] points = new double[ring.size()][];
+            for (int i = 0; i < ring.size(); i++) {
+                points[i] = new double[]{ring.get(i).get(0).asDouble(), ring.get(i).get(1).asDouble()};
+            }
+            rings.add(points);
+        }
+        return rings;
+    }
+}
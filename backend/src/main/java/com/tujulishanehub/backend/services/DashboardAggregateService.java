@@ -0,0 +1,198 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.models.ApprovalStatus;
+import com.tujulishanehub.backend.models.ProjectCategory;
+import com.tujulishanehub.backend.models.ProjectReport;
+import com.tujulishanehub.backend.models.User;
+import com.tujulishanehub.backend.payload.ProjectCounts;
+import com.tujulishanehub.backend.repositories.ProjectReportRepository;
+import com.tujulishanehub.backend.repositories.ProjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Dashboard counters. Each entity's counters come from one GROUP BY query over the columns the
+ * dashboard breaks down by; totals and per-column counts are summed from the groups, so a
+ * dashboard card set costs one round trip instead of one COUNT per number.
+ *
+ * Results are cached per scope (all projects for the Ministry roles, the user's own projects for
+ * everyone else) for dashboard.cache-seconds. ProjectChangeListener and ReportChangeListener evict
+ * the project and report scopes once a write commits, so the TTL only bounds how long a write that
+ * publishes no event can go unseen.
+ */
+@Service
+public class DashboardAggregateService {
+
+    private static final int MAX_CACHED_SCOPES = 1000;
+    private static final String PROJECT_SCOPE_PREFIX = "projects:";
+    private static final String ALL_PROJECTS_SCOPE = PROJECT_SCOPE_PREFIX + "all";
+    private static final String REPORT_SCOPE = "reports";
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectReportRepository projectReportRepository;
+
+    @Value("${dashboard.cache-seconds:15}")
+    private long ttlSeconds;
+
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Project counters as the user may see them: all projects for SUPER_ADMIN and its reviewer and
+     * approver roles, otherwise the projects the user is partner or contact person of
+     */
+    public ProjectCounts getProjectCounts(User user, String email) {
+        if (seesAllProjects(user)) {
+            return getAllProjectCounts();
+        }
+        return cached(PROJECT_SCOPE_PREFIX + "partner:" + email,
+            () -> toProjectCounts(projectRepository.countGroupedByApprovalStatusAndCategoryForPartner(email)));
+    }
+
+    /**
+     * Counters over all projects
+     */
+    public ProjectCounts getAllProjectCounts() {
+        return cached(ALL_PROJECTS_SCOPE,
+            () -> toProjectCounts(projectRepository.countGroupedByApprovalStatusAndCategory()));
+    }
+
+    /**
+     * Report counters by status and by type
+     */
+    public ProjectReportService.ReportStats getReportStats() {
+        return cached(REPORT_SCOPE, () -> toReportStats(projectReportRepository.countGroupedByStatusAndType()));
+    }
+
+    /**
+     * Drop every cached project scope; the partner scopes too, since a change can move a project
+     * between partners
+     */
+    public void evictProjectCounts() {
+        // Explicitly, so a first load of the scope in progress is waited for; the key set skips it
+        cache.remove(ALL_PROJECTS_SCOPE);
+        cache.keySet().removeIf(scope -> scope.startsWith(PROJECT_SCOPE_PREFIX));
+    }
+
+    /**
+     * Drop the cached report counters
+     */
+    public void evictReportStats() {
+        cache.remove(REPORT_SCOPE);
+    }
+
+    private static boolean seesAllProjects(User user) {
+        return user != null
+            && (user.getRole() == User.Role.SUPER_ADMIN
+                || user.getRole() == User.Role.SUPER_ADMIN_REVIEWER
+                || user.getRole() == User.Role.SUPER_ADMIN_APPROVER);
+    }
+
+    /**
+     * Sum (approval status, category, count) groups into the project counters
+     */
+    static ProjectCounts toProjectCounts(List<Object[]> groups) {
+        long total = 0;
+        Map<ApprovalStatus, Long> byStatus = new EnumMap<>(ApprovalStatus.class);
+        Map<String, Long> byCategory = new LinkedHashMap<>();
+        for (ProjectCategory category : ProjectCategory.values()) {
+            byCategory.put(category.name(), 0L);
+        }
+        for (Object[] group : groups) {
+            ApprovalStatus status = (ApprovalStatus) group[0];
+            ProjectCategory category = (ProjectCategory) group[1];
+            long count = (Long) group[2];
+            total += count;
+            if (status != null) {
+                byStatus.merge(status, count, Long::sum);
+            }
+            if (category != null) {
+                byCategory.merge(category.name(), count, Long::sum);
+            }
+        }
+        return new ProjectCounts(total,
+            byStatus.getOrDefault(ApprovalStatus.PENDING, 0L),
+            byStatus.getOrDefault(ApprovalStatus.SUBMITTED, 0L),
+            byStatus.getOrDefault(ApprovalStatus.APPROVED, 0L),
+            byStatus.getOrDefault(ApprovalStatus.REJECTED, 0L),
+            byCategory);
+    }
+
+    /**
+     * Sum (status, type, count) groups into the report counters
+     */
+    static ProjectReportService.ReportStats toReportStats(List<Object[]> groups) {
+        long total = 0;
+        Map<ProjectReport.ReportStatus, Long> byStatus = new EnumMap<>(ProjectReport.ReportStatus.class);
+        Map<ProjectReport.ReportType, Long> byType = new EnumMap<>(ProjectReport.ReportType.class);
+        for (Object[] group : groups) {
+            ProjectReport.ReportStatus status = (ProjectReport.ReportStatus) group[0];
+            ProjectReport.ReportType type = (ProjectReport.ReportType) group[1];
+            long count = (Long) group[2];
+            total += count;
+            if (status != null) {
+                byStatus.merge(status, count, Long::sum);
+            }
+            if (type != null) {
+                byType.merge(type, count, Long::sum);
+            }
+        }
+        return new ProjectReportService.ReportStats(total,
+            byStatus.getOrDefault(ProjectReport.ReportStatus.DRAFT, 0L),
+            byStatus.getOrDefault(ProjectReport.ReportStatus.SUBMITTED, 0L),
+            byStatus.getOrDefault(ProjectReport.ReportStatus.UNDER_REVIEW, 0L),
+            byStatus.getOrDefault(ProjectReport.ReportStatus.APPROVED, 0L),
+            byStatus.getOrDefault(ProjectReport.ReportStatus.PUBLISHED, 0L),
+            byStatus.getOrDefault(ProjectReport.ReportStatus.REJECTED, 0L),
+            byType.getOrDefault(ProjectReport.ReportType.COMPLETION, 0L),
+            byType.getOrDefault(ProjectReport.ReportType.INTERIM, 0L),
+            byType.getOrDefault(ProjectReport.ReportType.FINANCIAL, 0L));
+    }
+
+    /**
+     * Cached value of a scope, computed with loader when missing or expired. The load runs inside
+     * compute, so concurrent callers of a scope wait for one load instead of each querying, and
+     * removing a scope while it loads waits for the load and then drops its possibly stale result.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String scope, Supplier<T> loader) {
+        long now = System.nanoTime();
+        Entry entry = cache.get(scope);
+        if (entry != null && now - entry.expiresAt < 0) {
+            return (T) entry.value;
+        }
+        if (cache.size() >= MAX_CACHED_SCOPES) {
+            // Outside compute, which must not modify other mappings
+            cache.values().removeIf(e -> now - e.expiresAt >= 0);
+        }
+        entry = cache.compute(scope, (key, current) -> {
+            long loadStart = System.nanoTime();
+            if (current != null && loadStart - current.expiresAt < 0) {
+                // Loaded by another caller while this one waited
+                return current;
+            }
+            return new Entry(loader.get(), loadStart + ttlSeconds * 1_000_000_000L);
+        });
+        return (T) entry.value;
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long expiresAt;
+
+        private Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.repositories.DocumentContentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed document store in the database. This is the default store: it is as durable
+ * as the database, so it is safe on hosts whose filesystem is wiped on every redeploy.
+ *
+ * Content is split into CHUNK_SIZE rows of document_content_chunks under one document_content
+ * row. Uploads are spooled to a temporary file while they are hashed and then written a chunk at a
+ * time; a download fetches one chunk per query as the response is written. Memory per transfer is
+ * one chunk whatever the file size (a single bytea column would be read whole by the driver).
+ */
+@Service
+@ConditionalOnProperty(name = "app.documents.store", havingValue = "database", matchIfMissing = true)
+public class DatabaseDocumentStore implements DocumentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseDocumentStore.class);
+
+    static final int CHUNK_SIZE = 1024 * 1024;
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private static final String INSERT_CONTENT =
+        "INSERT INTO document_content (storage_key, file_size, created_at) VALUES (?, ?, ?)";
+    private static final String INSERT_CHUNK =
+        "INSERT INTO document_content_chunks (storage_key, chunk_index, data) VALUES (?, ?, ?)";
+    private static final String SELECT_CHUNK =
+        "SELECT data FROM document_content_chunks WHERE storage_key = ? AND chunk_index = ?";
+    private static final String DELETE_CHUNKS = "DELETE FROM document_content_chunks WHERE storage_key = ?";
+
+    @Autowired
+    private DocumentContentRepository documentContentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public DatabaseDocumentStore(PlatformTransactionManager transactionManager) {
+        // Content is written on its own, so a duplicate key never aborts a caller's transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public StoredDocument store(InputStream content) throws IOException {
+        try (SpooledContent spooled = SpooledContent.spool(content, null)) {
+            String storageKey = spooled.getStorageKey();
+            if (documentContentRepository.existsById(storageKey)) {
+                logger.debug("Document {} already stored, reusing existing content", storageKey);
+                return new StoredDocument(storageKey, spooled.getSize());
+            }
+            try (InputStream in = Files.newInputStream(spooled.getFile())) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.update(INSERT_CONTENT, storageKey, spooled.getSize(),
+                        Timestamp.valueOf(LocalDateTime.now()));
+                    writeChunks(storageKey, in);
+                });
+            } catch (DuplicateKeyException e) {
+                // A concurrent upload of the same content won the race
+                logger.debug("Document {} stored concurrently", storageKey);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return new StoredDocument(storageKey, spooled.getSize());
+        }
+    }
+
+    @Override
+    public ReadableByteChannel openChannel(String storageKey) throws IOException {
+        if (!documentContentRepository.existsById(validKey(storageKey))) {
+            throw new NoSuchFileException("No stored document " + storageKey);
+        }
+        return new ChunkChannel(storageKey);
+    }
+
+    @Override
+    public boolean exists(String storageKey) {
+        return storageKey != null && KEY_PATTERN.matcher(storageKey).matches()
+            && documentContentRepository.existsById(storageKey);
+    }
+
+    @Override
+    public void delete(String storageKey) throws IOException {
+        if (storageKey == null) {
+            return;
+        }
+        String key = validKey(storageKey);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(DELETE_CHUNKS, key);
+            documentContentRepository.deleteById(key);
+        });
+    }
+
+    private void writeChunks(String storageKey, InputStream in) {
+        byte[] buffer = new byte[CHUNK_SIZE];
+        try {
+            for (int index = 0; ; index++) {
+                int length = in.readNBytes(buffer, 0, CHUNK_SIZE);
+                if (length == 0) {
+                    return;
+                }
+                byte[] chunk = length == CHUNK_SIZE ? buffer : Arrays.copyOf(buffer, length);
+                jdbcTemplate.update(INSERT_CHUNK, storageKey, index, chunk);
+                if (length < CHUNK_SIZE) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String validKey(String storageKey) {
+        if (storageKey == null || !KEY_PATTERN.matcher(storageKey).matches()) {
+            throw new IllegalArgumentException("Invalid storage key: " + storageKey);
+        }
+        return storageKey;
+    }
+
+    /**
+     * Reads the chunks of one document in order, fetching the next one only when the current one
+     * has been consumed
+     */
+    private final class ChunkChannel implements ReadableByteChannel {
+        private final String storageKey;
+        private ByteBuffer current = ByteBuffer.allocate(0);
+        private int nextIndex;
+        private boolean exhausted;
+        private boolean open = true;
+
+        private ChunkChannel(String storageKey) {
+            this.storageKey = storageKey;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            if (!open) {
+                throw new ClosedChannelException();
+            }
+            while (!current.hasRemaining()) {
+                if (exhausted) {
+                    return -1;
+                }
+                List<byte[]> chunk = jdbcTemplate.query(SELECT_CHUNK, (rs, row) -> rs.getBytes(1), storageKey, nextIndex);
+                if (chunk.isEmpty()) {
+                    exhausted = true;
+                    return -1;
+                }
+                current = ByteBuffer.wrap(chunk.get(0));
+                nextIndex++;
+            }
+            int length = Math.min(dst.remaining(), current.remaining());
+            ByteBuffer slice = current.slice();
+            slice.limit(length);
+            dst.put(slice);
+            current.position(current.position() + length);
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+            current = ByteBuffer.allocate(0);
+        }
+    }
+}
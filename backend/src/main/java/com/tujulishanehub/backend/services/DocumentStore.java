@@ -0,0 +1,49 @@
+package com.tujulishanehub.backend.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Pluggable storage for uploaded file content.
+ * Document entities keep the metadata (name, type, size) plus a storage key;
+ * the bytes themselves live in the store and are streamed in and out.
+ */
+public interface DocumentStore {
+
+    /**
+     * Stream the content into the store and return the key it can be read back with
+     */
+    StoredDocument store(InputStream content) throws IOException;
+
+    /**
+     * Open a channel over previously stored content. The caller must close it.
+     */
+    ReadableByteChannel openChannel(String storageKey) throws IOException;
+
+    /**
+     * Check if content exists for the given key
+     */
+    boolean exists(String storageKey);
+
+    /**
+     * Remove stored content. Missing keys are ignored.
+     */
+    void delete(String storageKey) throws IOException;
+
+    /**
+     * Result of storing a document
+     */
+    class StoredDocument {
+        private final String storageKey;
+        private final long size;
+
+        public StoredDocument(String storageKey, long size) {
+            this.storageKey = storageKey;
+            this.size = size;
+        }
+
+        public String getStorageKey() { return storageKey; }
+        public long getSize() { return size; }
+    }
+}
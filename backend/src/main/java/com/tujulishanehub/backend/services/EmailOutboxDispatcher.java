@@ -0,0 +1,324 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.models.EmailOutboxMessage;
+import com.tujulishanehub.backend.repositories.EmailOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the email outbox in the background.
+ *
+ * A single virtual thread polls for due messages (or is woken as soon as a queueing transaction
+ * commits), claims a batch with SELECT ... FOR UPDATE SKIP LOCKED so several instances can run
+ * side by side, and splits it into chunks that are each sent on a virtual thread over one pooled
+ * SMTP session. Failed sends are retried with exponential backoff; after max-attempts the message
+ * is dead-lettered and can be re-queued by an admin.
+ */
+@Service
+public class EmailOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private SmtpTransportPool smtpTransportPool;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.email.outbox.poll-interval-ms:5000}")
+    private long pollIntervalMs;
+
+    @Value("${app.email.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.email.outbox.concurrency:4}")
+    private int concurrency;
+
+    @Value("${app.email.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${app.email.outbox.initial-backoff-seconds:30}")
+    private long initialBackoffSeconds;
+
+    // A SENDING claim older than this is assumed abandoned (instance died mid-send) and retried
+    @Value("${app.email.outbox.claim-timeout-seconds:300}")
+    private long claimTimeoutSeconds;
+
+    @Value("${app.email.outbox.retention-days:30}")
+    private int retentionDays;
+
+    private final Semaphore wakeUps = new Semaphore(0);
+    private Semaphore sendPermits;
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService sendExecutor;
+    private volatile boolean running;
+    private LocalDateTime lastPurge = LocalDateTime.MIN;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        sendPermits = new Semaphore(Math.max(1, concurrency));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        running = true;
+        Thread.ofVirtual().name("email-outbox-dispatcher").start(this::pollLoop);
+        logger.info("Email outbox dispatcher started (batch={}, concurrency={}, maxAttempts={})",
+            batchSize, concurrency, maxAttempts);
+    }
+
+    /**
+     * Signal that new messages were queued, so they are sent without waiting for the next poll
+     */
+    public void wakeUp() {
+        if (wakeUps.availablePermits() == 0) {
+            wakeUps.release();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        wakeUp();
+        if (sendExecutor != null) {
+            sendExecutor.shutdown();
+            try {
+                if (!sendExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    logger.warn("Email sends still in flight at shutdown; they will be retried after the claim timeout");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void pollLoop() {
+        while (running) {
+            int claimed = 0;
+            try {
+                claimed = dispatchBatch();
+                purgeIfDue();
+            } catch (Exception e) {
+                logger.error("Email outbox dispatch failed: {}", e.getMessage(), e);
+            }
+            // A full batch means more is probably waiting; otherwise sleep until woken or the next poll
+            if (claimed < batchSize) {
+                try {
+                    wakeUps.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                    wakeUps.drainPermits();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private int dispatchBatch() throws InterruptedException {
+        List<EmailOutboxMessage> batch = claimBatch();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        // Split the batch into one contiguous chunk per sender; each chunk goes through a single SMTP session
+        int chunkSize = (batch.size() + concurrency - 1) / Math.max(1, concurrency);
+        for (int from = 0; from < batch.size(); from += chunkSize) {
+            List<EmailOutboxMessage> chunk = batch.subList(from, Math.min(from + chunkSize, batch.size()));
+            sendPermits.acquire();
+            try {
+                sendExecutor.submit(() -> {
+                    try {
+                        send(chunk);
+                    } finally {
+                        sendPermits.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Executor shut down; the claim goes stale and the messages are picked up again later
+                sendPermits.release();
+                throw e;
+            }
+        }
+        return batch.size();
+    }
+
+    private List<EmailOutboxMessage> claimBatch() {
+        List<EmailOutboxMessage> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutboxMessage> due = outboxRepository.findDueForUpdate(
+                now, now.minusSeconds(claimTimeoutSeconds), PageRequest.of(0, batchSize));
+            for (EmailOutboxMessage message : due) {
+                message.setStatus(EmailOutboxMessage.Status.SENDING);
+                message.setClaimedAt(now);
+                message.setAttempts(message.getAttempts() + 1);
+            }
+            return outboxRepository.saveAll(due);
+        });
+        return claimed != null ? claimed : Collections.emptyList();
+    }
+
+    private void send(List<EmailOutboxMessage> messages) {
+        Map<Long, Exception> failures = emailService.deliverAll(messages);
+        failures.forEach((id, e) -> logger.warn("Email {} failed: {}", id, e.getMessage()));
+        try {
+            complete(messages, failures);
+        } catch (Exception e) {
+            // The claims go stale and the messages are retried after the claim timeout
+            logger.error("Could not record delivery results for {} emails: {}", messages.size(), e.getMessage(), e);
+        }
+    }
+
+    private void complete(List<EmailOutboxMessage> messages, Map<Long, Exception> failures) {
+        List<Long> ids = messages.stream().map(EmailOutboxMessage::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutboxMessage> current = outboxRepository.findAllById(ids);
+            for (EmailOutboxMessage message : current) {
+                Exception failure = failures.get(message.getId());
+                message.setClaimedAt(null);
+                if (failure == null) {
+                    message.setStatus(EmailOutboxMessage.Status.SENT);
+                    message.setSentAt(now);
+                    message.setLastError(null);
+                    // Sent rows are kept for latency stats only; drop the content (OTPs, reset links)
+                    message.setBody("");
+                } else if (message.getAttempts() >= maxAttempts) {
+                    message.setStatus(EmailOutboxMessage.Status.DEAD);
+                    message.setLastError(truncate(failure));
+                    logger.error("Email {} to {} dead-lettered after {} attempts",
+                        message.getId(), message.getRecipient(), message.getAttempts());
+                } else {
+                    message.setStatus(EmailOutboxMessage.Status.PENDING);
+                    message.setNextAttemptAt(now.plus(backoff(message.getAttempts())));
+                    message.setLastError(truncate(failure));
+                }
+            }
+            outboxRepository.saveAll(current);
+        });
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = Duration.ofSeconds(initialBackoffSeconds).multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private void purgeIfDue() {
+        LocalDateTime now = LocalDateTime.now();
+        if (lastPurge.plus(PURGE_INTERVAL).isAfter(now)) {
+            return;
+        }
+        lastPurge = now;
+        Integer purged = transactionTemplate.execute(status -> outboxRepository.deleteSentBefore(now.minusDays(retentionDays)));
+        if (purged != null && purged > 0) {
+            logger.info("Purged {} sent emails older than {} days", purged, retentionDays);
+        }
+    }
+
+    private static String truncate(Exception e) {
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    /**
+     * Get queue depth and send latency figures for the admin view
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (EmailOutboxMessage.Status status : EmailOutboxMessage.Status.values()) {
+            byStatus.put(status.name(), outboxRepository.countByStatus(status));
+        }
+
+        LocalDateTime oldestUnsent = outboxRepository.findOldestUnsentCreatedAt();
+
+        List<Long> latencies = new ArrayList<>();
+        for (EmailOutboxMessage message : outboxRepository.findTop200ByStatusOrderBySentAtDesc(EmailOutboxMessage.Status.SENT)) {
+            if (message.getSentAt() != null && message.getCreatedAt() != null) {
+                latencies.add(Duration.between(message.getCreatedAt(), message.getSentAt()).toMillis());
+            }
+        }
+        Collections.sort(latencies);
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("byStatus", byStatus);
+        stats.put("queueDepth", byStatus.get("PENDING") + byStatus.get("SENDING"));
+        stats.put("oldestPendingAgeSeconds",
+            oldestUnsent != null ? Duration.between(oldestUnsent, LocalDateTime.now()).getSeconds() : null);
+        stats.put("latencySampleSize", latencies.size());
+        stats.put("avgSendLatencyMs",
+            latencies.isEmpty() ? null : latencies.stream().mapToLong(Long::longValue).sum() / latencies.size());
+        stats.put("p95SendLatencyMs",
+            latencies.isEmpty() ? null : latencies.get((int) Math.ceil(latencies.size() * 0.95) - 1));
+        stats.put("dispatcherRunning", running);
+        stats.put("smtp", smtpTransportPool.getStatistics());
+        return stats;
+    }
+
+    /**
+     * Get dead-lettered messages, newest first
+     */
+    public Page<Map<String, Object>> getDeadLetters(int page, int size) {
+        return outboxRepository.findByStatusOrderByCreatedAtDesc(EmailOutboxMessage.Status.DEAD, PageRequest.of(page, size))
+            .map(message -> {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("id", message.getId());
+                row.put("recipient", message.getRecipient());
+                row.put("subject", message.getSubject());
+                row.put("attempts", message.getAttempts());
+                row.put("lastError", message.getLastError());
+                row.put("createdAt", message.getCreatedAt());
+                return row;
+            });
+    }
+
+    /**
+     * Put a dead-lettered message back on the queue with a fresh set of attempts
+     */
+    public void retry(Long id) {
+        transactionTemplate.executeWithoutResult(status -> {
+            EmailOutboxMessage message = outboxRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Email not found with id: " + id));
+            if (message.getStatus() != EmailOutboxMessage.Status.DEAD) {
+                throw new IllegalStateException("Only dead-lettered emails can be retried");
+            }
+            message.setStatus(EmailOutboxMessage.Status.PENDING);
+            message.setAttempts(0);
+            message.setNextAttemptAt(LocalDateTime.now());
+            outboxRepository.save(message);
+        });
+        wakeUp();
+    }
+}
@@ -1,25 +1,58 @@
 package com.tujulishanehub.backend.services;
 
+import com.tujulishanehub.backend.models.EmailOutboxMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
 import jakarta.annotation.PostConstruct;
-import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
 import jakarta.mail.internet.MimeMessage;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 public class EmailService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
 
+    private static final String INSERT_OUTBOX_MESSAGE =
+        "INSERT INTO email_outbox (recipient, subject, body, html, status, attempts, next_attempt_at, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, 0, ?, ?)";
+
     @Autowired(required = false)
     private JavaMailSender mailSender;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SmtpTransportPool smtpTransportPool;
+
+    // Lazy: the dispatcher in turn depends on this service for delivery
+    @Autowired
+    @Lazy
+    private EmailOutboxDispatcher dispatcher;
     
     @Value("${spring.mail.from:noreply@tujulishanehub.com}")
     private String fromEmail;
@@ -33,56 +66,145 @@ public class EmailService {
     @Value("${spring.mail.username:}")
     private String mailUsername;
 
+    /**
+     * Queue a plain-text email. The message is written to the outbox in the caller's transaction
+     * and delivered by the EmailOutboxDispatcher once that transaction commits.
+     */
     public void sendEmail(String to, String subject, String body) {
-        logger.info("Sending email to {} with subject={}", to, subject);
-        
-        // If email is not configured, just log the email content
-        if (!emailEnabled || mailSender == null) {
-            logger.warn("⚠️ Email service not configured. Logging email content instead:");
-            logger.warn("📧 To: {}", to);
-            logger.warn("📧 Subject: {}", subject);
-            logger.warn("📧 Body: {}", body);
+        enqueue(to, subject, body, false);
+    }
+
+    /**
+     * Queue an HTML email (see sendEmail)
+     */
+    public void sendHtmlEmail(String to, String subject, String htmlBody) {
+        enqueue(to, subject, htmlBody, true);
+    }
+
+    private void enqueue(String to, String subject, String body, boolean html) {
+        if (to == null || to.trim().isEmpty()) {
+            logger.warn("Not queueing email with subject={} - no recipient", subject);
+            return;
+        }
+        if (!insertOutboxMessage(to.trim(), subject != null ? subject : "", body != null ? body : "", html)) {
             return;
         }
-        
+        logger.info("Queued {}email to {} with subject={}", html ? "HTML " : "", to, subject);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatcher.wakeUp();
+                }
+            });
+        } else {
+            dispatcher.wakeUp();
+        }
+    }
+
+    /**
+     * Write an outbox row in the caller's transaction, behind a savepoint. If the INSERT fails only
+     * the savepoint is rolled back, so a message that cannot be queued never takes the business
+     * change down with it (on Postgres a failed statement would otherwise abort the whole
+     * transaction). Plain JDBC keeps the row out of the caller's persistence context, which a
+     * savepoint rollback would leave inconsistent. Returns whether the row was written.
+     */
+    private boolean insertOutboxMessage(String recipient, String subject, String body, boolean html) {
+        LocalDateTime now = LocalDateTime.now();
+        Object[] args = {recipient, subject, body, html, EmailOutboxMessage.Status.PENDING.name(), now, now};
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            try {
+                jdbcTemplate.update(INSERT_OUTBOX_MESSAGE, args);
+                return true;
+            } catch (DataAccessException e) {
+                logger.error("Could not queue email to {} with subject={}: {}", recipient, subject, e.getMessage());
+                return false;
+            }
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        Savepoint savepoint = null;
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(body);
-            mailSender.send(message);
-            logger.info("Email sent successfully to {}", to);
-        } catch (MailException e) {
-            // Log full exception so root cause is visible in application logs
-            logger.error("Failed to send email to {}: {}", to, e.getMessage(), e);
-            logger.warn("📧 Email content that failed to send:");
-            logger.warn("📧 To: {}", to);
-            logger.warn("📧 Subject: {}", subject);
-            logger.warn("📧 Body: {}", body);
-            // Don't throw exception - just log it so login can continue
+            savepoint = connection.setSavepoint();
+            jdbcTemplate.update(INSERT_OUTBOX_MESSAGE, args);
+            connection.releaseSavepoint(savepoint);
+            return true;
+        } catch (SQLException | DataAccessException e) {
+            if (savepoint != null) {
+                try {
+                    connection.rollback(savepoint);
+                } catch (SQLException rollbackFailure) {
+                    e.addSuppressed(rollbackFailure);
+                }
+            }
+            logger.error("Could not queue email to {} with subject={}: {}", recipient, subject, e.getMessage(), e);
+            return false;
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
         }
     }
 
-    public void sendHtmlEmail(String to, String subject, String htmlBody) {
-        logger.info("Sending HTML email to {} subject={}", to, subject);
+    /**
+     * Send a batch of queued messages. Called by the dispatcher.
+     * Messages are pushed through a pooled SMTP session rather than one connection each;
+     * returns the failures by message id so only those are retried.
+     */
+    public Map<Long, Exception> deliverAll(List<EmailOutboxMessage> outboxMessages) {
+        Map<Long, Exception> failures = new HashMap<>();
+
+        // If email is not configured, just log the email content
         if (!emailEnabled || mailSender == null) {
-            logger.warn("⚠️ Email service not configured. HTML email logged only:");
-            logger.warn("📧 To: {} | Subject: {}", to, subject);
-            return;
+            for (EmailOutboxMessage outboxMessage : outboxMessages) {
+                logger.warn("⚠️ Email service not configured. Logging email content instead:");
+                logger.warn("📧 To: {}", outboxMessage.getRecipient());
+                logger.warn("📧 Subject: {}", outboxMessage.getSubject());
+                if (!outboxMessage.isHtml()) {
+                    logger.warn("📧 Body: {}", outboxMessage.getBody());
+                }
+            }
+            return failures;
         }
+
+        SmtpTransportPool.PooledTransport transport = null;
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            helper.setFrom(fromEmail);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlBody, true);
-            mailSender.send(message);
-            logger.info("HTML email sent successfully to {}", to);
-        } catch (MessagingException | MailException e) {
-            logger.error("Failed to send HTML email to {}: {}", to, e.getMessage(), e);
+            for (EmailOutboxMessage outboxMessage : outboxMessages) {
+                try {
+                    MimeMessage message = createMimeMessage(outboxMessage);
+                    if (!smtpTransportPool.isAvailable()) {
+                        mailSender.send(message);
+                    } else {
+                        if (transport == null) {
+                            transport = smtpTransportPool.borrow();
+                        }
+                        smtpTransportPool.send(transport, message);
+                    }
+                    logger.info("Email {} sent successfully to {}", outboxMessage.getId(), outboxMessage.getRecipient());
+                } catch (Exception e) {
+                    failures.put(outboxMessage.getId(), e);
+                    // A rejected recipient leaves the session usable; anything else may have broken it
+                    if (transport != null && !(e instanceof SendFailedException)) {
+                        smtpTransportPool.invalidate(transport);
+                        transport = null;
+                    }
+                }
+            }
+        } finally {
+            if (transport != null) {
+                smtpTransportPool.release(transport);
+            }
         }
+        return failures;
+    }
+
+    private MimeMessage createMimeMessage(EmailOutboxMessage outboxMessage) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, outboxMessage.isHtml(), "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(outboxMessage.getRecipient());
+        helper.setSubject(outboxMessage.getSubject());
+        helper.setText(outboxMessage.getBody(), outboxMessage.isHtml());
+        return message;
     }
 
     @PostConstruct
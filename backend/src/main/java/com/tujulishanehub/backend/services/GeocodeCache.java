@@ -0,0 +1,227 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.models.GeocodeCacheEntry;
+import com.tujulishanehub.backend.repositories.GeocodeCacheRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Two-level cache of geocoder answers keyed by normalized address: a bounded in-memory LRU in
+ * front of the geocode_cache table. Many projects share the same facilities and towns, so most
+ * lookups are answered without calling the external API.
+ *
+ * Matches are kept for positive-ttl-days (0 = forever). "No match" answers are cached too, but
+ * only for negative-ttl-hours, so a misspelt address is not retried on every batch run and a
+ * corrected geocoder index is picked up eventually. Transport errors are never cached.
+ */
+@Component
+public class GeocodeCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeocodeCache.class);
+
+    private static final int MAX_KEY_LENGTH = 512;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N},]+");
+    private static final Pattern COMMAS = Pattern.compile("\\s*,[\\s,]*");
+    private static final Pattern TRAILING_COUNTRY = Pattern.compile(",?\\s*kenya$");
+
+    @Autowired
+    private GeocodeCacheRepository geocodeCacheRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${geocoding.cache.memory-size:5000}")
+    private int memorySize;
+
+    @Value("${geocoding.cache.positive-ttl-days:0}")
+    private long positiveTtlDays;
+
+    @Value("${geocoding.cache.negative-ttl-hours:168}")
+    private long negativeTtlHours;
+
+    private Map<String, GeocodeCacheEntry> memory;
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong databaseHits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong stores = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        memory = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, GeocodeCacheEntry> eldest) {
+                return size() > memorySize;
+            }
+        });
+    }
+
+    /**
+     * Drop expired rows and load the most recent live entries into memory
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Integer purged = transactionTemplate.execute(status -> geocodeCacheRepository.deleteExpired(now));
+            int loaded = 0;
+            for (GeocodeCacheEntry entry : geocodeCacheRepository.findLive(now, PageRequest.of(0, Math.max(1, memorySize)))) {
+                memory.putIfAbsent(entry.getAddressKey(), entry);
+                loaded++;
+            }
+            logger.info("Geocode cache warmed with {} entries ({} expired entries purged)", loaded, purged);
+        } catch (Exception e) {
+            // A cold cache only costs extra geocoder calls
+            logger.warn("Could not warm geocode cache: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Get the cached answer for an address, or null if the geocoder has to be asked
+     */
+    public GeocodingService.CoordinateResult get(String address) {
+        String key = normalize(address);
+        if (key == null) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        GeocodeCacheEntry entry = memory.get(key);
+        if (entry != null && !entry.isExpired(now)) {
+            memoryHits.incrementAndGet();
+            return toResult(entry);
+        }
+
+        entry = geocodeCacheRepository.findById(key).orElse(null);
+        if (entry != null && !entry.isExpired(now)) {
+            databaseHits.incrementAndGet();
+            memory.put(key, entry);
+            return toResult(entry);
+        }
+
+        if (entry != null) {
+            memory.remove(key);
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Remember a geocoder answer; an invalid result is stored as a negative entry with a short TTL
+     */
+    public void put(String address, GeocodingService.CoordinateResult result) {
+        String key = normalize(address);
+        if (key == null || result == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        GeocodeCacheEntry entry = new GeocodeCacheEntry();
+        entry.setAddressKey(key);
+        entry.setLatitude(result.getLatitude());
+        entry.setLongitude(result.getLongitude());
+        entry.setMessage(result.getMessage());
+        entry.setCachedAt(now);
+        if (!result.isValid()) {
+            entry.setExpiresAt(now.plusHours(negativeTtlHours));
+        } else if (positiveTtlDays > 0) {
+            entry.setExpiresAt(now.plusDays(positiveTtlDays));
+        }
+
+        memory.put(key, entry);
+        try {
+            geocodeCacheRepository.save(entry);
+            stores.incrementAndGet();
+        } catch (Exception e) {
+            logger.warn("Could not persist geocode cache entry for '{}': {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Get hit-rate figures
+     */
+    public Map<String, Object> getStatistics() {
+        long fromMemory = memoryHits.get();
+        long fromDatabase = databaseHits.get();
+        long miss = misses.get();
+        long lookups = fromMemory + fromDatabase + miss;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("memoryEntries", memory.size());
+        stats.put("lookups", lookups);
+        stats.put("memoryHits", fromMemory);
+        stats.put("databaseHits", fromDatabase);
+        stats.put("negativeHits", negativeHits.get());
+        stats.put("misses", miss);
+        stats.put("hitRate", lookups == 0 ? null : (double) (fromMemory + fromDatabase) / lookups);
+        stats.put("stores", stores.get());
+        return stats;
+    }
+
+    /**
+     * Normalize an address into a cache key: Unicode-folded, lower case, punctuation and repeated
+     * whitespace collapsed, and a trailing ", Kenya" dropped (the geocoder query always adds it)
+     */
+    static String normalize(String address) {
+        if (address == null) {
+            return null;
+        }
+        String key = Normalizer.normalize(address, Normalizer.Form.NFKD);
+        key = DIACRITICS.matcher(key).replaceAll("");
+        key = key.toLowerCase(Locale.ROOT);
+        key = SEPARATORS.matcher(key).replaceAll(" ");
+        key = COMMAS.matcher(key.trim()).replaceAll(", ");
+        key = TRAILING_COUNTRY.matcher(key).replaceAll("");
+        key = key.replaceAll("^[\\s,]+|[\\s,]+$", "");
+        if (key.isEmpty()) {
+            return null;
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            // Keep a readable prefix and make the key unique with a hash of the full address
+            key = key.substring(0, MAX_KEY_LENGTH - 65) + "#" + sha256(key);
+        }
+        return key;
+    }
+
+    private GeocodingService.CoordinateResult toResult(GeocodeCacheEntry entry) {
+        if (entry.getLatitude() == null || entry.getLongitude() == null) {
+            negativeHits.incrementAndGet();
+        }
+        return new GeocodingService.CoordinateResult(entry.getLatitude(), entry.getLongitude(),
+            entry.getMessage() != null ? entry.getMessage() + " (cached)" : "Cached geocode result");
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
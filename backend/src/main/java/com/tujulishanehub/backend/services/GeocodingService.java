@@ -1,12 +1,19 @@
 package com.tujulishanehub.backend.services;
 
+import com.tujulishanehub.backend.util.TokenBucketRateLimiter;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -21,7 +28,23 @@ public class GeocodingService {
     @Value("${geocoding.enabled:true}")
     private boolean geocodingEnabled;
     
-    private final RestTemplate restTemplate;
+    @Value("${geocoding.nominatim.url:https://nominatim.openstreetmap.org/search}")
+    private String nominatimUrl;
+    
+    // Nominatim's usage policy allows at most one request per second
+    @Value("${geocoding.rate-limit-per-second:1}")
+    private double rateLimitPerSecond;
+    
+    @Value("${geocoding.rate-limit-burst:1}")
+    private int rateLimitBurst;
+    
+    @Autowired
+    @Qualifier("geocodingRestTemplate")
+    private RestTemplate restTemplate;
+    
+    private TokenBucketRateLimiter rateLimiter;
+    private final AtomicLong providerRequests = new AtomicLong();
+    private final AtomicLong providerErrors = new AtomicLong();
     
     // Patterns for extracting coordinates from text
     private static final Pattern COORDINATES_PATTERN = Pattern.compile(
@@ -33,8 +56,28 @@ public class GeocodingService {
         Pattern.CASE_INSENSITIVE | Pattern.DOTALL
     );
     
-    public GeocodingService() {
-        this.restTemplate = new RestTemplate();
+    @Autowired
+    private GeocodeCache geocodeCache;
+    
+    @Autowired
+    private KenyaGazetteer gazetteer;
+    
+    @PostConstruct
+    public void init() {
+        rateLimiter = new TokenBucketRateLimiter(rateLimitPerSecond, rateLimitBurst);
+    }
+    
+    /**
+     * Get geocoding provider request figures
+     */
+    public Map<String, Object> getProviderStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("url", nominatimUrl);
+        stats.put("rateLimitPerSecond", rateLimitPerSecond);
+        stats.put("requests", providerRequests.get());
+        stats.put("errors", providerErrors.get());
+        stats.put("gazetteerPlaces", gazetteer.size());
+        return stats;
     }
     
     /**
@@ -43,39 +86,67 @@ public class GeocodingService {
      * 1. Parse direct coordinates (lat,lng format)
      * 2. Parse named coordinate fields (lat: x, lng: y)
      * 3. Use geocoding API if configured
-     * 4. Return default Kenya center coordinates as fallback
+     * 4. Look the address up in the offline Kenya gazetteer
+     * 5. Return default Kenya center coordinates as fallback
      */
     public CoordinateResult extractCoordinates(String mapsAddress) {
-        if (mapsAddress == null || mapsAddress.trim().isEmpty()) {
+        return extractCoordinates(mapsAddress, null, null);
+    }
+    
+    /**
+     * Extract coordinates for a project location. Same strategies as extractCoordinates(String),
+     * but the county and sub-county also feed the gazetteer lookup, so a location with only a
+     * county (or a vague address) still lands on the right town or county centre.
+     */
+    public CoordinateResult extractCoordinates(String mapsAddress, String county, String subCounty) {
+        boolean hasAddress = mapsAddress != null && !mapsAddress.trim().isEmpty();
+        if (!hasAddress && isBlank(county) && isBlank(subCounty)) {
             return new CoordinateResult(null, null, "No address provided");
         }
         
-        // Strategy 1: Try to parse direct coordinates (e.g., "-1.2921, 36.8219")
-        CoordinateResult directResult = parseDirectCoordinates(mapsAddress);
-        if (directResult.isValid()) {
-            logger.info("Extracted direct coordinates from address: {}", mapsAddress);
-            return directResult;
+        if (hasAddress) {
+            // Strategy 1: Try to parse direct coordinates (e.g., "-1.2921, 36.8219")
+            CoordinateResult directResult = parseDirectCoordinates(mapsAddress);
+            if (directResult.isValid()) {
+                logger.info("Extracted direct coordinates from address: {}", mapsAddress);
+                return directResult;
+            }
+            
+            // Strategy 2: Try to parse named coordinate fields
+            CoordinateResult namedResult = parseNamedCoordinates(mapsAddress);
+            if (namedResult.isValid()) {
+                logger.info("Extracted named coordinates from address: {}", mapsAddress);
+                return namedResult;
+            }
+            
+            // Strategy 3: Use geocoding API if enabled and configured
+            if (geocodingEnabled && !apiKey.isEmpty()) {
+                CoordinateResult geocodedResult = geocodeAddress(mapsAddress);
+                if (geocodedResult.isValid()) {
+                    logger.info("Geocoded address successfully: {}", mapsAddress);
+                    return geocodedResult;
+                }
+            }
         }
         
-        // Strategy 2: Try to parse named coordinate fields
-        CoordinateResult namedResult = parseNamedCoordinates(mapsAddress);
-        if (namedResult.isValid()) {
-            logger.info("Extracted named coordinates from address: {}", mapsAddress);
-            return namedResult;
+        // Strategy 4: Offline gazetteer. A town or sub-county is a usable position; a county
+        // centre is only approximate.
+        KenyaGazetteer.Match place = gazetteer.resolve(county, subCounty, mapsAddress);
+        if (place != null) {
+            logger.info("Matched '{}' to {} {} in offline gazetteer", hasAddress ? mapsAddress : county,
+                place.getType(), place.getName());
+            return new CoordinateResult(place.getLatitude(), place.getLongitude(),
+                "Matched " + place.getName() + " in offline gazetteer",
+                place.getType() == KenyaGazetteer.PlaceType.COUNTY);
         }
         
-        // Strategy 3: Use geocoding API if enabled and configured
-        if (geocodingEnabled && !apiKey.isEmpty()) {
-            CoordinateResult geocodedResult = geocodeAddress(mapsAddress);
-            if (geocodedResult.isValid()) {
-                logger.info("Geocoded address successfully: {}", mapsAddress);
-                return geocodedResult;
-            }
-        }
-        
-        // Strategy 4: Return Kenya center coordinates as fallback
+        // Strategy 5: Return Kenya center coordinates as fallback
         logger.warn("Could not extract coordinates from address '{}', using Kenya center as fallback", mapsAddress);
-        return new CoordinateResult(-0.0236, 37.9062, "Used Kenya center coordinates as fallback");
+        return new CoordinateResult(-0.0236, 37.9062, "Used Kenya center coordinates as fallback", true);
+    }
+    
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
     }
     
     private CoordinateResult parseDirectCoordinates(String address) {
@@ -113,41 +184,52 @@ public class GeocodingService {
     }
     
     private CoordinateResult geocodeAddress(String address) {
+        CoordinateResult cached = geocodeCache.get(address);
+        if (cached != null) {
+            return cached;
+        }
         try {
-            // Using OpenStreetMap Nominatim API as a free alternative
-            // For production, consider using Google Maps Geocoding API or similar
-            String url = UriComponentsBuilder
-                .fromHttpUrl("https://nominatim.openstreetmap.org/search")
-                .queryParam("q", address + ", Kenya") // Add Kenya to improve accuracy
-                .queryParam("format", "json")
-                .queryParam("limit", "1")
-                .queryParam("countrycodes", "ke") // Restrict to Kenya
-                .build()
-                .toUriString();
-            
-            // Add a user agent header as required by Nominatim
-            restTemplate.getInterceptors().clear();
-            restTemplate.getInterceptors().add((request, body, execution) -> {
-                request.getHeaders().add("User-Agent", "TujulishaneHub/1.0 (contact@tujulishanehub.org)");
-                return execution.execute(request, body);
-            });
-            
-            var response = restTemplate.getForObject(url, Object[].class);
-            
-            if (response != null && response.length > 0) {
-                var firstResult = (java.util.Map<?, ?>) response[0];
-                double lat = Double.parseDouble(firstResult.get("lat").toString());
-                double lng = Double.parseDouble(firstResult.get("lon").toString());
-                
-                if (isValidKenyaCoordinate(lat, lng)) {
-                    return new CoordinateResult(lat, lng, "Geocoded using Nominatim API");
-                }
-            }
+            CoordinateResult result = queryNominatim(address);
+            // Matches and "no match" answers are cached; errors below are not, so they are retried
+            geocodeCache.put(address, result);
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new CoordinateResult(null, null, "Geocoding interrupted");
         } catch (Exception e) {
+            providerErrors.incrementAndGet();
             logger.warn("Geocoding failed for address '{}': {}", address, e.getMessage());
+            return new CoordinateResult(null, null, "Geocoding failed");
         }
+    }
+    
+    private CoordinateResult queryNominatim(String address) throws InterruptedException {
+        // Using OpenStreetMap Nominatim API as a free alternative
+        // For production, consider using Google Maps Geocoding API or similar
+        String url = UriComponentsBuilder
+            .fromHttpUrl(nominatimUrl)
+            .queryParam("q", address + ", Kenya") // Add Kenya to improve accuracy
+            .queryParam("format", "json")
+            .queryParam("limit", "1")
+            .queryParam("countrycodes", "ke") // Restrict to Kenya
+            .build()
+            .toUriString();
+        
+        // Shared by every caller, so concurrent batch workers together stay within the provider's rate
+        rateLimiter.acquire();
+        providerRequests.incrementAndGet();
+        var response = restTemplate.getForObject(url, Object[].class);
         
-        return new CoordinateResult(null, null, "Geocoding failed");
+        if (response != null && response.length > 0) {
+            var firstResult = (java.util.Map<?, ?>) response[0];
+            double lat = Double.parseDouble(firstResult.get("lat").toString());
+            double lng = Double.parseDouble(firstResult.get("lon").toString());
+            
+            if (isValidKenyaCoordinate(lat, lng)) {
+                return new CoordinateResult(lat, lng, "Geocoded using Nominatim API");
+            }
+        }
+        return new CoordinateResult(null, null, "No match from Nominatim API");
     }
     
     /**
@@ -165,11 +247,17 @@ public class GeocodingService {
         private final Double latitude;
         private final Double longitude;
         private final String message;
+        private final boolean approximate;
         
         public CoordinateResult(Double latitude, Double longitude, String message) {
+            this(latitude, longitude, message, false);
+        }
+        
+        public CoordinateResult(Double latitude, Double longitude, String message, boolean approximate) {
             this.latitude = latitude;
             this.longitude = longitude;
             this.message = message;
+            this.approximate = approximate;
         }
         
         public Double getLatitude() {
@@ -184,6 +272,13 @@ public class GeocodingService {
             return message;
         }
         
+        /**
+         * True when the address could not be resolved and a placeholder position was returned
+         */
+        public boolean isApproximate() {
+            return approximate;
+        }
+        
         public boolean isValid() {
             return latitude != null && longitude != null;
         }
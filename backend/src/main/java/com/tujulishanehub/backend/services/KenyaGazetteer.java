@@ -0,0 +1,367 @@
+package com.tujulishanehub.backend.services;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Offline gazetteer of Kenyan counties, sub-counties and towns (classpath gazetteer/kenya-places.csv).
+ *
+ * Places are held in parallel arrays with two lookups on top: an exact map from normalized name
+ * (and alias) to place ids, and a trigram posting list for fuzzy matching misspelt names
+ * ("Kakamenga", "Muranga"). Resolving a location touches a handful of small arrays and makes
+ * no network calls.
+ */
+@Component
+public class KenyaGazetteer {
+
+    private static final Logger logger = LoggerFactory.getLogger(KenyaGazetteer.class);
+
+    private static final String RESOURCE = "gazetteer/kenya-places.csv";
+    private static final double FUZZY_THRESHOLD = 0.6;
+    private static final int MAX_WINDOW_WORDS = 3;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern APOSTROPHES = Pattern.compile("['’`]");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^a-z0-9]+");
+    private static final Set<String> NOISE_WORDS = Set.of("county", "sub", "subcounty", "town", "municipality", "kenya");
+
+    public enum PlaceType { COUNTY, SUB_COUNTY, TOWN }
+
+    private String[] names = new String[0];
+    private PlaceType[] types = new PlaceType[0];
+    private String[] counties = new String[0];
+    private double[] latitudes = new double[0];
+    private double[] longitudes = new double[0];
+
+    // Normalized name or alias -> place ids
+    private Map<String, int[]> exactIndex = Map.of();
+    // Trigram -> ids of the name/alias keys containing it
+    private Map<String, int[]> trigramIndex = Map.of();
+    private String[] keys = new String[0];
+    private int[] keyPlace = new int[0];
+    private int[] keyTrigramCount = new int[0];
+
+    @PostConstruct
+    public void load() {
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ClassPathResource(RESOURCE).getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank() && !line.startsWith("#")) {
+                    rows.add(line.split(",", -1));
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Kenya gazetteer not loaded ({}); offline coordinate resolution is disabled", e.getMessage());
+            return;
+        }
+        build(rows);
+        logger.info("Kenya gazetteer loaded: {} places, {} names", names.length, keys.length);
+    }
+
+    /**
+     * Number of places in the index
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Resolve a project location to the most specific place it names: a sub-county or town
+     * (from the sub-county field, then the maps address), otherwise the county.
+     * Once the county is known (from the county field, else the last address part naming one)
+     * only places inside it count, so "Ngong Road, Nairobi" stays in Nairobi rather than
+     * resolving to Ngong town in Kajiado. Returns null when nothing matches.
+     */
+    public Match resolve(String county, String subCounty, String mapsAddress) {
+        String[] addressParts = mapsAddress != null ? mapsAddress.split(",") : new String[0];
+
+        Match countyMatch = find(county, null, PlaceType.COUNTY);
+        // Addresses run from the street to the county, so the county is looked for from the end
+        for (int i = addressParts.length - 1; i >= 0 && countyMatch == null; i--) {
+            countyMatch = find(addressParts[i], null, PlaceType.COUNTY);
+        }
+        String countyName = countyMatch != null ? countyMatch.getCounty() : null;
+
+        Match place = search(subCounty, countyName, countyName, null);
+        if (place != null && place.getType() != PlaceType.COUNTY) {
+            return place;
+        }
+        for (String part : addressParts) {
+            Match match = search(part, countyName, countyName, null);
+            if (match != null && match.getType() != PlaceType.COUNTY) {
+                return match;
+            }
+        }
+        return countyMatch;
+    }
+
+    /**
+     * Best place for a free-text name: exact name or alias, then any 1-3 word run inside it,
+     * then a fuzzy trigram match. Places in preferredCounty win ties.
+     */
+    public Match find(String text, String preferredCounty, PlaceType requiredType) {
+        return search(text, preferredCounty, null, requiredType);
+    }
+
+    /**
+     * find, limited to places in requiredCounty when it is not null
+     */
+    private Match search(String text, String preferredCounty, String requiredCounty, PlaceType requiredType) {
+        String normalized = normalize(text);
+        if (normalized == null) {
+            return null;
+        }
+
+        Match exact = bestExact(normalized, preferredCounty, requiredCounty, requiredType);
+        if (exact != null) {
+            return exact;
+        }
+
+        String[] words = normalized.split(" ");
+        if (words.length > 1) {
+            Match best = null;
+            for (int size = Math.min(MAX_WINDOW_WORDS, words.length - 1); size >= 1 && best == null; size--) {
+                for (int start = 0; start + size <= words.length; start++) {
+                    Match match = bestExact(String.join(" ", Arrays.copyOfRange(words, start, start + size)),
+                        preferredCounty, requiredCounty, requiredType);
+                    if (match != null && (best == null || preferred(match, best, preferredCounty))) {
+                        best = match;
+                    }
+                }
+            }
+            if (best != null) {
+                return best;
+            }
+        }
+
+        return bestFuzzy(normalized, preferredCounty, requiredCounty, requiredType);
+    }
+
+    private Match bestExact(String key, String preferredCounty, String requiredCounty, PlaceType requiredType) {
+        int[] ids = exactIndex.get(key);
+        if (ids == null) {
+            return null;
+        }
+        Match best = null;
+        for (int id : ids) {
+            if (!accepts(id, requiredCounty, requiredType)) {
+                continue;
+            }
+            Match match = toMatch(id, 1.0);
+            if (best == null || preferred(match, best, preferredCounty)) {
+                best = match;
+            }
+        }
+        return best;
+    }
+
+    private Match bestFuzzy(String text, String preferredCounty, String requiredCounty, PlaceType requiredType) {
+        String[] trigrams = trigrams(text);
+        if (trigrams.length == 0) {
+            return null;
+        }
+        int[] shared = new int[keys.length];
+        for (String trigram : trigrams) {
+            int[] postings = trigramIndex.get(trigram);
+            if (postings != null) {
+                for (int key : postings) {
+                    shared[key]++;
+                }
+            }
+        }
+
+        Match best = null;
+        for (int key = 0; key < keys.length; key++) {
+            if (shared[key] == 0) {
+                continue;
+            }
+            int id = keyPlace[key];
+            if (!accepts(id, requiredCounty, requiredType)) {
+                continue;
+            }
+            // Dice coefficient over trigram sets
+            double score = 2.0 * shared[key] / (trigrams.length + keyTrigramCount[key]);
+            if (score < FUZZY_THRESHOLD) {
+                continue;
+            }
+            Match match = toMatch(id, score);
+            if (best == null || preferred(match, best, preferredCounty)) {
+                best = match;
+            }
+        }
+        return best;
+    }
+
+    private boolean accepts(int id, String requiredCounty, PlaceType requiredType) {
+        return (requiredType == null || types[id] == requiredType)
+            && (requiredCounty == null || requiredCounty.equals(counties[id]));
+    }
+
+    /**
+     * Higher score wins; then places in the preferred county; then the more specific place type
+     */
+    private static boolean preferred(Match candidate, Match current, String preferredCounty) {
+        if (candidate.getScore() != current.getScore()) {
+            return candidate.getScore() > current.getScore();
+        }
+        boolean candidateInCounty = preferredCounty != null && preferredCounty.equals(candidate.getCounty());
+        boolean currentInCounty = preferredCounty != null && preferredCounty.equals(current.getCounty());
+        if (candidateInCounty != currentInCounty) {
+            return candidateInCounty;
+        }
+        return candidate.getType().ordinal() > current.getType().ordinal();
+    }
+
+    private Match toMatch(int id, double score) {
+        return new Match(names[id], types[id], counties[id], latitudes[id], longitudes[id], score);
+    }
+
+    private void build(List<String[]> rows) {
+        int count = 0;
+        String[] newNames = new String[rows.size()];
+        PlaceType[] newTypes = new PlaceType[rows.size()];
+        String[] newCounties = new String[rows.size()];
+        double[] newLatitudes = new double[rows.size()];
+        double[] newLongitudes = new double[rows.size()];
+        Map<String, List<Integer>> exact = new HashMap<>();
+        List<String> keyList = new ArrayList<>();
+        List<Integer> keyPlaceList = new ArrayList<>();
+
+        for (String[] row : rows) {
+            try {
+                newTypes[count] = PlaceType.valueOf(row[0].trim());
+                newNames[count] = row[1].trim();
+                newCounties[count] = row[2].trim();
+                newLatitudes[count] = Double.parseDouble(row[3].trim());
+                newLongitudes[count] = Double.parseDouble(row[4].trim());
+            } catch (RuntimeException e) {
+                logger.warn("Skipping malformed gazetteer row: {}", String.join(",", row));
+                continue;
+            }
+            List<String> aliases = new ArrayList<>();
+            aliases.add(newNames[count]);
+            if (row.length > 5 && !row[5].isBlank()) {
+                aliases.addAll(Arrays.asList(row[5].split("\\|")));
+            }
+            for (String alias : aliases) {
+                String key = normalize(alias);
+                if (key != null) {
+                    exact.computeIfAbsent(key, k -> new ArrayList<>()).add(count);
+                    keyList.add(key);
+                    keyPlaceList.add(count);
+                }
+            }
+            count++;
+        }
+
+        Map<String, List<Integer>> trigramLists = new HashMap<>();
+        int[] trigramCounts = new int[keyList.size()];
+        for (int key = 0; key < keyList.size(); key++) {
+            String[] trigrams = trigrams(keyList.get(key));
+            trigramCounts[key] = trigrams.length;
+            for (String trigram : trigrams) {
+                trigramLists.computeIfAbsent(trigram, t -> new ArrayList<>()).add(key);
+            }
+        }
+
+        names = Arrays.copyOf(newNames, count);
+        types = Arrays.copyOf(newTypes, count);
+        counties = Arrays.copyOf(newCounties, count);
+        latitudes = Arrays.copyOf(newLatitudes, count);
+        longitudes = Arrays.copyOf(newLongitudes, count);
+        exactIndex = toArrays(exact);
+        trigramIndex = toArrays(trigramLists);
+        keys = keyList.toArray(new String[0]);
+        keyPlace = keyPlaceList.stream().mapToInt(Integer::intValue).toArray();
+        keyTrigramCount = trigramCounts;
+    }
+
+    private static Map<String, int[]> toArrays(Map<String, List<Integer>> lists) {
+        Map<String, int[]> arrays = new HashMap<>(lists.size() * 2);
+        lists.forEach((key, ids) -> arrays.put(key, ids.stream().mapToInt(Integer::intValue).distinct().toArray()));
+        return arrays;
+    }
+
+    /**
+     * Distinct trigrams of " name " (padded so word starts and ends count)
+     */
+    private static String[] trigrams(String text) {
+        String padded = " " + text + " ";
+        return IntStream.rangeClosed(0, padded.length() - 3)
+            .mapToObj(i -> padded.substring(i, i + 3))
+            .distinct()
+            .toArray(String[]::new);
+    }
+
+    /**
+     * Lower case, accents and apostrophes removed, punctuation collapsed to single spaces,
+     * and words like "county" or "town" dropped
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        String value = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        value = DIACRITICS.matcher(value).replaceAll("");
+        value = APOSTROPHES.matcher(value.toLowerCase(Locale.ROOT)).replaceAll("");
+        value = NON_ALNUM.matcher(value).replaceAll(" ").trim();
+        if (value.isEmpty()) {
+            return null;
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : value.split(" ")) {
+            if (!NOISE_WORDS.contains(word)) {
+                words.add(word);
+            }
+        }
+        return words.isEmpty() ? null : String.join(" ", words);
+    }
+
+    /**
+     * A resolved place
+     */
+    public static final class Match {
+        private final String name;
+        private final PlaceType type;
+        private final String county;
+        private final double latitude;
+        private final double longitude;
+        private final double score;
+
+        private Match(String name, PlaceType type, String county, double latitude, double longitude, double score) {
+            this.name = name;
+            this.type = type;
+            this.county = county;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.score = score;
+        }
+
+        public String getName() { return name; }
+        public PlaceType getType() { return type; }
+        public String getCounty() { return county; }
+        public double getLatitude() { return latitude; }
+        public double getLongitude() { return longitude; }
+        // 1.0 for an exact name/alias match, otherwise the trigram similarity
+        public double getScore() { return score; }
+    }
+}
@@ -0,0 +1,52 @@
+package com.tujulishanehub.backend.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Row counts of paged listings, recomputed at most once per pagination.count-cache-seconds, so a
+ * listing that asks for its total does not run a COUNT(*) on every page. A cached total may lag
+ * inserts and deletes by up to that long.
+ */
+@Component
+public class ListingCounts {
+
+    @Value("${pagination.count-cache-seconds:30}")
+    private long ttlSeconds;
+
+    private final Map<String, Entry> counts = new ConcurrentHashMap<>();
+
+    /**
+     * Cached row count of a listing, counting with counter when missing or expired
+     */
+    public long get(String listing, LongSupplier counter) {
+        long now = System.nanoTime();
+        Entry entry = counts.get(listing);
+        if (entry == null || now - entry.expiresAt >= 0) {
+            entry = new Entry(counter.getAsLong(), now + ttlSeconds * 1_000_000_000L);
+            counts.put(listing, entry);
+        }
+        return entry.value;
+    }
+
+    /**
+     * Drop a cached count, e.g. after rows were added or removed
+     */
+    public void invalidate(String listing) {
+        counts.remove(listing);
+    }
+
+    private static final class Entry {
+        private final long value;
+        private final long expiresAt;
+
+        private Entry(long value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.tujulishanehub.backend.services;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Pattern;
+
+/**
+ * Local filesystem, content-addressed document store.
+ * Content is keyed by its SHA-256 hash and laid out as {root}/ab/cd/abcd...,
+ * so identical uploads are stored once.
+ *
+ * Only used with app.documents.store=local, and the storage path must then be a persistent volume:
+ * on a container's own filesystem every redeploy or restart loses the documents.
+ */
+@Service
+@ConditionalOnProperty(name = "app.documents.store", havingValue = "local")
+public class LocalDocumentStore implements DocumentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalDocumentStore.class);
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    @Value("${app.documents.storage-path:./data/documents}")
+    private String storagePath;
+
+    private Path root;
+    private Path tmpDir;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(storagePath).toAbsolutePath().normalize();
+        tmpDir = root.resolve("tmp");
+        Files.createDirectories(tmpDir);
+        logger.info("Local document store initialised at {}", root);
+    }
+
+    @Override
+    public StoredDocument store(InputStream content) throws IOException {
+        try (SpooledContent spooled = SpooledContent.spool(content, tmpDir)) {
+            String storageKey = spooled.getStorageKey();
+            Path target = resolve(storageKey);
+
+            if (Files.exists(target)) {
+                logger.debug("Document {} already stored, reusing existing content", storageKey);
+            } else {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(spooled.getFile(), target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // A concurrent upload of the same content won the race
+                    logger.debug("Document {} stored concurrently", storageKey);
+                }
+            }
+            return new StoredDocument(storageKey, spooled.getSize());
+        }
+    }
+
+    @Override
+    public ReadableByteChannel openChannel(String storageKey) throws IOException {
+        return FileChannel.open(resolve(storageKey), StandardOpenOption.READ);
+    }
+
+    @Override
+    public boolean exists(String storageKey) {
+        return storageKey != null && KEY_PATTERN.matcher(storageKey).matches() && Files.exists(resolve(storageKey));
+    }
+
+    @Override
+    public void delete(String storageKey) throws IOException {
+        if (storageKey == null) {
+            return;
+        }
+        Files.deleteIfExists(resolve(storageKey));
+    }
+
+    private Path resolve(String storageKey) {
+        if (storageKey == null || !KEY_PATTERN.matcher(storageKey).matches()) {
+            throw new IllegalArgumentException("Invalid storage key: " + storageKey);
+        }
+        return root.resolve(storageKey.substring(0, 2))
+            .resolve(storageKey.substring(2, 4))
+            .resolve(storageKey);
+    }
+}
@@ -0,0 +1,353 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.models.ApprovalWorkflowStatus;
+import com.tujulishanehub.backend.models.PastProject;
+import com.tujulishanehub.backend.models.Project;
+import com.tujulishanehub.backend.models.ProjectCategory;
+import com.tujulishanehub.backend.models.ProjectLocation;
+import com.tujulishanehub.backend.models.ProjectTheme;
+import com.tujulishanehub.backend.payload.MapCluster;
+import com.tujulishanehub.backend.payload.MapMarker;
+import com.tujulishanehub.backend.payload.NearbyMarker;
+import com.tujulishanehub.backend.repositories.PastProjectRepository;
+import com.tujulishanehub.backend.repositories.ProjectRepository;
+import com.tujulishanehub.backend.util.ClusterPyramid;
+import com.tujulishanehub.backend.util.GeoGridIndex;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Map markers for projects (one per located ProjectLocation) and past projects, held in grid
+ * spatial indexes so map pans are answered from memory instead of a BETWEEN scan and DISTINCT
+ * join over the location tables. APPROVED project locations are also kept in a cluster pyramid,
+ * so zoomed-out maps get a few hundred aggregated clusters instead of every project. The same grids
+ * answer nearest-neighbour ("within N km of here") searches.
+ *
+ * Everything is rebuilt from projection queries at startup and kept in step afterwards: project
+ * changes arrive through ProjectChangeListener, past project changes from PastProjectService. Like
+ * PublicStatisticsService, a change is captured while the entity is attached and applied once the
+ * transaction commits.
+ */
+@Service
+public class MapMarkerIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(MapMarkerIndex.class);
+
+    public static final int MAX_NEARBY_RESULTS = 100;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private PastProjectRepository pastProjectRepository;
+
+    // About 28 km at the equator; Kenya spans roughly 40 x 40 cells
+    @Value("${map.index.cell-degrees:0.25}")
+    private double cellDegrees;
+
+    // Above this zoom level individual markers are returned instead of clusters
+    @Value("${map.clusters.max-zoom:12}")
+    private int clusterMaxZoom;
+
+    // Clusters per map tile edge; 4 gives roughly 64px clusters on 256px tiles
+    @Value("${map.clusters.cells-per-tile:4}")
+    private int clusterCellsPerTile;
+
+    private GeoGridIndex<MapMarker> projectMarkers;
+    private GeoGridIndex<MapMarker> pastProjectMarkers;
+    private ClusterPyramid projectClusters;
+
+    @PostConstruct
+    public void init() {
+        projectMarkers = new GeoGridIndex<>(cellDegrees);
+        pastProjectMarkers = new GeoGridIndex<>(cellDegrees);
+        projectClusters = new ClusterPyramid(clusterMaxZoom, clusterCellsPerTile, ProjectTheme.values().length);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    /**
+     * Get project markers inside a bounding box
+     */
+    public List<MapMarker> findProjectMarkers(double minLat, double maxLat, double minLng, double maxLng) {
+        return projectMarkers.query(minLat, maxLat, minLng, maxLng);
+    }
+
+    /**
+     * Whether a zoom level is served as clusters rather than individual markers
+     */
+    public boolean isClustered(int zoom) {
+        return zoom <= projectClusters.getMaxZoom();
+    }
+
+    /**
+     * Get clusters of APPROVED project locations overlapping a bounding box at a zoom level
+     */
+    public List<MapCluster> findProjectClusters(double minLat, double maxLat, double minLng, double maxLng, int zoom) {
+        ProjectTheme[] themes = ProjectTheme.values();
+        List<MapCluster> clusters = new ArrayList<>();
+        for (ClusterPyramid.Cluster cluster : projectClusters.query(minLat, maxLat, minLng, maxLng, zoom)) {
+            clusters.add(new MapCluster(cluster.getCount(), cluster.getLatitude(), cluster.getLongitude(),
+                cluster.getDominantCategory() >= 0 ? themes[cluster.getDominantCategory()].name() : null));
+        }
+        return clusters;
+    }
+
+    /**
+     * Get markers of APPROVED project locations inside a bounding box
+     */
+    public List<MapMarker> findApprovedProjectMarkers(double minLat, double maxLat, double minLng, double maxLng) {
+        List<MapMarker> markers = new ArrayList<>();
+        for (MapMarker marker : projectMarkers.query(minLat, maxLat, minLng, maxLng)) {
+            if (ApprovalWorkflowStatus.APPROVED.name().equals(marker.getApprovalWorkflowStatus())) {
+                markers.add(marker);
+            }
+        }
+        return markers;
+    }
+
+    /**
+     * Get past project markers inside a bounding box
+     */
+    public List<MapMarker> findPastProjectMarkers(double minLat, double maxLat, double minLng, double maxLng) {
+        return pastProjectMarkers.query(minLat, maxLat, minLng, maxLng);
+    }
+
+    /**
+     * Get the APPROVED project locations nearest to a point, closest first, optionally within
+     * radiusKm and restricted to a theme and/or category. A project with several locations can
+     * appear once per location.
+     */
+    public List<NearbyMarker> findNearestProjectMarkers(double latitude, double longitude, Double radiusKm, int limit,
+                                                        ProjectTheme theme, ProjectCategory category) {
+        Predicate<MapMarker> filter = marker ->
+            ApprovalWorkflowStatus.APPROVED.name().equals(marker.getApprovalWorkflowStatus());
+        return nearest(projectMarkers, latitude, longitude, radiusKm, limit, filter.and(matches(theme, category)));
+    }
+
+    /**
+     * Get the past projects nearest to a point, closest first, optionally within radiusKm and
+     * restricted to a theme and/or category
+     */
+    public List<NearbyMarker> findNearestPastProjectMarkers(double latitude, double longitude, Double radiusKm, int limit,
+                                                            ProjectTheme theme, ProjectCategory category) {
+        return nearest(pastProjectMarkers, latitude, longitude, radiusKm, limit, matches(theme, category));
+    }
+
+    /**
+     * Record the current locations of a project. Must be called while the project is still
+     * attached; it is applied once the transaction commits.
+     */
+    public void projectChanged(Project project) {
+        if (project == null || project.getId() == null) {
+            return;
+        }
+        Long projectId = project.getId();
+        List<GeoGridIndex.Entry<MapMarker>> entries = projectEntries(project);
+        List<ClusterPyramid.Point> points = project.getApprovalWorkflowStatus() == ApprovalWorkflowStatus.APPROVED
+            ? clusterPoints(entries, themeOrdinals(project.getProjectThemes()))
+            : List.of();
+        afterCommit(() -> {
+            projectMarkers.put(projectId, entries);
+            projectClusters.put(projectId, points);
+        });
+    }
+
+    /**
+     * Remove a deleted project's markers once the transaction commits
+     */
+    public void projectDeleted(Long projectId) {
+        if (projectId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            projectMarkers.remove(projectId);
+            projectClusters.remove(projectId);
+        });
+    }
+
+    /**
+     * Record the current position of a past project once the transaction commits
+     */
+    public void pastProjectChanged(PastProject pastProject) {
+        if (pastProject == null || pastProject.getId() == null) {
+            return;
+        }
+        Long pastProjectId = pastProject.getId();
+        List<GeoGridIndex.Entry<MapMarker>> entries = new ArrayList<>();
+        if (pastProject.getLatitude() != null && pastProject.getLongitude() != null) {
+            entries.add(pastProjectEntry(pastProjectId, pastProject.getTitle(), pastProject.getFinalStatus(),
+                pastProject.getCounty(), pastProject.getLatitude(), pastProject.getLongitude(),
+                pastProject.getProjectTheme(), pastProject.getProjectCategory()));
+        }
+        afterCommit(() -> pastProjectMarkers.put(pastProjectId, entries));
+    }
+
+    /**
+     * Remove a deleted past project's marker once the transaction commits
+     */
+    public void pastProjectDeleted(Long pastProjectId) {
+        if (pastProjectId == null) {
+            return;
+        }
+        afterCommit(() -> pastProjectMarkers.remove(pastProjectId));
+    }
+
+    /**
+     * Reload the marker indexes and the cluster pyramid from the database
+     */
+    public synchronized Map<String, Object> rebuild() {
+        long start = System.nanoTime();
+
+        Map<Long, List<ProjectTheme>> themesByProject = new HashMap<>();
+        for (Object[] row : projectRepository.findMapThemeRows()) {
+            themesByProject.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((ProjectTheme) row[1]);
+        }
+        // One theme list per project, shared by its markers
+        Map<Long, List<String>> themeNamesByProject = new HashMap<>();
+        themesByProject.forEach((projectId, themes) -> themeNamesByProject.put(projectId, themeNames(themes)));
+
+        Map<Long, List<GeoGridIndex.Entry<MapMarker>>> projects = new HashMap<>();
+        for (Object[] row : projectRepository.findMapMarkerRows()) {
+            Long projectId = (Long) row[0];
+            ApprovalWorkflowStatus workflowStatus = (ApprovalWorkflowStatus) row[4];
+            ProjectCategory category = (ProjectCategory) row[8];
+            MapMarker marker = new MapMarker(projectId, (Long) row[1], (String) row[2], (String) row[3],
+                workflowStatus != null ? workflowStatus.name() : null, (String) row[5], (Double) row[6], (Double) row[7],
+                category != null ? category.name() : null, themeNamesByProject.get(projectId));
+            projects.computeIfAbsent(projectId, k -> new ArrayList<>())
+                .add(new GeoGridIndex.Entry<>(marker.getLatitude(), marker.getLongitude(), marker));
+        }
+        projectMarkers.replaceAll(projects);
+
+        Map<Long, List<ClusterPyramid.Point>> clusterPointsByProject = new HashMap<>();
+        projects.forEach((projectId, entries) -> {
+            if (ApprovalWorkflowStatus.APPROVED.name().equals(entries.get(0).getValue().getApprovalWorkflowStatus())) {
+                clusterPointsByProject.put(projectId,
+                    clusterPoints(entries, themeOrdinals(themesByProject.getOrDefault(projectId, List.of()))));
+            }
+        });
+        projectClusters.replaceAll(clusterPointsByProject);
+
+        Map<Long, List<GeoGridIndex.Entry<MapMarker>>> pastProjects = new HashMap<>();
+        for (Object[] row : pastProjectRepository.findMapMarkerRows()) {
+            Long pastProjectId = (Long) row[0];
+            pastProjects.put(pastProjectId, List.of(pastProjectEntry(pastProjectId, (String) row[1], (String) row[2],
+                (String) row[3], (Double) row[4], (Double) row[5], (ProjectTheme) row[6], (ProjectCategory) row[7])));
+        }
+        pastProjectMarkers.replaceAll(pastProjects);
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Map marker index built: {} project locations, {} past projects in {} ms",
+            projectMarkers.size(), pastProjectMarkers.size(), elapsedMs);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("projectMarkers", projectMarkers.size());
+        result.put("pastProjectMarkers", pastProjectMarkers.size());
+        result.put("clusters", projectClusters.getStatistics());
+        result.put("elapsedMs", elapsedMs);
+        return result;
+    }
+
+    private static List<GeoGridIndex.Entry<MapMarker>> projectEntries(Project project) {
+        List<GeoGridIndex.Entry<MapMarker>> entries = new ArrayList<>();
+        if (project.getLocations() == null) {
+            return entries;
+        }
+        String workflowStatus = project.getApprovalWorkflowStatus() != null
+            ? project.getApprovalWorkflowStatus().name()
+            : null;
+        String category = project.getProjectCategory() != null ? project.getProjectCategory().name() : null;
+        List<String> themes = themeNames(project.getProjectThemes());
+        for (ProjectLocation location : project.getLocations()) {
+            if (location.hasCoordinates()) {
+                MapMarker marker = new MapMarker(project.getId(), location.getId(), project.getTitle(),
+                    project.getStatus(), workflowStatus, location.getCounty(),
+                    location.getLatitude(), location.getLongitude(), category, themes);
+                entries.add(new GeoGridIndex.Entry<>(location.getLatitude(), location.getLongitude(), marker));
+            }
+        }
+        return entries;
+    }
+
+    private static List<ClusterPyramid.Point> clusterPoints(List<GeoGridIndex.Entry<MapMarker>> entries, int[] themes) {
+        List<ClusterPyramid.Point> points = new ArrayList<>(entries.size());
+        for (GeoGridIndex.Entry<MapMarker> entry : entries) {
+            points.add(new ClusterPyramid.Point(entry.getLatitude(), entry.getLongitude(), themes));
+        }
+        return points;
+    }
+
+    private static int[] themeOrdinals(Collection<ProjectTheme> themes) {
+        return themes.stream().filter(Objects::nonNull).mapToInt(Enum::ordinal).distinct().toArray();
+    }
+
+    private static List<String> themeNames(Collection<ProjectTheme> themes) {
+        return themes.stream().filter(Objects::nonNull).distinct().sorted().map(Enum::name).toList();
+    }
+
+    private static GeoGridIndex.Entry<MapMarker> pastProjectEntry(Long id, String title, String finalStatus,
+                                                                  String county, Double latitude, Double longitude,
+                                                                  ProjectTheme theme, ProjectCategory category) {
+        MapMarker marker = new MapMarker(id, null, title, finalStatus, null, county, latitude, longitude,
+            category != null ? category.name() : null, theme != null ? List.of(theme.name()) : List.of());
+        return new GeoGridIndex.Entry<>(latitude, longitude, marker);
+    }
+
+    private static Predicate<MapMarker> matches(ProjectTheme theme, ProjectCategory category) {
+        return marker -> (category == null || category.name().equals(marker.getCategory()))
+            && (theme == null || marker.getThemes().contains(theme.name()));
+    }
+
+    private static List<NearbyMarker> nearest(GeoGridIndex<MapMarker> index, double latitude, double longitude,
+                                              Double radiusKm, int limit, Predicate<MapMarker> filter) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Latitude must be within [-90, 90] and longitude within [-180, 180]");
+        }
+        if (radiusKm != null && !(radiusKm > 0)) {
+            throw new IllegalArgumentException("radiusKm must be positive");
+        }
+        if (limit < 1 || limit > MAX_NEARBY_RESULTS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_NEARBY_RESULTS);
+        }
+        List<NearbyMarker> result = new ArrayList<>();
+        for (GeoGridIndex.Neighbour<MapMarker> neighbour : index.nearest(latitude, longitude,
+                radiusKm != null ? radiusKm : Double.POSITIVE_INFINITY, limit, filter)) {
+            result.add(new NearbyMarker(neighbour.getDistanceKm(), neighbour.getValue()));
+        }
+        return result;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
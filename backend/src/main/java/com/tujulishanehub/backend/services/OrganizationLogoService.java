@@ -0,0 +1,223 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.models.Organization;
+import com.tujulishanehub.backend.models.OrganizationLogo;
+import com.tujulishanehub.backend.repositories.OrganizationLogoRepository;
+import com.tujulishanehub.backend.repositories.OrganizationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Stores organization logos and renders thumbnail variants.
+ * Logo bytes are only read when a logo is actually served; Organization carries the metadata.
+ */
+@Service
+@Transactional
+public class OrganizationLogoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrganizationLogoService.class);
+
+    // Thumbnail edge lengths (px) that can be requested; anything else is rejected so the cache stays bounded
+    public static final Set<Integer> THUMBNAIL_SIZES = Set.of(32, 64, 128, 256);
+
+    private static final int MAX_CACHED_THUMBNAILS = 128;
+
+    // Largest logo accepted, in pixels (4096 x 4096, about 64 MB once decoded). A small compressed
+    // file can declare a huge canvas, so dimensions are read from the header before any decoding.
+    static final long MAX_LOGO_PIXELS = 4096L * 4096L;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private OrganizationLogoRepository organizationLogoRepository;
+
+    // Rendered thumbnails keyed by "etag:size". A new upload changes the etag, so stale entries simply age out.
+    private final Map<String, byte[]> thumbnailCache = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > MAX_CACHED_THUMBNAILS;
+            }
+        });
+
+    /**
+     * Save or replace an organization's logo
+     */
+    public Organization saveLogo(Long organizationId, byte[] data, String contentType) {
+        Organization organization = organizationRepository.findById(organizationId)
+            .orElseThrow(() -> new RuntimeException("Organization not found with ID: " + organizationId));
+
+        validateLogo(data, contentType);
+
+        OrganizationLogo logo = organizationLogoRepository.findById(organizationId).orElseGet(OrganizationLogo::new);
+        logo.setOrganizationId(organizationId);
+        logo.setData(data);
+        logo.setContentType(contentType);
+        logo.setFileSize((long) data.length);
+        logo.setEtag(sha256(data));
+        logo.setUpdatedAt(LocalDateTime.now());
+        organizationLogoRepository.save(logo);
+
+        organization.setLogoContentType(logo.getContentType());
+        organization.setLogoEtag(logo.getEtag());
+        organization.setLogoUpdatedAt(logo.getUpdatedAt());
+        logger.info("Logo updated for organization: {} ({} bytes)", organizationId, data.length);
+        return organizationRepository.save(organization);
+    }
+
+    /**
+     * Check an upload without storing it: non-empty, an image content type and, for formats ImageIO
+     * can read, a header that parses and dimensions within MAX_LOGO_PIXELS
+     */
+    public void validateLogo(byte[] data, String contentType) {
+        if (data == null || data.length == 0) {
+            throw new RuntimeException("Logo file is empty");
+        }
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new RuntimeException("Logo must be an image");
+        }
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            ImageReader reader = readerFor(input);
+            if (reader == null) {
+                // e.g. SVG or WebP, which are stored and served as uploaded
+                return;
+            }
+            try {
+                checkDimensions(reader);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Logo image could not be read");
+        }
+    }
+
+    /**
+     * Get the stored logo for an organization
+     */
+    @Transactional(readOnly = true)
+    public Optional<OrganizationLogo> getLogo(Long organizationId) {
+        return organizationLogoRepository.findById(organizationId);
+    }
+
+    /**
+     * Get a PNG thumbnail that fits within size x size, or null if the image format cannot be decoded
+     */
+    public byte[] getThumbnail(OrganizationLogo logo, int size) throws IOException {
+        if (!THUMBNAIL_SIZES.contains(size)) {
+            throw new IllegalArgumentException("Unsupported thumbnail size: " + size);
+        }
+
+        String cacheKey = logo.getEtag() + ":" + size;
+        byte[] cached = thumbnailCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        byte[] thumbnail = renderThumbnail(logo.getData(), size);
+        if (thumbnail != null) {
+            thumbnailCache.put(cacheKey, thumbnail);
+        }
+        return thumbnail;
+    }
+
+    private byte[] renderThumbnail(byte[] data, int size) throws IOException {
+        BufferedImage source;
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            ImageReader reader = readerFor(input);
+            if (reader == null) {
+                // e.g. SVG or WebP, which ImageIO cannot read; callers fall back to the original
+                return null;
+            }
+            try {
+                // Logos stored before the upload check may still be oversized
+                checkDimensions(reader);
+                source = reader.read(0);
+            } catch (RuntimeException e) {
+                logger.warn("Not rendering a thumbnail: {}", e.getMessage());
+                return null;
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        // Scale down to fit, never up
+        double scale = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(thumbnail, "png", out);
+        return out.toByteArray();
+    }
+
+    private static ImageReader readerFor(ImageInputStream input) {
+        if (input == null) {
+            return null;
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        reader.setInput(input, true, true);
+        return reader;
+    }
+
+    /**
+     * Reject an image whose header declares more than MAX_LOGO_PIXELS, before it is decoded
+     */
+    private static void checkDimensions(ImageReader reader) throws IOException {
+        long width = reader.getWidth(0);
+        long height = reader.getHeight(0);
+        if (width <= 0 || height <= 0) {
+            throw new RuntimeException("Logo image has invalid dimensions");
+        }
+        if (width * height > MAX_LOGO_PIXELS) {
+            throw new RuntimeException("Logo dimensions " + width + "x" + height + " exceed the limit of "
+                + MAX_LOGO_PIXELS + " pixels");
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -3,10 +3,13 @@ package com.tujulishanehub.backend.services;
 import com.tujulishanehub.backend.models.ApprovalStatus;
 import com.tujulishanehub.backend.models.Organization;
 import com.tujulishanehub.backend.repositories.OrganizationRepository;
+import com.tujulishanehub.backend.util.KeysetCursor;
+import com.tujulishanehub.backend.util.KeysetPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 @Transactional
@@ -21,9 +25,21 @@ public class OrganizationService {
     
     private static final Logger logger = LoggerFactory.getLogger(OrganizationService.class);
     
+    // ListingCounts key of the GET /api/organizations total
+    private static final String ORGANIZATION_LISTING = "organizations";
+    
     @Autowired
     private OrganizationRepository organizationRepository;
     
+    @Autowired
+    private SearchIndexService searchIndexService;
+    
+    @Autowired
+    private OrganizationLogoService organizationLogoService;
+    
+    @Autowired
+    private ListingCounts listingCounts;
+    
     /**
      * Create a new organization
      */
@@ -50,7 +66,10 @@ public class OrganizationService {
         // Set default values
         organization.setApprovalStatus(ApprovalStatus.PENDING);
         
-        return organizationRepository.save(organization);
+        Organization savedOrganization = organizationRepository.save(organization);
+        searchIndexService.organizationChanged(savedOrganization);
+        listingCounts.invalidate(ORGANIZATION_LISTING);
+        return savedOrganization;
     }
     
     /**
@@ -93,16 +112,53 @@ public class OrganizationService {
         newOrg.setCreatedAt(LocalDateTime.now());
         
         Organization savedOrg = organizationRepository.save(newOrg);
+        searchIndexService.organizationChanged(savedOrg);
+        listingCounts.invalidate(ORGANIZATION_LISTING);
         logger.info("Created new organization: {} (ID: {})", trimmedName, savedOrg.getId());
         
         return savedOrg.getId();
     }
     
     /**
-     * Get all organizations with pagination
+     * Get one page of organizations by page number, sorted on a whitelisted key (title is the
+     * name) then id. The total is only counted (and then cached briefly) when includeTotal is set.
      */
-    public Page<Organization> getAllOrganizations(Pageable pageable) {
-        return organizationRepository.findAll(pageable);
+    public KeysetPage<Organization> getAllOrganizations(KeysetCursor.SortKey key, boolean descending, int page, int size,
+                                                        boolean includeTotal) {
+        List<Organization> rows = organizationRepository.findPage(PageRequest.of(page, size, key.sort(descending, "name")));
+        return KeysetPage.ofOffset(rows, page, size, organizationCursor(key, descending),
+            includeTotal ? listingCounts.get(ORGANIZATION_LISTING, organizationRepository::count) : null);
+    }
+    
+    /**
+     * Get the page of organizations following a cursor returned with a previous page
+     */
+    public KeysetPage<Organization> getOrganizationsAfter(KeysetCursor cursor, int size, boolean includeTotal) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be at least 1");
+        }
+        KeysetCursor.SortKey key = cursor.getKey();
+        boolean descending = cursor.isDescending();
+        Pageable limit = PageRequest.of(0, size + 1, key.sort(descending, "name"));
+        Long id = cursor.getLastId();
+        List<Organization> rows = switch (key) {
+            case ID -> descending
+                ? organizationRepository.findPageBeforeId(id, limit)
+                : organizationRepository.findPageAfterId(id, limit);
+            case CREATED_AT -> descending
+                ? organizationRepository.findPageBeforeCreatedAt(cursor.getCreatedAt(), id, limit)
+                : organizationRepository.findPageAfterCreatedAt(cursor.getCreatedAt(), id, limit);
+            case TITLE -> descending
+                ? organizationRepository.findPageBeforeName(cursor.getTitle(), id, limit)
+                : organizationRepository.findPageAfterName(cursor.getTitle(), id, limit);
+        };
+        return KeysetPage.of(rows, size, organizationCursor(key, descending),
+            includeTotal ? listingCounts.get(ORGANIZATION_LISTING, organizationRepository::count) : null);
+    }
+    
+    private static Function<Organization, KeysetCursor> organizationCursor(KeysetCursor.SortKey key, boolean descending) {
+        return organization -> KeysetCursor.after(key, descending, organization.getId(),
+            organization.getCreatedAt(), organization.getName());
     }
     
     /**
@@ -179,14 +235,23 @@ public class OrganizationService {
         existingOrganization.setWebsiteUrl(organizationDetails.getWebsiteUrl());
         existingOrganization.setRegistrationNumber(organizationDetails.getRegistrationNumber());
         
-        // Update logo if provided
-        if (organizationDetails.getLogoData() != null && organizationDetails.getLogoData().length > 0) {
-            existingOrganization.setLogoData(organizationDetails.getLogoData());
-            existingOrganization.setLogoContentType(organizationDetails.getLogoContentType());
-            logger.info("Logo updated for organization: {}", id);
+        Organization savedOrganization = organizationRepository.save(existingOrganization);
+        searchIndexService.organizationChanged(savedOrganization);
+        return savedOrganization;
+    }
+    
+    /**
+     * Update organization and, when logo data is given, replace its logo in the same transaction.
+     * The logo is checked before anything is written, so a rejected logo leaves the organization
+     * unchanged.
+     */
+    public Organization updateOrganization(Long id, Organization organizationDetails, byte[] logoData, String logoContentType) {
+        if (logoData == null) {
+            return updateOrganization(id, organizationDetails);
         }
-        
-        return organizationRepository.save(existingOrganization);
+        organizationLogoService.validateLogo(logoData, logoContentType);
+        updateOrganization(id, organizationDetails);
+        return organizationLogoService.saveLogo(id, logoData, logoContentType);
     }
     
     /**
@@ -207,6 +272,7 @@ public class OrganizationService {
         organization.setRejectionReason(null); // Clear any previous rejection reason
         
         organizationRepository.save(organization);
+        searchIndexService.organizationChanged(organization);
         logger.info("Organization {} approved successfully", organization.getName());
         return true;
     }
@@ -229,6 +295,7 @@ public class OrganizationService {
         organization.setRejectionReason(reason);
         
         organizationRepository.save(organization);
+        searchIndexService.organizationChanged(organization);
         logger.info("Organization {} rejected: {}", organization.getName(), reason);
         return true;
     }
@@ -244,6 +311,8 @@ public class OrganizationService {
         }
         
         organizationRepository.deleteById(id);
+        searchIndexService.organizationDeleted(id);
+        listingCounts.invalidate(ORGANIZATION_LISTING);
         logger.info("Organization with ID {} deleted successfully", id);
         return true;
     }
@@ -1,15 +1,20 @@
 package com.tujulishanehub.backend.services;
 
+import com.tujulishanehub.backend.events.ReportChanged;
 import com.tujulishanehub.backend.models.PastProject;
 import com.tujulishanehub.backend.models.Project;
+import com.tujulishanehub.backend.models.ProjectCategory;
 import com.tujulishanehub.backend.models.ProjectReport;
 import com.tujulishanehub.backend.models.ProjectLocation;
 import com.tujulishanehub.backend.models.ProjectTheme;
+import com.tujulishanehub.backend.payload.MapMarker;
+import com.tujulishanehub.backend.payload.NearbyMarker;
 import com.tujulishanehub.backend.repositories.PastProjectRepository;
 import com.tujulishanehub.backend.repositories.ProjectReportRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -33,6 +38,15 @@ public class PastProjectService {
     @Autowired
     private ProjectReportRepository projectReportRepository;
 
+    @Autowired
+    private MapMarkerIndex mapMarkerIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
     /**
      * Archive a completed project to the past projects repository
      */
@@ -87,6 +101,8 @@ public class PastProjectService {
         pastProject.setRecommendations(recommendations);
 
         PastProject savedPastProject = pastProjectRepository.save(pastProject);
+        mapMarkerIndex.pastProjectChanged(savedPastProject);
+        searchIndexService.pastProjectChanged(savedPastProject);
 
         // Move associated reports to past project
         Set<ProjectReport> reports = project.getReports();
@@ -95,6 +111,7 @@ public class PastProjectService {
                 report.setPastProject(savedPastProject);
                 report.setProject(null); // Remove link to active project
                 projectReportRepository.save(report);
+                eventPublisher.publishEvent(new ReportChanged(report.getId()));
             }
         }
 
@@ -125,17 +142,18 @@ public class PastProjectService {
     }
 
     /**
-     * Get past projects with coordinates for map display
+     * Get map markers for past projects within geographic bounds
      */
-    public List<PastProject> getPastProjectsWithCoordinates() {
-        return pastProjectRepository.findPastProjectsWithCoordinates();
+    public List<MapMarker> getMapMarkersInBoundingBox(double minLat, double maxLat, double minLng, double maxLng) {
+        return mapMarkerIndex.findPastProjectMarkers(minLat, maxLat, minLng, maxLng);
     }
 
     /**
-     * Get past projects within geographic bounds
+     * Get the past projects nearest to a point (optionally within radiusKm), closest first
      */
-    public List<PastProject> getPastProjectsInBoundingBox(Double minLat, Double maxLat, Double minLng, Double maxLng) {
-        return pastProjectRepository.findPastProjectsInBoundingBox(minLat, maxLat, minLng, maxLng);
+    public List<NearbyMarker> getNearestMapMarkers(double latitude, double longitude, Double radiusKm, int limit,
+                                                   ProjectTheme theme, ProjectCategory category) {
+        return mapMarkerIndex.findNearestPastProjectMarkers(latitude, longitude, radiusKm, limit, theme, category);
     }
 
     /**
@@ -166,7 +184,10 @@ public class PastProjectService {
             pastProject.setFinalStatus("completed");
         }
 
-        return pastProjectRepository.save(pastProject);
+        PastProject saved = pastProjectRepository.save(pastProject);
+        mapMarkerIndex.pastProjectChanged(saved);
+        searchIndexService.pastProjectChanged(saved);
+        return saved;
     }
 
     /**
@@ -174,7 +195,10 @@ public class PastProjectService {
      */
     public PastProject updatePastProject(PastProject pastProject) {
         logger.info("Updating past project: {} (ID: {})", pastProject.getTitle(), pastProject.getId());
-        return pastProjectRepository.save(pastProject);
+        PastProject saved = pastProjectRepository.save(pastProject);
+        mapMarkerIndex.pastProjectChanged(saved);
+        searchIndexService.pastProjectChanged(saved);
+        return saved;
     }
 
     /**
@@ -183,5 +207,7 @@ public class PastProjectService {
     public void deletePastProject(Long id) {
         logger.info("Deleting past project with ID: {}", id);
         pastProjectRepository.deleteById(id);
+        mapMarkerIndex.pastProjectDeleted(id);
+        searchIndexService.pastProjectDeleted(id);
     }
 }
\ No newline at end of file
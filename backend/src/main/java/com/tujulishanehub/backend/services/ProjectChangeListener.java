@@ -0,0 +1,105 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.events.ProjectChanged;
+import com.tujulishanehub.backend.events.ProjectDeleted;
+import com.tujulishanehub.backend.models.Project;
+import com.tujulishanehub.backend.repositories.ProjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Keeps the views derived from projects in step with the projects table: public statistics, map
+ * markers, the search index, the cached project listing total and the dashboard counters.
+ *
+ * Writers only publish ProjectChanged or ProjectDeleted. Once the writing transaction commits, a
+ * changed project is reloaded with its themes and locations and handed to every view, so a view is
+ * subscribed here in one place instead of at each write. Each update runs in a short transaction of
+ * its own, because the views apply what they capture when the current transaction commits. A
+ * failure is logged and leaves the committed write alone; the views can be rebuilt from the admin
+ * endpoints.
+ */
+@Component
+public class ProjectChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectChangeListener.class);
+
+    private final ProjectRepository projectRepository;
+    private final PublicStatisticsService publicStatisticsService;
+    private final MapMarkerIndex mapMarkerIndex;
+    private final SearchIndexService searchIndexService;
+    private final ListingCounts listingCounts;
+    private final DashboardAggregateService dashboardAggregateService;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProjectChangeListener(ProjectRepository projectRepository,
+                                 PublicStatisticsService publicStatisticsService,
+                                 MapMarkerIndex mapMarkerIndex,
+                                 SearchIndexService searchIndexService,
+                                 ListingCounts listingCounts,
+                                 DashboardAggregateService dashboardAggregateService,
+                                 PlatformTransactionManager transactionManager) {
+        this.projectRepository = projectRepository;
+        this.publicStatisticsService = publicStatisticsService;
+        this.mapMarkerIndex = mapMarkerIndex;
+        this.searchIndexService = searchIndexService;
+        this.listingCounts = listingCounts;
+        this.dashboardAggregateService = dashboardAggregateService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProjectChanged(ProjectChanged event) {
+        Long projectId = event.getProjectId();
+        if (projectId == null) {
+            return;
+        }
+        if (event.isCreated()) {
+            listingCounts.invalidate(ProjectService.PROJECT_LISTING);
+        }
+        dashboardAggregateService.evictProjectCounts();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Project> projects = projectRepository.findAllWithThemesAndLocationsByIdIn(List.of(projectId));
+                if (projects.isEmpty()) {
+                    // Deleted since; its ProjectDeleted event removes it
+                    return;
+                }
+                Project project = projects.get(0);
+                publicStatisticsService.projectChanged(project);
+                mapMarkerIndex.projectChanged(project);
+                searchIndexService.projectChanged(project);
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Refreshing derived views of project {} failed: {}", projectId, e.getMessage(), e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProjectDeleted(ProjectDeleted event) {
+        Long projectId = event.getProjectId();
+        if (projectId == null) {
+            return;
+        }
+        listingCounts.invalidate(ProjectService.PROJECT_LISTING);
+        dashboardAggregateService.evictProjectCounts();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                publicStatisticsService.projectDeleted(projectId);
+                mapMarkerIndex.projectDeleted(projectId);
+                searchIndexService.projectDeleted(projectId);
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Removing deleted project {} from derived views failed: {}", projectId, e.getMessage(), e);
+        }
+    }
+}
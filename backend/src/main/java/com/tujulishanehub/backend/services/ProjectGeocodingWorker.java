@@ -0,0 +1,253 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.events.ProjectChanged;
+import com.tujulishanehub.backend.models.ProjectLocation;
+import com.tujulishanehub.backend.repositories.ProjectLocationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves project location coordinates in the background.
+ *
+ * Project create/update saves locations with an address or county but no coordinates as PENDING and
+ * hands their ids here once the transaction commits, so the request never waits on the
+ * geocoder. A virtual thread drains the queue in batches; the outbound calls happen outside
+ * any transaction and only the short read and write of the location rows are transactional.
+ * Locations still PENDING at startup (e.g. after a restart) are queued again.
+ */
+@Service
+public class ProjectGeocodingWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectGeocodingWorker.class);
+
+    private final ProjectLocationRepository locationRepository;
+    private final GeocodingService geocodingService;
+    private final CountyLocator countyLocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${geocoding.batch-size:100}")
+    private int batchSize;
+
+    // Concurrent lookups per batch; the provider rate limit still applies on top
+    @Value("${geocoding.concurrency:4}")
+    private int concurrency;
+
+    private final LinkedBlockingQueue<Long> queue = new LinkedBlockingQueue<>();
+    // Ids currently queued, so the same location is not queued twice
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final AtomicLong processed = new AtomicLong();
+    private volatile Thread workerThread;
+
+    public ProjectGeocodingWorker(ProjectLocationRepository locationRepository,
+                                  GeocodingService geocodingService,
+                                  CountyLocator countyLocator,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager) {
+        this.locationRepository = locationRepository;
+        this.geocodingService = geocodingService;
+        this.countyLocator = countyLocator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        workerThread = Thread.ofVirtual().name("project-geocoding-worker").start(this::run);
+        List<Long> pending = locationRepository.findPendingGeocodeIds();
+        if (!pending.isEmpty()) {
+            logger.info("Re-queueing {} locations still pending geocoding", pending.size());
+            enqueue(pending);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread thread = workerThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Queue locations for geocoding once the current transaction commits (immediately if there is none)
+     */
+    public void enqueueAfterCommit(Collection<Long> locationIds) {
+        if (locationIds == null || locationIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(locationIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(ids);
+                }
+            });
+        } else {
+            enqueue(ids);
+        }
+    }
+
+    /**
+     * Queue locations for geocoding
+     */
+    public void enqueue(Collection<Long> locationIds) {
+        for (Long id : locationIds) {
+            if (id != null && queued.add(id)) {
+                queue.add(id);
+            }
+        }
+    }
+
+    /**
+     * Get queue and geocode status figures
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (Object[] row : locationRepository.countByGeocodeStatus()) {
+            byStatus.put(row[0] != null ? row[0].toString() : "UNKNOWN", (Long) row[1]);
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queued", queue.size());
+        stats.put("processed", processed.get());
+        stats.put("byStatus", byStatus);
+        return stats;
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> batch = new ArrayList<>();
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            batch.forEach(queued::remove);
+            try {
+                processBatch(batch);
+            } catch (Exception e) {
+                logger.error("Geocoding batch of {} locations failed: {}", batch.size(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Geocode a batch of locations: each distinct address is resolved once, up to `concurrency`
+     * lookups run at a time (the provider rate limit is enforced inside GeocodingService), and the
+     * results are written back in one transaction so Hibernate can batch the updates.
+     */
+    private void processBatch(List<Long> locationIds) throws InterruptedException {
+        // Address key -> a location carrying that address, for every location still waiting
+        Map<String, ProjectLocation> addresses = transactionTemplate.execute(status -> {
+            Map<String, ProjectLocation> pending = new LinkedHashMap<>();
+            for (ProjectLocation location : locationRepository.findAllById(locationIds)) {
+                String key = addressKey(location);
+                if (location.getGeocodeStatus() == ProjectLocation.GeocodeStatus.PENDING && key != null) {
+                    pending.putIfAbsent(key, location);
+                }
+            }
+            return pending;
+        });
+        if (addresses == null) {
+            return;
+        }
+
+        Map<String, GeocodingService.CoordinateResult> results = new ConcurrentHashMap<>();
+        Semaphore permits = new Semaphore(Math.max(1, concurrency));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Map.Entry<String, ProjectLocation> address : addresses.entrySet()) {
+                ProjectLocation location = address.getValue();
+                permits.acquire();
+                executor.submit(() -> {
+                    try {
+                        results.put(address.getKey(), geocodingService.extractCoordinates(
+                            location.getMapsAddress(), location.getCounty(), location.getSubCounty()));
+                    } catch (Exception e) {
+                        logger.warn("Could not geocode '{}': {}", address.getKey(), e.getMessage());
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+
+        Integer updated = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<ProjectLocation> changed = new ArrayList<>();
+            Set<Long> projectIds = new LinkedHashSet<>();
+            for (ProjectLocation location : locationRepository.findAllById(locationIds)) {
+                String key = addressKey(location);
+                // Skip rows that were replaced or edited while the lookup was running
+                if (location.getGeocodeStatus() != ProjectLocation.GeocodeStatus.PENDING
+                        || (key != null && !addresses.containsKey(key))) {
+                    continue;
+                }
+                GeocodingService.CoordinateResult result = key != null ? results.get(key) : null;
+                if (result != null && result.isValid()) {
+                    location.setLatitude(result.getLatitude());
+                    location.setLongitude(result.getLongitude());
+                    location.setGeocodeStatus(result.isApproximate()
+                        ? ProjectLocation.GeocodeStatus.APPROXIMATE
+                        : ProjectLocation.GeocodeStatus.RESOLVED);
+                    // The coordinates can pin down a county the typed names could not
+                    countyLocator.assign(location);
+                    projectIds.add(location.getProject().getId());
+                } else {
+                    location.setGeocodeStatus(ProjectLocation.GeocodeStatus.FAILED);
+                }
+                location.setGeocodedAt(now);
+                changed.add(location);
+            }
+            locationRepository.saveAll(changed);
+            // Newly located markers and county counts show up once this commits
+            projectIds.forEach(projectId -> eventPublisher.publishEvent(new ProjectChanged(projectId)));
+            return changed.size();
+        });
+
+        processed.addAndGet(updated != null ? updated : 0);
+        logger.debug("Geocoded {} locations ({} distinct addresses)", updated, addresses.size());
+    }
+
+    /**
+     * Dedupe key for a location: the normalized address plus county and sub-county, since the
+     * offline gazetteer uses those when the address alone does not resolve
+     */
+    private static String addressKey(ProjectLocation location) {
+        String address = GeocodeCache.normalize(location.getMapsAddress());
+        String county = GeocodeCache.normalize(location.getCounty());
+        String subCounty = GeocodeCache.normalize(location.getSubCounty());
+        if (address == null && county == null && subCounty == null) {
+            return null;
+        }
+        return (address != null ? address : "") + "|" + (county != null ? county : "")
+            + "|" + (subCounty != null ? subCounty : "");
+    }
+}
@@ -0,0 +1,102 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.models.ProjectNumberCounter;
+import com.tujulishanehub.backend.repositories.ProjectNumberCounterRepository;
+import com.tujulishanehub.backend.repositories.ProjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hands out project numbers (P-0001, P-0002, ...) from a counter row in project_number_counters.
+ *
+ * Each allocation locks the counter row, bumps it by the number of values requested and commits
+ * in its own short transaction, so concurrent creates never receive the same number and the lock
+ * is not held for the rest of the project creation. Numbers taken by a rolled-back create are
+ * not reused, the same as with a database sequence.
+ */
+@Component
+public class ProjectNumberAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectNumberAllocator.class);
+
+    private static final String COUNTER_NAME = "project_no";
+    private static final int MAX_BLOCK_SIZE = 10_000;
+
+    private final ProjectNumberCounterRepository counterRepository;
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProjectNumberAllocator(ProjectNumberCounterRepository counterRepository,
+                                  ProjectRepository projectRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.counterRepository = counterRepository;
+        this.projectRepository = projectRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Allocate the next project number
+     */
+    public String next() {
+        return allocateBlock(1).get(0);
+    }
+
+    /**
+     * Reserve a contiguous block of project numbers in one round trip, e.g. for bulk imports
+     */
+    public List<String> allocateBlock(int count) {
+        if (count < 1 || count > MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("Block size must be between 1 and " + MAX_BLOCK_SIZE);
+        }
+
+        long first;
+        try {
+            first = reserve(count);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the counter row at the same moment; it exists now, so just retry
+            logger.debug("Project number counter created concurrently, retrying allocation");
+            first = reserve(count);
+        }
+
+        List<String> numbers = new ArrayList<>(count);
+        for (long value = first; value < first + count; value++) {
+            numbers.add(format(value));
+        }
+        return numbers;
+    }
+
+    private long reserve(int count) {
+        Long first = transactionTemplate.execute(status -> {
+            ProjectNumberCounter counter = counterRepository.findByNameForUpdate(COUNTER_NAME)
+                .orElseGet(this::createCounter);
+            long value = counter.getNextValue();
+            counter.setNextValue(value + count);
+            counterRepository.save(counter);
+            return value;
+        });
+        return first;
+    }
+
+    /**
+     * First use: continue after the highest number already in the projects table
+     */
+    private ProjectNumberCounter createCounter() {
+        Long max = projectRepository.findMaxProjectNumber();
+        long nextValue = (max != null ? max : 0L) + 1;
+        logger.info("Initialising project number counter at {}", format(nextValue));
+        return counterRepository.saveAndFlush(new ProjectNumberCounter(COUNTER_NAME, nextValue));
+    }
+
+    private static String format(long value) {
+        return String.format("P-%04d", value);
+    }
+}
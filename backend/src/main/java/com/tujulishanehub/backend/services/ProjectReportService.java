@@ -1,13 +1,19 @@
 package com.tujulishanehub.backend.services;
 
+import com.tujulishanehub.backend.events.ReportChanged;
+import com.tujulishanehub.backend.events.ReportDeleted;
 import com.tujulishanehub.backend.models.Project;
 import com.tujulishanehub.backend.models.ProjectReport;
 import com.tujulishanehub.backend.repositories.ProjectReportRepository;
 import com.tujulishanehub.backend.repositories.ProjectRepository;
+import com.tujulishanehub.backend.util.KeysetCursor;
+import com.tujulishanehub.backend.util.KeysetPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 @Transactional
@@ -22,12 +29,24 @@ public class ProjectReportService {
     
     private static final Logger logger = LoggerFactory.getLogger(ProjectReportService.class);
     
+    // ListingCounts key of the GET /api/reports/completion total
+    private static final String COMPLETION_LISTING = "completion-reports";
+    
     @Autowired
     private ProjectReportRepository projectReportRepository;
     
     @Autowired
     private ProjectRepository projectRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private ListingCounts listingCounts;
+    
+    @Autowired
+    private DashboardAggregateService dashboardAggregateService;
+    
     /**
      * Create a new project report
      */
@@ -59,6 +78,7 @@ public class ProjectReportService {
         }
         
         ProjectReport savedReport = projectReportRepository.save(report);
+        eventPublisher.publishEvent(new ReportChanged(savedReport.getId()));
         
         // Update project's hasReports flag
         project.setHasReports(true);
@@ -131,30 +151,6 @@ public class ProjectReportService {
         return projectReportRepository.findBySubmittedBy(userId);
     }
     
-    /**
-     * Search reports by keyword
-     */
-    public List<ProjectReport> searchReports(String keyword) {
-        return projectReportRepository.searchByTitleContaining(keyword);
-    }
-    
-    /**
-     * Search reports with multiple criteria
-     */
-    public List<ProjectReport> searchReports(Long projectId, ProjectReport.ReportType reportType, 
-                                           ProjectReport.ReportStatus reportStatus, String keyword) {
-        return projectReportRepository.searchReports(projectId, reportType, reportStatus, keyword);
-    }
-    
-    /**
-     * Search reports with pagination
-     */
-    public Page<ProjectReport> searchReports(Long projectId, ProjectReport.ReportType reportType, 
-                                           ProjectReport.ReportStatus reportStatus, String keyword, 
-                                           Pageable pageable) {
-        return projectReportRepository.searchReports(projectId, reportType, reportStatus, keyword, pageable);
-    }
-    
     /**
      * Update report
      */
@@ -185,7 +181,9 @@ public class ProjectReportService {
         existingReport.setImages(reportDetails.getImages());
         existingReport.setReportType(reportDetails.getReportType());
         
-        return projectReportRepository.save(existingReport);
+        ProjectReport savedReport = projectReportRepository.save(existingReport);
+        eventPublisher.publishEvent(new ReportChanged(savedReport.getId()));
+        return savedReport;
     }
     
     /**
@@ -217,6 +215,7 @@ public class ProjectReportService {
         report.setReportStatus(ProjectReport.ReportStatus.SUBMITTED);
         report.setSubmittedAt(LocalDateTime.now());
         projectReportRepository.save(report);
+        eventPublisher.publishEvent(new ReportChanged(report.getId()));
         
         logger.info("Report {} submitted successfully for review", reportId);
         return true;
@@ -239,6 +238,7 @@ public class ProjectReportService {
         report.setReviewedBy(adminId);
         report.setReviewedAt(LocalDateTime.now());
         projectReportRepository.save(report);
+        eventPublisher.publishEvent(new ReportChanged(report.getId()));
         
         logger.info("Report {} approved successfully", reportId);
         return true;
@@ -261,6 +261,7 @@ public class ProjectReportService {
         report.setReviewedBy(adminId);
         report.setReviewedAt(LocalDateTime.now());
         projectReportRepository.save(report);
+        eventPublisher.publishEvent(new ReportChanged(report.getId()));
         
         logger.info("Report {} rejected", reportId);
         return true;
@@ -282,6 +283,8 @@ public class ProjectReportService {
         report.setReportStatus(ProjectReport.ReportStatus.PUBLISHED);
         report.setPublishedAt(LocalDateTime.now());
         projectReportRepository.save(report);
+        eventPublisher.publishEvent(new ReportChanged(report.getId()));
+        listingCounts.invalidate(COMPLETION_LISTING);
         
         logger.info("Report {} published successfully", reportId);
         return true;
@@ -304,6 +307,7 @@ public class ProjectReportService {
         report.setReviewedBy(adminId);
         report.setReviewedAt(LocalDateTime.now());
         projectReportRepository.save(report);
+        eventPublisher.publishEvent(new ReportChanged(report.getId()));
         
         return true;
     }
@@ -323,6 +327,8 @@ public class ProjectReportService {
         }
         
         projectReportRepository.delete(report);
+        eventPublisher.publishEvent(new ReportDeleted(reportId));
+        listingCounts.invalidate(COMPLETION_LISTING);
         
         // Update project's hasReports flag if no more reports exist
         Long remainingReports = projectReportRepository.countByProjectId(report.getProject().getId());
@@ -344,10 +350,44 @@ public class ProjectReportService {
     }
     
     /**
-     * Get completion reports with pagination
+     * Get one page of published completion reports by page number, sorted on a whitelisted key
+     * then id. The total is only counted (and then cached briefly) when includeTotal is set.
      */
-    public Page<ProjectReport> getCompletionReports(Pageable pageable) {
-        return projectReportRepository.findCompletionReports(pageable);
+    public KeysetPage<ProjectReport> getCompletionReports(KeysetCursor.SortKey key, boolean descending, int page, int size,
+                                                          boolean includeTotal) {
+        List<ProjectReport> rows = projectReportRepository.findCompletionPage(PageRequest.of(page, size, key.sort(descending, "title")));
+        return KeysetPage.ofOffset(rows, page, size, reportCursor(key, descending),
+            includeTotal ? listingCounts.get(COMPLETION_LISTING, projectReportRepository::countCompletionReports) : null);
+    }
+    
+    /**
+     * Get the page of published completion reports following a cursor returned with a previous page
+     */
+    public KeysetPage<ProjectReport> getCompletionReportsAfter(KeysetCursor cursor, int size, boolean includeTotal) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be at least 1");
+        }
+        KeysetCursor.SortKey key = cursor.getKey();
+        boolean descending = cursor.isDescending();
+        Pageable limit = PageRequest.of(0, size + 1, key.sort(descending, "title"));
+        Long id = cursor.getLastId();
+        List<ProjectReport> rows = switch (key) {
+            case ID -> descending
+                ? projectReportRepository.findCompletionPageBeforeId(id, limit)
+                : projectReportRepository.findCompletionPageAfterId(id, limit);
+            case CREATED_AT -> descending
+                ? projectReportRepository.findCompletionPageBeforeCreatedAt(cursor.getCreatedAt(), id, limit)
+                : projectReportRepository.findCompletionPageAfterCreatedAt(cursor.getCreatedAt(), id, limit);
+            case TITLE -> descending
+                ? projectReportRepository.findCompletionPageBeforeTitle(cursor.getTitle(), id, limit)
+                : projectReportRepository.findCompletionPageAfterTitle(cursor.getTitle(), id, limit);
+        };
+        return KeysetPage.of(rows, size, reportCursor(key, descending),
+            includeTotal ? listingCounts.get(COMPLETION_LISTING, projectReportRepository::countCompletionReports) : null);
+    }
+    
+    private static Function<ProjectReport, KeysetCursor> reportCursor(KeysetCursor.SortKey key, boolean descending) {
+        return report -> KeysetCursor.after(key, descending, report.getId(), report.getCreatedAt(), report.getTitle());
     }
     
     /**
@@ -358,24 +398,10 @@ public class ProjectReportService {
     }
     
     /**
-     * Get report statistics
+     * Get report statistics (one grouped query, cached briefly)
      */
     public ReportStats getReportStats() {
-        Long totalReports = projectReportRepository.count();
-        Long draftReports = projectReportRepository.countByReportStatus(ProjectReport.ReportStatus.DRAFT);
-        Long submittedReports = projectReportRepository.countByReportStatus(ProjectReport.ReportStatus.SUBMITTED);
-        Long underReviewReports = projectReportRepository.countByReportStatus(ProjectReport.ReportStatus.UNDER_REVIEW);
-        Long approvedReports = projectReportRepository.countByReportStatus(ProjectReport.ReportStatus.APPROVED);
-        Long publishedReports = projectReportRepository.countByReportStatus(ProjectReport.ReportStatus.PUBLISHED);
-        Long rejectedReports = projectReportRepository.countByReportStatus(ProjectReport.ReportStatus.REJECTED);
-        
-        Long completionReports = projectReportRepository.countByReportType(ProjectReport.ReportType.COMPLETION);
-        Long interimReports = projectReportRepository.countByReportType(ProjectReport.ReportType.INTERIM);
-        Long financialReports = projectReportRepository.countByReportType(ProjectReport.ReportType.FINANCIAL);
-        
-        return new ReportStats(totalReports, draftReports, submittedReports, underReviewReports,
-                              approvedReports, publishedReports, rejectedReports,
-                              completionReports, interimReports, financialReports);
+        return dashboardAggregateService.getReportStats();
     }
     
     /**
@@ -1,5 +1,8 @@
 package com.tujulishanehub.backend.services;
 
+import com.tujulishanehub.backend.events.ProjectChanged;
+import com.tujulishanehub.backend.events.ProjectDeleted;
+import com.tujulishanehub.backend.models.KenyaCounty;
 import com.tujulishanehub.backend.models.PastProject;
 import com.tujulishanehub.backend.models.Project;
 import com.tujulishanehub.backend.models.ProjectLocation;
@@ -9,30 +12,44 @@ import com.tujulishanehub.backend.models.User;
 import com.tujulishanehub.backend.models.ProjectCategory;
 import com.tujulishanehub.backend.models.ApprovalStatus;
 import com.tujulishanehub.backend.models.ApprovalWorkflowStatus;
+import com.tujulishanehub.backend.repositories.ProjectLocationRepository;
 import com.tujulishanehub.backend.repositories.ProjectRepository;
+import com.tujulishanehub.backend.repositories.UserRepository;
+import com.tujulishanehub.backend.payload.MapMarker;
+import com.tujulishanehub.backend.payload.NearbyMarker;
 import com.tujulishanehub.backend.payload.ProjectCreateRequest;
 import com.tujulishanehub.backend.payload.ProjectLocationDto;
 import com.tujulishanehub.backend.payload.ProjectResponse;
 import com.tujulishanehub.backend.payload.ProjectThemeDto;
 import com.tujulishanehub.backend.payload.ProjectUpdateRequest;
+import com.tujulishanehub.backend.payload.ProjectView;
+import com.tujulishanehub.backend.payload.AdminDashboardStats;
+import com.tujulishanehub.backend.util.KeysetCursor;
+import com.tujulishanehub.backend.util.KeysetPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -41,11 +58,30 @@ public class ProjectService {
     
     private static final Logger logger = LoggerFactory.getLogger(ProjectService.class);
     
+    // ListingCounts key of the GET /api/projects total
+    static final String PROJECT_LISTING = "projects";
+    
+    // Workflow statuses that make up the thematic reviewer's queue
+    private static final List<ApprovalWorkflowStatus> REVIEWER_QUEUE_STATUSES = List.of(
+        ApprovalWorkflowStatus.PENDING_REVIEW,
+        ApprovalWorkflowStatus.UNDER_REVIEW
+    );
+    
+    // Workflow statuses that make up the final approver's queue
+    private static final List<ApprovalWorkflowStatus> APPROVER_QUEUE_STATUSES = List.of(
+        ApprovalWorkflowStatus.PENDING_FINAL_APPROVAL,
+        ApprovalWorkflowStatus.REVIEWED,
+        ApprovalWorkflowStatus.REJECTED_BY_REVIEWER
+    );
+    
     @Autowired
     private ProjectRepository projectRepository;
     
     @Autowired
-    private GeocodingService geocodingService;
+    private ProjectLocationRepository projectLocationRepository;
+    
+    @Autowired
+    private ProjectGeocodingWorker projectGeocodingWorker;
     
     @Autowired
     private PastProjectService pastProjectService;
@@ -56,8 +92,32 @@ public class ProjectService {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private MapMarkerIndex mapMarkerIndex;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private ListingCounts listingCounts;
+    
+    @Autowired
+    private ProjectViewStats projectViewStats;
+    
+    @Autowired
+    private DashboardAggregateService dashboardAggregateService;
+    
+    @Autowired
+    private CountyLocator countyLocator;
+    
+    @Autowired
+    private ProjectNumberAllocator projectNumberAllocator;
+    
     /**
-     * Create a new project with automatic coordinate extraction for locations
+     * Create a new project. Locations with a maps address but no coordinates are geocoded after commit.
      */
     public Project createProject(Project project) {
         logger.info("Creating new project: {}", project.getTitle());
@@ -67,16 +127,8 @@ public class ProjectService {
             project.getLocations() != null ? project.getLocations().size() : 0);
 
         try {
-            // Extract coordinates for each location if maps_address is provided but coordinates are missing
             if (project.getLocations() != null) {
-                logger.debug("Processing {} locations for coordinate extraction", project.getLocations().size());
-                for (ProjectLocation location : project.getLocations()) {
-                    if (location.getMapsAddress() != null && !location.getMapsAddress().trim().isEmpty() &&
-                        (location.getLatitude() == null || location.getLongitude() == null)) {
-                        logger.debug("Extracting coordinates for location: {}", location.getMapsAddress());
-                        extractAndSetCoordinatesForLocation(location);
-                    }
-                }
+                project.getLocations().forEach(this::prepareNewLocation);
             }
 
             // Set default status if not provided
@@ -87,6 +139,8 @@ public class ProjectService {
 
             logger.debug("About to save project to repository");
             Project savedProject = projectRepository.save(project);
+            eventPublisher.publishEvent(new ProjectChanged(savedProject.getId(), true));
+            scheduleGeocoding(savedProject);
             logger.info("Project created successfully with ID: {}", savedProject.getId());
             logger.debug("Saved project details: themes={}, locations={}",
                 savedProject.getThemes() != null ? savedProject.getThemes().size() : 0,
@@ -121,6 +175,8 @@ public class ProjectService {
         replaceLocations(existingProject, request.getLocations());
         
         Project savedProject = projectRepository.save(existingProject);
+        eventPublisher.publishEvent(new ProjectChanged(savedProject.getId()));
+        scheduleGeocoding(savedProject);
         logger.info("Project updated successfully: {} by {}", savedProject.getId(), modifiedByEmail);
         return savedProject;
     }
@@ -140,12 +196,141 @@ public class ProjectService {
     }
     
     /**
-     * Get projects with pagination
+     * Get one page of projects by page number, sorted on a whitelisted key then id, in the given
+     * view. The total is only counted (and then cached briefly) when includeTotal is set.
      */
-    public Page<Project> getProjects(Pageable pageable) {
-        return projectRepository.findAll(pageable);
+    public KeysetPage<ProjectResponse> getProjects(KeysetCursor.SortKey key, boolean descending, int page, int size,
+                                                   boolean includeTotal, ProjectView view) {
+        long start = System.nanoTime();
+        List<Long> ids = projectRepository.findPageIds(PageRequest.of(page, size, key.sort(descending, "title")));
+        List<ProjectResponse> items = toViewResponses(ids, view);
+        projectViewStats.recordLoad(view, items.size(), 1 + viewQueries(ids, view), System.nanoTime() - start);
+        return KeysetPage.ofOffset(items, page, size, responseCursor(key, descending),
+            includeTotal ? listingCounts.get(PROJECT_LISTING, projectRepository::count) : null);
     }
-
+    
+    /**
+     * Get the page of projects following a cursor returned with a previous page, in the given
+     * view. The seek predicate makes every page as cheap as the first.
+     */
+    public KeysetPage<ProjectResponse> getProjectsAfter(KeysetCursor cursor, int size, boolean includeTotal,
+                                                        ProjectView view) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be at least 1");
+        }
+        long start = System.nanoTime();
+        KeysetCursor.SortKey key = cursor.getKey();
+        boolean descending = cursor.isDescending();
+        Pageable limit = PageRequest.of(0, size + 1, key.sort(descending, "title"));
+        Long id = cursor.getLastId();
+        List<Long> ids = switch (key) {
+            case ID -> descending
+                ? projectRepository.findPageIdsBeforeId(id, limit)
+                : projectRepository.findPageIdsAfterId(id, limit);
+            case CREATED_AT -> descending
+                ? projectRepository.findPageIdsBeforeCreatedAt(cursor.getCreatedAt(), id, limit)
+                : projectRepository.findPageIdsAfterCreatedAt(cursor.getCreatedAt(), id, limit);
+            case TITLE -> descending
+                ? projectRepository.findPageIdsBeforeTitle(cursor.getTitle(), id, limit)
+                : projectRepository.findPageIdsAfterTitle(cursor.getTitle(), id, limit);
+        };
+        List<ProjectResponse> items = toViewResponses(ids, view);
+        projectViewStats.recordLoad(view, Math.min(items.size(), size), 1 + viewQueries(ids, view), System.nanoTime() - start);
+        return KeysetPage.of(items, size, responseCursor(key, descending),
+            includeTotal ? listingCounts.get(PROJECT_LISTING, projectRepository::count) : null);
+    }
+    
+    private static Function<ProjectResponse, KeysetCursor> responseCursor(KeysetCursor.SortKey key, boolean descending) {
+        return project -> KeysetCursor.after(key, descending, project.getId(), project.getCreatedAt(), project.getTitle());
+    }
+    
+    /**
+     * Responses for a page of project IDs in a view, preserving the page order. FULL hydrates the
+     * entities; the lighter views are built from their projections alone.
+     */
+    private List<ProjectResponse> toViewResponses(List<Long> ids, ProjectView view) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (view == ProjectView.FULL) {
+            return toProjectResponses(hydrate(ids));
+        }
+        
+        Map<Long, ProjectResponse> byId = new HashMap<>();
+        if (view == ProjectView.SUMMARY) {
+            for (Object[] row : projectRepository.findSummaryRowsByIdIn(ids)) {
+                ProjectResponse response = new ProjectResponse();
+                response.setId((Long) row[0]);
+                response.setProjectNo((String) row[1]);
+                response.setPartner((String) row[2]);
+                response.setTitle((String) row[3]);
+                response.setProjectCategory((ProjectCategory) row[4]);
+                response.setStartDate((LocalDate) row[5]);
+                response.setEndDate((LocalDate) row[6]);
+                response.setCounty((String) row[7]);
+                response.setStatus((String) row[8]);
+                response.setCompletionPercentage((Integer) row[9]);
+                response.setApprovalStatus((ApprovalStatus) row[10]);
+                response.setApprovalWorkflowStatus((ApprovalWorkflowStatus) row[11]);
+                response.setCreatedAt((LocalDateTime) row[12]);
+                byId.put(response.getId(), response);
+            }
+            Set<String> emails = byId.values().stream()
+                .map(ProjectResponse::getPartner)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+            Map<String, Map<String, Object>> partners = findPartnerSummaries(emails);
+            for (ProjectResponse response : byId.values()) {
+                setPartnerSummary(response, response.getPartner() != null ? partners.get(response.getPartner()) : null);
+            }
+        } else {
+            for (Object[] row : projectRepository.findMapRowsByIdIn(ids)) {
+                ProjectResponse response = new ProjectResponse();
+                response.setId((Long) row[0]);
+                response.setProjectNo((String) row[1]);
+                response.setTitle((String) row[2]);
+                response.setProjectCategory((ProjectCategory) row[3]);
+                response.setCounty((String) row[4]);
+                response.setStatus((String) row[5]);
+                response.setCreatedAt((LocalDateTime) row[6]);
+                response.setThemes(new ArrayList<>());
+                response.setLocations(new ArrayList<>());
+                byId.put(response.getId(), response);
+            }
+            for (Object[] row : projectRepository.findThemeRowsByProjectIdIn(ids)) {
+                ProjectResponse response = byId.get((Long) row[0]);
+                ProjectTheme theme = (ProjectTheme) row[1];
+                if (response != null && theme != null) {
+                    response.getThemes().add(new ProjectThemeDto(theme.getCode(), theme.getDisplayName()));
+                }
+            }
+            for (ProjectResponse response : byId.values()) {
+                response.getThemes().sort(Comparator.comparing(ProjectThemeDto::getCode));
+            }
+            for (Object[] row : projectRepository.findLocationRowsByProjectIdIn(ids)) {
+                ProjectResponse response = byId.get((Long) row[0]);
+                if (response != null) {
+                    response.getLocations().add(new ProjectLocationDto((Long) row[1], (String) row[2], (String) row[3],
+                        null, (Double) row[4], (Double) row[5]));
+                }
+            }
+        }
+        return ids.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * Queries toViewResponses runs for a page (besides the page's ID query)
+     */
+    private static int viewQueries(List<Long> ids, ProjectView view) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return view == ProjectView.MAP ? 3 : 2;
+    }
+    
     /**
      * Get past projects (completed and stalled) with pagination
      */
@@ -162,6 +347,7 @@ public class ProjectService {
         // First try to find by ID
         if (projectRepository.existsById(id)) {
             projectRepository.deleteById(id);
+            eventPublisher.publishEvent(new ProjectDeleted(id));
             logger.info("Project deleted successfully by ID: {}", id);
             return;
         }
@@ -176,6 +362,7 @@ public class ProjectService {
         if (projectByNumber.isPresent()) {
             Project project = projectByNumber.get();
             projectRepository.deleteById(project.getId());
+            eventPublisher.publishEvent(new ProjectDeleted(project.getId()));
             logger.info("Project deleted successfully by project number: {} (ID: {})", projectNumber, project.getId());
             return;
         }
@@ -196,6 +383,7 @@ public class ProjectService {
         }
         
         projectRepository.deleteById(project.get().getId());
+        eventPublisher.publishEvent(new ProjectDeleted(project.get().getId()));
         logger.info("Project deleted successfully by project number: {} (ID: {})", projectNumber, project.get().getId());
     }
     
@@ -215,9 +403,14 @@ public class ProjectService {
     }
     
     /**
-     * Get projects by county
+     * Get projects by county. A name that resolves to a Kenyan county matches on the county code,
+     * so spelling variants find the same projects; anything else falls back to a text match.
      */
     public List<Project> getProjectsByCounty(String county) {
+        KenyaCounty canonical = countyLocator.locate(null, null, county, null);
+        if (canonical != null) {
+            return projectRepository.findByCountyCode(canonical.getCode());
+        }
         return projectRepository.findByCountyContainingIgnoreCase(county);
     }
     
@@ -250,36 +443,32 @@ public class ProjectService {
     }
     
     /**
-     * Get projects within a geographic bounding box
+     * Get map markers for project locations within a geographic bounding box
      */
-    public List<Project> getProjectsInBoundingBox(Double minLat, Double maxLat, 
-                                                 Double minLng, Double maxLng) {
-        return projectRepository.findProjectsInBoundingBox(minLat, maxLat, minLng, maxLng);
+    public List<MapMarker> getMapMarkersInBoundingBox(double minLat, double maxLat, 
+                                                     double minLng, double maxLng) {
+        return mapMarkerIndex.findProjectMarkers(minLat, maxLat, minLng, maxLng);
     }
     
     /**
-     * Batch process projects that need geocoding
+     * Get the APPROVED project locations nearest to a point (optionally within radiusKm), closest first
      */
-    public void processProjectsNeedingGeocoding() {
-        logger.info("Starting batch geocoding process");
-        List<Project> projectsNeedingGeocoding = projectRepository.findProjectsNeedingGeocoding();
-        
-        logger.info("Found {} projects needing geocoding", projectsNeedingGeocoding.size());
-        
-        for (Project project : projectsNeedingGeocoding) {
-            try {
-                extractAndSetCoordinates(project);
-                projectRepository.save(project);
-                logger.debug("Geocoded project: {}", project.getTitle());
-                
-                // Add a small delay to be respectful to geocoding services
-                Thread.sleep(100);
-            } catch (Exception e) {
-                logger.error("Failed to geocode project {}: {}", project.getId(), e.getMessage());
-            }
+    public List<NearbyMarker> getNearestMapMarkers(double latitude, double longitude, Double radiusKm, int limit,
+                                                   ProjectTheme theme, ProjectCategory category) {
+        return mapMarkerIndex.findNearestProjectMarkers(latitude, longitude, radiusKm, limit, theme, category);
+    }
+    
+    /**
+     * Queue every location that still lacks coordinates for the geocoding worker
+     */
+    public int processProjectsNeedingGeocoding() {
+        List<Long> locationIds = projectLocationRepository.findIdsMissingCoordinates();
+        logger.info("Queueing {} locations for geocoding", locationIds.size());
+        for (ProjectLocation location : projectLocationRepository.findAllById(locationIds)) {
+            location.setGeocodeStatus(ProjectLocation.GeocodeStatus.PENDING);
         }
-        
-        logger.info("Batch geocoding process completed");
+        projectGeocodingWorker.enqueueAfterCommit(locationIds);
+        return locationIds.size();
     }
     
     /**
@@ -287,13 +476,33 @@ public class ProjectService {
      */
     public ProjectStatistics getProjectStatistics() {
         List<Object[]> statusCounts = projectRepository.countProjectsByStatus();
-        List<Object[]> countyCounts = projectRepository.countProjectsByCounty();
+        List<Object[]> countyCounts = countProjectsByCounty();
         long totalProjects = projectRepository.count();
         long projectsWithCoordinates = projectRepository.findProjectsWithCoordinates().size();
         
         return new ProjectStatistics(statusCounts, countyCounts, totalProjects, projectsWithCoordinates);
     }
     
+    /**
+     * (county, project count) rows keyed by canonical county name, plus the typed county for
+     * locations that could not be matched to a county code
+     */
+    private List<Object[]> countProjectsByCounty() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Object[] row : projectRepository.countProjectsByCountyCode()) {
+            KenyaCounty county = KenyaCounty.fromCode((Integer) row[0]);
+            if (county != null) {
+                counts.merge(county.getDisplayName(), (Long) row[1], Long::sum);
+            }
+        }
+        for (Object[] row : projectRepository.countProjectsByUncodedCounty()) {
+            counts.merge((String) row[0], (Long) row[1], Long::sum);
+        }
+        List<Object[]> rows = new ArrayList<>(counts.size());
+        counts.forEach((county, count) -> rows.add(new Object[]{county, count}));
+        return rows;
+    }
+    
     /**
      * Get project statistics for a specific partner (PARTNER/DONOR users)
      */
@@ -318,7 +527,7 @@ public class ProjectService {
         userProjects.forEach(p -> {
             if (p.getLocations() != null) {
                 p.getLocations().forEach(loc -> {
-                    String county = loc.getCounty() != null ? loc.getCounty() : "unknown";
+                    String county = loc.getCanonicalCounty() != null ? loc.getCanonicalCounty() : "unknown";
                     countyCountsMap.put(county, countyCountsMap.getOrDefault(county, 0L) + 1);
                 });
             }
@@ -345,15 +554,7 @@ public class ProjectService {
      */
     public ProjectStatistics getProjectStatisticsByThematicArea(ProjectTheme thematicArea) {
         // Get all projects matching the thematic area
-        List<Project> thematicProjects = projectRepository.findAll().stream()
-            .filter(project -> {
-                if (project.getThemes() == null || project.getThemes().isEmpty()) {
-                    return false;
-                }
-                return project.getThemes().stream()
-                    .anyMatch(assignment -> assignment.getProjectTheme() == thematicArea);
-            })
-            .collect(Collectors.toList());
+        List<Project> thematicProjects = projectRepository.findByThemeIn(List.of(thematicArea));
         
         // Calculate status counts for thematic projects
         Map<String, Long> statusCountsMap = new HashMap<>();
@@ -373,7 +574,7 @@ public class ProjectService {
         thematicProjects.forEach(p -> {
             if (p.getLocations() != null) {
                 p.getLocations().forEach(loc -> {
-                    String county = loc.getCounty() != null ? loc.getCounty() : "unknown";
+                    String county = loc.getCanonicalCounty() != null ? loc.getCanonicalCounty() : "unknown";
                     countyCountsMap.put(county, countyCountsMap.getOrDefault(county, 0L) + 1);
                 });
             }
@@ -420,7 +621,7 @@ public class ProjectService {
         approverProjects.forEach(p -> {
             if (p.getLocations() != null) {
                 p.getLocations().forEach(loc -> {
-                    String county = loc.getCounty() != null ? loc.getCounty() : "unknown";
+                    String county = loc.getCanonicalCounty() != null ? loc.getCanonicalCounty() : "unknown";
                     countyCountsMap.put(county, countyCountsMap.getOrDefault(county, 0L) + 1);
                 });
             }
@@ -479,41 +680,38 @@ public class ProjectService {
     }
     
     /**
-     * Extract coordinates from maps_address and set lat/lng fields
+     * Derive the canonical county of a new location, and mark it PENDING when its coordinates
+     * have to be resolved from the maps address, county or sub-county
      */
-    private void extractAndSetCoordinates(Project project) {
-        if (project.getLocations() == null) {
-            return;
-        }
-
-        for (ProjectLocation location : project.getLocations()) {
-            if (location.getMapsAddress() != null && !location.getMapsAddress().trim().isEmpty() &&
-                    (location.getLatitude() == null || location.getLongitude() == null)) {
-                extractAndSetCoordinatesForLocation(location);
-            }
+    private void prepareNewLocation(ProjectLocation location) {
+        countyLocator.assign(location);
+        if (location.hasCoordinates()) {
+            location.setGeocodeStatus(ProjectLocation.GeocodeStatus.PROVIDED);
+        } else if (hasText(location.getMapsAddress()) || hasText(location.getCounty())
+                || hasText(location.getSubCounty())) {
+            location.setGeocodeStatus(ProjectLocation.GeocodeStatus.PENDING);
+        } else {
+            location.setGeocodeStatus(ProjectLocation.GeocodeStatus.FAILED);
         }
     }
     
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+    
     /**
-     * Extract and set coordinates for a specific location
+     * Hand pending locations to the geocoding worker once the transaction commits
      */
-    private void extractAndSetCoordinatesForLocation(ProjectLocation location) {
-        try {
-            GeocodingService.CoordinateResult result = geocodingService.extractCoordinates(location.getMapsAddress());
-            
-            if (result.isValid()) {
-                location.setLatitude(result.getLatitude());
-                location.setLongitude(result.getLongitude());
-                logger.debug("Extracted coordinates for location '{}': {}", 
-                    location.getMapsAddress(), result);
-            } else {
-                logger.warn("Could not extract coordinates for location '{}': {}", 
-                    location.getMapsAddress(), result.getMessage());
-            }
-        } catch (Exception e) {
-            logger.error("Error extracting coordinates for location '{}': {}", 
-                location.getMapsAddress(), e.getMessage(), e);
+    private void scheduleGeocoding(Project project) {
+        if (project.getLocations() == null) {
+            return;
         }
+        List<Long> pendingIds = project.getLocations().stream()
+            .filter(location -> location.getGeocodeStatus() == ProjectLocation.GeocodeStatus.PENDING)
+            .map(ProjectLocation::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        projectGeocodingWorker.enqueueAfterCommit(pendingIds);
     }
     
     /**
@@ -618,12 +816,7 @@ public class ProjectService {
                 location.setMapsAddress(request.getMapsAddress());
                 location.setLatitude(request.getLatitude());
                 location.setLongitude(request.getLongitude());
-
-                if (location.getMapsAddress() != null && !location.getMapsAddress().trim().isEmpty() &&
-                        (location.getLatitude() == null || location.getLongitude() == null)) {
-                    logger.debug("Extracting coordinates for location with address: {}", location.getMapsAddress());
-                    extractAndSetCoordinatesForLocation(location);
-                }
+                prepareNewLocation(location);
 
                 currentLocations.add(location);
                 logger.debug("Added location for county: {}", request.getCounty());
@@ -636,6 +829,47 @@ public class ProjectService {
     }
 
     public ProjectResponse toProjectResponse(Project project) {
+        if (project == null) {
+            logger.debug("Project is null, returning null response");
+            return null;
+        }
+        return toProjectResponse(project, findPartnerSummaries(List.of(project)));
+    }
+    
+    /**
+     * Convert a list of projects to responses, resolving all partner users in a single query
+     */
+    public List<ProjectResponse> toProjectResponses(List<Project> projects) {
+        Map<String, Map<String, Object>> partners = findPartnerSummaries(projects);
+        return projects.stream()
+                .map(project -> toProjectResponse(project, partners))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Look up name, role and organization name for the partners of the given projects, keyed by email
+     */
+    private Map<String, Map<String, Object>> findPartnerSummaries(List<Project> projects) {
+        return findPartnerSummaries(projects.stream()
+                .filter(Objects::nonNull)
+                .map(Project::getPartner)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+    }
+    
+    private Map<String, Map<String, Object>> findPartnerSummaries(Set<String> emails) {
+        if (emails.isEmpty()) {
+            return Map.of();
+        }
+        
+        Map<String, Map<String, Object>> partners = new HashMap<>();
+        for (Map<String, Object> summary : userRepository.findPartnerSummariesByEmailIn(emails)) {
+            partners.put((String) summary.get("email"), summary);
+        }
+        return partners;
+    }
+    
+    private ProjectResponse toProjectResponse(Project project, Map<String, Map<String, Object>> partners) {
         logger.debug("Converting project to response: {}", project != null ? project.getTitle() : "null");
 
         if (project == null) {
@@ -650,14 +884,7 @@ public class ProjectService {
             response.setProjectNo(project.getProjectNo());
             response.setPartner(project.getPartner());
             // Set partner name
-            Optional<User> partnerUser = userService.findByEmail(project.getPartner());
-            if (partnerUser.isPresent()) {
-                response.setPartnerName(partnerUser.get().getName());
-                response.setCreatedByRole(partnerUser.get().getRole().name());
-                if (partnerUser.get().getOrganization() != null) {
-                    response.setOrganizationName(partnerUser.get().getOrganization().getName());
-                }
-            }
+            setPartnerSummary(response, project.getPartner() != null ? partners.get(project.getPartner()) : null);
             response.setTitle(project.getTitle());
             response.setProjectCategory(project.getProjectCategory());
             response.setLacosteNumber(project.getLacosteNumber());
@@ -704,7 +931,8 @@ public class ProjectService {
                             location.getSubCounty(),
                             location.getMapsAddress(),
                             location.getLatitude(),
-                            location.getLongitude()
+                            location.getLongitude(),
+                            location.getGeocodeStatus() != null ? location.getGeocodeStatus().name() : null
                     ))
                     .collect(Collectors.toList());
             response.setLocations(locationDtos);
@@ -717,6 +945,22 @@ public class ProjectService {
         }
     }
     
+    /**
+     * Set partner name, role and organization name from a partner summary (if any)
+     */
+    private static void setPartnerSummary(ProjectResponse response, Map<String, Object> partnerUser) {
+        if (partnerUser == null) {
+            return;
+        }
+        response.setPartnerName((String) partnerUser.get("name"));
+        if (partnerUser.get("role") != null) {
+            response.setCreatedByRole(((User.Role) partnerUser.get("role")).name());
+        }
+        if (partnerUser.get("organizationName") != null) {
+            response.setOrganizationName((String) partnerUser.get("organizationName"));
+        }
+    }
+    
     /**
      * Create a new project from ProjectCreateRequest DTO
      */
@@ -726,7 +970,7 @@ public class ProjectService {
 
         try {
             Project project = new Project();
-            project.setProjectNo(generateProjectNo());
+            project.setProjectNo(projectNumberAllocator.next());
             project.setTitle(request.getTitle());
             
             // Set partner field: Only override with userEmail if request doesn't have a partner OR user is not a super admin
@@ -817,6 +1061,7 @@ public class ProjectService {
             project.setRejectionReason(null);
             project.setStatus("active"); // Make project active when approved
             projectRepository.save(project);
+            eventPublisher.publishEvent(new ProjectChanged(project.getId()));
             logger.info("Project {} approved by admin {}", projectId, approvedBy);
             
             // Send notification email to both the contact person and the partner
@@ -862,6 +1107,7 @@ public class ProjectService {
             project.setRejectionReason(reason);
             project.setStatus("rejected"); // Set project status to rejected
             projectRepository.save(project);
+            eventPublisher.publishEvent(new ProjectChanged(project.getId()));
             logger.info("Project {} rejected by admin {} with reason: {}", projectId, rejectedBy, reason);
             
             // Send notification email to both the contact person and the partner
@@ -939,6 +1185,7 @@ public class ProjectService {
             }
             
             projectRepository.save(project);
+            eventPublisher.publishEvent(new ProjectChanged(project.getId()));
             logger.info("Project {} reviewed by reviewer {} - approved: {}", projectId, reviewerId, approved);
             
             // Send notification email to both the contact person and the partner
@@ -1010,6 +1257,7 @@ public class ProjectService {
             }
             
             projectRepository.save(project);
+            eventPublisher.publishEvent(new ProjectChanged(project.getId()));
             logger.info("Project {} finally approved by approver {}", projectId, approverId);
             
             // Send notification email to both the contact person and the partner
@@ -1057,6 +1305,7 @@ public class ProjectService {
             project.setStatus("rejected");
             
             projectRepository.save(project);
+            eventPublisher.publishEvent(new ProjectChanged(project.getId()));
             logger.info("Project {} rejected at final approval by approver {} with reason: {}", projectId, approverId, reason);
             
             // Send notification email to both the contact person and the partner
@@ -1095,22 +1344,10 @@ public class ProjectService {
      * Now supports reviewers with multiple thematic areas
      */
     public List<Project> getProjectsForReviewer(com.tujulishanehub.backend.models.ProjectTheme thematicArea) {
-        // Get all projects pending review
-        List<Project> allPendingProjects = projectRepository.findAll().stream()
-            .filter(p -> p.getApprovalWorkflowStatus() == com.tujulishanehub.backend.models.ApprovalWorkflowStatus.PENDING_REVIEW ||
-                        p.getApprovalWorkflowStatus() == com.tujulishanehub.backend.models.ApprovalWorkflowStatus.UNDER_REVIEW)
-            .collect(Collectors.toList());
-        
-        // Filter by thematic area - check if any of the project's themes match the reviewer's thematic area
-        return allPendingProjects.stream()
-            .filter(project -> {
-                if (project.getThemes() == null || project.getThemes().isEmpty()) {
-                    return false;
-                }
-                return project.getThemes().stream()
-                    .anyMatch(assignment -> assignment.getProjectTheme() == thematicArea);
-            })
-            .collect(Collectors.toList());
+        if (thematicArea == null) {
+            return new java.util.ArrayList<>();
+        }
+        return projectRepository.findReviewQueue(REVIEWER_QUEUE_STATUSES, List.of(thematicArea));
     }
     
     /**
@@ -1120,56 +1357,77 @@ public class ProjectService {
         if (thematicAreas == null || thematicAreas.isEmpty()) {
             return new java.util.ArrayList<>();
         }
-        
-        // Get all projects pending review
-        List<Project> allPendingProjects = projectRepository.findAll().stream()
-            .filter(p -> p.getApprovalWorkflowStatus() == com.tujulishanehub.backend.models.ApprovalWorkflowStatus.PENDING_REVIEW ||
-                        p.getApprovalWorkflowStatus() == com.tujulishanehub.backend.models.ApprovalWorkflowStatus.UNDER_REVIEW)
-            .collect(Collectors.toList());
-        
-        // Filter by thematic areas - check if any of the project's themes match any of the reviewer's thematic areas
-        return allPendingProjects.stream()
-            .filter(project -> {
-                if (project.getThemes() == null || project.getThemes().isEmpty()) {
-                    return false;
-                }
-                return project.getThemes().stream()
-                    .anyMatch(assignment -> thematicAreas.contains(assignment.getProjectTheme()));
-            })
-            .collect(Collectors.toList());
+        return projectRepository.findReviewQueue(REVIEWER_QUEUE_STATUSES, thematicAreas);
     }
     
     /**
      * Get projects that need review by a reviewer (supports multiple thematic areas)
      */
     public List<Project> getProjectsForReviewerUser(com.tujulishanehub.backend.models.User reviewer) {
-        // Get all projects pending review
-        List<Project> allPendingProjects = projectRepository.findAll().stream()
-            .filter(p -> p.getApprovalWorkflowStatus() == com.tujulishanehub.backend.models.ApprovalWorkflowStatus.PENDING_REVIEW ||
-                        p.getApprovalWorkflowStatus() == com.tujulishanehub.backend.models.ApprovalWorkflowStatus.UNDER_REVIEW)
-            .collect(Collectors.toList());
-        
-        // Filter by reviewer's thematic areas (supports multiple)
-        return allPendingProjects.stream()
-            .filter(project -> {
-                if (project.getThemes() == null || project.getThemes().isEmpty()) {
-                    return false;
-                }
-                // Check if any of the project's themes match any of the reviewer's thematic areas
-                return project.getThemes().stream()
-                    .anyMatch(assignment -> reviewer.hasThematicArea(assignment.getProjectTheme()));
-            })
-            .collect(Collectors.toList());
+        return getProjectsForReviewerWithThematicAreas(getReviewerThemes(reviewer));
+    }
+    
+    /**
+     * Get a page of the reviewer work queue (supports multiple thematic areas)
+     * Paging and theme matching happen in the database; only the requested page is hydrated
+     */
+    @Transactional(readOnly = true)
+    public Page<Project> getReviewQueue(com.tujulishanehub.backend.models.User reviewer, Pageable pageable) {
+        List<ProjectTheme> themes = getReviewerThemes(reviewer);
+        if (themes.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        return hydratePage(projectRepository.findReviewQueueIds(REVIEWER_QUEUE_STATUSES, themes, pageable));
     }
     
     /**
      * Get projects awaiting final approval
      */
     public List<Project> getProjectsAwaitingFinalApproval() {
-        return projectRepository.findAll().stream()
-            .filter(p -> p.getApprovalWorkflowStatus() == com.tujulishanehub.backend.models.ApprovalWorkflowStatus.PENDING_FINAL_APPROVAL ||
-                        p.getApprovalWorkflowStatus() == com.tujulishanehub.backend.models.ApprovalWorkflowStatus.REVIEWED ||
-                        p.getApprovalWorkflowStatus() == com.tujulishanehub.backend.models.ApprovalWorkflowStatus.REJECTED_BY_REVIEWER)
+        return projectRepository.findByApprovalWorkflowStatusIn(APPROVER_QUEUE_STATUSES);
+    }
+    
+    /**
+     * Get a page of projects awaiting final approval
+     */
+    @Transactional(readOnly = true)
+    public Page<Project> getFinalApprovalQueue(Pageable pageable) {
+        return hydratePage(projectRepository.findIdsByApprovalWorkflowStatusIn(APPROVER_QUEUE_STATUSES, pageable));
+    }
+    
+    /**
+     * Resolve the thematic areas a reviewer is responsible for.
+     * Mirrors User.hasThematicArea: many-to-many assignments win, legacy single area is the fallback.
+     */
+    private List<ProjectTheme> getReviewerThemes(com.tujulishanehub.backend.models.User reviewer) {
+        if (reviewer == null) {
+            return List.of();
+        }
+        if (reviewer.getThematicAreaAssignments() != null && !reviewer.getThematicAreaAssignments().isEmpty()) {
+            return reviewer.getThematicAreas();
+        }
+        return reviewer.getThematicArea() != null ? List.of(reviewer.getThematicArea()) : List.of();
+    }
+    
+    /**
+     * Load themes and locations for a page of project IDs, preserving the page order
+     */
+    private Page<Project> hydratePage(Page<Long> idPage) {
+        return new PageImpl<>(hydrate(idPage.getContent()), idPage.getPageable(), idPage.getTotalElements());
+    }
+    
+    /**
+     * Load themes and locations for a list of project IDs, preserving its order
+     */
+    private List<Project> hydrate(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Project> byId = projectRepository.findAllWithThemesAndLocationsByIdIn(ids).stream()
+            .collect(Collectors.toMap(Project::getId, p -> p));
+        return ids.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
             .collect(Collectors.toList());
     }
     
@@ -1204,23 +1462,12 @@ public class ProjectService {
     }
     
     /**
-     * Get admin dashboard statistics
+     * Get admin dashboard statistics: project counts (one grouped query, cached briefly) and the
+     * most recent projects
      */
-    public java.util.Map<String, Object> getAdminDashboardStats() {
-        java.util.Map<String, Object> stats = new java.util.HashMap<>();
-        
-        // Project counts by status
-        stats.put("totalProjects", projectRepository.count());
-        stats.put("pendingProjects", projectRepository.countByApprovalStatus(com.tujulishanehub.backend.models.ApprovalStatus.PENDING));
-        stats.put("submittedProjects", projectRepository.countByApprovalStatus(com.tujulishanehub.backend.models.ApprovalStatus.SUBMITTED));
-        stats.put("approvedProjects", projectRepository.countByApprovalStatus(com.tujulishanehub.backend.models.ApprovalStatus.APPROVED));
-        stats.put("rejectedProjects", projectRepository.countByApprovalStatus(com.tujulishanehub.backend.models.ApprovalStatus.REJECTED));
-        
-        // Recent projects
-        List<Project> recentProjects = projectRepository.findTop10ByOrderByCreatedAtDesc();
-        stats.put("recentProjects", recentProjects);
-        
-        return stats;
+    public AdminDashboardStats getAdminDashboardStats() {
+        return new AdminDashboardStats(dashboardAggregateService.getAllProjectCounts(),
+            projectRepository.findTop10ByOrderByCreatedAtDesc());
     }
 
     /**
@@ -1239,6 +1486,7 @@ public class ProjectService {
 
         project.markAsCompleted();
         projectRepository.save(project);
+        eventPublisher.publishEvent(new ProjectChanged(project.getId()));
 
         logger.info("Project {} marked as completed by {}", projectId, completedBy);
         return project;
@@ -1260,27 +1508,12 @@ public class ProjectService {
 
         project.setStatus("stalled");
         projectRepository.save(project);
+        eventPublisher.publishEvent(new ProjectChanged(project.getId()));
 
         logger.info("Project {} marked as stalled by {}", projectId, stalledBy);
         return project;
     }
 
-    /**
-     * Generate a unique project number in P-0001 format
-     */
-    private String generateProjectNo() {
-        // Find the highest existing project number
-        Optional<String> maxProjectNo = projectRepository.findAll().stream()
-            .filter(p -> p.getProjectNo() != null && p.getProjectNo().startsWith("P-"))
-            .map(Project::getProjectNo)
-            .map(no -> no.substring(2)) // Remove "P-"
-            .map(Integer::parseInt)
-            .max(Integer::compareTo)
-            .map(num -> String.format("P-%04d", num + 1));
-
-        return maxProjectNo.orElse("P-0001");
-    }
-
     /**
      * Send email notifications to both the contact person and the partner
      */
@@ -0,0 +1,105 @@
+package com.tujulishanehub.backend.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.tujulishanehub.backend.payload.ProjectView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cost of the project list views, per view: database queries and time spent loading a page, and
+ * the size of the serialized page. Payload size is measured on one request in PAYLOAD_SAMPLE_EVERY,
+ * since it means serializing the page a second time.
+ */
+@Component
+public class ProjectViewStats {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectViewStats.class);
+
+    private static final int PAYLOAD_SAMPLE_EVERY = 10;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<ProjectView, Counters> counters = new EnumMap<>(ProjectView.class);
+
+    public ProjectViewStats() {
+        for (ProjectView view : ProjectView.values()) {
+            counters.put(view, new Counters());
+        }
+    }
+
+    /**
+     * Record one page load: rows returned, queries run and time taken
+     */
+    public void recordLoad(ProjectView view, int rows, int queries, long nanos) {
+        Counters c = counters.get(view);
+        c.requests.increment();
+        c.rows.add(rows);
+        c.queries.add(queries);
+        c.loadNanos.add(nanos);
+    }
+
+    /**
+     * Measure the serialized size of a page, on a sample of requests. filters are the
+     * request's sparse fieldset filters, or null when every field is written.
+     */
+    public void samplePayload(ProjectView view, List<?> items, FilterProvider filters) {
+        Counters c = counters.get(view);
+        if (c.requests.sum() % PAYLOAD_SAMPLE_EVERY != 1 || items.isEmpty()) {
+            return;
+        }
+        try {
+            ObjectWriter writer = filters != null ? objectMapper.writer(filters) : objectMapper.writer();
+            c.payloadBytes.add(writer.writeValueAsBytes(items).length);
+            c.payloadRows.add(items.size());
+            c.payloadSamples.increment();
+        } catch (JsonProcessingException e) {
+            logger.debug("Could not measure project list payload: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Per view: requests, average rows, queries and load time per page, and average payload bytes
+     * per page and per project
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> views = new LinkedHashMap<>();
+        for (Map.Entry<ProjectView, Counters> entry : counters.entrySet()) {
+            Counters c = entry.getValue();
+            long requests = c.requests.sum();
+            long samples = c.payloadSamples.sum();
+            long payloadRows = c.payloadRows.sum();
+            Map<String, Object> view = new LinkedHashMap<>();
+            view.put("requests", requests);
+            view.put("avgRows", requests > 0 ? (double) c.rows.sum() / requests : 0);
+            view.put("avgQueries", requests > 0 ? (double) c.queries.sum() / requests : 0);
+            view.put("avgLoadMs", requests > 0 ? c.loadNanos.sum() / 1e6 / requests : 0);
+            view.put("payloadSamples", samples);
+            view.put("avgPayloadBytes", samples > 0 ? c.payloadBytes.sum() / samples : 0);
+            view.put("avgBytesPerProject", payloadRows > 0 ? c.payloadBytes.sum() / payloadRows : 0);
+            views.put(entry.getKey().name().toLowerCase(), view);
+        }
+        return views;
+    }
+
+    private static final class Counters {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder queries = new LongAdder();
+        private final LongAdder loadNanos = new LongAdder();
+        private final LongAdder payloadSamples = new LongAdder();
+        private final LongAdder payloadBytes = new LongAdder();
+        private final LongAdder payloadRows = new LongAdder();
+    }
+}
@@ -0,0 +1,264 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.models.ApprovalWorkflowStatus;
+import com.tujulishanehub.backend.models.KenyaCounty;
+import com.tujulishanehub.backend.models.Project;
+import com.tujulishanehub.backend.models.ProjectCategory;
+import com.tujulishanehub.backend.models.ProjectLocation;
+import com.tujulishanehub.backend.repositories.ProjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Incrementally maintained statistics for the public landing page (APPROVED projects only):
+ * total projects, counts by category, distinct counties and distinct partners.
+ *
+ * Each approved project's contribution is remembered so a change can be subtracted and re-added;
+ * counties and partners are reference-counted so "distinct" stays exact without rescanning.
+ * Readers get an immutable snapshot, so serving it is O(1).
+ */
+@Service
+public class PublicStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicStatisticsService.class);
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private final Map<Long, Contribution> contributions = new HashMap<>();
+    private final Map<ProjectCategory, Long> categoryCounts = new EnumMap<>(ProjectCategory.class);
+    private final Map<String, Integer> countyRefs = new HashMap<>();
+    private final Map<String, Integer> partnerRefs = new HashMap<>();
+
+    private volatile Snapshot snapshot = new Snapshot(0, 0, 0, Collections.emptyMap(), LocalDateTime.now());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    /**
+     * Get the current statistics snapshot
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Record the current state of a project (created, updated, approved, completed...).
+     * Must be called while the project is still attached; it is applied once the transaction commits.
+     */
+    public void projectChanged(Project project) {
+        if (project == null || project.getId() == null) {
+            return;
+        }
+        Long projectId = project.getId();
+        Contribution contribution = project.getApprovalWorkflowStatus() == ApprovalWorkflowStatus.APPROVED
+            ? Contribution.of(project)
+            : null;
+        afterCommit(() -> apply(projectId, contribution));
+    }
+
+    /**
+     * Remove a deleted project's contribution once the transaction commits
+     */
+    public void projectDeleted(Long projectId) {
+        if (projectId == null) {
+            return;
+        }
+        afterCommit(() -> apply(projectId, null));
+    }
+
+    /**
+     * Recompute the statistics from the database and report whether the incremental state had drifted
+     */
+    public synchronized Map<String, Object> rebuild() {
+        Snapshot before = snapshot;
+
+        Map<Long, Contribution> rebuilt = new HashMap<>();
+        for (Object[] row : projectRepository.findApprovedStatisticsRows()) {
+            rebuilt.put((Long) row[0], new Contribution((ProjectCategory) row[1], normalize((String) row[2]), new HashSet<>()));
+        }
+        for (Object[] row : projectRepository.findApprovedCountyRows()) {
+            Contribution contribution = rebuilt.get((Long) row[0]);
+            KenyaCounty canonical = KenyaCounty.fromCode((Integer) row[1]);
+            String county = normalize(canonical != null ? canonical.getDisplayName() : (String) row[2]);
+            if (contribution != null && county != null) {
+                contribution.counties.add(county);
+            }
+        }
+
+        contributions.clear();
+        categoryCounts.clear();
+        countyRefs.clear();
+        partnerRefs.clear();
+        rebuilt.forEach(this::add);
+        publish();
+
+        boolean drifted = before.getTotalProjects() != snapshot.getTotalProjects()
+            || before.getTotalCounties() != snapshot.getTotalCounties()
+            || before.getTotalStakeholders() != snapshot.getTotalStakeholders()
+            || !before.getByCategory().equals(snapshot.getByCategory());
+        if (drifted) {
+            logger.info("Public statistics rebuilt: {} approved projects, {} counties, {} partners",
+                snapshot.getTotalProjects(), snapshot.getTotalCounties(), snapshot.getTotalStakeholders());
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("before", before.toMap());
+        result.put("after", snapshot.toMap());
+        result.put("drifted", drifted);
+        return result;
+    }
+
+    private synchronized void apply(Long projectId, Contribution contribution) {
+        Contribution previous = contributions.remove(projectId);
+        if (previous != null) {
+            remove(previous);
+        }
+        if (contribution != null) {
+            add(projectId, contribution);
+        }
+        if (previous != null || contribution != null) {
+            publish();
+        }
+    }
+
+    private void add(Long projectId, Contribution contribution) {
+        contributions.put(projectId, contribution);
+        if (contribution.category != null) {
+            categoryCounts.merge(contribution.category, 1L, Long::sum);
+        }
+        if (contribution.partner != null) {
+            partnerRefs.merge(contribution.partner, 1, Integer::sum);
+        }
+        for (String county : contribution.counties) {
+            countyRefs.merge(county, 1, Integer::sum);
+        }
+    }
+
+    private void remove(Contribution contribution) {
+        if (contribution.category != null) {
+            categoryCounts.computeIfPresent(contribution.category, (k, v) -> v > 1 ? v - 1 : null);
+        }
+        if (contribution.partner != null) {
+            partnerRefs.computeIfPresent(contribution.partner, (k, v) -> v > 1 ? v - 1 : null);
+        }
+        for (String county : contribution.counties) {
+            countyRefs.computeIfPresent(county, (k, v) -> v > 1 ? v - 1 : null);
+        }
+    }
+
+    private void publish() {
+        Map<String, Long> byCategory = new LinkedHashMap<>();
+        for (ProjectCategory category : ProjectCategory.values()) {
+            byCategory.put(category.name(), categoryCounts.getOrDefault(category, 0L));
+        }
+        snapshot = new Snapshot(contributions.size(), countyRefs.size(), partnerRefs.size(),
+            Collections.unmodifiableMap(byCategory), LocalDateTime.now());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String normalize(String value) {
+        return value != null && !value.trim().isEmpty() ? value : null;
+    }
+
+    /**
+     * What a single approved project adds to the statistics
+     */
+    private static final class Contribution {
+        private final ProjectCategory category;
+        private final String partner;
+        private final Set<String> counties;
+
+        private Contribution(ProjectCategory category, String partner, Set<String> counties) {
+            this.category = category;
+            this.partner = partner;
+            this.counties = counties;
+        }
+
+        private static Contribution of(Project project) {
+            Set<String> counties = new HashSet<>();
+            Set<ProjectLocation> locations = project.getLocations();
+            if (locations != null) {
+                for (ProjectLocation location : locations) {
+                    String county = normalize(location.getCanonicalCounty());
+                    if (county != null) {
+                        counties.add(county);
+                    }
+                }
+            }
+            return new Contribution(project.getProjectCategory(), normalize(project.getPartner()), counties);
+        }
+    }
+
+    /**
+     * Immutable view of the statistics served to clients
+     */
+    public static final class Snapshot {
+        private final long totalProjects;
+        private final int totalCounties;
+        private final int totalStakeholders;
+        private final Map<String, Long> byCategory;
+        private final LocalDateTime lastUpdated;
+
+        private Snapshot(long totalProjects, int totalCounties, int totalStakeholders,
+                         Map<String, Long> byCategory, LocalDateTime lastUpdated) {
+            this.totalProjects = totalProjects;
+            this.totalCounties = totalCounties;
+            this.totalStakeholders = totalStakeholders;
+            this.byCategory = byCategory;
+            this.lastUpdated = lastUpdated;
+        }
+
+        public long getTotalProjects() { return totalProjects; }
+        public int getTotalCounties() { return totalCounties; }
+        public int getTotalStakeholders() { return totalStakeholders; }
+        public Map<String, Long> getByCategory() { return byCategory; }
+        public LocalDateTime getLastUpdated() { return lastUpdated; }
+
+        /**
+         * Entity tag derived from the values, so it is stable across restarts and instances
+         */
+        public String getEtag() {
+            return Integer.toHexString(Objects.hash(totalProjects, totalCounties, totalStakeholders, byCategory));
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("totalProjects", totalProjects);
+            stats.put("totalCounties", totalCounties);
+            stats.put("totalStakeholders", totalStakeholders);
+            stats.put("byCategory", byCategory);
+            return stats;
+        }
+    }
+}
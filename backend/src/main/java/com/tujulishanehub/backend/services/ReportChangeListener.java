@@ -0,0 +1,84 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.events.ReportChanged;
+import com.tujulishanehub.backend.events.ReportDeleted;
+import com.tujulishanehub.backend.repositories.ProjectReportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the report search indexes (report full-text search and the unified search) in step with
+ * the project_reports table, and drops the cached dashboard report counters, the way
+ * ProjectChangeListener does for projects.
+ *
+ * Writers only publish ReportChanged or ReportDeleted; after the commit the report is reloaded
+ * and handed to both indexes in a short read-only transaction of its own. A failure is logged and
+ * the indexes can be rebuilt from the admin endpoints.
+ */
+@Component
+public class ReportChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportChangeListener.class);
+
+    private final ProjectReportRepository projectReportRepository;
+    private final ReportSearchService reportSearchService;
+    private final SearchIndexService searchIndexService;
+    private final DashboardAggregateService dashboardAggregateService;
+    private final TransactionTemplate transactionTemplate;
+
+    public ReportChangeListener(ProjectReportRepository projectReportRepository,
+                                ReportSearchService reportSearchService,
+                                SearchIndexService searchIndexService,
+                                DashboardAggregateService dashboardAggregateService,
+                                PlatformTransactionManager transactionManager) {
+        this.projectReportRepository = projectReportRepository;
+        this.reportSearchService = reportSearchService;
+        this.searchIndexService = searchIndexService;
+        this.dashboardAggregateService = dashboardAggregateService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReportChanged(ReportChanged event) {
+        Long reportId = event.getReportId();
+        if (reportId == null) {
+            return;
+        }
+        dashboardAggregateService.evictReportStats();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                // Absent when deleted since; its ReportDeleted event removes it
+                projectReportRepository.findById(reportId).ifPresent(report -> {
+                    reportSearchService.reportChanged(report);
+                    searchIndexService.reportChanged(report);
+                }));
+        } catch (RuntimeException e) {
+            logger.warn("Refreshing search indexes for report {} failed: {}", reportId, e.getMessage(), e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReportDeleted(ReportDeleted event) {
+        Long reportId = event.getReportId();
+        if (reportId == null) {
+            return;
+        }
+        dashboardAggregateService.evictReportStats();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                reportSearchService.reportDeleted(reportId);
+                searchIndexService.reportDeleted(reportId);
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Removing deleted report {} from search indexes failed: {}", reportId, e.getMessage(), e);
+        }
+    }
+}
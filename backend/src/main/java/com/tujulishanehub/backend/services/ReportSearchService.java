@@ -0,0 +1,297 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.models.ProjectReport;
+import com.tujulishanehub.backend.payload.ReportSearchHit;
+import com.tujulishanehub.backend.repositories.ProjectReportRepository;
+import com.tujulishanehub.backend.util.TextSearchIndex;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ranked full-text search over report title, summary and content, with highlighted snippets and
+ * paging.
+ *
+ * On Postgres the search runs against the weighted search_vector column and its GIN index (V14).
+ * Elsewhere (the H2 dev database, or a Postgres schema without the column) reports are kept in an
+ * in-memory TextSearchIndex, built at startup and updated after each committed report change.
+ * Either way, only reports the viewer may see are matched, so counts and pages are exact.
+ */
+@Service
+public class ReportSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportSearchService.class);
+
+    // Title matches outweigh summary matches, which outweigh content matches (as setweight A/B/C)
+    private static final double TITLE_WEIGHT = 4, SUMMARY_WEIGHT = 2, CONTENT_WEIGHT = 1;
+    private static final int SNIPPET_WORDS = 30;
+    // ts_headline marks matches with control characters so the excerpt can be HTML-escaped afterwards
+    private static final String MARK_START = "\u0001", MARK_END = "\u0002";
+    private static final String HEADLINE_OPTIONS = "StartSel=" + MARK_START + ", StopSel=" + MARK_END
+        + ", MaxWords=" + SNIPPET_WORDS + ", MinWords=10, MaxFragments=2, FragmentDelimiter=\" \u2026 \"";
+    public static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private ProjectReportRepository projectReportRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private boolean postgres;
+    private final TextSearchIndex index = new TextSearchIndex(TITLE_WEIGHT, SUMMARY_WEIGHT, CONTENT_WEIGHT);
+    // Filter fields of indexed reports, for the in-memory search
+    private final Map<Long, Visibility> visibility = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void detectEngine() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            if (metaData.getDatabaseProductName().toLowerCase().contains("postgresql")) {
+                try (ResultSet columns = metaData.getColumns(null, null, "project_reports", "search_vector")) {
+                    postgres = columns.next();
+                }
+                if (!postgres) {
+                    logger.warn("project_reports.search_vector is missing (V14 not applied); using the in-memory report search index");
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Could not inspect the database for full-text search support: {}", e.getMessage());
+        }
+        logger.info("Report search engine: {}", getEngine());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!postgres) {
+            Thread.ofVirtual().name("report-search-index").start(this::rebuild);
+        }
+    }
+
+    /**
+     * "postgres" or "memory"
+     */
+    public String getEngine() {
+        return postgres ? "postgres" : "memory";
+    }
+
+    /**
+     * Search the reports a viewer may see. A blank query lists them newest first, without snippets.
+     *
+     * @param viewerId    the viewer's user id, or null for anonymous viewers
+     * @param allVisible  true if the viewer may see every report (super admins); otherwise only
+     *                    published reports and the viewer's own are searched
+     */
+    public Page<ReportSearchHit> search(String query, Long projectId, ProjectReport.ReportType reportType,
+                                        ProjectReport.ReportStatus reportStatus, Long viewerId, boolean allVisible,
+                                        int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        Pageable pageable = PageRequest.of(page, size);
+        if (query == null || query.isBlank()) {
+            Page<ProjectReport> reports = projectReportRepository.findVisibleReports(projectId, reportType, reportStatus,
+                allVisible, viewerId, PageRequest.of(page, size, Sort.by("createdAt").descending().and(Sort.by("id").descending())));
+            return reports.map(report -> new ReportSearchHit(report, 0, null));
+        }
+        return postgres
+            ? searchPostgres(query.trim(), projectId, reportType, reportStatus, viewerId, allVisible, pageable)
+            : searchMemory(query.trim(), projectId, reportType, reportStatus, viewerId, allVisible, pageable);
+    }
+
+    /**
+     * Record a created or updated report. Must be called while the report is still attached; the
+     * in-memory index is updated once the transaction commits (Postgres keeps its own index).
+     */
+    public void reportChanged(ProjectReport report) {
+        if (postgres || report == null || report.getId() == null) {
+            return;
+        }
+        Long id = report.getId();
+        String title = report.getTitle(), summary = report.getSummary(), content = report.getContent();
+        Visibility fields = new Visibility(report.getProject() != null ? report.getProject().getId() : null,
+            report.getReportType(), report.getReportStatus(), report.getSubmittedBy());
+        afterCommit(() -> {
+            index.put(id, title, summary, content);
+            visibility.put(id, fields);
+        });
+    }
+
+    /**
+     * Drop a deleted report from the in-memory index once the transaction commits
+     */
+    public void reportDeleted(Long reportId) {
+        if (postgres || reportId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            index.remove(reportId);
+            visibility.remove(reportId);
+        });
+    }
+
+    /**
+     * Reload the in-memory index from the database (no-op on Postgres)
+     */
+    public synchronized Map<String, Object> rebuild() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("engine", getEngine());
+        if (postgres) {
+            return result;
+        }
+        long start = System.nanoTime();
+        index.clear();
+        visibility.clear();
+        for (Object[] row : projectReportRepository.findSearchIndexRows()) {
+            Long id = (Long) row[0];
+            index.put(id, (String) row[1], (String) row[2], (String) row[3]);
+            visibility.put(id, new Visibility((Long) row[6], (ProjectReport.ReportType) row[5],
+                (ProjectReport.ReportStatus) row[4], (Long) row[7]));
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Report search index built: {} reports in {} ms", index.size(), elapsedMs);
+        result.put("reports", index.size());
+        result.put("elapsedMs", elapsedMs);
+        return result;
+    }
+
+    private Page<ReportSearchHit> searchPostgres(String query, Long projectId, ProjectReport.ReportType reportType,
+                                                 ProjectReport.ReportStatus reportStatus, Long viewerId,
+                                                 boolean allVisible, Pageable pageable) {
+        String type = reportType != null ? reportType.name() : null;
+        String status = reportStatus != null ? reportStatus.name() : null;
+        List<Object[]> matches = projectReportRepository.findFullTextMatches(query, projectId, type, status,
+            allVisible, viewerId, pageable.getPageSize(), pageable.getOffset());
+        // A short, non-empty page is the last one, so its total needs no count query
+        long total = !matches.isEmpty() && matches.size() < pageable.getPageSize()
+            ? pageable.getOffset() + matches.size()
+            : projectReportRepository.countFullTextMatches(query, projectId, type, status, allVisible, viewerId);
+        if (matches.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        List<Long> ids = matches.stream().map(row -> ((Number) row[0]).longValue()).toList();
+        // Headlines are the expensive part, so they are only computed for the page
+        Map<Long, String> headlines = new HashMap<>();
+        for (Object[] row : projectReportRepository.findFullTextHeadlines(query, HEADLINE_OPTIONS, ids)) {
+            headlines.put(((Number) row[0]).longValue(), highlight((String) row[1]));
+        }
+        Map<Long, ProjectReport> reports = projectReportRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(ProjectReport::getId, Function.identity()));
+
+        List<ReportSearchHit> hits = new ArrayList<>(matches.size());
+        for (Object[] row : matches) {
+            Long id = ((Number) row[0]).longValue();
+            ProjectReport report = reports.get(id);
+            if (report != null) {
+                hits.add(new ReportSearchHit(report, ((Number) row[1]).doubleValue(), headlines.get(id)));
+            }
+        }
+        return new PageImpl<>(hits, pageable, total);
+    }
+
+    private Page<ReportSearchHit> searchMemory(String query, Long projectId, ProjectReport.ReportType reportType,
+                                               ProjectReport.ReportStatus reportStatus, Long viewerId,
+                                               boolean allVisible, Pageable pageable) {
+        List<TextSearchIndex.Hit> matches = index.search(query, id -> {
+            Visibility fields = visibility.get(id);
+            return fields != null
+                && (projectId == null || projectId.equals(fields.projectId))
+                && (reportType == null || reportType == fields.reportType)
+                && (reportStatus == null || reportStatus == fields.reportStatus)
+                && (allVisible || fields.reportStatus == ProjectReport.ReportStatus.PUBLISHED
+                    || (viewerId != null && viewerId.equals(fields.submittedBy)));
+        });
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        List<TextSearchIndex.Hit> pageMatches = matches.subList(from, to);
+
+        Map<Long, ProjectReport> reports = projectReportRepository
+            .findAllById(pageMatches.stream().map(TextSearchIndex.Hit::getId).toList()).stream()
+            .collect(Collectors.toMap(ProjectReport::getId, Function.identity()));
+        List<ReportSearchHit> hits = new ArrayList<>(pageMatches.size());
+        for (TextSearchIndex.Hit match : pageMatches) {
+            ProjectReport report = reports.get(match.getId());
+            if (report != null) {
+                String text = Objects.toString(report.getSummary(), "") + " " + Objects.toString(report.getContent(), "");
+                hits.add(new ReportSearchHit(report, match.getScore(), TextSearchIndex.snippet(text, query, SNIPPET_WORDS)));
+            }
+        }
+        return new PageImpl<>(hits, pageable, matches.size());
+    }
+
+    /**
+     * HTML-escape a ts_headline excerpt and turn its match markers into &lt;mark&gt; tags
+     */
+    private static String highlight(String headline) {
+        if (headline == null) {
+            return null;
+        }
+        StringBuilder html = new StringBuilder(headline.length() + 32);
+        for (int i = 0; i < headline.length(); i++) {
+            char c = headline.charAt(i);
+            switch (c) {
+                case '\u0001' -> html.append("<mark>");
+                case '\u0002' -> html.append("</mark>");
+                case '<' -> html.append("&lt;");
+                case '>' -> html.append("&gt;");
+                case '&' -> html.append("&amp;");
+                case '"' -> html.append("&quot;");
+                case '\'' -> html.append("&#39;");
+                default -> html.append(c);
+            }
+        }
+        return html.toString();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class Visibility {
+        private final Long projectId;
+        private final ProjectReport.ReportType reportType;
+        private final ProjectReport.ReportStatus reportStatus;
+        private final Long submittedBy;
+
+        private Visibility(Long projectId, ProjectReport.ReportType reportType,
+                           ProjectReport.ReportStatus reportStatus, Long submittedBy) {
+            this.projectId = projectId;
+            this.reportType = reportType;
+            this.reportStatus = reportStatus;
+            this.submittedBy = submittedBy;
+        }
+    }
+}
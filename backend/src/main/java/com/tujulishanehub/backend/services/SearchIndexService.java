@@ -0,0 +1,371 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.models.ApprovalStatus;
+import com.tujulishanehub.backend.models.Organization;
+import com.tujulishanehub.backend.models.PastProject;
+import com.tujulishanehub.backend.models.Project;
+import com.tujulishanehub.backend.models.ProjectReport;
+import com.tujulishanehub.backend.payload.SearchResult;
+import com.tujulishanehub.backend.repositories.OrganizationRepository;
+import com.tujulishanehub.backend.repositories.PastProjectRepository;
+import com.tujulishanehub.backend.repositories.ProjectReportRepository;
+import com.tujulishanehub.backend.repositories.ProjectRepository;
+import com.tujulishanehub.backend.util.TextSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One search over projects, past projects, reports and organizations.
+ *
+ * Every entity is a document in a single in-memory TextSearchIndex with three weighted fields
+ * (title, names and codes, descriptive text), keyed by (id, type). What a result displays is kept
+ * next to the index, so a search never touches the database. The index is loaded at startup and,
+ * like MapMarkerIndex, kept in step by the services that write these entities: a change is captured
+ * while the entity is still attached and applied once the transaction commits.
+ *
+ * Reports follow the same visibility rules as /api/reports/search: published reports, the
+ * viewer's own, or everything for super admins.
+ */
+@Service
+public class SearchIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final int EXCERPT_CHARS = 600;
+    private static final int SNIPPET_WORDS = 30;
+
+    public enum EntityType {
+        PROJECT, PAST_PROJECT, REPORT, ORGANIZATION
+    }
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private PastProjectRepository pastProjectRepository;
+
+    @Autowired
+    private ProjectReportRepository projectReportRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    private final TextSearchIndex index = new TextSearchIndex(4, 2, 1);
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Thread.ofVirtual().name("search-index").start(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                logger.warn("Building the search index failed: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Ranked search across the requested entity types (all when empty). Facets count the visible
+     * matches of every type, whichever types were requested.
+     *
+     * @param viewerId      the viewer's user id, or null for anonymous viewers
+     * @param allReports    true if the viewer may see every report (super admins)
+     */
+    public Map<String, Object> search(String query, Set<EntityType> types, Long viewerId, boolean allReports,
+                                      int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        Set<EntityType> wanted = types == null || types.isEmpty() ? EnumSet.allOf(EntityType.class) : types;
+
+        Map<EntityType, Long> facets = new EnumMap<>(EntityType.class);
+        for (EntityType type : EntityType.values()) {
+            facets.put(type, 0L);
+        }
+        List<TextSearchIndex.Hit> matches = new ArrayList<>();
+        for (TextSearchIndex.Hit hit : index.search(query, key -> {
+            Document document = documents.get(key);
+            return document != null && document.visibleTo(viewerId, allReports);
+        })) {
+            EntityType type = typeOf(hit.getId());
+            facets.merge(type, 1L, Long::sum);
+            if (wanted.contains(type)) {
+                matches.add(hit);
+            }
+        }
+
+        long offset = (long) page * size;
+        List<SearchResult> results = new ArrayList<>();
+        for (int i = (int) Math.min(offset, matches.size()); i < matches.size() && results.size() < size; i++) {
+            TextSearchIndex.Hit hit = matches.get(i);
+            Document document = documents.get(hit.getId());
+            if (document != null) {
+                results.add(new SearchResult(document.type.name(), idOf(hit.getId()), document.title, document.subtitle,
+                    document.status, hit.getScore(), TextSearchIndex.snippet(document.excerpt, query, SNIPPET_WORDS)));
+            }
+        }
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("results", results);
+        data.put("facets", facets);
+        data.put("currentPage", page);
+        data.put("totalItems", matches.size());
+        data.put("totalPages", (matches.size() + size - 1) / size);
+        return data;
+    }
+
+    public void projectChanged(Project project) {
+        if (project == null || project.getId() == null) {
+            return;
+        }
+        Document document = new Document(EntityType.PROJECT, project.getTitle(), project.getPartner(),
+            project.getStatus(), excerpt(project.getObjectives()), null, null, null);
+        String[] fields = fields(project.getTitle(),
+            join(project.getProjectNo(), project.getPartner(), project.getActivityType()),
+            join(project.getObjectives(), project.getCounty()));
+        afterCommit(() -> put(key(project.getId(), EntityType.PROJECT), document, fields));
+    }
+
+    /**
+     * Remove a deleted project, and the reports deleted with it, once the transaction commits
+     */
+    public void projectDeleted(Long projectId) {
+        if (projectId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            remove(key(projectId, EntityType.PROJECT));
+            documents.entrySet().stream()
+                .filter(entry -> entry.getValue().type == EntityType.REPORT && projectId.equals(entry.getValue().projectId))
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(this::remove);
+        });
+    }
+
+    public void pastProjectChanged(PastProject pastProject) {
+        if (pastProject == null || pastProject.getId() == null) {
+            return;
+        }
+        Document document = new Document(EntityType.PAST_PROJECT, pastProject.getTitle(), pastProject.getPartner(),
+            pastProject.getFinalStatus(), excerpt(pastProject.getObjectives()), null, null, null);
+        String[] fields = fields(pastProject.getTitle(),
+            join(pastProject.getPartner(), pastProject.getActivityType()),
+            join(pastProject.getObjectives(), pastProject.getLessonsLearned(), pastProject.getCounty()));
+        afterCommit(() -> put(key(pastProject.getId(), EntityType.PAST_PROJECT), document, fields));
+    }
+
+    public void pastProjectDeleted(Long pastProjectId) {
+        if (pastProjectId != null) {
+            afterCommit(() -> remove(key(pastProjectId, EntityType.PAST_PROJECT)));
+        }
+    }
+
+    public void reportChanged(ProjectReport report) {
+        if (report == null || report.getId() == null) {
+            return;
+        }
+        Document document = reportDocument(report.getTitle(), report.getSummary(), report.getContent(),
+            report.getReportStatus(), report.getProject() != null ? report.getProject().getId() : null,
+            report.getSubmittedBy());
+        String[] fields = fields(report.getTitle(), report.getSummary(), report.getContent());
+        afterCommit(() -> put(key(report.getId(), EntityType.REPORT), document, fields));
+    }
+
+    public void reportDeleted(Long reportId) {
+        if (reportId != null) {
+            afterCommit(() -> remove(key(reportId, EntityType.REPORT)));
+        }
+    }
+
+    public void organizationChanged(Organization organization) {
+        if (organization == null || organization.getId() == null) {
+            return;
+        }
+        Document document = organizationDocument(organization.getName(), organization.getOrganizationType(),
+            organization.getDescription(), organization.getApprovalStatus());
+        String[] fields = fields(organization.getName(),
+            join(organization.getOrganizationType() != null ? organization.getOrganizationType().name().replace('_', ' ') : null,
+                organization.getRegistrationNumber()),
+            join(organization.getDescription(), organization.getAddress()));
+        afterCommit(() -> put(key(organization.getId(), EntityType.ORGANIZATION), document, fields));
+    }
+
+    public void organizationDeleted(Long organizationId) {
+        if (organizationId != null) {
+            afterCommit(() -> remove(key(organizationId, EntityType.ORGANIZATION)));
+        }
+    }
+
+    /**
+     * Reload the whole index from the database
+     */
+    public synchronized Map<String, Object> rebuild() {
+        long start = System.nanoTime();
+        index.clear();
+        documents.clear();
+        Map<EntityType, Integer> counts = new EnumMap<>(EntityType.class);
+
+        for (Object[] row : projectRepository.findSearchIndexRows()) {
+            String title = (String) row[1], partner = (String) row[2], objectives = (String) row[5];
+            put(key((Long) row[0], EntityType.PROJECT),
+                new Document(EntityType.PROJECT, title, partner, (String) row[7], excerpt(objectives), null, null, null),
+                fields(title, join((String) row[3], partner, (String) row[4]), join(objectives, (String) row[6])));
+            counts.merge(EntityType.PROJECT, 1, Integer::sum);
+        }
+        for (Object[] row : pastProjectRepository.findSearchIndexRows()) {
+            String title = (String) row[1], partner = (String) row[2], objectives = (String) row[5];
+            put(key((Long) row[0], EntityType.PAST_PROJECT),
+                new Document(EntityType.PAST_PROJECT, title, partner, (String) row[7], excerpt(objectives), null, null, null),
+                fields(title, join(partner, (String) row[3]), join(objectives, (String) row[6], (String) row[4])));
+            counts.merge(EntityType.PAST_PROJECT, 1, Integer::sum);
+        }
+        for (Object[] row : projectReportRepository.findSearchIndexRows()) {
+            String title = (String) row[1], summary = (String) row[2], content = (String) row[3];
+            put(key((Long) row[0], EntityType.REPORT),
+                reportDocument(title, summary, content, (ProjectReport.ReportStatus) row[4], (Long) row[6], (Long) row[7]),
+                fields(title, summary, content));
+            counts.merge(EntityType.REPORT, 1, Integer::sum);
+        }
+        for (Object[] row : organizationRepository.findSearchIndexRows()) {
+            String name = (String) row[1], description = (String) row[3];
+            Organization.OrganizationType type = (Organization.OrganizationType) row[2];
+            put(key((Long) row[0], EntityType.ORGANIZATION),
+                organizationDocument(name, type, description, (ApprovalStatus) row[6]),
+                fields(name, join(type != null ? type.name().replace('_', ' ') : null, (String) row[5]),
+                    join(description, (String) row[4])));
+            counts.merge(EntityType.ORGANIZATION, 1, Integer::sum);
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Search index built: {} in {} ms", counts, elapsedMs);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("documents", counts);
+        result.put("elapsedMs", elapsedMs);
+        return result;
+    }
+
+    private void put(long key, Document document, String[] fields) {
+        index.put(key, fields);
+        documents.put(key, document);
+    }
+
+    private void remove(long key) {
+        index.remove(key);
+        documents.remove(key);
+    }
+
+    private static Document reportDocument(String title, String summary, String content,
+                                           ProjectReport.ReportStatus status, Long projectId, Long submittedBy) {
+        String text = summary != null && !summary.isBlank() ? summary : content;
+        return new Document(EntityType.REPORT, title, null, status != null ? status.name() : null,
+            excerpt(text), status, projectId, submittedBy);
+    }
+
+    private static Document organizationDocument(String name, Organization.OrganizationType type, String description,
+                                                  ApprovalStatus approvalStatus) {
+        return new Document(EntityType.ORGANIZATION, name, type != null ? type.name() : null,
+            approvalStatus != null ? approvalStatus.name() : null, excerpt(description), null, null, null);
+    }
+
+    // Index keys pack the entity id and type into one long: (id << 2) | type
+    private static long key(long id, EntityType type) {
+        return (id << 2) | type.ordinal();
+    }
+
+    private static long idOf(long key) {
+        return key >>> 2;
+    }
+
+    private static EntityType typeOf(long key) {
+        return EntityType.values()[(int) (key & 3)];
+    }
+
+    private static String[] fields(String title, String names, String text) {
+        return new String[]{title, names, text};
+    }
+
+    private static String join(String... parts) {
+        StringBuilder joined = new StringBuilder();
+        for (String part : parts) {
+            if (part != null && !part.isBlank()) {
+                if (joined.length() > 0) {
+                    joined.append(' ');
+                }
+                joined.append(part);
+            }
+        }
+        return joined.toString();
+    }
+
+    private static String excerpt(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.length() <= EXCERPT_CHARS ? text : text.substring(0, EXCERPT_CHARS);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * What a result shows, plus the fields report visibility is decided on
+     */
+    private static final class Document {
+        private final EntityType type;
+        private final String title;
+        private final String subtitle;
+        private final String status;
+        private final String excerpt;
+        private final ProjectReport.ReportStatus reportStatus;
+        private final Long projectId;
+        private final Long submittedBy;
+
+        private Document(EntityType type, String title, String subtitle, String status, String excerpt,
+                         ProjectReport.ReportStatus reportStatus, Long projectId, Long submittedBy) {
+            this.type = type;
+            this.title = title;
+            this.subtitle = subtitle;
+            this.status = status;
+            this.excerpt = excerpt;
+            this.reportStatus = reportStatus;
+            this.projectId = projectId;
+            this.submittedBy = submittedBy;
+        }
+
+        private boolean visibleTo(Long viewerId, boolean allReports) {
+            return type != EntityType.REPORT || allReports
+                || reportStatus == ProjectReport.ReportStatus.PUBLISHED
+                || (viewerId != null && viewerId.equals(submittedBy));
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.tujulishanehub.backend.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A small, bounded pool of connected SMTP transports for the configured relay.
+ *
+ * JavaMailSender.send() connects, authenticates and disconnects for every call. Keeping a few
+ * sessions open lets the outbox dispatcher push a whole batch of messages through one
+ * handshake. A session is retired after max-messages-per-session messages or when it has been
+ * idle longer than idle-timeout (relays drop idle connections), and is discarded after any
+ * failure so a broken connection is never handed out twice.
+ */
+@Component
+public class SmtpTransportPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtpTransportPool.class);
+
+    @Autowired(required = false)
+    private JavaMailSender mailSender;
+
+    @Value("${app.email.smtp.pool-size:4}")
+    private int poolSize;
+
+    @Value("${app.email.smtp.max-messages-per-session:100}")
+    private int maxMessagesPerSession;
+
+    @Value("${app.email.smtp.idle-timeout-seconds:60}")
+    private long idleTimeoutSeconds;
+
+    @Value("${app.email.smtp.borrow-timeout-seconds:30}")
+    private long borrowTimeoutSeconds;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<PooledTransport> idle = new ArrayDeque<>();
+    private Semaphore permits;
+
+    private final AtomicLong sessionsOpened = new AtomicLong();
+    private final AtomicLong sessionsReused = new AtomicLong();
+    private final AtomicLong sessionsClosed = new AtomicLong();
+    private final AtomicLong messagesSent = new AtomicLong();
+    private final AtomicLong messagesFailed = new AtomicLong();
+    private final AtomicLong sendNanos = new AtomicLong();
+    private final long startedAt = System.nanoTime();
+
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(Math.max(1, poolSize));
+    }
+
+    /**
+     * Whether pooling is possible; other JavaMailSender implementations don't expose their Session
+     */
+    public boolean isAvailable() {
+        return mailSender instanceof JavaMailSenderImpl;
+    }
+
+    /**
+     * Borrow a connected transport. It must be handed back with release() or invalidate().
+     */
+    public PooledTransport borrow() throws MessagingException {
+        if (!isAvailable()) {
+            throw new IllegalStateException("SMTP transport pooling requires JavaMailSenderImpl");
+        }
+        try {
+            if (!permits.tryAcquire(borrowTimeoutSeconds, TimeUnit.SECONDS)) {
+                throw new MessagingException("Timed out waiting for an SMTP session");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted waiting for an SMTP session", e);
+        }
+
+        try {
+            PooledTransport pooled;
+            while ((pooled = pollIdle()) != null) {
+                if (pooled.isReusable()) {
+                    sessionsReused.incrementAndGet();
+                    return pooled;
+                }
+                close(pooled);
+            }
+            return open();
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Send one message over a borrowed transport
+     */
+    public void send(PooledTransport pooled, MimeMessage message) throws MessagingException {
+        long start = System.nanoTime();
+        try {
+            message.saveChanges();
+            pooled.transport.sendMessage(message, message.getAllRecipients());
+            pooled.messagesSent++;
+            messagesSent.incrementAndGet();
+        } catch (MessagingException | RuntimeException e) {
+            messagesFailed.incrementAndGet();
+            throw e;
+        } finally {
+            sendNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Hand a healthy transport back to the pool
+     */
+    public void release(PooledTransport pooled) {
+        pooled.lastUsedAt = System.nanoTime();
+        if (pooled.isReusable()) {
+            lock.lock();
+            try {
+                idle.push(pooled);
+            } finally {
+                lock.unlock();
+            }
+        } else {
+            close(pooled);
+        }
+        permits.release();
+    }
+
+    /**
+     * Discard a transport after a failure
+     */
+    public void invalidate(PooledTransport pooled) {
+        close(pooled);
+        permits.release();
+    }
+
+    /**
+     * Get session reuse and throughput figures
+     */
+    public Map<String, Object> getStatistics() {
+        long opened = sessionsOpened.get();
+        long reused = sessionsReused.get();
+        long sent = messagesSent.get();
+        double uptimeSeconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pooled", isAvailable());
+        stats.put("poolSize", poolSize);
+        stats.put("idleSessions", idleCount());
+        stats.put("sessionsOpened", opened);
+        stats.put("sessionsReused", reused);
+        stats.put("sessionsClosed", sessionsClosed.get());
+        stats.put("sessionReuseRatio", opened + reused == 0 ? null : (double) reused / (opened + reused));
+        stats.put("messagesSent", sent);
+        stats.put("messagesFailed", messagesFailed.get());
+        stats.put("messagesPerSession", opened == 0 ? null : (double) sent / opened);
+        stats.put("avgSendMs", sent == 0 ? null : sendNanos.get() / sent / 1_000_000.0);
+        stats.put("messagesPerMinute", uptimeSeconds <= 0 ? null : sent * 60.0 / uptimeSeconds);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lock.lock();
+        try {
+            idle.forEach(this::close);
+            idle.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private PooledTransport open() throws MessagingException {
+        JavaMailSenderImpl sender = (JavaMailSenderImpl) mailSender;
+        Session session = sender.getSession();
+        String protocol = sender.getProtocol() != null ? sender.getProtocol() : "smtp";
+        Transport transport = session.getTransport(protocol);
+        transport.connect(sender.getHost(), sender.getPort(), sender.getUsername(), sender.getPassword());
+        sessionsOpened.incrementAndGet();
+        logger.debug("Opened SMTP session to {}:{}", sender.getHost(), sender.getPort());
+        return new PooledTransport(transport);
+    }
+
+    private PooledTransport pollIdle() {
+        lock.lock();
+        try {
+            return idle.poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int idleCount() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void close(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            logger.debug("Error closing SMTP session: {}", e.getMessage());
+        }
+        sessionsClosed.incrementAndGet();
+    }
+
+    /**
+     * A connected transport plus the bookkeeping used to decide when to retire it
+     */
+    public final class PooledTransport {
+        private final Transport transport;
+        private int messagesSent;
+        private long lastUsedAt = System.nanoTime();
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        private boolean isReusable() {
+            return transport.isConnected()
+                && messagesSent < maxMessagesPerSession
+                && System.nanoTime() - lastUsedAt < Duration.ofSeconds(idleTimeoutSeconds).toNanos();
+        }
+    }
+}
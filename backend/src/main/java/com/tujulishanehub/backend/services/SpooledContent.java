@@ -0,0 +1,77 @@
+package com.tujulishanehub.backend.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Upload content copied to a temporary file through a fixed-size buffer and hashed on the way, so
+ * a document store learns the content's SHA-256 key without holding it in memory. Closing deletes
+ * the file unless it was moved away.
+ */
+final class SpooledContent implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final String storageKey;
+    private final long size;
+
+    private SpooledContent(Path file, String storageKey, long size) {
+        this.file = file;
+        this.storageKey = storageKey;
+        this.size = size;
+    }
+
+    /**
+     * Spool content into a new temporary file in dir (the default temp directory when null)
+     */
+    static SpooledContent spool(InputStream content, Path dir) throws IOException {
+        MessageDigest digest = newDigest();
+        Path tmp = dir != null ? Files.createTempFile(dir, "upload-", ".part") : Files.createTempFile("upload-", ".part");
+        long size = 0;
+        try (ReadableByteChannel in = Channels.newChannel(content);
+             FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer.array(), 0, buffer.limit());
+                while (buffer.hasRemaining()) {
+                    size += out.write(buffer);
+                }
+                buffer.clear();
+            }
+            out.force(false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        return new SpooledContent(tmp, HexFormat.of().formatHex(digest.digest()), size);
+    }
+
+    Path getFile() { return file; }
+    String getStorageKey() { return storageKey; }
+    long getSize() { return size; }
+
+    @Override
+    public void close() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
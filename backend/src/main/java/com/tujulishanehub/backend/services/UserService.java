@@ -808,19 +808,16 @@ public class UserService {
     }
     
     /**
-     * Search users by name or email (for reviewer conversion)
+     * Search users by name or email (for reviewer conversion).
+     * Returns up to limit rows with id greater than afterId, ordered by id.
      */
-    public java.util.List<User> searchUsersByNameOrEmail(String query) {
-        java.util.List<User> allUsers = userRepository.findAll();
-        String lowerQuery = query.toLowerCase();
-        
-        return allUsers.stream()
-            .filter(user -> 
-                user.getName().toLowerCase().contains(lowerQuery) || 
-                user.getEmail().toLowerCase().contains(lowerQuery)
-            )
-            .limit(10)
-            .collect(java.util.stream.Collectors.toList());
+    public java.util.List<java.util.Map<String, Object>> searchUsersByNameOrEmail(String query, Long afterId, int limit) {
+        String pattern = "%" + query.toLowerCase()
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_") + "%";
+        return userRepository.searchByNameOrEmail(pattern, afterId != null ? afterId : 0L,
+            org.springframework.data.domain.PageRequest.of(0, limit));
     }
     
     /**
@@ -0,0 +1,268 @@
+package com.tujulishanehub.backend.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Pre-aggregated marker clusters for every zoom level from 0 to maxZoom.
+ *
+ * Each level is a grid of cellsPerTile x cellsPerTile cells per map tile (cell size
+ * 360 / (2^zoom * cellsPerTile) degrees), and each cell keeps a point count, coordinate sums for
+ * the centroid and a count per category. Adding or removing a point touches one cell per level,
+ * so the pyramid is maintained incrementally instead of being re-clustered per request. Degrees
+ * are used on both axes: near the equator the Web Mercator distortion is negligible.
+ *
+ * Points are grouped by owner (e.g. a project with several locations) so an owner's points can be
+ * replaced or removed as a unit.
+ */
+public final class ClusterPyramid {
+
+    private final int maxZoom;
+    private final int cellsPerTile;
+    private final int categoryCount;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private List<Map<Long, Cell>> levels;
+    private Map<Long, List<Point>> byOwner = new HashMap<>();
+
+    public ClusterPyramid(int maxZoom, int cellsPerTile, int categoryCount) {
+        if (maxZoom < 0 || maxZoom > 24 || cellsPerTile < 1) {
+            throw new IllegalArgumentException("maxZoom must be 0-24 and cellsPerTile positive");
+        }
+        this.maxZoom = maxZoom;
+        this.cellsPerTile = cellsPerTile;
+        this.categoryCount = categoryCount;
+        this.levels = emptyLevels();
+    }
+
+    public int getMaxZoom() {
+        return maxZoom;
+    }
+
+    /**
+     * Replace all points of an owner (an empty list removes it)
+     */
+    public void put(long owner, List<Point> points) {
+        lock.writeLock().lock();
+        try {
+            removeOwner(owner);
+            if (points != null && !points.isEmpty()) {
+                List<Point> copy = List.copyOf(points);
+                copy.forEach(point -> apply(levels, point, 1));
+                byOwner.put(owner, copy);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all points of an owner
+     */
+    public void remove(long owner) {
+        lock.writeLock().lock();
+        try {
+            removeOwner(owner);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the whole pyramid; the new levels are built before the lock is taken
+     */
+    public void replaceAll(Map<Long, List<Point>> pointsByOwner) {
+        List<Map<Long, Cell>> newLevels = emptyLevels();
+        Map<Long, List<Point>> newByOwner = new HashMap<>(pointsByOwner.size() * 2);
+        for (Map.Entry<Long, List<Point>> owner : pointsByOwner.entrySet()) {
+            List<Point> copy = List.copyOf(owner.getValue());
+            copy.forEach(point -> apply(newLevels, point, 1));
+            newByOwner.put(owner.getKey(), copy);
+        }
+
+        lock.writeLock().lock();
+        try {
+            levels = newLevels;
+            byOwner = newByOwner;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Clusters at a zoom level (capped at maxZoom) whose cells overlap the box
+     */
+    public List<Cluster> query(double minLat, double maxLat, double minLng, double maxLng, int zoom) {
+        int level = Math.max(0, Math.min(zoom, maxZoom));
+        double cellDegrees = cellDegrees(level);
+        long minRow = cell(clamp(Math.min(minLat, maxLat), 90), cellDegrees);
+        long maxRow = cell(clamp(Math.max(minLat, maxLat), 90), cellDegrees);
+        long minCol = cell(clamp(Math.min(minLng, maxLng), 180), cellDegrees);
+        long maxCol = cell(clamp(Math.max(minLng, maxLng), 180), cellDegrees);
+
+        List<Cluster> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<Long, Cell> cells = levels.get(level);
+            if ((maxRow - minRow + 1) * (maxCol - minCol + 1) > cells.size()) {
+                // Fewer occupied cells than cells in the box: walk the occupied ones
+                for (Map.Entry<Long, Cell> cell : cells.entrySet()) {
+                    long row = cell.getKey() >> 32;
+                    long col = (int) cell.getKey().longValue();
+                    if (row >= minRow && row <= maxRow && col >= minCol && col <= maxCol) {
+                        result.add(cell.getValue().toCluster());
+                    }
+                }
+            } else {
+                for (long row = minRow; row <= maxRow; row++) {
+                    for (long col = minCol; col <= maxCol; col++) {
+                        Cell cell = cells.get(key(row, col));
+                        if (cell != null) {
+                            result.add(cell.toCluster());
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Number of points and of occupied cells per level
+     */
+    public Map<String, Object> getStatistics() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("owners", byOwner.size());
+            stats.put("points", byOwner.values().stream().mapToInt(List::size).sum());
+            stats.put("cellsPerLevel", levels.stream().map(Map::size).toList());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeOwner(long owner) {
+        List<Point> previous = byOwner.remove(owner);
+        if (previous != null) {
+            previous.forEach(point -> apply(levels, point, -1));
+        }
+    }
+
+    private void apply(List<Map<Long, Cell>> target, Point point, int sign) {
+        for (int level = 0; level <= maxZoom; level++) {
+            double cellDegrees = cellDegrees(level);
+            long key = key(cell(point.latitude, cellDegrees), cell(point.longitude, cellDegrees));
+            Map<Long, Cell> cells = target.get(level);
+            Cell cell = cells.get(key);
+            if (cell == null) {
+                if (sign < 0) {
+                    continue;
+                }
+                cell = new Cell(categoryCount);
+                cells.put(key, cell);
+            }
+            cell.count += sign;
+            cell.latitudeSum += sign * point.latitude;
+            cell.longitudeSum += sign * point.longitude;
+            for (int category : point.categories) {
+                if (category >= 0 && category < categoryCount) {
+                    cell.categoryCounts[category] += sign;
+                }
+            }
+            if (cell.count <= 0) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    private List<Map<Long, Cell>> emptyLevels() {
+        List<Map<Long, Cell>> empty = new ArrayList<>(maxZoom + 1);
+        for (int level = 0; level <= maxZoom; level++) {
+            empty.add(new HashMap<>());
+        }
+        return empty;
+    }
+
+    private double cellDegrees(int level) {
+        return 360.0 / ((double) (1L << level) * cellsPerTile);
+    }
+
+    private static double clamp(double degrees, double limit) {
+        return Math.max(-limit, Math.min(limit, degrees));
+    }
+
+    private static long cell(double degrees, double cellDegrees) {
+        return (long) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long key(long row, long col) {
+        return (row << 32) | (col & 0xffffffffL);
+    }
+
+    private static final class Cell {
+        private int count;
+        private double latitudeSum;
+        private double longitudeSum;
+        private final int[] categoryCounts;
+
+        private Cell(int categoryCount) {
+            this.categoryCounts = new int[categoryCount];
+        }
+
+        private Cluster toCluster() {
+            int dominant = -1;
+            for (int category = 0; category < categoryCounts.length; category++) {
+                if (categoryCounts[category] > 0
+                        && (dominant < 0 || categoryCounts[category] > categoryCounts[dominant])) {
+                    dominant = category;
+                }
+            }
+            return new Cluster(count, latitudeSum / count, longitudeSum / count, dominant);
+        }
+    }
+
+    /**
+     * A point and the categories it counts towards (e.g. a project location and its themes)
+     */
+    public static final class Point {
+        private final double latitude;
+        private final double longitude;
+        private final int[] categories;
+
+        public Point(double latitude, double longitude, int[] categories) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.categories = categories != null ? categories.clone() : new int[0];
+        }
+    }
+
+    /**
+     * A cluster as returned by query(): point count, centroid and the most frequent category
+     * (-1 when none of its points has a category)
+     */
+    public static final class Cluster {
+        private final int count;
+        private final double latitude;
+        private final double longitude;
+        private final int dominantCategory;
+
+        private Cluster(int count, double latitude, double longitude, int dominantCategory) {
+            this.count = count;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.dominantCategory = dominantCategory;
+        }
+
+        public int getCount() { return count; }
+        public double getLatitude() { return latitude; }
+        public double getLongitude() { return longitude; }
+        public int getDominantCategory() { return dominantCategory; }
+    }
+}
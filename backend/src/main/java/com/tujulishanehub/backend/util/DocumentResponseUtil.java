@@ -0,0 +1,68 @@
+package com.tujulishanehub.backend.util;
+
+import com.tujulishanehub.backend.services.DocumentStore;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Builds file download/view responses.
+ * Documents held in the DocumentStore are streamed channel-to-channel so download memory
+ * stays constant; rows uploaded before the store existed still carry their bytes inline.
+ */
+public final class DocumentResponseUtil {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private DocumentResponseUtil() {
+    }
+
+    public static ResponseEntity<?> buildFileResponse(DocumentStore documentStore, String storageKey, byte[] legacyData,
+                                                      String fileName, String fileType, Long fileSize, boolean inline) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(fileType != null ? fileType : MediaType.APPLICATION_OCTET_STREAM_VALUE))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                (inline ? "inline" : "attachment") + "; filename=\"" + fileName + "\"");
+
+        if (storageKey == null) {
+            return builder.body(legacyData);
+        }
+
+        if (fileSize != null) {
+            builder.contentLength(fileSize);
+        }
+        StreamingResponseBody body = outputStream -> {
+            try (ReadableByteChannel in = documentStore.openChannel(storageKey)) {
+                transfer(in, Channels.newChannel(outputStream));
+            }
+        };
+        return builder.body(body);
+    }
+
+    private static void transfer(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        if (in instanceof FileChannel fileChannel) {
+            long position = 0;
+            long size = fileChannel.size();
+            while (position < size) {
+                position += fileChannel.transferTo(position, size - position, out);
+            }
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        while (in.read(buffer) != -1) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.tujulishanehub.backend.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory spatial index over a fixed latitude/longitude grid (cellDegrees square cells).
+ *
+ * Points are grouped by owner (e.g. a project with several locations) so an owner's points can be
+ * replaced or removed as a unit. A bounding-box query only visits the cells the box overlaps;
+ * cells entirely inside the box are copied without per-point checks. A nearest-neighbour query
+ * walks rings of cells outwards from the point and stops once no unvisited cell can be closer than
+ * the results already found. Reads share a lock and never block each other; writes are short and
+ * exclusive.
+ */
+public final class GeoGridIndex<T> {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final double cellDegrees;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, List<Entry<T>>> cells = new HashMap<>();
+    private Map<Long, List<Entry<T>>> byOwner = new HashMap<>();
+    private int size;
+
+    public GeoGridIndex(double cellDegrees) {
+        if (cellDegrees <= 0) {
+            throw new IllegalArgumentException("cellDegrees must be positive");
+        }
+        this.cellDegrees = cellDegrees;
+    }
+
+    /**
+     * Replace all points of an owner (an empty list removes it)
+     */
+    public void put(long owner, List<Entry<T>> entries) {
+        lock.writeLock().lock();
+        try {
+            removeOwner(owner);
+            if (entries != null && !entries.isEmpty()) {
+                List<Entry<T>> copy = List.copyOf(entries);
+                for (Entry<T> entry : copy) {
+                    cells.computeIfAbsent(cellKey(entry.latitude, entry.longitude), k -> new ArrayList<>()).add(entry);
+                }
+                byOwner.put(owner, copy);
+                size += copy.size();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all points of an owner
+     */
+    public void remove(long owner) {
+        lock.writeLock().lock();
+        try {
+            removeOwner(owner);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the whole index; the new grid is built before the lock is taken
+     */
+    public void replaceAll(Map<Long, List<Entry<T>>> entriesByOwner) {
+        Map<Long, List<Entry<T>>> newCells = new HashMap<>();
+        Map<Long, List<Entry<T>>> newByOwner = new HashMap<>(entriesByOwner.size() * 2);
+        int newSize = 0;
+        for (Map.Entry<Long, List<Entry<T>>> owner : entriesByOwner.entrySet()) {
+            List<Entry<T>> copy = List.copyOf(owner.getValue());
+            for (Entry<T> entry : copy) {
+                newCells.computeIfAbsent(cellKey(entry.latitude, entry.longitude), k -> new ArrayList<>()).add(entry);
+            }
+            newByOwner.put(owner.getKey(), copy);
+            newSize += copy.size();
+        }
+
+        lock.writeLock().lock();
+        try {
+            cells = newCells;
+            byOwner = newByOwner;
+            size = newSize;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Values of all points inside the box (edges included)
+     */
+    public List<T> query(double minLat, double maxLat, double minLng, double maxLng) {
+        double south = clamp(Math.min(minLat, maxLat), 90);
+        double north = clamp(Math.max(minLat, maxLat), 90);
+        double west = clamp(Math.min(minLng, maxLng), 180);
+        double east = clamp(Math.max(minLng, maxLng), 180);
+        long minRow = cell(south);
+        long maxRow = cell(north);
+        long minCol = cell(west);
+        long maxCol = cell(east);
+
+        List<T> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if ((maxRow - minRow + 1) * (maxCol - minCol + 1) > cells.size()) {
+                // Zoomed out further than the data: walk the occupied cells instead of the box
+                for (Map.Entry<Long, List<Entry<T>>> cell : cells.entrySet()) {
+                    long row = cell.getKey() >> 32;
+                    long col = (int) cell.getKey().longValue();
+                    if (row >= minRow && row <= maxRow && col >= minCol && col <= maxCol) {
+                        collect(cell.getValue(), row, col, south, north, west, east, result);
+                    }
+                }
+            } else {
+                for (long row = minRow; row <= maxRow; row++) {
+                    for (long col = minCol; col <= maxCol; col++) {
+                        List<Entry<T>> entries = cells.get(key(row, col));
+                        if (entries != null) {
+                            collect(entries, row, col, south, north, west, east, result);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Up to limit points nearest to a position and within maxDistanceKm of it (use
+     * Double.POSITIVE_INFINITY for no radius), closest first. Points whose value fails the filter
+     * are skipped. Distances are great-circle (haversine); longitudes do not wrap at +/-180.
+     */
+    public List<Neighbour<T>> nearest(double latitude, double longitude, double maxDistanceKm,
+                                      int limit, Predicate<? super T> filter) {
+        if (limit <= 0 || !(maxDistanceKm >= 0)) {
+            return List.of();
+        }
+        double lat = clamp(latitude, 90);
+        double lng = clamp(longitude, 180);
+        long centerRow = cell(lat);
+        long centerCol = cell(lng);
+        long maxRing = Math.max(Math.max(centerRow - cell(-90), cell(90) - centerRow),
+            Math.max(centerCol - cell(-180), cell(180) - centerCol));
+
+        // Max-heap on distance holding the best candidates so far
+        PriorityQueue<Neighbour<T>> best = new PriorityQueue<>(limit + 1,
+            Comparator.comparingDouble((Neighbour<T> neighbour) -> neighbour.distanceKm).reversed());
+        lock.readLock().lock();
+        try {
+            for (long ring = 0; ring <= maxRing; ring++) {
+                double bound = ringDistanceBound(lat, lng, centerRow, centerCol, ring);
+                if (bound > maxDistanceKm || (best.size() == limit && bound > best.peek().distanceKm)) {
+                    break;
+                }
+                if ((2 * ring + 1) * (2 * ring + 1) > 4L * cells.size()) {
+                    // The rings now cover far more cells than are occupied: finish with one pass over the occupied cells
+                    for (Map.Entry<Long, List<Entry<T>>> cell : cells.entrySet()) {
+                        long row = cell.getKey() >> 32;
+                        long col = (int) cell.getKey().longValue();
+                        if (Math.max(Math.abs(row - centerRow), Math.abs(col - centerCol)) >= ring) {
+                            offer(cell.getValue(), lat, lng, maxDistanceKm, limit, filter, best);
+                        }
+                    }
+                    break;
+                }
+                for (long row = centerRow - ring; row <= centerRow + ring; row++) {
+                    boolean edgeRow = row == centerRow - ring || row == centerRow + ring;
+                    long step = edgeRow || ring == 0 ? 1 : 2 * ring;
+                    for (long col = centerCol - ring; col <= centerCol + ring; col += step) {
+                        List<Entry<T>> entries = cells.get(key(row, col));
+                        if (entries != null) {
+                            offer(entries, lat, lng, maxDistanceKm, limit, filter, best);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Neighbour<T>> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Neighbour::getDistanceKm));
+        return result;
+    }
+
+    /**
+     * Number of indexed points
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collect(List<Entry<T>> entries, long row, long col,
+                         double south, double north, double west, double east, List<T> result) {
+        boolean inside = row * cellDegrees >= south && (row + 1) * cellDegrees <= north
+            && col * cellDegrees >= west && (col + 1) * cellDegrees <= east;
+        for (Entry<T> entry : entries) {
+            if (inside || (entry.latitude >= south && entry.latitude <= north
+                    && entry.longitude >= west && entry.longitude <= east)) {
+                result.add(entry.value);
+            }
+        }
+    }
+
+    private static <T> void offer(List<Entry<T>> entries, double latitude, double longitude, double maxDistanceKm,
+                                  int limit, Predicate<? super T> filter, PriorityQueue<Neighbour<T>> best) {
+        for (Entry<T> entry : entries) {
+            if (filter != null && !filter.test(entry.value)) {
+                continue;
+            }
+            double distance = distanceKm(latitude, longitude, entry.latitude, entry.longitude);
+            if (distance > maxDistanceKm || (best.size() == limit && distance >= best.peek().distanceKm)) {
+                continue;
+            }
+            best.add(new Neighbour<>(entry.value, distance));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+    }
+
+    /**
+     * Lower bound on the distance from a point in the centre cell to any point in the given ring:
+     * the gap to the edge of the square of rings already visited, in latitude or in longitude
+     */
+    private double ringDistanceBound(double latitude, double longitude, long centerRow, long centerCol, long ring) {
+        if (ring == 0) {
+            return 0;
+        }
+        double latGap = Math.min(latitude - (centerRow - ring + 1) * cellDegrees, (centerRow + ring) * cellDegrees - latitude);
+        double lngGap = Math.min(longitude - (centerCol - ring + 1) * cellDegrees, (centerCol + ring) * cellDegrees - longitude);
+        // A longitude gap is shortest at the most poleward latitude the ring reaches
+        double poleward = Math.min(90, Math.abs(latitude) + (ring + 1) * cellDegrees);
+        double byLat = EARTH_RADIUS_KM * Math.toRadians(latGap);
+        double byLng = 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1,
+            Math.cos(Math.toRadians(poleward)) * Math.sin(Math.toRadians(lngGap) / 2)));
+        return Math.max(0, Math.min(byLat, byLng));
+    }
+
+    /**
+     * Great-circle distance in kilometres (haversine formula)
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void removeOwner(long owner) {
+        List<Entry<T>> previous = byOwner.remove(owner);
+        if (previous == null) {
+            return;
+        }
+        for (Entry<T> entry : previous) {
+            long key = cellKey(entry.latitude, entry.longitude);
+            List<Entry<T>> cell = cells.get(key);
+            if (cell != null) {
+                cell.removeIf(candidate -> candidate == entry);
+                if (cell.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        }
+        size -= previous.size();
+    }
+
+    private static double clamp(double degrees, double limit) {
+        return Math.max(-limit, Math.min(limit, degrees));
+    }
+
+    private long cell(double degrees) {
+        return (long) Math.floor(degrees / cellDegrees);
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        return key(cell(latitude), cell(longitude));
+    }
+
+    private static long key(long row, long col) {
+        return (row << 32) | (col & 0xffffffffL);
+    }
+
+    /**
+     * A point and the value returned for it
+     */
+    public static final class Entry<T> {
+        private final double latitude;
+        private final double longitude;
+        private final T value;
+
+        public Entry(double latitude, double longitude, T value) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.value = value;
+        }
+
+        public double getLatitude() { return latitude; }
+        public double getLongitude() { return longitude; }
+        public T getValue() { return value; }
+    }
+
+    /**
+     * A value found by a nearest-neighbour query and its distance from the query point
+     */
+    public static final class Neighbour<T> {
+        private final T value;
+        private final double distanceKm;
+
+        public Neighbour(T value, double distanceKm) {
+            this.value = value;
+            this.distanceKm = distanceKm;
+        }
+
+        public T getValue() { return value; }
+        public double getDistanceKm() { return distanceKm; }
+    }
+}
@@ -3,6 +3,7 @@ package com.tujulishanehub.backend.util;
 import com.tujulishanehub.backend.models.User;
 import com.tujulishanehub.backend.services.UserService;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -14,8 +15,13 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -28,11 +34,21 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private Long expiration; // seconds
 
+    // Maximum number of verified tokens remembered by verifyToken
+    @Value("${jwt.claims-cache-size:10000}")
+    private int claimsCacheSize;
+
     @Autowired
     private UserService userService;
 
     private SecretKey signingKey;
 
+    // Parsers are immutable and thread-safe, so one is built up front instead of per call
+    private JwtParser jwtParser;
+
+    // Verified claims keyed by SHA-256 of the token; entries are dropped once the token expires
+    private Map<String, VerifiedClaims> claimsCache;
+
     @PostConstruct
     public void init() {
         try {
@@ -48,37 +64,59 @@ public class JwtUtil {
                 }
             }
             signingKey = Keys.hmacShaKeyFor(keyBytes);
+            jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+            claimsCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, VerifiedClaims> eldest) {
+                    return size() > claimsCacheSize;
+                }
+            });
         } catch (IllegalArgumentException e) {
             throw new IllegalStateException("JWT secret is too short for HS512. Provide a 512-bit (64+ byte) secret or a base64-encoded key. See https://tools.ietf.org/html/rfc7518#section-3.2", e);
         }
     }
 
+    /**
+     * Verify the token once and return its claims.
+     * Repeat requests with the same token are answered from the cache until the token expires,
+     * so the signature is checked once per token rather than once per claim per request.
+     */
+    public VerifiedClaims verifyToken(String token) {
+        String key = hashToken(token);
+        VerifiedClaims cached = claimsCache.get(key);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return cached;
+            }
+            // Expired: drop it and let the parser raise the usual ExpiredJwtException
+            claimsCache.remove(key);
+        }
+
+        VerifiedClaims verified = VerifiedClaims.from(getAllClaimsFromToken(token));
+        if (verified.getExpiresAt() != null) {
+            claimsCache.put(key, verified);
+        }
+        return verified;
+    }
+
     public String getUsernameFromToken(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
+        return verifyToken(token).getUsername();
     }
 
     public Date getExpirationDateFromToken(String token) {
-        return getClaimFromToken(token, Claims::getExpiration);
+        return verifyToken(token).getExpiresAt();
     }
 
     public String getRoleFromToken(String token) {
-        return getClaimFromToken(token, claims -> claims.get("role", String.class));
+        return verifyToken(token).getRole();
     }
 
     public Long getUserIdFromToken(String token) {
-        return getClaimFromToken(token, claims -> {
-            Object userIdObj = claims.get("userId");
-            if (userIdObj instanceof Integer) {
-                return ((Integer) userIdObj).longValue();
-            } else if (userIdObj instanceof Long) {
-                return (Long) userIdObj;
-            }
-            return null;
-        });
+        return verifyToken(token).getUserId();
     }
 
     public String getApprovalStatusFromToken(String token) {
-        return getClaimFromToken(token, claims -> claims.get("approvalStatus", String.class));
+        return verifyToken(token).getApprovalStatus();
     }
 
     public <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
@@ -87,7 +125,16 @@ public class JwtUtil {
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(signingKey).build().parseClaimsJws(token).getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    private static String hashToken(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     private Boolean isTokenExpired(String token) {
@@ -135,4 +182,45 @@ public class JwtUtil {
         final String username = getUsernameFromToken(token);
         return (username.equals(email) && !isTokenExpired(token));
     }
+
+    /**
+     * Claims of a token whose signature has been verified
+     */
+    public static class VerifiedClaims {
+        private final String username;
+        private final String role;
+        private final Long userId;
+        private final String approvalStatus;
+        private final Date expiresAt;
+
+        public VerifiedClaims(String username, String role, Long userId, String approvalStatus, Date expiresAt) {
+            this.username = username;
+            this.role = role;
+            this.userId = userId;
+            this.approvalStatus = approvalStatus;
+            this.expiresAt = expiresAt;
+        }
+
+        static VerifiedClaims from(Claims claims) {
+            Object userIdObj = claims.get("userId");
+            Long userId = userIdObj instanceof Number ? ((Number) userIdObj).longValue() : null;
+            return new VerifiedClaims(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                userId,
+                claims.get("approvalStatus", String.class),
+                claims.getExpiration()
+            );
+        }
+
+        public String getUsername() { return username; }
+        public String getRole() { return role; }
+        public Long getUserId() { return userId; }
+        public String getApprovalStatus() { return approvalStatus; }
+        public Date getExpiresAt() { return expiresAt; }
+
+        public boolean isExpired() {
+            return expiresAt != null && !expiresAt.after(new Date());
+        }
+    }
 }
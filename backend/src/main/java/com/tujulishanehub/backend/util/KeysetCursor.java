@@ -0,0 +1,118 @@
+package com.tujulishanehub.backend.util;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Position in a listing sorted on one of the whitelisted keys, with id as the tie-breaker, for
+ * keyset ("seek") pagination: the next page is the rows after the last one returned, found through
+ * the index instead of by skipping an offset.
+ *
+ * Clients only see the encoded form, an opaque URL-safe token carrying the sort key, direction and
+ * the last row's sort value and id.
+ */
+public final class KeysetCursor {
+
+    /**
+     * Sort keys a listing may be ordered (and seeked) on
+     */
+    public enum SortKey {
+        ID, CREATED_AT, TITLE;
+
+        /**
+         * Parse a sortBy parameter ("id", "created_at"/"createdAt", "title"; "name" is accepted as
+         * an alias of title for listings of named entities)
+         */
+        public static SortKey fromParam(String sortBy) {
+            if (sortBy == null || sortBy.isBlank()) {
+                return ID;
+            }
+            return switch (sortBy.trim().toLowerCase(Locale.ROOT)) {
+                case "id" -> ID;
+                case "created_at", "createdat" -> CREATED_AT;
+                case "title", "name" -> TITLE;
+                default -> throw new IllegalArgumentException("sortBy must be one of id, created_at, title");
+            };
+        }
+
+        /**
+         * Sort on this key, then id, in one direction; titleProperty names the entity's title field
+         */
+        public Sort sort(boolean descending, String titleProperty) {
+            Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+            return switch (this) {
+                case ID -> Sort.by(direction, "id");
+                case CREATED_AT -> Sort.by(direction, "createdAt", "id");
+                case TITLE -> Sort.by(direction, titleProperty, "id");
+            };
+        }
+    }
+
+    private final SortKey key;
+    private final boolean descending;
+    private final long lastId;
+    private final String lastValue;
+
+    private KeysetCursor(SortKey key, boolean descending, long lastId, String lastValue) {
+        this.key = key;
+        this.descending = descending;
+        this.lastId = lastId;
+        this.lastValue = lastValue;
+    }
+
+    /**
+     * Cursor positioned after a row, given the row's id and sort fields
+     */
+    public static KeysetCursor after(SortKey key, boolean descending, Long id, LocalDateTime createdAt, String title) {
+        String value = switch (key) {
+            case ID -> "";
+            case CREATED_AT -> createdAt != null ? createdAt.toString() : "";
+            case TITLE -> title != null ? title : "";
+        };
+        return new KeysetCursor(key, descending, id, value);
+    }
+
+    public String encode() {
+        String raw = key.name() + ':' + (descending ? 'D' : 'A') + ':' + lastId + ':' + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token from encode(); throws IllegalArgumentException for anything else
+     */
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 4);
+            if (parts.length != 4 || !(parts[1].equals("A") || parts[1].equals("D"))) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            KeysetCursor cursor = new KeysetCursor(SortKey.valueOf(parts[0]), parts[1].equals("D"),
+                Long.parseLong(parts[2]), parts[3]);
+            if (cursor.key == SortKey.CREATED_AT) {
+                cursor.getCreatedAt();
+            }
+            return cursor;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // NumberFormatException and unknown sort keys included
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public SortKey getKey() { return key; }
+    public boolean isDescending() { return descending; }
+    public long getLastId() { return lastId; }
+
+    public LocalDateTime getCreatedAt() {
+        return LocalDateTime.parse(lastValue);
+    }
+
+    public String getTitle() {
+        return lastValue;
+    }
+}
@@ -0,0 +1,73 @@
+package com.tujulishanehub.backend.util;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * One page of a listing: its rows, the cursor of the page after it (null on the last page) and,
+ * when asked for, the total number of rows.
+ */
+public final class KeysetPage<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+    private final Long totalItems;
+
+    public KeysetPage(List<T> items, String nextCursor, Long totalItems) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.totalItems = totalItems;
+    }
+
+    /**
+     * Page from rows fetched with a limit of size + 1: the extra row only tells that there is a
+     * next page and is dropped
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int size, Function<T, KeysetCursor> cursorOf, Long totalItems) {
+        boolean hasNext = rows.size() > size;
+        List<T> items = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(items.get(items.size() - 1)).encode() : null;
+        return new KeysetPage<>(items, nextCursor, totalItems);
+    }
+
+    /**
+     * Page of an offset listing (rows fetched with a limit of size). It has a next page unless it
+     * is short or the total says it is the last one.
+     */
+    public static <T> KeysetPage<T> ofOffset(List<T> rows, int page, int size, Function<T, KeysetCursor> cursorOf,
+                                             Long totalItems) {
+        boolean hasNext = !rows.isEmpty() && rows.size() == size
+            && (totalItems == null || (long) (page + 1) * size < totalItems);
+        String nextCursor = hasNext ? cursorOf.apply(rows.get(rows.size() - 1)).encode() : null;
+        return new KeysetPage<>(rows, nextCursor, totalItems);
+    }
+
+    public List<T> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+    public Long getTotalItems() { return totalItems; }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Paging fields of a listing response: hasNext, hasPrevious, nextCursor and, when known,
+     * currentPage (null for cursor requests), totalItems and totalPages
+     */
+    public Map<String, Object> toPageData(Integer currentPage, int size) {
+        Map<String, Object> data = new HashMap<>();
+        if (currentPage != null) {
+            data.put("currentPage", currentPage);
+        }
+        if (totalItems != null) {
+            data.put("totalItems", totalItems);
+            data.put("totalPages", (totalItems + size - 1) / size);
+        }
+        data.put("hasNext", hasNext());
+        data.put("hasPrevious", currentPage == null || currentPage > 0);
+        data.put("nextCursor", nextCursor);
+        return data;
+    }
+}
@@ -0,0 +1,136 @@
+package com.tujulishanehub.backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Point-in-polygon lookup over a fixed set of (multi)polygons, e.g. administrative boundaries.
+ *
+ * Each shape and each of its polygons carries a bounding box, so a lookup only runs the
+ * even-odd ray test on the few polygons whose box contains the point. Rings are given in GeoJSON
+ * order ([longitude, latitude] pairs); the first ring of a polygon is its outline and any further
+ * rings are holes. Build the index once and then share it read-only.
+ */
+public final class PolygonIndex<T> {
+
+    private final List<Shape<T>> shapes = new ArrayList<>();
+
+    /**
+     * Add a shape made of one or more polygons, each a list of rings of [lng, lat] points
+     */
+    public void add(T value, List<List<double[][]>> polygons) {
+        List<Polygon> built = new ArrayList<>();
+        for (List<double[][]> rings : polygons) {
+            if (!rings.isEmpty() && rings.get(0).length >= 3) {
+                built.add(new Polygon(rings));
+            }
+        }
+        if (!built.isEmpty()) {
+            shapes.add(new Shape<>(value, built));
+        }
+    }
+
+    /**
+     * Value of the first shape containing the point, or null
+     */
+    public T locate(double latitude, double longitude) {
+        for (Shape<T> shape : shapes) {
+            if (shape.bounds.contains(longitude, latitude)) {
+                for (Polygon polygon : shape.polygons) {
+                    if (polygon.contains(longitude, latitude)) {
+                        return shape.value;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return shapes.size();
+    }
+
+    private static final class Shape<T> {
+        private final T value;
+        private final List<Polygon> polygons;
+        private final Bounds bounds = new Bounds();
+
+        private Shape(T value, List<Polygon> polygons) {
+            this.value = value;
+            this.polygons = polygons;
+            polygons.forEach(polygon -> bounds.include(polygon.bounds));
+        }
+    }
+
+    private static final class Polygon {
+        private final double[][] xs;
+        private final double[][] ys;
+        private final Bounds bounds = new Bounds();
+
+        private Polygon(List<double[][]> rings) {
+            xs = new double[rings.size()][];
+            ys = new double[rings.size()][];
+            for (int r = 0; r < rings.size(); r++) {
+                double[][] ring = rings.get(r);
+                xs[r] = new double[ring.length];
+                ys[r] = new double[ring.length];
+                for (int i = 0; i < ring.length; i++) {
+                    xs[r][i] = ring[i][0];
+                    ys[r][i] = ring[i][1];
+                }
+            }
+            for (int i = 0; i < xs[0].length; i++) {
+                bounds.include(xs[0][i], ys[0][i]);
+            }
+        }
+
+        private boolean contains(double x, double y) {
+            if (!bounds.contains(x, y) || !inRing(xs[0], ys[0], x, y)) {
+                return false;
+            }
+            for (int r = 1; r < xs.length; r++) {
+                if (inRing(xs[r], ys[r], x, y)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Even-odd rule: count edges crossed by a ray from the point towards +x
+         */
+        private static boolean inRing(double[] xs, double[] ys, double x, double y) {
+            boolean inside = false;
+            for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+                if ((ys[i] > y) != (ys[j] > y)
+                        && x < (xs[j] - xs[i]) * (y - ys[i]) / (ys[j] - ys[i]) + xs[i]) {
+                    inside = !inside;
+                }
+            }
+            return inside;
+        }
+    }
+
+    private static final class Bounds {
+        private double minX = Double.POSITIVE_INFINITY;
+        private double minY = Double.POSITIVE_INFINITY;
+        private double maxX = Double.NEGATIVE_INFINITY;
+        private double maxY = Double.NEGATIVE_INFINITY;
+
+        private void include(double x, double y) {
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+        }
+
+        private void include(Bounds other) {
+            include(other.minX, other.minY);
+            include(other.maxX, other.maxY);
+        }
+
+        private boolean contains(double x, double y) {
+            return x >= minX && x <= maxX && y >= minY && y <= maxY;
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.tujulishanehub.backend.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index for ranked full-text search over documents made of weighted fields
+ * (e.g. title, summary, content).
+ *
+ * Text is lower-cased, split on anything that is not a letter or digit, stripped of common English
+ * stop words and lightly stemmed, so "reports" and "report" match. A query matches documents that
+ * contain every query term in any field; a term prefixed with "-" excludes documents containing it.
+ * Matches are ranked with BM25 over the field-weighted term frequencies.
+ */
+public final class TextSearchIndex {
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "has", "have", "in",
+        "into", "is", "it", "its", "of", "on", "or", "that", "the", "their", "this", "to", "was",
+        "were", "which", "will", "with");
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final double[] fieldWeights;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (document id -> field-weighted term frequency)
+    private final Map<String, Map<Long, Double>> postings = new HashMap<>();
+    // document id -> its distinct terms, to unindex it
+    private final Map<Long, String[]> documentTerms = new HashMap<>();
+    private final Map<Long, Double> documentLengths = new HashMap<>();
+    private double totalLength;
+
+    /**
+     * @param fieldWeights weight of each field, in the order fields are passed to put
+     */
+    public TextSearchIndex(double... fieldWeights) {
+        this.fieldWeights = fieldWeights.clone();
+    }
+
+    /**
+     * Index (or re-index) a document; fields follow the order of the constructor's weights
+     */
+    public void put(long id, String... fields) {
+        Map<String, Double> frequencies = new HashMap<>();
+        double length = 0;
+        for (int f = 0; f < fields.length && f < fieldWeights.length; f++) {
+            for (String term : terms(fields[f])) {
+                frequencies.merge(term, fieldWeights[f], Double::sum);
+                length += fieldWeights[f];
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            for (Map.Entry<String, Double> frequency : frequencies.entrySet()) {
+                postings.computeIfAbsent(frequency.getKey(), k -> new HashMap<>()).put(id, frequency.getValue());
+            }
+            documentTerms.put(id, frequencies.keySet().toArray(String[]::new));
+            documentLengths.put(id, length);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a document from the index
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove every document
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentTerms.clear();
+            documentLengths.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Documents matching every query term and accepted by the filter, best first
+     */
+    public List<Hit> search(String query, LongPredicate filter) {
+        Query parsed = Query.parse(query);
+        if (parsed.required.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Double>> required = new ArrayList<>();
+            for (String term : parsed.required) {
+                Map<Long, Double> documents = postings.get(term);
+                if (documents == null) {
+                    return List.of();
+                }
+                required.add(documents);
+            }
+            // Walk the rarest term's postings and probe the others
+            required.sort(Comparator.comparingInt(Map::size));
+
+            int documentCount = documentLengths.size();
+            double averageLength = documentCount > 0 ? totalLength / documentCount : 1;
+            double[] idf = new double[required.size()];
+            for (int t = 0; t < required.size(); t++) {
+                int df = required.get(t).size();
+                idf[t] = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+            }
+
+            List<Hit> hits = new ArrayList<>();
+            candidates:
+            for (Map.Entry<Long, Double> candidate : required.get(0).entrySet()) {
+                long id = candidate.getKey();
+                for (String excluded : parsed.excluded) {
+                    Map<Long, Double> documents = postings.get(excluded);
+                    if (documents != null && documents.containsKey(id)) {
+                        continue candidates;
+                    }
+                }
+                double norm = K1 * (1 - B + B * documentLengths.get(id) / averageLength);
+                double score = 0;
+                for (int t = 0; t < required.size(); t++) {
+                    Double tf = t == 0 ? candidate.getValue() : required.get(t).get(id);
+                    if (tf == null) {
+                        continue candidates;
+                    }
+                    score += idf[t] * tf * (K1 + 1) / (tf + norm);
+                }
+                if (filter == null || filter.test(id)) {
+                    hits.add(new Hit(id, score));
+                }
+            }
+            hits.sort(Comparator.comparingDouble(Hit::getScore).reversed().thenComparing(Hit::getId, Comparator.reverseOrder()));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed documents
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentLengths.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index terms of a text, in order (stop words removed, stemmed)
+     */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        Matcher matcher = WORD.matcher(text);
+        while (matcher.find()) {
+            String term = term(matcher.group());
+            if (term != null) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * An HTML excerpt of about maxWords words around the densest cluster of query terms, with the
+     * matching words wrapped in &lt;mark&gt;. The text itself is HTML-escaped.
+     */
+    public static String snippet(String text, String query, int maxWords) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        Set<String> wanted = new HashSet<>(Query.parse(query).required);
+        List<int[]> words = new ArrayList<>();
+        List<Boolean> matches = new ArrayList<>();
+        Matcher matcher = WORD.matcher(text);
+        while (matcher.find()) {
+            words.add(new int[]{matcher.start(), matcher.end()});
+            String term = term(matcher.group());
+            matches.add(term != null && wanted.contains(term));
+        }
+        if (words.isEmpty()) {
+            return "";
+        }
+
+        // Window of maxWords words with the most matches
+        int window = Math.min(maxWords, words.size());
+        int bestStart = 0, best = -1, current = 0;
+        for (int i = 0; i < words.size(); i++) {
+            if (matches.get(i)) {
+                current++;
+            }
+            if (i >= window && matches.get(i - window)) {
+                current--;
+            }
+            if (i >= window - 1 && current > best) {
+                best = current;
+                bestStart = i - window + 1;
+            }
+        }
+        int bestEnd = bestStart + window - 1;
+
+        StringBuilder snippet = new StringBuilder();
+        if (bestStart > 0) {
+            snippet.append("\u2026 ");
+        }
+        int from = words.get(bestStart)[0];
+        for (int i = bestStart; i <= bestEnd; i++) {
+            int[] word = words.get(i);
+            escape(text.substring(from, word[0]), snippet);
+            if (matches.get(i)) {
+                snippet.append("<mark>");
+                escape(text.substring(word[0], word[1]), snippet);
+                snippet.append("</mark>");
+            } else {
+                escape(text.substring(word[0], word[1]), snippet);
+            }
+            from = word[1];
+        }
+        if (bestEnd < words.size() - 1) {
+            snippet.append(" \u2026");
+        }
+        return snippet.toString();
+    }
+
+    private void removeDocument(long id) {
+        String[] terms = documentTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Double> documents = postings.get(term);
+            if (documents != null) {
+                documents.remove(id);
+                if (documents.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= documentLengths.remove(id);
+    }
+
+    private static String term(String word) {
+        String lower = word.toLowerCase(Locale.ROOT);
+        return STOP_WORDS.contains(lower) ? null : stem(lower);
+    }
+
+    /**
+     * Light English suffix stripping; only needs to be consistent between indexing and querying
+     */
+    private static String stem(String word) {
+        int length = word.length();
+        if (length > 4 && word.endsWith("ies")) {
+            return word.substring(0, length - 3) + "y";
+        }
+        if (length > 5 && word.endsWith("ing")) {
+            return word.substring(0, length - 3);
+        }
+        if (length > 4 && word.endsWith("ed")) {
+            return word.substring(0, length - 2);
+        }
+        if (word.endsWith("sses")) {
+            return word.substring(0, length - 2);
+        }
+        if (length > 3 && word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us")) {
+            return word.substring(0, length - 1);
+        }
+        return word;
+    }
+
+    private static void escape(String text, StringBuilder out) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private static final class Query {
+        private final Set<String> required = new LinkedHashSet<>();
+        private final Set<String> excluded = new LinkedHashSet<>();
+
+        private static Query parse(String query) {
+            Query parsed = new Query();
+            if (query == null) {
+                return parsed;
+            }
+            for (String token : query.trim().split("\\s+")) {
+                boolean exclude = token.startsWith("-") && token.length() > 1;
+                List<String> terms = terms(exclude ? token.substring(1) : token);
+                (exclude ? parsed.excluded : parsed.required).addAll(terms);
+            }
+            parsed.required.removeAll(parsed.excluded);
+            return parsed;
+        }
+    }
+
+    /**
+     * A matching document and its relevance score
+     */
+    public static final class Hit {
+        private final long id;
+        private final double score;
+
+        public Hit(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        public long getId() { return id; }
+        public double getScore() { return score; }
+    }
+}
@@ -0,0 +1,16 @@
+-- Locations can be saved before their maps address is geocoded, so coordinates become optional
+-- and each location records where its coordinates came from.
+
+ALTER TABLE project_locations ALTER COLUMN latitude DROP NOT NULL;
+ALTER TABLE project_locations ALTER COLUMN longitude DROP NOT NULL;
+
+ALTER TABLE project_locations ADD COLUMN IF NOT EXISTS geocode_status VARCHAR(20);
+ALTER TABLE project_locations ADD COLUMN IF NOT EXISTS geocoded_at TIMESTAMP;
+
+-- Existing rows either came with coordinates or were geocoded inline when saved
+UPDATE project_locations SET geocode_status = 'RESOLVED' WHERE geocode_status IS NULL;
+
+-- The geocoding worker re-queues pending locations at startup
+CREATE INDEX IF NOT EXISTS idx_project_locations_geocode_pending
+    ON project_locations (id)
+    WHERE geocode_status = 'PENDING';
@@ -0,0 +1,15 @@
+-- Persistent geocoder cache keyed by normalized address (see GeocodeCache).
+-- Negative entries have NULL coordinates and an expires_at so they are retried later.
+
+CREATE TABLE IF NOT EXISTS geocode_cache (
+    address_key VARCHAR(512) PRIMARY KEY,
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    message VARCHAR(255),
+    cached_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP
+);
+
+-- Startup warm-up loads the newest entries; the purge removes expired ones
+CREATE INDEX IF NOT EXISTS idx_geocode_cache_cached_at ON geocode_cache (cached_at DESC);
+CREATE INDEX IF NOT EXISTS idx_geocode_cache_expires_at ON geocode_cache (expires_at) WHERE expires_at IS NOT NULL;
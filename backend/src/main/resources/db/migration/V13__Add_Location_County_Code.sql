@@ -0,0 +1,8 @@
+-- Canonical county for each project location (official county code 1-47), derived from the
+-- coordinates and typed names on save. Existing rows are filled in by the county backfill job
+-- that runs at startup.
+
+ALTER TABLE project_locations ADD COLUMN IF NOT EXISTS county_code INTEGER;
+
+-- County statistics and county filters group and match on the code
+CREATE INDEX IF NOT EXISTS idx_project_locations_county_code ON project_locations (county_code);
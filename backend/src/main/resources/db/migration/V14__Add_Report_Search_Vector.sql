@@ -0,0 +1,13 @@
+-- Full-text search over project reports (GET /api/reports/search).
+-- The search vector is a stored generated column, so it is kept up to date by Postgres on every
+-- insert and update. Title matches rank above summary matches, which rank above content matches.
+
+ALTER TABLE project_reports ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(summary, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(content, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_project_reports_search_vector
+    ON project_reports USING gin (search_vector);
@@ -0,0 +1,30 @@
+-- Keyset pagination of GET /api/projects, /api/organizations and /api/reports/completion.
+-- Each page seeks past the last (sort key, id) of the previous one, so every whitelisted sort key
+-- gets an index ending in id. Rows saved without created_at would never be reached by a
+-- created_at seek; they are given their updated_at, or the epoch when that is missing too.
+
+UPDATE projects SET created_at = COALESCE(updated_at, TIMESTAMP '1970-01-01 00:00:00') WHERE created_at IS NULL;
+UPDATE organizations SET created_at = COALESCE(updated_at, TIMESTAMP '1970-01-01 00:00:00') WHERE created_at IS NULL;
+UPDATE project_reports SET created_at = COALESCE(updated_at, TIMESTAMP '1970-01-01 00:00:00') WHERE created_at IS NULL;
+
+-- ==================== PROJECTS ====================
+
+CREATE INDEX IF NOT EXISTS idx_projects_created_at_id ON projects (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_projects_title_id ON projects (title, id);
+
+-- ==================== ORGANIZATIONS ====================
+-- name is already unique (and indexed), so it needs no id suffix
+
+CREATE INDEX IF NOT EXISTS idx_organizations_created_at_id ON organizations (created_at, id);
+
+-- ==================== COMPLETION REPORTS ====================
+
+CREATE INDEX IF NOT EXISTS idx_project_reports_completion_created_at_id
+    ON project_reports (created_at, id)
+    WHERE report_type = 'COMPLETION' AND report_status = 'PUBLISHED';
+CREATE INDEX IF NOT EXISTS idx_project_reports_completion_title_id
+    ON project_reports (title, id)
+    WHERE report_type = 'COMPLETION' AND report_status = 'PUBLISHED';
+CREATE INDEX IF NOT EXISTS idx_project_reports_completion_id
+    ON project_reports (id)
+    WHERE report_type = 'COMPLETION' AND report_status = 'PUBLISHED';
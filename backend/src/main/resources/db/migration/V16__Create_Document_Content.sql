@@ -0,0 +1,9 @@
+-- Uploaded document content for the default (database) DocumentStore, keyed by SHA-256.
+-- The local filesystem store is opt-in: container filesystems do not survive a redeploy.
+
+CREATE TABLE IF NOT EXISTS document_content (
+    storage_key VARCHAR(64) PRIMARY KEY,
+    data BYTEA NOT NULL,
+    file_size BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
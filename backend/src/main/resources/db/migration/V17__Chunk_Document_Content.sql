@@ -0,0 +1,17 @@
+-- Stored document content moves into fixed-size chunks, so a download reads one chunk at a time
+-- instead of the driver materialising the whole bytea value
+CREATE TABLE IF NOT EXISTS document_content_chunks (
+    storage_key VARCHAR(64) NOT NULL REFERENCES document_content (storage_key) ON DELETE CASCADE,
+    chunk_index INTEGER NOT NULL,
+    data BYTEA NOT NULL,
+    PRIMARY KEY (storage_key, chunk_index)
+);
+
+-- Split content stored before this migration into 1 MiB chunks
+INSERT INTO document_content_chunks (storage_key, chunk_index, data)
+SELECT c.storage_key, g.i, substring(c.data FROM g.i * 1048576 + 1 FOR 1048576)
+FROM document_content c,
+     generate_series(0, (length(c.data) - 1) / 1048576) AS g(i)
+WHERE length(c.data) > 0;
+
+ALTER TABLE document_content DROP COLUMN IF EXISTS data;
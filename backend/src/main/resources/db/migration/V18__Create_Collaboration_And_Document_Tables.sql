@@ -0,0 +1,80 @@
+-- Tables that used to be left to Hibernate (ddl-auto=update). Flyway runs before Hibernate, so
+-- on a fresh database V9 found none of them and skipped their indexes. Creating them here, with
+-- the columns of their entities, lets the indexes be created unconditionally; on databases
+-- where Hibernate already created them the CREATE TABLE statements do nothing.
+
+CREATE TABLE IF NOT EXISTS collaboration_requests (
+    id BIGSERIAL PRIMARY KEY,
+    announcement_id BIGINT NOT NULL REFERENCES announcements(id),
+    requesting_user_id BIGINT NOT NULL REFERENCES users(id),
+    requesting_organization_id BIGINT REFERENCES organizations(id),
+    message TEXT,
+    proposed_contribution TEXT,
+    status VARCHAR(255),
+    reviewed_by BIGINT REFERENCES users(id),
+    reviewed_at TIMESTAMP,
+    review_notes TEXT,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS project_collaborators (
+    id BIGSERIAL PRIMARY KEY,
+    project_id BIGINT NOT NULL REFERENCES projects(id),
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    organization_id BIGINT REFERENCES organizations(id),
+    role VARCHAR(255) NOT NULL,
+    added_by BIGINT REFERENCES users(id),
+    added_at TIMESTAMP NOT NULL,
+    removed_at TIMESTAMP,
+    is_active BOOLEAN NOT NULL,
+    notes TEXT,
+    UNIQUE (project_id, user_id)
+);
+
+CREATE TABLE IF NOT EXISTS project_report_document (
+    id BIGSERIAL PRIMARY KEY,
+    file_name VARCHAR(255),
+    file_type VARCHAR(255),
+    file_size BIGINT,
+    data BYTEA,
+    storage_key VARCHAR(64),
+    project_id BIGINT REFERENCES projects(id),
+    uploaded_by VARCHAR(255),
+    uploaded_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS user_documents (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT REFERENCES users(id),
+    file_name VARCHAR(255) NOT NULL,
+    file_type VARCHAR(255) NOT NULL,
+    file_size BIGINT NOT NULL,
+    file_data BYTEA,
+    storage_key VARCHAR(64),
+    uploaded_by BIGINT REFERENCES users(id),
+    status VARCHAR(255),
+    upload_date TIMESTAMP,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- ==================== INDEXES SKIPPED BY V9 ON FRESH DATABASES ====================
+
+CREATE INDEX IF NOT EXISTS idx_collaboration_requests_announcement_id
+    ON collaboration_requests (announcement_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_collaboration_requests_requesting_user_id
+    ON collaboration_requests (requesting_user_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_collaboration_requests_status
+    ON collaboration_requests (status, created_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_project_collaborators_active_project
+    ON project_collaborators (project_id)
+    WHERE is_active = true;
+CREATE INDEX IF NOT EXISTS idx_project_collaborators_active_user
+    ON project_collaborators (user_id)
+    WHERE is_active = true;
+
+CREATE INDEX IF NOT EXISTS idx_project_report_document_project_id
+    ON project_report_document (project_id);
+
+CREATE INDEX IF NOT EXISTS idx_user_documents_user_id ON user_documents (user_id);
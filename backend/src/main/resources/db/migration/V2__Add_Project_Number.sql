@@ -0,0 +1 @@
+ALTER TABLE projects ADD COLUMN project_no VARCHAR(10) UNIQUE;
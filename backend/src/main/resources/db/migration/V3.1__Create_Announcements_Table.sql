@@ -0,0 +1,6 @@
+CREATE TABLE IF NOT EXISTS announcements (
+  id UUID PRIMARY KEY,
+  title TEXT NOT NULL,
+  content TEXT NOT NULL,
+  created_at TIMESTAMP DEFAULT NOW()
+);
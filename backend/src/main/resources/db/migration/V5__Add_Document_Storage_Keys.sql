@@ -0,0 +1,10 @@
+-- Uploaded file content moves out of bytea columns into the document store.
+-- Rows keep their metadata plus a content-addressed storage key; legacy rows keep their inline bytes.
+
+ALTER TABLE project_document ADD COLUMN IF NOT EXISTS storage_key VARCHAR(64);
+
+-- user_documents and project_report_document are created by Hibernate, so guard for fresh databases
+ALTER TABLE IF EXISTS user_documents ADD COLUMN IF NOT EXISTS storage_key VARCHAR(64);
+ALTER TABLE IF EXISTS user_documents ALTER COLUMN file_data DROP NOT NULL;
+
+ALTER TABLE IF EXISTS project_report_document ADD COLUMN IF NOT EXISTS storage_key VARCHAR(64);
@@ -0,0 +1,37 @@
+-- Organization logo bytes move out of the organizations row into their own table,
+-- so organization and user queries stop reading image data they never use.
+
+CREATE TABLE IF NOT EXISTS organization_logos (
+    organization_id BIGINT PRIMARY KEY REFERENCES organizations(id) ON DELETE CASCADE,
+    data BYTEA NOT NULL,
+    content_type VARCHAR(255),
+    file_size BIGINT,
+    etag VARCHAR(64),
+    updated_at TIMESTAMP
+);
+
+ALTER TABLE organizations ADD COLUMN IF NOT EXISTS logo_etag VARCHAR(64);
+ALTER TABLE organizations ADD COLUMN IF NOT EXISTS logo_updated_at TIMESTAMP;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'organizations' AND column_name = 'logo_data') THEN
+
+        INSERT INTO organization_logos (organization_id, data, content_type, file_size, etag, updated_at)
+        SELECT id, logo_data, COALESCE(logo_content_type, 'image/jpeg'), length(logo_data),
+               encode(sha256(logo_data), 'hex'), COALESCE(updated_at, now())
+        FROM organizations
+        WHERE logo_data IS NOT NULL AND length(logo_data) > 0
+        ON CONFLICT (organization_id) DO NOTHING;
+
+        UPDATE organizations o
+        SET logo_content_type = l.content_type,
+            logo_etag = l.etag,
+            logo_updated_at = l.updated_at
+        FROM organization_logos l
+        WHERE l.organization_id = o.id;
+
+        ALTER TABLE organizations DROP COLUMN logo_data;
+    END IF;
+END $$;
@@ -0,0 +1,8 @@
+-- Counter rows for allocating project numbers without scanning the projects table.
+-- The 'project_no' row is created by ProjectNumberAllocator on first use, starting after the
+-- highest existing P-NNNN number, so projects seeded at startup are taken into account.
+
+CREATE TABLE IF NOT EXISTS project_number_counters (
+    name VARCHAR(50) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
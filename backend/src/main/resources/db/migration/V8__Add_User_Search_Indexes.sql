@@ -0,0 +1,18 @@
+-- Indexes for the admin user typeahead (GET /api/auth/admin/users/search), which filters on
+-- LOWER(name) LIKE '%q%' OR LOWER(email) LIKE '%q%'.
+-- Only trigram GIN indexes can serve a leading-wildcard match. If pg_trgm cannot be installed no
+-- index is created: a B-tree could only serve prefix matches, which the search never runs.
+
+DO $$
+BEGIN
+    BEGIN
+        CREATE EXTENSION IF NOT EXISTS pg_trgm;
+    EXCEPTION WHEN insufficient_privilege OR undefined_file THEN
+        RAISE NOTICE 'pg_trgm extension unavailable, user search will scan the users table';
+    END;
+
+    IF EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm') THEN
+        CREATE INDEX IF NOT EXISTS idx_users_name_lower_trgm ON users USING gin (lower(name) gin_trgm_ops);
+        CREATE INDEX IF NOT EXISTS idx_users_email_lower_trgm ON users USING gin (lower(email) gin_trgm_ops);
+    END IF;
+END $$;
@@ -0,0 +1,94 @@
+-- Indexes for the predicates used on every dashboard, queue and map request.
+-- Postgres does not index foreign keys automatically, so project_id joins are covered here too.
+
+-- ==================== PROJECTS ====================
+
+-- Reviewer / approver queues: filter on workflow status, oldest first
+CREATE INDEX IF NOT EXISTS idx_projects_workflow_status_created_at
+    ON projects (approval_workflow_status, created_at);
+
+-- "My projects", partner statistics and partner lookups
+CREATE INDEX IF NOT EXISTS idx_projects_partner ON projects (partner);
+CREATE INDEX IF NOT EXISTS idx_projects_contact_person_email ON projects (contact_person_email);
+
+-- Status filters and counts
+CREATE INDEX IF NOT EXISTS idx_projects_status ON projects (status);
+
+-- Public statistics and category counts only ever look at approved projects
+CREATE INDEX IF NOT EXISTS idx_projects_approved_category
+    ON projects (project_category)
+    WHERE approval_workflow_status = 'APPROVED';
+
+-- Recent projects on the admin dashboard
+CREATE INDEX IF NOT EXISTS idx_projects_created_at ON projects (created_at DESC);
+
+-- ==================== PROJECT CHILD TABLES ====================
+
+CREATE INDEX IF NOT EXISTS idx_project_locations_project_id ON project_locations (project_id);
+CREATE INDEX IF NOT EXISTS idx_project_locations_county ON project_locations (county);
+
+-- Bounding-box map queries
+CREATE INDEX IF NOT EXISTS idx_project_locations_lat_lng
+    ON project_locations (latitude, longitude)
+    WHERE latitude IS NOT NULL AND longitude IS NOT NULL;
+
+-- Reviewer queues probe theme assignments by theme, then by project
+CREATE INDEX IF NOT EXISTS idx_project_theme_assignments_theme_project
+    ON project_theme_assignments (project_theme, project_id);
+CREATE INDEX IF NOT EXISTS idx_project_theme_assignments_project_id
+    ON project_theme_assignments (project_id);
+
+CREATE INDEX IF NOT EXISTS idx_project_document_project_id ON project_document (project_id);
+
+-- Admin document listing pages through active documents by id
+CREATE INDEX IF NOT EXISTS idx_project_document_active_id
+    ON project_document (id)
+    WHERE status = 'ACTIVE';
+
+-- ==================== REPORTS ====================
+
+CREATE INDEX IF NOT EXISTS idx_project_reports_project_id ON project_reports (project_id);
+CREATE INDEX IF NOT EXISTS idx_project_reports_status_published_at
+    ON project_reports (report_status, published_at DESC);
+CREATE INDEX IF NOT EXISTS idx_project_reports_submitted_by ON project_reports (submitted_by);
+
+-- ==================== USERS ====================
+
+CREATE INDEX IF NOT EXISTS idx_users_organization_id ON users (organization_id);
+CREATE INDEX IF NOT EXISTS idx_users_role ON users (role);
+
+CREATE INDEX IF NOT EXISTS idx_announcements_project_id ON announcements (project_id);
+
+-- ==================== HIBERNATE-MANAGED TABLES ====================
+-- These tables are created by Hibernate (ddl-auto=update) after Flyway runs,
+-- so on a fresh database they do not exist yet and are skipped here.
+
+DO $$
+BEGIN
+    IF to_regclass('public.collaboration_requests') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_collaboration_requests_announcement_id
+            ON collaboration_requests (announcement_id, created_at DESC);
+        CREATE INDEX IF NOT EXISTS idx_collaboration_requests_requesting_user_id
+            ON collaboration_requests (requesting_user_id, created_at DESC);
+        CREATE INDEX IF NOT EXISTS idx_collaboration_requests_status
+            ON collaboration_requests (status, created_at DESC);
+    END IF;
+
+    IF to_regclass('public.project_collaborators') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_project_collaborators_active_project
+            ON project_collaborators (project_id)
+            WHERE is_active = true;
+        CREATE INDEX IF NOT EXISTS idx_project_collaborators_active_user
+            ON project_collaborators (user_id)
+            WHERE is_active = true;
+    END IF;
+
+    IF to_regclass('public.project_report_document') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_project_report_document_project_id
+            ON project_report_document (project_id);
+    END IF;
+
+    IF to_regclass('public.user_documents') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_user_documents_user_id ON user_documents (user_id);
+    END IF;
+END $$;
@@ -0,0 +1,105 @@
+package com.tujulishanehub.backend.payload;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tujulishanehub.backend.config.JacksonConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProjectViewTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    @Test
+    void fieldsAreServedByTheCheapestCoveringView() {
+        assertEquals(ProjectView.SUMMARY, ProjectView.covering(Set.of("id", "title", "partnerName")));
+        assertEquals(ProjectView.MAP, ProjectView.covering(Set.of("id", "title", "locations")));
+        assertEquals(ProjectView.FULL, ProjectView.covering(Set.of("title", "objectives")));
+    }
+
+    @Test
+    void unknownFieldsAreRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> ProjectView.covering(Set.of("title", "titel", "budjet")));
+
+        assertTrue(e.getMessage().startsWith("Unknown fields: budjet, titel."), e.getMessage());
+        assertTrue(e.getMessage().contains("objectives"), e.getMessage());
+    }
+
+    @Test
+    void emptyFieldListIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ProjectView.covering(Set.of()));
+    }
+
+    @Test
+    void responseFieldsAreTheDtoProperties() {
+        for (String field : Set.of("id", "title", "themes", "locations", "objectives", "hasReports", "createdAt")) {
+            assertTrue(ProjectView.RESPONSE_FIELDS.contains(field), field);
+        }
+        assertFalse(ProjectView.RESPONSE_FIELDS.contains("FIELD_FILTER"));
+    }
+
+    @Test
+    void withoutFiltersEveryFieldIsWritten() throws Exception {
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(response()));
+
+        assertEquals(Set.of("id", "title", "objectives", "budget", "status", "themes"), fieldNames(json));
+    }
+
+    @Test
+    void fieldFilterWritesOnlyTheRequestedFields() throws Exception {
+        JsonNode json = objectMapper.readTree(objectMapper.writer(ProjectResponse.onlyFields(Set.of("id", "themes")))
+            .writeValueAsString(List.of(response())));
+
+        assertEquals(Set.of("id", "themes"), fieldNames(json.get(0)));
+        // Nested DTOs are written whole
+        assertEquals(Set.of("code", "name"), fieldNames(json.get(0).get("themes").get(0)));
+    }
+
+    @Test
+    void messageConverterAppliesTheRequestFilters() throws Exception {
+        ApiResponse<Map<String, Object>> response = new ApiResponse<>(200, "Projects retrieved successfully",
+            Map.of("projects", List.of(response()), "view", "full"));
+        MappingJacksonValue body = new MappingJacksonValue(response);
+        body.setFilters(ProjectResponse.onlyFields(Set.of("title", "status")));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        new MappingJackson2HttpMessageConverter(objectMapper).write(body, MediaType.APPLICATION_JSON, output);
+
+        JsonNode json = objectMapper.readTree(output.getBodyAsString());
+        assertEquals(Set.of("status", "message", "data"), fieldNames(json));
+        assertEquals(Set.of("title", "status"), fieldNames(json.get("data").get("projects").get(0)));
+        assertEquals("full", json.get("data").get("view").asText());
+    }
+
+    private static ProjectResponse response() {
+        ProjectResponse response = new ProjectResponse();
+        response.setId(7L);
+        response.setTitle("Borehole water supply");
+        response.setObjectives("Clean water for Kitui schools");
+        response.setBudget(BigDecimal.TEN);
+        response.setStatus("active");
+        response.setThemes(List.of(new ProjectThemeDto("FP", "Family Planning")));
+        return response;
+    }
+
+    private static Set<String> fieldNames(JsonNode node) {
+        Set<String> names = new HashSet<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,147 @@
+package com.tujulishanehub.backend.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The migrations alone, on an empty PostgreSQL database, create every hot-path index, and the
+ * planner can answer each hot query from an index. Sequential scans are disabled so the empty
+ * tables do not make a scan the cheapest plan.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class HotPathIndexPlanTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrate() throws SQLException {
+        Flyway.configure()
+            .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+            .load()
+            .migrate();
+        connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+        }
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @Test
+    void freshDatabaseHasEveryHotPathIndex() throws SQLException {
+        Set<String> indexes = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT indexname FROM pg_indexes WHERE schemaname = 'public'")) {
+            while (rs.next()) {
+                indexes.add(rs.getString(1));
+            }
+        }
+
+        for (String index : List.of(
+                "idx_projects_workflow_status_created_at",
+                "idx_project_locations_project_id",
+                "idx_project_theme_assignments_theme_project",
+                "idx_project_reports_status_published_at",
+                "idx_collaboration_requests_announcement_id",
+                "idx_collaboration_requests_requesting_user_id",
+                "idx_collaboration_requests_status",
+                "idx_project_collaborators_active_project",
+                "idx_project_collaborators_active_user",
+                "idx_project_report_document_project_id",
+                "idx_user_documents_user_id")) {
+            assertTrue(indexes.contains(index), "missing index " + index);
+        }
+    }
+
+    @Test
+    void collaborationQueriesUseAnIndex() throws SQLException {
+        assertIndexPlan("SELECT * FROM collaboration_requests WHERE announcement_id = 1 ORDER BY created_at DESC");
+        assertIndexPlan("SELECT * FROM collaboration_requests WHERE requesting_user_id = 1 ORDER BY created_at DESC");
+        assertIndexPlan("SELECT * FROM collaboration_requests WHERE status = 'PENDING' ORDER BY created_at DESC");
+        assertIndexPlan("SELECT * FROM project_collaborators WHERE project_id = 1 AND is_active = true");
+        assertIndexPlan("SELECT * FROM project_collaborators WHERE user_id = 1 AND is_active = true");
+    }
+
+    @Test
+    void projectAndDocumentQueriesUseAnIndex() throws SQLException {
+        assertIndexPlan("SELECT * FROM projects WHERE approval_workflow_status = 'PENDING_REVIEW' ORDER BY created_at");
+        assertIndexPlan("SELECT * FROM project_locations WHERE project_id = 1");
+        assertIndexPlan("SELECT * FROM project_reports WHERE report_status = 'PUBLISHED' ORDER BY published_at DESC");
+        assertIndexPlan("SELECT * FROM project_report_document WHERE project_id = 1");
+        assertIndexPlan("SELECT * FROM user_documents WHERE user_id = 1");
+    }
+
+    @Test
+    void reviewQueuePageReadsBothTablesThroughAnIndex() throws SQLException {
+        String plan = explain("SELECT p.id FROM projects p WHERE p.approval_workflow_status IN ('PENDING_REVIEW', 'UNDER_REVIEW') " +
+            "AND EXISTS (SELECT 1 FROM project_theme_assignments t WHERE t.project_id = p.id AND t.project_theme IN ('MNH', 'FP')) " +
+            "ORDER BY p.created_at LIMIT 20");
+        assertFalse(plan.contains("Seq Scan"), plan);
+        // Either projects index serves the status filter and order; either assignment index serves the probe
+        assertTrue(plan.contains("on idx_projects_"), plan);
+        assertTrue(plan.contains("on idx_project_theme_assignments_"), plan);
+    }
+
+    @Test
+    void keysetSeekIsOneRangeOfTheCompositeIndex() throws SQLException {
+        assertIndexCondition("SELECT id FROM projects WHERE (created_at, id) > ('2025-01-01', 5) " +
+            "ORDER BY created_at, id LIMIT 20", "idx_projects_created_at_id");
+        assertIndexCondition("SELECT id FROM projects WHERE (title, id) < ('M', 5) " +
+            "ORDER BY title DESC, id DESC LIMIT 20", "idx_projects_title_id");
+        assertIndexCondition("SELECT * FROM organizations WHERE (created_at, id) > ('2025-01-01', 5) " +
+            "ORDER BY created_at, id LIMIT 20", "idx_organizations_created_at_id");
+    }
+
+    /**
+     * The row comparison is the index condition itself, not a filter applied to rows read
+     */
+    private static void assertIndexCondition(String query, String index) throws SQLException {
+        String plan = explain(query);
+        assertTrue(plan.contains(index), query + "\n" + plan);
+        assertTrue(plan.contains("Index Cond: (ROW("), query + "\n" + plan);
+        assertFalse(plan.contains("Filter:"), query + "\n" + plan);
+    }
+
+    private static void assertIndexPlan(String query) throws SQLException {
+        String plan = explain(query);
+        assertFalse(plan.contains("Seq Scan"), query + "\n" + plan);
+        assertTrue(plan.contains("Index"), query + "\n" + plan);
+    }
+
+    private static String explain(String query) throws SQLException {
+        List<String> lines = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN " + query)) {
+            while (rs.next()) {
+                lines.add(rs.getString(1));
+            }
+        }
+        return String.join("\n", lines);
+    }
+}
@@ -0,0 +1,161 @@
+package com.tujulishanehub.backend.repositories;
+
+import com.tujulishanehub.backend.models.Organization;
+import com.tujulishanehub.backend.util.KeysetCursor;
+import com.tujulishanehub.backend.util.KeysetCursor.SortKey;
+import com.tujulishanehub.backend.util.KeysetPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Walking every page through the seek predicates returns each organization exactly once, in the
+ * same order as one sorted query, including across rows that tie on the sort key
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+class OrganizationKeysetPaginationTest {
+
+    private static final int ORGANIZATIONS = 23;
+    private static final int PAGE_SIZE = 5;
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ORGANIZATIONS; i++) {
+            Organization organization = new Organization();
+            // Names out of id order, so name and id orderings differ
+            organization.setName(String.format("Organization %02d", (i * 7) % ORGANIZATIONS));
+            Long id = entityManager.persistAndGetId(organization, Long.class);
+            // Only four distinct creation times, so most rows tie on created_at
+            entityManager.getEntityManager()
+                .createQuery("UPDATE Organization o SET o.createdAt = :createdAt WHERE o.id = :id")
+                .setParameter("createdAt", BASE_TIME.plusHours(i % 4))
+                .setParameter("id", id)
+                .executeUpdate();
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void idAscending() {
+        assertWalkMatchesSortedQuery(SortKey.ID, false);
+    }
+
+    @Test
+    void idDescending() {
+        assertWalkMatchesSortedQuery(SortKey.ID, true);
+    }
+
+    @Test
+    void createdAtAscendingWithTies() {
+        assertWalkMatchesSortedQuery(SortKey.CREATED_AT, false);
+    }
+
+    @Test
+    void createdAtDescendingWithTies() {
+        assertWalkMatchesSortedQuery(SortKey.CREATED_AT, true);
+    }
+
+    @Test
+    void nameAscending() {
+        assertWalkMatchesSortedQuery(SortKey.TITLE, false);
+    }
+
+    @Test
+    void nameDescending() {
+        assertWalkMatchesSortedQuery(SortKey.TITLE, true);
+    }
+
+    @Test
+    void cursorAfterTheLastRowGivesAnEmptyLastPage() {
+        List<Organization> all = organizationRepository.findPage(PageRequest.of(0, ORGANIZATIONS, SortKey.ID.sort(false, "name")));
+        KeysetCursor cursor = cursorOf(SortKey.ID, false).apply(all.get(all.size() - 1));
+
+        KeysetPage<Organization> page = nextPage(KeysetCursor.decode(cursor.encode()));
+
+        assertEquals(List.of(), page.getItems());
+        assertNull(page.getNextCursor());
+    }
+
+    private void assertWalkMatchesSortedQuery(SortKey key, boolean descending) {
+        List<Long> expected = ids(organizationRepository.findPage(
+            PageRequest.of(0, ORGANIZATIONS, key.sort(descending, "name"))));
+        assertEquals(expected, sortedInMemory(key, descending), "sorted query");
+
+        List<Long> walked = new ArrayList<>();
+        KeysetPage<Organization> page = KeysetPage.ofOffset(
+            organizationRepository.findPage(PageRequest.of(0, PAGE_SIZE, key.sort(descending, "name"))),
+            0, PAGE_SIZE, cursorOf(key, descending), null);
+        walked.addAll(ids(page.getItems()));
+        int pages = 1;
+        while (page.hasNext()) {
+            page = nextPage(KeysetCursor.decode(page.getNextCursor()));
+            walked.addAll(ids(page.getItems()));
+            pages++;
+        }
+
+        assertEquals(expected, walked);
+        assertEquals((ORGANIZATIONS + PAGE_SIZE - 1) / PAGE_SIZE, pages);
+    }
+
+    /**
+     * The page after a cursor, the way OrganizationService.getOrganizationsAfter picks the seek query
+     */
+    private KeysetPage<Organization> nextPage(KeysetCursor cursor) {
+        boolean descending = cursor.isDescending();
+        Pageable limit = PageRequest.of(0, PAGE_SIZE + 1, cursor.getKey().sort(descending, "name"));
+        Long id = cursor.getLastId();
+        List<Organization> rows = switch (cursor.getKey()) {
+            case ID -> descending
+                ? organizationRepository.findPageBeforeId(id, limit)
+                : organizationRepository.findPageAfterId(id, limit);
+            case CREATED_AT -> descending
+                ? organizationRepository.findPageBeforeCreatedAt(cursor.getCreatedAt(), id, limit)
+                : organizationRepository.findPageAfterCreatedAt(cursor.getCreatedAt(), id, limit);
+            case TITLE -> descending
+                ? organizationRepository.findPageBeforeName(cursor.getTitle(), id, limit)
+                : organizationRepository.findPageAfterName(cursor.getTitle(), id, limit);
+        };
+        return KeysetPage.of(rows, PAGE_SIZE, cursorOf(cursor.getKey(), descending), null);
+    }
+
+    private List<Long> sortedInMemory(SortKey key, boolean descending) {
+        Comparator<Organization> order = switch (key) {
+            case ID -> Comparator.comparing(Organization::getId);
+            case CREATED_AT -> Comparator.comparing(Organization::getCreatedAt).thenComparing(Organization::getId);
+            case TITLE -> Comparator.comparing(Organization::getName).thenComparing(Organization::getId);
+        };
+        List<Organization> all = new ArrayList<>(organizationRepository.findAll());
+        all.sort(descending ? order.reversed() : order);
+        return ids(all);
+    }
+
+    private static Function<Organization, KeysetCursor> cursorOf(SortKey key, boolean descending) {
+        return organization -> KeysetCursor.after(key, descending, organization.getId(),
+            organization.getCreatedAt(), organization.getName());
+    }
+
+    private static List<Long> ids(List<Organization> organizations) {
+        return organizations.stream().map(Organization::getId).toList();
+    }
+}
@@ -0,0 +1,121 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.models.KenyaCounty;
+import com.tujulishanehub.backend.models.Project;
+import com.tujulishanehub.backend.models.ProjectCategory;
+import com.tujulishanehub.backend.models.ProjectLocation;
+import com.tujulishanehub.backend.repositories.ProjectLocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * The backfill derives county codes in batches from the bundled boundaries and the gazetteer,
+ * and a second run only revisits the rows still without a code
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+class CountyLocatorBackfillTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProjectLocationRepository locationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private PublicStatisticsService publicStatisticsService;
+    private CountyLocator countyLocator;
+
+    @BeforeEach
+    void setUp() {
+        KenyaGazetteer gazetteer = new KenyaGazetteer();
+        gazetteer.load();
+        publicStatisticsService = mock(PublicStatisticsService.class);
+
+        countyLocator = new CountyLocator();
+        ReflectionTestUtils.setField(countyLocator, "gazetteer", gazetteer);
+        ReflectionTestUtils.setField(countyLocator, "locationRepository", locationRepository);
+        ReflectionTestUtils.setField(countyLocator, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(countyLocator, "publicStatisticsService", publicStatisticsService);
+        // Smaller than the number of rows, so the run spans several batches
+        ReflectionTestUtils.setField(countyLocator, "batchSize", 2);
+        countyLocator.load();
+    }
+
+    @Test
+    void backfillAssignsCodesFromNamesThenBoundaries() {
+        Map<String, Long> ids = new HashMap<>();
+        ids.put("named", persistLocation("Nairobi", -1.286, 36.817));
+        ids.put("misspelt", persistLocation("Nairobbi", null, null));
+        // Nothing in the names, but the coordinates fall inside Kisumu
+        ids.put("positioned", persistLocation("Xyzzy", -0.09, 34.77));
+        // Typed names win over the approximate boundaries
+        ids.put("conflicting", persistLocation("Nakuru", -1.286, 36.817));
+        // Kampala, outside every county
+        ids.put("abroad", persistLocation("Xyzzy", 0.35, 32.58));
+        ids.put("unknown", persistLocation("Xyzzy", null, null));
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<String, Object> first = countyLocator.backfill(false);
+
+        assertEquals(6L, first.get("processed"));
+        assertEquals(4L, first.get("changed"));
+        assertEquals(2L, first.get("unmatched"));
+        assertEquals(KenyaCounty.values().length, first.get("boundaries"));
+        verify(publicStatisticsService, times(1)).rebuild();
+
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(KenyaCounty.NAIROBI.getCode(), codeOf(ids.get("named")));
+        assertEquals(KenyaCounty.NAIROBI.getCode(), codeOf(ids.get("misspelt")));
+        assertEquals(KenyaCounty.KISUMU.getCode(), codeOf(ids.get("positioned")));
+        assertEquals(KenyaCounty.NAKURU.getCode(), codeOf(ids.get("conflicting")));
+        assertNull(codeOf(ids.get("abroad")));
+        assertNull(codeOf(ids.get("unknown")));
+
+        Map<String, Object> second = countyLocator.backfill(false);
+
+        // Only the two unmatched rows are visited again, and nothing changes
+        assertEquals(2L, second.get("processed"));
+        assertEquals(0L, second.get("changed"));
+        verify(publicStatisticsService, times(1)).rebuild();
+    }
+
+    private Long persistLocation(String county, Double latitude, Double longitude) {
+        Project project = new Project();
+        project.setPartner("partner@example.org");
+        project.setTitle("Project in " + county);
+        project.setProjectCategory(ProjectCategory.IMPLEMENTING);
+        project.setStartDate(LocalDate.of(2024, 1, 1));
+        project.setActivityType("Activity");
+        project.setContactPersonName("Contact");
+        project.setContactPersonRole("Manager");
+        project.setObjectives("Objectives");
+        project.setBudget(BigDecimal.TEN);
+        project.addLocation(county, null, null, latitude, longitude);
+        entityManager.persist(project);
+        return project.getLocations().iterator().next().getId();
+    }
+
+    private Integer codeOf(Long locationId) {
+        return entityManager.find(ProjectLocation.class, locationId).getCountyCode();
+    }
+}
@@ -0,0 +1,241 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.models.ApprovalStatus;
+import com.tujulishanehub.backend.models.Project;
+import com.tujulishanehub.backend.models.ProjectCategory;
+import com.tujulishanehub.backend.models.ProjectReport;
+import com.tujulishanehub.backend.models.User;
+import com.tujulishanehub.backend.payload.ProjectCounts;
+import com.tujulishanehub.backend.repositories.ProjectReportRepository;
+import com.tujulishanehub.backend.repositories.ProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The grouped dashboard counters give the same numbers as the one-COUNT-per-number queries they
+ * replaced, and the per-scope cache loads once under concurrency and drops scopes on eviction
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+class DashboardAggregateServiceTest {
+
+    private static final String PARTNER = "partner@example.org";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectReportRepository projectReportRepository;
+
+    @Test
+    void projectCountsMatchThePerCountQueries() {
+        persistProjects(97);
+
+        ProjectCounts counts = DashboardAggregateService.toProjectCounts(
+            projectRepository.countGroupedByApprovalStatusAndCategory());
+
+        assertEquals(projectRepository.count(), counts.getTotal());
+        assertEquals(projectRepository.countByApprovalStatus(ApprovalStatus.PENDING), counts.getPending());
+        assertEquals(projectRepository.countByApprovalStatus(ApprovalStatus.SUBMITTED), counts.getSubmitted());
+        assertEquals(projectRepository.countByApprovalStatus(ApprovalStatus.APPROVED), counts.getApproved());
+        assertEquals(projectRepository.countByApprovalStatus(ApprovalStatus.REJECTED), counts.getRejected());
+        for (ProjectCategory category : ProjectCategory.values()) {
+            assertEquals(projectRepository.countByProjectCategory(category), counts.getByCategory().get(category.name()),
+                category.name());
+        }
+    }
+
+    @Test
+    void partnerProjectCountsMatchFilteringTheirProjects() {
+        persistProjects(97);
+        List<Project> own = projectRepository.findAll().stream()
+            .filter(p -> PARTNER.equals(p.getPartner()) || PARTNER.equals(p.getContactPersonEmail()))
+            .toList();
+
+        ProjectCounts counts = DashboardAggregateService.toProjectCounts(
+            projectRepository.countGroupedByApprovalStatusAndCategoryForPartner(PARTNER));
+
+        assertEquals(own.size(), counts.getTotal());
+        for (ApprovalStatus status : ApprovalStatus.values()) {
+            long expected = own.stream().filter(p -> p.getApprovalStatus() == status).count();
+            long actual = switch (status) {
+                case PENDING -> counts.getPending();
+                case SUBMITTED -> counts.getSubmitted();
+                case APPROVED -> counts.getApproved();
+                case REJECTED -> counts.getRejected();
+            };
+            assertEquals(expected, actual, status.name());
+        }
+        for (ProjectCategory category : ProjectCategory.values()) {
+            long expected = own.stream().filter(p -> p.getProjectCategory() == category).count();
+            assertEquals(expected, counts.getByCategory().get(category.name()), category.name());
+        }
+    }
+
+    @Test
+    void reportStatsMatchThePerCountQueries() {
+        Project project = persistProjects(1).get(0);
+        ProjectReport.ReportStatus[] statuses = ProjectReport.ReportStatus.values();
+        ProjectReport.ReportType[] types = ProjectReport.ReportType.values();
+        // Seven statuses against five types, so every pair occurs; ARCHIVED, IMPACT and
+        // EVALUATION count towards the total only
+        for (int i = 0; i < 71; i++) {
+            ProjectReport report = new ProjectReport();
+            report.setProject(project);
+            report.setTitle("Report " + i);
+            report.setContent("Content");
+            report.setReportStatus(statuses[i % statuses.length]);
+            report.setReportType(types[i % types.length]);
+            entityManager.persist(report);
+        }
+        entityManager.flush();
+
+        ProjectReportService.ReportStats stats = DashboardAggregateService.toReportStats(
+            projectReportRepository.countGroupedByStatusAndType());
+
+        assertEquals(projectReportRepository.count(), stats.getTotal());
+        assertEquals(projectReportRepository.countByReportStatus(ProjectReport.ReportStatus.DRAFT), stats.getDraft());
+        assertEquals(projectReportRepository.countByReportStatus(ProjectReport.ReportStatus.SUBMITTED), stats.getSubmitted());
+        assertEquals(projectReportRepository.countByReportStatus(ProjectReport.ReportStatus.UNDER_REVIEW), stats.getUnderReview());
+        assertEquals(projectReportRepository.countByReportStatus(ProjectReport.ReportStatus.APPROVED), stats.getApproved());
+        assertEquals(projectReportRepository.countByReportStatus(ProjectReport.ReportStatus.PUBLISHED), stats.getPublished());
+        assertEquals(projectReportRepository.countByReportStatus(ProjectReport.ReportStatus.REJECTED), stats.getRejected());
+        assertEquals(projectReportRepository.countByReportType(ProjectReport.ReportType.COMPLETION), stats.getCompletion());
+        assertEquals(projectReportRepository.countByReportType(ProjectReport.ReportType.INTERIM), stats.getInterim());
+        assertEquals(projectReportRepository.countByReportType(ProjectReport.ReportType.FINANCIAL), stats.getFinancial());
+    }
+
+    @Test
+    void emptyTablesGiveZeroCounters() {
+        ProjectCounts counts = DashboardAggregateService.toProjectCounts(List.of());
+
+        assertEquals(0, counts.getTotal());
+        assertEquals(0, counts.getPending());
+        assertEquals(ProjectCategory.values().length, counts.getByCategory().size());
+        assertEquals(0L, DashboardAggregateService.toReportStats(List.of()).getTotal());
+    }
+
+    @Test
+    void concurrentCallersOfAScopeShareOneLoad() throws Exception {
+        ProjectRepository repository = mock(ProjectRepository.class);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        when(repository.countGroupedByApprovalStatusAndCategory()).thenAnswer(invocation -> {
+            loads.incrementAndGet();
+            loading.await(5, TimeUnit.SECONDS);
+            return List.<Object[]>of(new Object[]{ApprovalStatus.APPROVED, ProjectCategory.RESEARCH, 3L});
+        });
+        DashboardAggregateService service = service(repository, mock(ProjectReportRepository.class));
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ProjectCounts>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(service::getAllProjectCounts));
+            }
+            // Let every caller reach the cache before the first load returns
+            Thread.sleep(200);
+            loading.countDown();
+            ProjectCounts first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<ProjectCounts> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void evictionDropsTheProjectAndReportScopes() {
+        ProjectRepository repository = mock(ProjectRepository.class);
+        ProjectReportRepository reportRepository = mock(ProjectReportRepository.class);
+        when(repository.countGroupedByApprovalStatusAndCategory()).thenReturn(List.of());
+        when(repository.countGroupedByApprovalStatusAndCategoryForPartner(PARTNER)).thenReturn(List.of());
+        when(reportRepository.countGroupedByStatusAndType()).thenReturn(List.of());
+        DashboardAggregateService service = service(repository, reportRepository);
+        User partner = new User();
+        partner.setRole(User.Role.PARTNER);
+
+        service.getAllProjectCounts();
+        service.getProjectCounts(partner, PARTNER);
+        service.getReportStats();
+        service.getAllProjectCounts();
+        service.getProjectCounts(partner, PARTNER);
+        service.getReportStats();
+
+        service.evictReportStats();
+        service.getAllProjectCounts();
+        service.getReportStats();
+        verify(repository, times(1)).countGroupedByApprovalStatusAndCategory();
+        verify(reportRepository, times(2)).countGroupedByStatusAndType();
+
+        service.evictProjectCounts();
+        service.getAllProjectCounts();
+        service.getProjectCounts(partner, PARTNER);
+        service.getReportStats();
+        verify(repository, times(2)).countGroupedByApprovalStatusAndCategory();
+        verify(repository, times(2)).countGroupedByApprovalStatusAndCategoryForPartner(PARTNER);
+        verify(reportRepository, times(2)).countGroupedByStatusAndType();
+    }
+
+    private static DashboardAggregateService service(ProjectRepository repository,
+                                                     ProjectReportRepository reportRepository) {
+        DashboardAggregateService service = new DashboardAggregateService();
+        ReflectionTestUtils.setField(service, "projectRepository", repository);
+        ReflectionTestUtils.setField(service, "projectReportRepository", reportRepository);
+        ReflectionTestUtils.setField(service, "ttlSeconds", 300L);
+        return service;
+    }
+
+    /**
+     * Projects spread over every approval status and category, a third of them the partner's
+     * (half of those through the contact person email)
+     */
+    private List<Project> persistProjects(int count) {
+        ApprovalStatus[] statuses = ApprovalStatus.values();
+        ProjectCategory[] categories = ProjectCategory.values();
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Project project = new Project();
+            project.setPartner(i % 6 == 0 ? PARTNER : "partner" + i + "@example.org");
+            project.setContactPersonEmail(i % 6 == 3 ? PARTNER : "contact" + i + "@example.org");
+            project.setTitle("Project " + i);
+            project.setProjectCategory(categories[i % categories.length]);
+            project.setApprovalStatus(statuses[(i / categories.length) % statuses.length]);
+            project.setStartDate(LocalDate.of(2024, 1, 1));
+            project.setActivityType("Activity");
+            project.setContactPersonName("Contact " + i);
+            project.setContactPersonRole("Manager");
+            project.setObjectives("Objectives");
+            project.setBudget(BigDecimal.TEN);
+            entityManager.persist(project);
+            projects.add(project);
+        }
+        entityManager.flush();
+        return projects;
+    }
+}
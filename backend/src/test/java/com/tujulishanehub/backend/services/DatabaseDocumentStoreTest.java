@@ -0,0 +1,125 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.repositories.DocumentContentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Content goes into the database as bounded chunks and comes back byte for byte through a channel
+ * that reads them one at a time. Not transactional: the store commits its own writes.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Import(DatabaseDocumentStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DatabaseDocumentStoreTest {
+
+    @Autowired
+    private DatabaseDocumentStore store;
+
+    @Autowired
+    private DocumentContentRepository documentContentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM document_content_chunks");
+        documentContentRepository.deleteAll();
+    }
+
+    @Test
+    void largeContentIsStoredInBoundedChunksAndReadBackIntact() throws IOException {
+        byte[] content = randomBytes(3 * DatabaseDocumentStore.CHUNK_SIZE + 12345, 1);
+
+        DocumentStore.StoredDocument stored = store.store(new ByteArrayInputStream(content));
+
+        assertEquals(content.length, stored.getSize());
+        List<Integer> chunkSizes = jdbcTemplate.queryForList(
+            "SELECT LENGTH(data) FROM document_content_chunks WHERE storage_key = ? ORDER BY chunk_index",
+            Integer.class, stored.getStorageKey());
+        assertEquals(List.of(DatabaseDocumentStore.CHUNK_SIZE, DatabaseDocumentStore.CHUNK_SIZE,
+            DatabaseDocumentStore.CHUNK_SIZE, 12345), chunkSizes);
+        assertArrayEquals(content, readAll(stored.getStorageKey()));
+    }
+
+    @Test
+    void emptyContentReadsBackEmpty() throws IOException {
+        DocumentStore.StoredDocument stored = store.store(new ByteArrayInputStream(new byte[0]));
+
+        assertTrue(store.exists(stored.getStorageKey()));
+        assertEquals(0, readAll(stored.getStorageKey()).length);
+    }
+
+    @Test
+    void identicalContentIsStoredOnce() throws IOException {
+        byte[] content = randomBytes(DatabaseDocumentStore.CHUNK_SIZE + 1, 2);
+
+        String first = store.store(new ByteArrayInputStream(content)).getStorageKey();
+        String second = store.store(new ByteArrayInputStream(content)).getStorageKey();
+
+        assertEquals(first, second);
+        assertEquals(1, documentContentRepository.count());
+        assertEquals(2, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM document_content_chunks", Integer.class));
+    }
+
+    @Test
+    void deleteRemovesContentAndChunks() throws IOException {
+        String key = store.store(new ByteArrayInputStream(randomBytes(1000, 3))).getStorageKey();
+
+        store.delete(key);
+
+        assertFalse(store.exists(key));
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM document_content_chunks", Integer.class));
+        assertThrows(NoSuchFileException.class, () -> store.openChannel(key));
+    }
+
+    @Test
+    void malformedKeyIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> store.openChannel("../etc/passwd"));
+        assertFalse(store.exists("../etc/passwd"));
+    }
+
+    private byte[] readAll(String storageKey) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // A buffer smaller than a chunk, so reads cross chunk boundaries
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024 + 7);
+        try (ReadableByteChannel channel = store.openChannel(storageKey)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                out.write(buffer.array(), 0, buffer.limit());
+                buffer.clear();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] randomBytes(int length, long seed) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,236 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.models.EmailOutboxMessage;
+import com.tujulishanehub.backend.repositories.EmailOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The email outbox end to end against an embedded SMTP server: messages are queued in the
+ * caller's transaction, and the dispatcher sends them, backs off on failure and dead-letters
+ * them after max-attempts. Not transactional: enqueueing and dispatch commit their own work.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailOutboxTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long INITIAL_BACKOFF_SECONDS = 30;
+    private static final int CONCURRENCY = 2;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private FakeSmtpServer server;
+    private SmtpTransportPool pool;
+    private ExecutorService sendExecutor;
+    private EmailService emailService;
+    private EmailOutboxDispatcher dispatcher;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeSmtpServer();
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(server.getHost());
+        mailSender.setPort(server.getPort());
+
+        pool = new SmtpTransportPool();
+        ReflectionTestUtils.setField(pool, "mailSender", mailSender);
+        ReflectionTestUtils.setField(pool, "poolSize", CONCURRENCY);
+        ReflectionTestUtils.setField(pool, "maxMessagesPerSession", 100);
+        ReflectionTestUtils.setField(pool, "idleTimeoutSeconds", 60L);
+        ReflectionTestUtils.setField(pool, "borrowTimeoutSeconds", 5L);
+        pool.init();
+
+        emailService = new EmailService();
+        dispatcher = new EmailOutboxDispatcher();
+
+        ReflectionTestUtils.setField(emailService, "mailSender", mailSender);
+        ReflectionTestUtils.setField(emailService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(emailService, "dataSource", dataSource);
+        ReflectionTestUtils.setField(emailService, "smtpTransportPool", pool);
+        ReflectionTestUtils.setField(emailService, "dispatcher", dispatcher);
+        ReflectionTestUtils.setField(emailService, "emailEnabled", true);
+        ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@example.org");
+
+        ReflectionTestUtils.setField(dispatcher, "outboxRepository", outboxRepository);
+        ReflectionTestUtils.setField(dispatcher, "emailService", emailService);
+        ReflectionTestUtils.setField(dispatcher, "smtpTransportPool", pool);
+        ReflectionTestUtils.setField(dispatcher, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 20);
+        ReflectionTestUtils.setField(dispatcher, "concurrency", CONCURRENCY);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoffSeconds", INITIAL_BACKOFF_SECONDS);
+        ReflectionTestUtils.setField(dispatcher, "claimTimeoutSeconds", 300L);
+        ReflectionTestUtils.setField(dispatcher, "retentionDays", 30);
+        dispatcher.init();
+        // Driven one batch at a time below instead of by the poll loop
+        sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        ReflectionTestUtils.setField(dispatcher, "sendExecutor", sendExecutor);
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        sendExecutor.shutdownNow();
+        pool.shutdown();
+        server.close();
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void emailIsQueuedOnlyWhenTheCallersTransactionCommits() {
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            emailService.sendEmail("rolled-back@example.org", "Welcome", "Hello");
+            throw new IllegalStateException("business change failed");
+        }));
+        assertEquals(0, outboxRepository.count());
+        assertEquals(0, wakeUps());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            emailService.sendEmail("committed@example.org", "Welcome", "Hello");
+            // Not woken until the row is visible to the dispatcher
+            assertEquals(0, wakeUps());
+        });
+
+        EmailOutboxMessage message = single();
+        assertEquals("committed@example.org", message.getRecipient());
+        assertEquals(EmailOutboxMessage.Status.PENDING, message.getStatus());
+        assertEquals(0, message.getAttempts());
+        assertEquals(1, wakeUps());
+        assertTrue(server.getMessages().isEmpty());
+    }
+
+    @Test
+    void messageThatCannotBeQueuedDoesNotFailTheCallersTransaction() {
+        String tooLong = "x".repeat(300) + "@example.org";
+
+        transactionTemplate.executeWithoutResult(status -> {
+            emailService.sendEmail("first@example.org", "Welcome", "Hello");
+            emailService.sendEmail(tooLong, "Welcome", "Hello");
+            emailService.sendEmail("second@example.org", "Welcome", "Hello");
+        });
+
+        assertEquals(List.of("first@example.org", "second@example.org"),
+            outboxRepository.findAll().stream().map(EmailOutboxMessage::getRecipient).sorted().toList());
+    }
+
+    @Test
+    void sentMessageIsDeliveredAndItsBodyCleared() throws Exception {
+        emailService.sendEmail("partner@example.org", "Your login code", "Your one-time code is 482913");
+
+        dispatchOnce();
+
+        assertEquals(1, server.getMessages().size());
+        assertTrue(server.getMessages().get(0).contains("Your one-time code is 482913"));
+        EmailOutboxMessage message = single();
+        assertEquals(EmailOutboxMessage.Status.SENT, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertNotNull(message.getSentAt());
+        assertNull(message.getClaimedAt());
+        assertNull(message.getLastError());
+        // email_outbox.body is NOT NULL, so the content is blanked rather than nulled
+        assertEquals("", message.getBody());
+    }
+
+    @Test
+    void failedSendIsRetriedWithDoublingBackoffThenDeadLettered() throws Exception {
+        server.rejectRecipient("gone@example.org");
+        emailService.sendEmail("gone@example.org", "Report published", "Your report is live");
+
+        for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+            LocalDateTime before = LocalDateTime.now();
+            dispatchOnce();
+            LocalDateTime after = LocalDateTime.now();
+
+            EmailOutboxMessage message = single();
+            Duration backoff = Duration.ofSeconds(INITIAL_BACKOFF_SECONDS << (attempt - 1));
+            assertEquals(EmailOutboxMessage.Status.PENDING, message.getStatus());
+            assertEquals(attempt, message.getAttempts());
+            assertNotNull(message.getLastError());
+            // A second either side for the column's timestamp precision
+            assertTrue(message.getNextAttemptAt().isAfter(before.plus(backoff).minusSeconds(1))
+                    && message.getNextAttemptAt().isBefore(after.plus(backoff).plusSeconds(1)),
+                "attempt " + attempt + " retries at " + message.getNextAttemptAt());
+
+            // Not due yet, so the next poll leaves it alone
+            dispatchOnce();
+            assertEquals(attempt, single().getAttempts());
+
+            makeDue(message);
+        }
+
+        dispatchOnce();
+
+        EmailOutboxMessage message = single();
+        assertEquals(EmailOutboxMessage.Status.DEAD, message.getStatus());
+        assertEquals(MAX_ATTEMPTS, message.getAttempts());
+        assertNotNull(message.getLastError());
+        assertEquals("Your report is live", message.getBody());
+        assertTrue(server.getMessages().isEmpty());
+
+        // Dead letters are never picked up again on their own
+        dispatchOnce();
+        assertEquals(MAX_ATTEMPTS, single().getAttempts());
+    }
+
+    /**
+     * Claim one batch and wait until every chunk of it has been sent and recorded
+     */
+    private void dispatchOnce() throws InterruptedException {
+        ReflectionTestUtils.invokeMethod(dispatcher, "dispatchBatch");
+        Semaphore sendPermits = (Semaphore) ReflectionTestUtils.getField(dispatcher, "sendPermits");
+        sendPermits.acquire(CONCURRENCY);
+        sendPermits.release(CONCURRENCY);
+    }
+
+    private void makeDue(EmailOutboxMessage message) {
+        jdbcTemplate.update("UPDATE email_outbox SET next_attempt_at = ? WHERE id = ?",
+            LocalDateTime.now().minusSeconds(1), message.getId());
+    }
+
+    private int wakeUps() {
+        return ((Semaphore) ReflectionTestUtils.getField(dispatcher, "wakeUps")).availablePermits();
+    }
+
+    private EmailOutboxMessage single() {
+        List<EmailOutboxMessage> messages = outboxRepository.findAll();
+        assertEquals(1, messages.size());
+        return messages.get(0);
+    }
+}
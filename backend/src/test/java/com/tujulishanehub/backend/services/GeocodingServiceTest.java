@@ -0,0 +1,198 @@
+package com.tujulishanehub.backend.services;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.tujulishanehub.backend.config.RestTemplateConfig;
+import com.tujulishanehub.backend.services.GeocodingService.CoordinateResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * GeocodingService against a stub Nominatim on localhost: requests go through the real
+ * geocoding RestTemplate, so the rate limit and the HTTP timeouts are exercised end to end
+ */
+class GeocodingServiceTest {
+
+    private static final String MATCH = "[{\"lat\":\"-1.2864\",\"lon\":\"36.8172\"}]";
+    private static final String USER_AGENT = "TujulishaneHub-Test/1.0";
+
+    private HttpServer server;
+    private ExecutorService handlers;
+    private final List<Long> arrivals = new CopyOnWriteArrayList<>();
+    private final List<String> queries = new CopyOnWriteArrayList<>();
+    private final List<String> userAgents = new CopyOnWriteArrayList<>();
+    private volatile int status = 200;
+    private volatile String body = MATCH;
+    private volatile long delayMillis;
+
+    private GeocodeCache geocodeCache;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        handlers = Executors.newCachedThreadPool();
+        server.setExecutor(handlers);
+        server.createContext("/search", this::handle);
+        server.start();
+        geocodeCache = mock(GeocodeCache.class);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    @Test
+    void geocodesThroughTheProviderAndCachesTheMatch() {
+        GeocodingService service = service(10, 1, 10_000);
+
+        CoordinateResult result = service.extractCoordinates("Kenyatta National Hospital");
+
+        assertTrue(result.isValid());
+        assertFalse(result.isApproximate());
+        assertEquals(-1.2864, result.getLatitude(), 1e-9);
+        assertEquals(36.8172, result.getLongitude(), 1e-9);
+        assertEquals(List.of("Kenyatta National Hospital, Kenya"), queries);
+        assertEquals(List.of(USER_AGENT), userAgents);
+        verify(geocodeCache).put(eq("Kenyatta National Hospital"), any(CoordinateResult.class));
+        assertEquals(1L, service.getProviderStatistics().get("requests"));
+    }
+
+    @Test
+    void concurrentCallersShareTheRateLimit() throws Exception {
+        // Five per second with no burst: six requests need at least a second between first and last
+        GeocodingService service = service(5, 1, 10_000);
+
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<CoordinateResult>> results = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                String address = "Health centre " + i;
+                results.add(callers.submit(() -> service.extractCoordinates(address)));
+            }
+            for (Future<CoordinateResult> result : results) {
+                assertTrue(result.get(10, TimeUnit.SECONDS).isValid());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        List<Long> sorted = new ArrayList<>(arrivals);
+        Collections.sort(sorted);
+        assertEquals(6, sorted.size());
+        long spanMillis = TimeUnit.NANOSECONDS.toMillis(sorted.get(5) - sorted.get(0));
+        // A little slack for timer granularity; an unthrottled run takes a few milliseconds
+        assertTrue(spanMillis >= 900, "six requests arrived within " + spanMillis + " ms");
+    }
+
+    @Test
+    void slowProviderTimesOutAndFallsBackWithoutCaching() {
+        delayMillis = 3_000;
+        GeocodingService service = service(10, 1, 300);
+
+        long start = System.nanoTime();
+        CoordinateResult result = service.extractCoordinates("Moi Teaching and Referral Hospital");
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis < 2_000, "waited " + elapsedMillis + " ms for a 300 ms read timeout");
+        // Nothing in the (mocked) gazetteer either, so the Kenya centre placeholder comes back
+        assertTrue(result.isApproximate());
+        assertEquals(1L, service.getProviderStatistics().get("errors"));
+        verify(geocodeCache, never()).put(anyString(), any(CoordinateResult.class));
+    }
+
+    @Test
+    void providerErrorsAreCountedAndNotCached() {
+        status = 503;
+        body = "{}";
+        GeocodingService service = service(10, 1, 10_000);
+
+        CoordinateResult result = service.extractCoordinates("Garissa Provincial Hospital");
+
+        assertTrue(result.isApproximate());
+        assertEquals(1L, service.getProviderStatistics().get("requests"));
+        assertEquals(1L, service.getProviderStatistics().get("errors"));
+        verify(geocodeCache, never()).put(anyString(), any(CoordinateResult.class));
+    }
+
+    @Test
+    void emptyAnswerIsCachedAsNoMatch() {
+        body = "[]";
+        GeocodingService service = service(10, 1, 10_000);
+
+        CoordinateResult result = service.extractCoordinates("Nowhere in particular");
+
+        assertTrue(result.isApproximate());
+        assertEquals(0L, service.getProviderStatistics().get("errors"));
+        verify(geocodeCache).put(eq("Nowhere in particular"), any(CoordinateResult.class));
+    }
+
+    private GeocodingService service(double perSecond, int burst, long readTimeoutMillis) {
+        GeocodingService service = new GeocodingService();
+        ReflectionTestUtils.setField(service, "apiKey", "test");
+        ReflectionTestUtils.setField(service, "geocodingEnabled", true);
+        ReflectionTestUtils.setField(service, "nominatimUrl",
+            "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/search");
+        ReflectionTestUtils.setField(service, "rateLimitPerSecond", perSecond);
+        ReflectionTestUtils.setField(service, "rateLimitBurst", burst);
+        ReflectionTestUtils.setField(service, "restTemplate",
+            new RestTemplateConfig().geocodingRestTemplate(1_000, readTimeoutMillis, USER_AGENT));
+        ReflectionTestUtils.setField(service, "geocodeCache", geocodeCache);
+        ReflectionTestUtils.setField(service, "gazetteer", mock(KenyaGazetteer.class));
+        service.init();
+        return service;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        arrivals.add(System.nanoTime());
+        userAgents.add(exchange.getRequestHeaders().getFirst("User-Agent"));
+        for (String parameter : exchange.getRequestURI().getRawQuery().split("&")) {
+            if (parameter.startsWith("q=")) {
+                queries.add(URLDecoder.decode(parameter.substring(2), StandardCharsets.UTF_8));
+            }
+        }
+        try {
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+}
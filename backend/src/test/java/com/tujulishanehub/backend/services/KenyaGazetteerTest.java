@@ -0,0 +1,111 @@
+package com.tujulishanehub.backend.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Resolution against the bundled gazetteer: exact names, aliases, typos, and street names that
+ * share a name with a place in another county
+ */
+class KenyaGazetteerTest {
+
+    private KenyaGazetteer gazetteer;
+
+    @BeforeEach
+    void setUp() {
+        gazetteer = new KenyaGazetteer();
+        gazetteer.load();
+    }
+
+    @Test
+    void exactNamesResolveWhateverTheCaseAndNoiseWords() {
+        assertPlace(gazetteer.find("Nakuru", null, null), "Nakuru", KenyaGazetteer.PlaceType.COUNTY, "Nakuru");
+        assertPlace(gazetteer.find("MURANG'A COUNTY", null, null), "Murang'a", KenyaGazetteer.PlaceType.COUNTY, "Murang'a");
+        assertPlace(gazetteer.find("Ruiru town", null, null), "Ruiru", KenyaGazetteer.PlaceType.TOWN, "Kiambu");
+    }
+
+    @Test
+    void aliasesResolveToTheirPlace() {
+        assertPlace(gazetteer.find("Kibera", null, null), "Kibra", KenyaGazetteer.PlaceType.SUB_COUNTY, "Nairobi");
+        assertPlace(gazetteer.find("Lang'ata", null, null), "Langata", KenyaGazetteer.PlaceType.SUB_COUNTY, "Nairobi");
+        assertPlace(gazetteer.find("Embakasi East", null, null), "Embakasi", KenyaGazetteer.PlaceType.SUB_COUNTY, "Nairobi");
+        assertPlace(gazetteer.find("Loitokitok", null, null), "Kajiado South", KenyaGazetteer.PlaceType.SUB_COUNTY, "Kajiado");
+    }
+
+    @Test
+    void typosResolveByTrigramSimilarity() {
+        KenyaGazetteer.Match match = gazetteer.find("Westlnds", null, null);
+        assertPlace(match, "Westlands", KenyaGazetteer.PlaceType.SUB_COUNTY, "Nairobi");
+        assertTrue(match.getScore() < 1.0);
+        assertPlace(gazetteer.find("Kakamenga", null, KenyaGazetteer.PlaceType.COUNTY), "Kakamega",
+            KenyaGazetteer.PlaceType.COUNTY, "Kakamega");
+        assertNull(gazetteer.find("Xyzzy", null, null));
+    }
+
+    @Test
+    void subCountyInsideTheTypedCountyIsMostSpecific() {
+        assertPlace(gazetteer.resolve("Nairobi", "Kasarani", null), "Kasarani",
+            KenyaGazetteer.PlaceType.SUB_COUNTY, "Nairobi");
+        assertPlace(gazetteer.resolve("Kiambu", "Juja", null), "Juja", KenyaGazetteer.PlaceType.SUB_COUNTY, "Kiambu");
+        assertPlace(gazetteer.resolve("Kisumu", null, "Ahero market, Kisumu"), "Nyando",
+            KenyaGazetteer.PlaceType.SUB_COUNTY, "Kisumu");
+    }
+
+    @Test
+    void streetNamedAfterATownInAnotherCountyStaysInTheTypedCounty() {
+        // Ngong is in Kajiado and Thika in Kiambu; both roads run through Nairobi
+        assertPlace(gazetteer.resolve("Nairobi", null, "Ngong Road"), "Nairobi",
+            KenyaGazetteer.PlaceType.COUNTY, "Nairobi");
+        assertPlace(gazetteer.resolve("Nairobi", null, "Thika Road"), "Nairobi",
+            KenyaGazetteer.PlaceType.COUNTY, "Nairobi");
+        assertPlace(gazetteer.resolve("Nairobi", "Thika", null), "Nairobi",
+            KenyaGazetteer.PlaceType.COUNTY, "Nairobi");
+        // A place in the county further along the address still wins
+        assertPlace(gazetteer.resolve("Nairobi", null, "Thika Road, Kasarani"), "Kasarani",
+            KenyaGazetteer.PlaceType.SUB_COUNTY, "Nairobi");
+    }
+
+    @Test
+    void countyNamedInTheAddressBoundsThePlaceWhenTheCountyFieldIsBlank() {
+        assertPlace(gazetteer.resolve("", null, "Ngong Road, Nairobi"), "Nairobi",
+            KenyaGazetteer.PlaceType.COUNTY, "Nairobi");
+        assertPlace(gazetteer.resolve(null, null, "Kiambu Road, Nairobi, Kenya"), "Nairobi",
+            KenyaGazetteer.PlaceType.COUNTY, "Nairobi");
+        assertPlace(gazetteer.resolve(null, null, "Ngong, Kajiado"), "Ngong",
+            KenyaGazetteer.PlaceType.TOWN, "Kajiado");
+    }
+
+    @Test
+    void placeWithoutAnyCountyResolvesAnywhere() {
+        assertPlace(gazetteer.resolve(null, "Thika", null), "Thika", KenyaGazetteer.PlaceType.TOWN, "Kiambu");
+        assertPlace(gazetteer.resolve("Xyzzy", null, "Ngong Road"), "Ngong", KenyaGazetteer.PlaceType.TOWN, "Kajiado");
+        assertNull(gazetteer.resolve("Xyzzy", null, null));
+    }
+
+    @Test
+    void subCountiesOutsideNairobiAndMombasaResolve() {
+        String[][] cases = {
+            {"Kiambu", "Gatundu", "Gatundu South"},
+            {"Kajiado", "Kiserian", "Kajiado West"},
+            {"Nakuru", "Njoro", "Njoro"},
+            {"Kisumu", "Kisumu East", "Kisumu Central"},
+            {"Kilifi", "Rabai", "Rabai"},
+            {"Kwale", "Kinango", "Kinango"},
+            {"Homa Bay", "Mbita", "Suba North"},
+        };
+        for (String[] c : cases) {
+            assertPlace(gazetteer.resolve(c[0], c[1], null), c[2], KenyaGazetteer.PlaceType.SUB_COUNTY, c[0]);
+        }
+    }
+
+    private static void assertPlace(KenyaGazetteer.Match match, String name, KenyaGazetteer.PlaceType type,
+                                    String county) {
+        assertEquals(name, match != null ? match.getName() : null);
+        assertEquals(type, match.getType());
+        assertEquals(county, match.getCounty());
+    }
+}
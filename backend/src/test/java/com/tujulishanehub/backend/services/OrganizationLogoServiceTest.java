@@ -0,0 +1,99 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.models.OrganizationLogo;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrganizationLogoServiceTest {
+
+    private final OrganizationLogoService organizationLogoService = new OrganizationLogoService();
+
+    @Test
+    void acceptsAnOrdinaryLogo() throws IOException {
+        assertDoesNotThrow(() -> organizationLogoService.validateLogo(png(600, 300), "image/png"));
+    }
+
+    @Test
+    void rejectsAHeaderDeclaringTooManyPixels() throws IOException {
+        // A few hundred bytes on disk, 60000 x 60000 once decoded
+        byte[] bomb = withDimensions(png(600, 300), 60_000, 60_000);
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+            () -> organizationLogoService.validateLogo(bomb, "image/png"));
+        assertEquals("Logo dimensions 60000x60000 exceed the limit of "
+            + OrganizationLogoService.MAX_LOGO_PIXELS + " pixels", e.getMessage());
+    }
+
+    @Test
+    void rejectsEmptyNonImageAndUnreadableUploads() throws IOException {
+        byte[] truncated = Arrays.copyOf(png(600, 300), 20);
+
+        assertThrows(RuntimeException.class, () -> organizationLogoService.validateLogo(new byte[0], "image/png"));
+        assertThrows(RuntimeException.class, () -> organizationLogoService.validateLogo(png(10, 10), "text/plain"));
+        assertThrows(RuntimeException.class, () -> organizationLogoService.validateLogo(truncated, "image/png"));
+    }
+
+    @Test
+    void acceptsFormatsImageIoCannotRead() {
+        byte[] svg = "<svg xmlns=\"http://www.w3.org/2000/svg\"/>".getBytes(StandardCharsets.UTF_8);
+
+        assertDoesNotThrow(() -> organizationLogoService.validateLogo(svg, "image/svg+xml"));
+    }
+
+    @Test
+    void thumbnailFitsTheRequestedSize() throws IOException {
+        byte[] thumbnail = organizationLogoService.getThumbnail(logo(png(600, 300), "ok"), 64);
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(thumbnail));
+        assertEquals(64, image.getWidth());
+        assertEquals(32, image.getHeight());
+    }
+
+    @Test
+    void oversizedStoredLogoIsNotDecoded() throws IOException {
+        byte[] bomb = withDimensions(png(600, 300), 60_000, 60_000);
+
+        assertNull(organizationLogoService.getThumbnail(logo(bomb, "bomb"), 64));
+    }
+
+    private static OrganizationLogo logo(byte[] data, String etag) {
+        OrganizationLogo logo = new OrganizationLogo();
+        logo.setOrganizationId(1L);
+        logo.setData(data);
+        logo.setContentType("image/png");
+        logo.setEtag(etag);
+        return logo;
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    /**
+     * The same PNG with other dimensions written into its IHDR chunk (and the chunk CRC fixed up)
+     */
+    private static byte[] withDimensions(byte[] png, int width, int height) {
+        byte[] patched = png.clone();
+        ByteBuffer.wrap(patched, 16, 8).putInt(width).putInt(height);
+        CRC32 crc = new CRC32();
+        crc.update(patched, 12, 17);
+        ByteBuffer.wrap(patched, 29, 4).putInt((int) crc.getValue());
+        return patched;
+    }
+}
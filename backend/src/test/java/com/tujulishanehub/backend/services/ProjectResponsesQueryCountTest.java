@@ -0,0 +1,101 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.models.Organization;
+import com.tujulishanehub.backend.models.Project;
+import com.tujulishanehub.backend.models.ProjectCategory;
+import com.tujulishanehub.backend.models.ProjectTheme;
+import com.tujulishanehub.backend.models.User;
+import com.tujulishanehub.backend.payload.ProjectResponse;
+import com.tujulishanehub.backend.repositories.ProjectRepository;
+import com.tujulishanehub.backend.repositories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * A page of project responses costs a fixed number of queries, however many partners it has
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ProjectResponsesQueryCountTest {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void pageOfOneHundredProjectsTakesTwoQueries() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Organization organization = new Organization();
+            organization.setName("Organization " + i);
+            entityManager.persist(organization);
+
+            User partner = new User();
+            partner.setName("Partner " + i);
+            partner.setEmail("partner" + i + "@example.org");
+            partner.setOrganization(organization);
+            entityManager.persist(partner);
+
+            Project project = new Project();
+            project.setPartner(partner.getEmail());
+            project.setTitle("Project " + i);
+            project.setProjectCategory(ProjectCategory.IMPLEMENTING);
+            project.setStartDate(LocalDate.of(2024, 1, 1));
+            project.setActivityType("Activity");
+            project.setContactPersonName("Contact " + i);
+            project.setContactPersonRole("Manager");
+            project.setObjectives("Objectives");
+            project.setBudget(BigDecimal.TEN);
+            project.addTheme(ProjectTheme.values()[i % ProjectTheme.values().length]);
+            project.addLocation("Nairobi", "Westlands", null, -1.26, 36.80);
+            ids.add(entityManager.persist(project).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        ProjectService projectService = new ProjectService();
+        ReflectionTestUtils.setField(projectService, "userRepository", userRepository);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Project> page = projectRepository.findAllWithThemesAndLocationsByIdIn(ids);
+        List<ProjectResponse> responses = projectService.toProjectResponses(page);
+
+        // One query hydrates the page with its themes and locations, one resolves every partner
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(PAGE_SIZE, responses.size());
+        for (ProjectResponse response : responses) {
+            assertNotNull(response.getPartnerName());
+            assertNotNull(response.getOrganizationName());
+            assertEquals(1, response.getThemes().size());
+            assertEquals(1, response.getLocations().size());
+        }
+    }
+}
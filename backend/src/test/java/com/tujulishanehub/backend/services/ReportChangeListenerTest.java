@@ -0,0 +1,83 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.events.ReportChanged;
+import com.tujulishanehub.backend.events.ReportDeleted;
+import com.tujulishanehub.backend.models.ProjectReport;
+import com.tujulishanehub.backend.repositories.ProjectReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Both report indexes hear about every committed report change from the one listener
+ */
+class ReportChangeListenerTest {
+
+    private ProjectReportRepository projectReportRepository;
+    private ReportSearchService reportSearchService;
+    private SearchIndexService searchIndexService;
+    private DashboardAggregateService dashboardAggregateService;
+    private ReportChangeListener listener;
+
+    @BeforeEach
+    void setUp() {
+        projectReportRepository = mock(ProjectReportRepository.class);
+        reportSearchService = mock(ReportSearchService.class);
+        searchIndexService = mock(SearchIndexService.class);
+        dashboardAggregateService = mock(DashboardAggregateService.class);
+        listener = new ReportChangeListener(projectReportRepository, reportSearchService, searchIndexService,
+            dashboardAggregateService, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void changedReportIsReloadedAndHandedToBothIndexes() {
+        ProjectReport report = new ProjectReport();
+        report.setId(7L);
+        when(projectReportRepository.findById(7L)).thenReturn(Optional.of(report));
+
+        listener.onReportChanged(new ReportChanged(7L));
+
+        verify(reportSearchService).reportChanged(report);
+        verify(searchIndexService).reportChanged(report);
+        verify(dashboardAggregateService).evictReportStats();
+    }
+
+    @Test
+    void reportDeletedBeforeTheListenerRanIsSkipped() {
+        when(projectReportRepository.findById(7L)).thenReturn(Optional.empty());
+
+        listener.onReportChanged(new ReportChanged(7L));
+
+        verify(reportSearchService, never()).reportChanged(any());
+        verify(searchIndexService, never()).reportChanged(any());
+    }
+
+    @Test
+    void deletedReportIsRemovedFromBothIndexes() {
+        listener.onReportDeleted(new ReportDeleted(7L));
+
+        verify(reportSearchService).reportDeleted(7L);
+        verify(searchIndexService).reportDeleted(7L);
+        verify(dashboardAggregateService).evictReportStats();
+    }
+
+    @Test
+    void indexFailureDoesNotReachTheCommittedWrite() {
+        ProjectReport report = new ProjectReport();
+        report.setId(7L);
+        when(projectReportRepository.findById(7L)).thenReturn(Optional.of(report));
+        doThrow(new IllegalStateException("index unavailable")).when(reportSearchService).reportChanged(report);
+
+        // Logged, not thrown
+        listener.onReportChanged(new ReportChanged(7L));
+    }
+}
@@ -0,0 +1,160 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.models.ApprovalWorkflowStatus;
+import com.tujulishanehub.backend.models.Project;
+import com.tujulishanehub.backend.models.ProjectCategory;
+import com.tujulishanehub.backend.models.ProjectTheme;
+import com.tujulishanehub.backend.models.User;
+import com.tujulishanehub.backend.repositories.ProjectRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A page of the reviewer and final approver queues costs the same fixed number of queries
+ * however many projects the table holds, so the queue does not degrade as it grows
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ReviewQueueQueryCountTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final ApprovalWorkflowStatus[] STATUSES = {
+        ApprovalWorkflowStatus.PENDING_REVIEW,
+        ApprovalWorkflowStatus.UNDER_REVIEW,
+        ApprovalWorkflowStatus.PENDING_FINAL_APPROVAL,
+        ApprovalWorkflowStatus.REVIEWED,
+        ApprovalWorkflowStatus.APPROVED
+    };
+
+    // Coprime with the five statuses, so every status meets every theme
+    private static final ProjectTheme[] THEMES = {ProjectTheme.GBV, ProjectTheme.FP, ProjectTheme.MNH};
+
+    private static final Pageable PAGE = PageRequest.of(0, PAGE_SIZE, Sort.by("createdAt").ascending());
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Test
+    void reviewQueuePageCostsTheSameQueriesAtEveryTableSize() {
+        ProjectService projectService = projectService();
+        User reviewer = new User();
+        reviewer.setThematicArea(ProjectTheme.MNH);
+
+        persistProjects(0, 200);
+        long small = countStatements(() -> assertReviewQueuePage(projectService.getReviewQueue(reviewer, PAGE)));
+
+        persistProjects(200, 1000);
+        long large = countStatements(() -> assertReviewQueuePage(projectService.getReviewQueue(reviewer, PAGE)));
+
+        // ID page, its count, and one fetch of themes and locations for the page
+        assertEquals(3, small);
+        assertEquals(small, large);
+    }
+
+    @Test
+    void finalApprovalQueuePageCostsTheSameQueriesAtEveryTableSize() {
+        ProjectService projectService = projectService();
+
+        persistProjects(0, 200);
+        long small = countStatements(() -> assertFinalApprovalPage(projectService.getFinalApprovalQueue(PAGE)));
+
+        persistProjects(200, 1000);
+        long large = countStatements(() -> assertFinalApprovalPage(projectService.getFinalApprovalQueue(PAGE)));
+
+        assertEquals(3, small);
+        assertEquals(small, large);
+    }
+
+    @Test
+    void reviewerWithoutThemesGetsAnEmptyPageWithoutQuerying() {
+        ProjectService projectService = projectService();
+        persistProjects(0, 50);
+
+        long statements = countStatements(() -> assertTrue(projectService.getReviewQueue(new User(), PAGE).isEmpty()));
+
+        assertEquals(0, statements);
+    }
+
+    private static void assertReviewQueuePage(Page<Project> page) {
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        for (Project project : page.getContent()) {
+            assertTrue(Set.of(ApprovalWorkflowStatus.PENDING_REVIEW, ApprovalWorkflowStatus.UNDER_REVIEW)
+                .contains(project.getApprovalWorkflowStatus()), project.getTitle());
+            assertTrue(project.getThemes().stream().anyMatch(theme -> theme.getProjectTheme() == ProjectTheme.MNH),
+                project.getTitle());
+            assertEquals(1, project.getLocations().size());
+        }
+    }
+
+    private static void assertFinalApprovalPage(Page<Project> page) {
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        for (Project project : page.getContent()) {
+            assertTrue(Set.of(ApprovalWorkflowStatus.PENDING_FINAL_APPROVAL, ApprovalWorkflowStatus.REVIEWED)
+                .contains(project.getApprovalWorkflowStatus()), project.getTitle());
+            assertEquals(1, project.getThemes().size());
+        }
+    }
+
+    /**
+     * Prepared statements issued by the action, run against a cleared persistence context
+     */
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private ProjectService projectService() {
+        ProjectService projectService = new ProjectService();
+        ReflectionTestUtils.setField(projectService, "projectRepository", projectRepository);
+        return projectService;
+    }
+
+    private void persistProjects(int from, int to) {
+        for (int i = from; i < to; i++) {
+            Project project = new Project();
+            project.setPartner("partner" + i + "@example.org");
+            project.setTitle("Project " + i);
+            project.setProjectCategory(ProjectCategory.IMPLEMENTING);
+            project.setStartDate(LocalDate.of(2024, 1, 1));
+            project.setActivityType("Activity");
+            project.setContactPersonName("Contact " + i);
+            project.setContactPersonRole("Manager");
+            project.setObjectives("Objectives");
+            project.setBudget(BigDecimal.TEN);
+            project.setApprovalWorkflowStatus(STATUSES[i % STATUSES.length]);
+            project.addTheme(THEMES[i % THEMES.length]);
+            project.addLocation("Nairobi", "Westlands", null, -1.26, 36.80);
+            entityManager.persist(project);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.models.ApprovalStatus;
+import com.tujulishanehub.backend.models.Organization;
+import com.tujulishanehub.backend.models.Project;
+import com.tujulishanehub.backend.models.ProjectReport;
+import com.tujulishanehub.backend.payload.SearchResult;
+import com.tujulishanehub.backend.repositories.OrganizationRepository;
+import com.tujulishanehub.backend.repositories.PastProjectRepository;
+import com.tujulishanehub.backend.repositories.ProjectReportRepository;
+import com.tujulishanehub.backend.repositories.ProjectRepository;
+import com.tujulishanehub.backend.services.SearchIndexService.EntityType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexServiceTest {
+
+    private static final long SUBMITTER_ID = 40L;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private PastProjectRepository pastProjectRepository;
+
+    @Mock
+    private ProjectReportRepository projectReportRepository;
+
+    @Mock
+    private OrganizationRepository organizationRepository;
+
+    @InjectMocks
+    private SearchIndexService searchIndexService;
+
+    @BeforeEach
+    void setUp() {
+        // The same id in every table, so results are only told apart by the type packed into the key
+        when(projectRepository.findSearchIndexRows()).thenReturn(List.<Object[]>of(
+            new Object[]{7L, "Borehole water supply", "Water Aid", "P-007", "Infrastructure",
+                "Clean water for Kitui schools", "Kitui", "active"}));
+        when(pastProjectRepository.findSearchIndexRows()).thenReturn(List.<Object[]>of(
+            new Object[]{7L, "Rainwater harvesting", "Water Aid", "Infrastructure", "Makueni",
+                "Water tanks for clinics", "Maintain gutters", "completed"}));
+        when(projectReportRepository.findSearchIndexRows()).thenReturn(List.<Object[]>of(
+            new Object[]{7L, "Water supply completion report", "All boreholes handed over", "Final figures",
+                ProjectReport.ReportStatus.PUBLISHED, ProjectReport.ReportType.COMPLETION, 7L, SUBMITTER_ID},
+            new Object[]{8L, "Water quality interim report", "Draft water testing results", "Pending lab work",
+                ProjectReport.ReportStatus.DRAFT, ProjectReport.ReportType.INTERIM, 7L, SUBMITTER_ID}));
+        when(organizationRepository.findSearchIndexRows()).thenReturn(List.<Object[]>of(
+            new Object[]{7L, "Water Aid Kenya", Organization.OrganizationType.NGO, "Water and sanitation",
+                "Nairobi", "NGO/123", ApprovalStatus.APPROVED}));
+
+        searchIndexService.rebuild();
+    }
+
+    @Test
+    void keyPacksIdAndTypeWithoutCollisions() {
+        for (long id : new long[]{0L, 1L, 7L, 123_456_789L, Long.MAX_VALUE >>> 2}) {
+            for (EntityType type : EntityType.values()) {
+                long key = ReflectionTestUtils.invokeMethod(SearchIndexService.class, "key", id, type);
+                long unpackedId = ReflectionTestUtils.invokeMethod(SearchIndexService.class, "idOf", key);
+                EntityType unpackedType = ReflectionTestUtils.invokeMethod(SearchIndexService.class, "typeOf", key);
+
+                assertEquals(id, unpackedId, type + " " + id);
+                assertEquals(type, unpackedType, type + " " + id);
+            }
+        }
+        long project = ReflectionTestUtils.invokeMethod(SearchIndexService.class, "key", 7L, EntityType.PROJECT);
+        long organization = ReflectionTestUtils.invokeMethod(SearchIndexService.class, "key", 7L, EntityType.ORGANIZATION);
+        assertNotEquals(project, organization);
+    }
+
+    @Test
+    void searchReturnsEveryTypeForTheSameId() {
+        Map<String, Object> data = searchIndexService.search("water", null, null, false, 0, 20);
+
+        List<SearchResult> results = results(data);
+        assertEquals(Set.of("PROJECT", "PAST_PROJECT", "REPORT", "ORGANIZATION"),
+            Set.copyOf(results.stream().map(SearchResult::getType).toList()));
+        assertTrue(results.stream().allMatch(result -> result.getId() == 7L));
+        assertEquals(4, data.get("totalItems"));
+    }
+
+    @Test
+    void typeFilterKeepsFacetsForEveryType() {
+        Map<String, Object> data = searchIndexService.search("water", Set.of(EntityType.ORGANIZATION), null, false, 0, 20);
+
+        List<SearchResult> results = results(data);
+        assertEquals(1, results.size());
+        assertEquals("Water Aid Kenya", results.get(0).getTitle());
+        assertEquals("NGO", results.get(0).getSubtitle());
+        assertEquals(Map.of(EntityType.PROJECT, 1L, EntityType.PAST_PROJECT, 1L, EntityType.REPORT, 1L,
+            EntityType.ORGANIZATION, 1L), data.get("facets"));
+    }
+
+    @Test
+    void draftReportsAreOnlyVisibleToTheirSubmitterAndSuperAdmins() {
+        assertEquals(List.of(7L), reportIds(searchIndexService.search("water report", null, null, false, 0, 20)));
+        assertEquals(List.of(7L), reportIds(searchIndexService.search("water report", null, 99L, false, 0, 20)));
+        assertEquals(Set.of(7L, 8L), Set.copyOf(reportIds(searchIndexService.search("water report", null, SUBMITTER_ID, false, 0, 20))));
+        assertEquals(Set.of(7L, 8L), Set.copyOf(reportIds(searchIndexService.search("water report", null, null, true, 0, 20))));
+    }
+
+    @Test
+    void resultsArePaged() {
+        Map<String, Object> first = searchIndexService.search("water", null, null, false, 0, 3);
+        Map<String, Object> second = searchIndexService.search("water", null, null, false, 1, 3);
+        Map<String, Object> beyond = searchIndexService.search("water", null, null, false, 5, 3);
+
+        assertEquals(3, results(first).size());
+        assertEquals(1, results(second).size());
+        assertTrue(results(beyond).isEmpty());
+        assertEquals(2, first.get("totalPages"));
+    }
+
+    @Test
+    void changesAndDeletionsAreApplied() {
+        Project project = new Project();
+        project.setId(7L);
+        project.setTitle("Solar lighting");
+        project.setPartner("Light Up");
+        project.setStatus("active");
+        searchIndexService.projectChanged(project);
+
+        assertEquals(List.of("PROJECT"), types(searchIndexService.search("solar", null, null, false, 0, 20)));
+        assertEquals(List.of("REPORT"), types(searchIndexService.search("borehole", null, null, true, 0, 20)));
+
+        // Deleting a project also drops its reports
+        searchIndexService.projectDeleted(7L);
+
+        assertTrue(results(searchIndexService.search("solar", null, null, false, 0, 20)).isEmpty());
+        assertEquals(Set.of("PAST_PROJECT", "ORGANIZATION"),
+            Set.copyOf(types(searchIndexService.search("water", null, null, true, 0, 20))));
+    }
+
+    @Test
+    void rejectsBlankQueriesAndBadPages() {
+        assertThrows(IllegalArgumentException.class, () -> searchIndexService.search(" ", null, null, false, 0, 20));
+        assertThrows(IllegalArgumentException.class, () -> searchIndexService.search("water", null, null, false, -1, 20));
+        assertThrows(IllegalArgumentException.class,
+            () -> searchIndexService.search("water", null, null, false, 0, SearchIndexService.MAX_PAGE_SIZE + 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<SearchResult> results(Map<String, Object> data) {
+        return (List<SearchResult>) data.get("results");
+    }
+
+    private static List<String> types(Map<String, Object> data) {
+        return results(data).stream().map(SearchResult::getType).toList();
+    }
+
+    private static List<Long> reportIds(Map<String, Object> data) {
+        return results(data).stream().filter(result -> "REPORT".equals(result.getType())).map(SearchResult::getId).toList();
+    }
+}
@@ -0,0 +1,132 @@
+package com.tujulishanehub.backend.services;
+
+import com.tujulishanehub.backend.models.EmailOutboxMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Outbox delivery against an embedded SMTP server: batches share pooled sessions, and the pool
+ * opens far fewer connections than sending each message on its own.
+ */
+class SmtpTransportPoolTest {
+
+    private static final int MESSAGES = 50;
+
+    private FakeSmtpServer server;
+    private JavaMailSenderImpl mailSender;
+    private final List<SmtpTransportPool> pools = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeSmtpServer();
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(server.getHost());
+        mailSender.setPort(server.getPort());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        pools.forEach(SmtpTransportPool::shutdown);
+        server.close();
+    }
+
+    @Test
+    void batchIsSentOverOneSession() {
+        SmtpTransportPool pool = newPool(mailSender, 100);
+
+        Map<Long, Exception> failures = newEmailService(pool).deliverAll(messages(1, MESSAGES));
+
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertEquals(MESSAGES, server.getMessages().size());
+        assertEquals(1, server.getConnections());
+        assertEquals(1L, pool.getStatistics().get("sessionsOpened"));
+    }
+
+    @Test
+    void nextBatchReusesTheIdleSession() {
+        SmtpTransportPool pool = newPool(mailSender, 100);
+        EmailService emailService = newEmailService(pool);
+
+        emailService.deliverAll(messages(1, 10));
+        emailService.deliverAll(messages(11, 10));
+
+        assertEquals(20, server.getMessages().size());
+        assertEquals(1, server.getConnections());
+        assertEquals(1L, pool.getStatistics().get("sessionsReused"));
+    }
+
+    @Test
+    void sessionIsRetiredAfterMaxMessagesPerSession() {
+        SmtpTransportPool pool = newPool(mailSender, 10);
+        EmailService emailService = newEmailService(pool);
+
+        emailService.deliverAll(messages(1, 10));
+        emailService.deliverAll(messages(11, 10));
+
+        assertEquals(20, server.getMessages().size());
+        assertEquals(2, server.getConnections());
+        assertEquals(0L, pool.getStatistics().get("sessionsReused"));
+    }
+
+    @Test
+    void pooledDeliveryOpensOneSessionWhereUnpooledOpensOnePerMessage() {
+        // Without a JavaMailSenderImpl-backed pool, delivery falls back to JavaMailSender.send()
+        newEmailService(newPool(null, 100), mailSender).deliverAll(messages(1, MESSAGES));
+        int unpooledConnections = server.getConnections();
+
+        newEmailService(newPool(mailSender, 100)).deliverAll(messages(MESSAGES + 1, MESSAGES));
+        int pooledConnections = server.getConnections() - unpooledConnections;
+
+        assertEquals(2 * MESSAGES, server.getMessages().size());
+        assertEquals(MESSAGES, unpooledConnections);
+        assertEquals(1, pooledConnections);
+    }
+
+    private SmtpTransportPool newPool(JavaMailSenderImpl sender, int maxMessagesPerSession) {
+        SmtpTransportPool pool = new SmtpTransportPool();
+        ReflectionTestUtils.setField(pool, "mailSender", sender);
+        ReflectionTestUtils.setField(pool, "poolSize", 2);
+        ReflectionTestUtils.setField(pool, "maxMessagesPerSession", maxMessagesPerSession);
+        ReflectionTestUtils.setField(pool, "idleTimeoutSeconds", 60L);
+        ReflectionTestUtils.setField(pool, "borrowTimeoutSeconds", 5L);
+        pool.init();
+        pools.add(pool);
+        return pool;
+    }
+
+    private EmailService newEmailService(SmtpTransportPool pool) {
+        return newEmailService(pool, mailSender);
+    }
+
+    private static EmailService newEmailService(SmtpTransportPool pool, JavaMailSenderImpl sender) {
+        EmailService emailService = new EmailService();
+        ReflectionTestUtils.setField(emailService, "mailSender", sender);
+        ReflectionTestUtils.setField(emailService, "smtpTransportPool", pool);
+        ReflectionTestUtils.setField(emailService, "emailEnabled", true);
+        ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@example.org");
+        return emailService;
+    }
+
+    private static List<EmailOutboxMessage> messages(long firstId, int count) {
+        List<EmailOutboxMessage> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            EmailOutboxMessage message = new EmailOutboxMessage();
+            message.setId(firstId + i);
+            message.setRecipient("partner" + (firstId + i) + "@example.org");
+            message.setSubject("Project Approved - Project " + (firstId + i));
+            message.setBody("Your project has been approved.");
+            messages.add(message);
+        }
+        return messages;
+    }
+}
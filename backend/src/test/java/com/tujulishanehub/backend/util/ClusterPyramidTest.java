@@ -0,0 +1,232 @@
+package com.tujulishanehub.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClusterPyramidTest {
+
+    private static final int MAX_ZOOM = 12;
+    private static final int CELLS_PER_TILE = 4;
+    private static final int CATEGORIES = 3;
+
+    @Test
+    void clusterCountsPerZoomMatchBruteForce() {
+        Random random = new Random(5);
+        Map<Long, List<double[]>> positions = randomPositions(random, 500);
+        ClusterPyramid pyramid = pyramid(positions);
+
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            assertEquals(bruteForce(positions, zoom), clusters(pyramid, zoom), "zoom " + zoom);
+        }
+    }
+
+    @Test
+    void zoomingOutNeverSplitsClusters() {
+        ClusterPyramid pyramid = pyramid(randomPositions(new Random(6), 500));
+
+        int previous = Integer.MAX_VALUE;
+        for (int zoom = MAX_ZOOM; zoom >= 0; zoom--) {
+            List<ClusterPyramid.Cluster> clusters = world(pyramid, zoom);
+            assertTrue(clusters.size() <= previous, "zoom " + zoom);
+            assertEquals(1000, clusters.stream().mapToInt(ClusterPyramid.Cluster::getCount).sum(), "zoom " + zoom);
+            previous = clusters.size();
+        }
+        // 90 degree cells at the coarsest level: Kenya straddles the equator, so one cluster each side
+        assertEquals(2, world(pyramid, 0).size());
+    }
+
+    @Test
+    void replacingAnOwnerMovesItsPointsAtEveryZoom() {
+        ClusterPyramid pyramid = new ClusterPyramid(MAX_ZOOM, CELLS_PER_TILE, CATEGORIES);
+        pyramid.put(1, List.of(point(-1.29, 36.82, 0), point(-1.28, 36.81, 0)));  // Nairobi
+        pyramid.put(2, List.of(point(-4.04, 39.67, 1)));                           // Mombasa
+
+        pyramid.put(1, List.of(point(0.51, 35.27, 2)));                            // moved to Eldoret
+
+        Map<Long, List<double[]>> expected = Map.of(
+            1L, List.<double[]>of(new double[]{0.51, 35.27}),
+            2L, List.<double[]>of(new double[]{-4.04, 39.67}));
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            assertEquals(bruteForce(expected, zoom), clusters(pyramid, zoom), "zoom " + zoom);
+        }
+        assertEquals(2, pyramid.getStatistics().get("points"));
+    }
+
+    @Test
+    void removingAnOwnerLeavesNoEmptyClusters() {
+        ClusterPyramid pyramid = new ClusterPyramid(MAX_ZOOM, CELLS_PER_TILE, CATEGORIES);
+        pyramid.put(1, List.of(point(-1.29, 36.82, 0), point(-0.09, 34.77, 1)));
+        pyramid.put(2, List.of(point(-1.29, 36.82, 1)));
+
+        pyramid.remove(1);
+
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            List<ClusterPyramid.Cluster> clusters = world(pyramid, zoom);
+            assertEquals(1, clusters.size(), "zoom " + zoom);
+            assertEquals(1, clusters.get(0).getCount());
+            assertEquals(1, clusters.get(0).getDominantCategory());
+        }
+
+        pyramid.remove(2);
+        pyramid.remove(3);  // unknown owner
+
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            assertTrue(world(pyramid, zoom).isEmpty(), "zoom " + zoom);
+        }
+        assertEquals(List.of(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0), pyramid.getStatistics().get("cellsPerLevel"));
+    }
+
+    @Test
+    void putWithNoPointsRemovesTheOwner() {
+        ClusterPyramid pyramid = new ClusterPyramid(MAX_ZOOM, CELLS_PER_TILE, CATEGORIES);
+        pyramid.put(1, List.of(point(-1.29, 36.82, 0)));
+
+        pyramid.put(1, List.of());
+
+        assertTrue(world(pyramid, MAX_ZOOM).isEmpty());
+        assertEquals(0, pyramid.getStatistics().get("owners"));
+    }
+
+    @Test
+    void incrementalUpdatesMatchAFullRebuild() {
+        Random random = new Random(7);
+        ClusterPyramid incremental = new ClusterPyramid(MAX_ZOOM, CELLS_PER_TILE, CATEGORIES);
+        Map<Long, List<double[]>> current = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            long owner = random.nextInt(200);
+            if (random.nextInt(4) == 0) {
+                incremental.remove(owner);
+                current.remove(owner);
+            } else {
+                List<double[]> positions = randomPositions(random, 1).get(0L);
+                incremental.put(owner, points(positions));
+                current.put(owner, positions);
+            }
+        }
+
+        Map<Long, List<ClusterPyramid.Point>> pointsByOwner = new HashMap<>();
+        current.forEach((owner, positions) -> pointsByOwner.put(owner, points(positions)));
+        ClusterPyramid rebuilt = new ClusterPyramid(MAX_ZOOM, CELLS_PER_TILE, CATEGORIES);
+        rebuilt.replaceAll(pointsByOwner);
+
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            assertEquals(clusters(rebuilt, zoom), clusters(incremental, zoom), "zoom " + zoom);
+            assertEquals(bruteForce(current, zoom), clusters(incremental, zoom), "zoom " + zoom);
+        }
+        assertEquals(rebuilt.getStatistics(), incremental.getStatistics());
+    }
+
+    @Test
+    void clusterHasTheCentroidAndDominantCategory() {
+        ClusterPyramid pyramid = new ClusterPyramid(MAX_ZOOM, CELLS_PER_TILE, CATEGORIES);
+        pyramid.put(1, List.of(point(-1.0, 36.0, 2), point(-2.0, 37.0, 1, 2)));
+        pyramid.put(2, List.of(point(-1.5, 36.5)));
+
+        List<ClusterPyramid.Cluster> clusters = world(pyramid, 0);
+
+        assertEquals(1, clusters.size());
+        assertEquals(3, clusters.get(0).getCount());
+        assertEquals(-1.5, clusters.get(0).getLatitude(), 1e-9);
+        assertEquals(36.5, clusters.get(0).getLongitude(), 1e-9);
+        assertEquals(2, clusters.get(0).getDominantCategory());
+
+        pyramid.remove(1);
+        assertEquals(-1, world(pyramid, 0).get(0).getDominantCategory());
+    }
+
+    @Test
+    void zoomIsClampedToTheAvailableLevels() {
+        ClusterPyramid pyramid = pyramid(randomPositions(new Random(8), 100));
+
+        assertEquals(clusters(pyramid, MAX_ZOOM), clusters(pyramid, MAX_ZOOM + 5));
+        assertEquals(clusters(pyramid, 0), clusters(pyramid, -3));
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new ClusterPyramid(-1, CELLS_PER_TILE, CATEGORIES));
+        assertThrows(IllegalArgumentException.class, () -> new ClusterPyramid(25, CELLS_PER_TILE, CATEGORIES));
+        assertThrows(IllegalArgumentException.class, () -> new ClusterPyramid(MAX_ZOOM, 0, CATEGORIES));
+    }
+
+    private static ClusterPyramid.Point point(double latitude, double longitude, int... categories) {
+        return new ClusterPyramid.Point(latitude, longitude, categories);
+    }
+
+    /**
+     * Two {latitude, longitude} positions per owner, around Nairobi or anywhere in Kenya
+     */
+    private static Map<Long, List<double[]>> randomPositions(Random random, int owners) {
+        Map<Long, List<double[]>> positions = new HashMap<>();
+        for (long owner = 0; owner < owners; owner++) {
+            List<double[]> ownerPositions = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                double lat = random.nextBoolean() ? -1.29 + random.nextGaussian() * 0.05 : -4.6 + random.nextDouble() * 9.6;
+                double lng = random.nextBoolean() ? 36.82 + random.nextGaussian() * 0.05 : 34 + random.nextDouble() * 7.8;
+                ownerPositions.add(new double[]{lat, lng});
+            }
+            positions.put(owner, ownerPositions);
+        }
+        return positions;
+    }
+
+    private static List<ClusterPyramid.Point> points(List<double[]> positions) {
+        return positions.stream().map(position -> point(position[0], position[1], 0)).toList();
+    }
+
+    private static ClusterPyramid pyramid(Map<Long, List<double[]>> positions) {
+        ClusterPyramid pyramid = new ClusterPyramid(MAX_ZOOM, CELLS_PER_TILE, CATEGORIES);
+        positions.forEach((owner, ownerPositions) -> pyramid.put(owner, points(ownerPositions)));
+        return pyramid;
+    }
+
+    private static List<ClusterPyramid.Cluster> world(ClusterPyramid pyramid, int zoom) {
+        return pyramid.query(-90, 90, -180, 180, zoom);
+    }
+
+    /**
+     * Clusters at a zoom level as "count@lat,lng" keyed by position, comparable across pyramids
+     */
+    private static Map<String, Integer> clusters(ClusterPyramid pyramid, int zoom) {
+        Map<String, Integer> result = new TreeMap<>();
+        for (ClusterPyramid.Cluster cluster : world(pyramid, zoom)) {
+            assertTrue(cluster.getCount() > 0);
+            result.put(String.format("%.6f,%.6f", cluster.getLatitude(), cluster.getLongitude()), cluster.getCount());
+        }
+        return result;
+    }
+
+    /**
+     * The same clusters, by grouping every point into its cell at the zoom level
+     */
+    private static Map<String, Integer> bruteForce(Map<Long, List<double[]>> positions, int zoom) {
+        double cellDegrees = 360.0 / ((1L << zoom) * CELLS_PER_TILE);
+        Map<String, double[]> cells = new HashMap<>();
+        for (List<double[]> ownerPositions : positions.values()) {
+            for (double[] position : ownerPositions) {
+                double lat = position[0];
+                double lng = position[1];
+                String cell = Math.floor(lat / cellDegrees) + ":" + Math.floor(lng / cellDegrees);
+                double[] sums = cells.computeIfAbsent(cell, k -> new double[3]);
+                sums[0]++;
+                sums[1] += lat;
+                sums[2] += lng;
+            }
+        }
+        Map<String, Integer> result = new TreeMap<>();
+        for (double[] sums : cells.values()) {
+            result.put(String.format("%.6f,%.6f", sums[1] / sums[0], sums[2] / sums[0]), (int) sums[0]);
+        }
+        return result;
+    }
+}
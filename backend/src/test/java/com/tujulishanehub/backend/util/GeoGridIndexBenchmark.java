@@ -0,0 +1,143 @@
+package com.tujulishanehub.backend.util;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Map pan latency of the marker grid at 100k project locations, half of them clustered around
+ * Nairobi as real data is: city- and metro-sized bounding boxes, 10 nearest within 50 km, and
+ * single-project marker updates, with a linear scan of the same points as the baseline.
+ *
+ * Run with ./gradlew benchmark. Budgets are several times the measured figures (city box p99
+ * under 1 ms, nearest p99 under 10 ms, updates under 0.1 ms), so they only fail on a real
+ * regression.
+ */
+@Tag("benchmark")
+class GeoGridIndexBenchmark {
+
+    private static final int LOCATIONS = 100_000;
+    private static final double CELL_DEGREES = 0.25;
+    private static final double NAIROBI_LAT = -1.2864;
+    private static final double NAIROBI_LNG = 36.8172;
+    private static final int WARMUP_QUERIES = 2000;
+    private static final int QUERIES = 5000;
+    private static final int UPDATES = 20_000;
+
+    private static final double CITY_BOX_P99_BUDGET_MS = 5;
+    private static final double METRO_BOX_P99_BUDGET_MS = 20;
+    private static final double NEAREST_P99_BUDGET_MS = 50;
+    private static final double UPDATE_MEAN_BUDGET_MS = 0.5;
+
+    @Test
+    void hundredThousandMarkers(TestReporter reporter) {
+        Random random = new Random(11);
+        Map<Long, List<GeoGridIndex.Entry<Long>>> points = new HashMap<>();
+        double[][] flat = new double[LOCATIONS][];
+        for (int i = 0; i < LOCATIONS; i++) {
+            double[] position = position(random, i);
+            flat[i] = position;
+            points.computeIfAbsent((long) i / 2, k -> new ArrayList<>())
+                .add(new GeoGridIndex.Entry<>(position[0], position[1], (long) i));
+        }
+
+        GeoGridIndex<Long> index = new GeoGridIndex<>(CELL_DEGREES);
+        long buildStart = System.nanoTime();
+        index.replaceAll(points);
+        double buildMs = (System.nanoTime() - buildStart) / 1e6;
+
+        // About 11 km across: a city centre at street-level zoom
+        double[] city = percentiles(random, 0.1, (minLat, minLng, span) ->
+            index.query(minLat, minLat + span, minLng, minLng + span).size());
+        double[] cityScan = percentiles(random, 0.1, (minLat, minLng, span) ->
+            scan(flat, minLat, minLat + span, minLng, minLng + span));
+        // About 55 km across: the whole metro area, thousands of markers
+        double[] metro = percentiles(random, 0.5, (minLat, minLng, span) ->
+            index.query(minLat, minLat + span, minLng, minLng + span).size());
+        double[] nearest = percentiles(random, 0, (lat, lng, span) ->
+            index.nearest(lat, lng, 50, 10, value -> true).size());
+
+        long updateStart = System.nanoTime();
+        for (int u = 0; u < UPDATES; u++) {
+            long owner = random.nextInt(LOCATIONS / 2);
+            double[] position = position(random, random.nextInt(LOCATIONS));
+            index.put(owner, List.of(new GeoGridIndex.Entry<>(position[0], position[1], owner * 2)));
+        }
+        double updateMeanMs = (System.nanoTime() - updateStart) / 1e6 / UPDATES;
+
+        Map<String, String> entry = new HashMap<>();
+        entry.put("locations", String.valueOf(LOCATIONS));
+        entry.put("buildMs", format(buildMs));
+        entry.put("cityBoxP50Ms", format(city[0]));
+        entry.put("cityBoxP99Ms", format(city[1]));
+        entry.put("cityBoxLinearScanP50Ms", format(cityScan[0]));
+        entry.put("metroBoxP50Ms", format(metro[0]));
+        entry.put("metroBoxP99Ms", format(metro[1]));
+        entry.put("nearest10P50Ms", format(nearest[0]));
+        entry.put("nearest10P99Ms", format(nearest[1]));
+        entry.put("updateMeanMs", format(updateMeanMs));
+        reporter.publishEntry(entry);
+
+        assertTrue(city[1] < CITY_BOX_P99_BUDGET_MS, "city box p99 " + city[1] + " ms");
+        assertTrue(city[0] < cityScan[0], "city box p50 " + city[0] + " ms is no faster than a scan");
+        assertTrue(metro[1] < METRO_BOX_P99_BUDGET_MS, "metro box p99 " + metro[1] + " ms");
+        assertTrue(nearest[1] < NEAREST_P99_BUDGET_MS, "nearest p99 " + nearest[1] + " ms");
+        assertTrue(updateMeanMs < UPDATE_MEAN_BUDGET_MS, "update mean " + updateMeanMs + " ms");
+    }
+
+    private interface Query {
+        int run(double lat, double lng, double span);
+    }
+
+    /**
+     * p50 and p99 in milliseconds of a query at random positions around Nairobi
+     */
+    private static double[] percentiles(Random random, double span, Query query) {
+        for (int q = 0; q < WARMUP_QUERIES; q++) {
+            query.run(NAIROBI_LAT + random.nextGaussian() * 0.2, NAIROBI_LNG + random.nextGaussian() * 0.2, span);
+        }
+        long[] nanos = new long[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            double lat = NAIROBI_LAT + random.nextGaussian() * 0.2 - span / 2;
+            double lng = NAIROBI_LNG + random.nextGaussian() * 0.2 - span / 2;
+            long start = System.nanoTime();
+            query.run(lat, lng, span);
+            nanos[q] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return new double[]{nanos[QUERIES / 2] / 1e6, nanos[QUERIES * 99 / 100] / 1e6};
+    }
+
+    /**
+     * Half the locations within about 20 km of Nairobi, the rest spread over Kenya
+     */
+    private static double[] position(Random random, int i) {
+        if (i % 2 == 0) {
+            return new double[]{NAIROBI_LAT + random.nextGaussian() * 0.1, NAIROBI_LNG + random.nextGaussian() * 0.1};
+        }
+        return new double[]{-4.6 + random.nextDouble() * 9.6, 34 + random.nextDouble() * 7.8};
+    }
+
+    private static int scan(double[][] points, double minLat, double maxLat, double minLng, double maxLng) {
+        int found = 0;
+        for (double[] point : points) {
+            if (point[0] >= minLat && point[0] <= maxLat && point[1] >= minLng && point[1] <= maxLng) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private static String format(double millis) {
+        return String.format("%.3f", millis);
+    }
+}
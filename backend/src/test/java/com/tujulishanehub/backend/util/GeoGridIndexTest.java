@@ -0,0 +1,259 @@
+package com.tujulishanehub.backend.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoGridIndexTest {
+
+    private static final double CELL_DEGREES = 0.25;
+
+    @Test
+    void queryMatchesBruteForceOnRandomBoxes() {
+        Random random = new Random(42);
+        Map<Long, List<GeoGridIndex.Entry<Long>>> points = randomPoints(random, 2_000);
+        GeoGridIndex<Long> index = new GeoGridIndex<>(CELL_DEGREES);
+        index.replaceAll(points);
+
+        for (int i = 0; i < 200; i++) {
+            double lat = -5 + random.nextDouble() * 10;
+            double lng = 33 + random.nextDouble() * 10;
+            // Mix small boxes (per-point checks) with large ones (whole cells copied)
+            double span = i % 2 == 0 ? random.nextDouble() * 0.5 : random.nextDouble() * 8;
+            double minLat = lat - span;
+            double maxLat = lat + span;
+            double minLng = lng - span;
+            double maxLng = lng + span;
+
+            assertEquals(bruteForce(points, minLat, maxLat, minLng, maxLng),
+                sorted(index.query(minLat, maxLat, minLng, maxLng)), "box " + i);
+        }
+    }
+
+    @Test
+    void queryIncludesPointsOnTheEdges() {
+        GeoGridIndex<String> index = new GeoGridIndex<>(CELL_DEGREES);
+        index.put(1, List.of(new GeoGridIndex.Entry<>(-1.0, 36.5, "corner"),
+            new GeoGridIndex.Entry<>(-0.75, 36.75, "inside"),
+            new GeoGridIndex.Entry<>(-0.49, 36.75, "outside")));
+
+        List<String> found = index.query(-1.0, -0.5, 36.5, 37.0);
+
+        assertEquals(List.of("corner", "inside"), found.stream().sorted().toList());
+    }
+
+    @Test
+    void queryAcceptsSwappedBounds() {
+        GeoGridIndex<String> index = new GeoGridIndex<>(CELL_DEGREES);
+        index.put(1, List.of(new GeoGridIndex.Entry<>(-1.29, 36.82, "Nairobi")));
+
+        assertEquals(List.of("Nairobi"), index.query(-1.0, -2.0, 37.0, 36.0));
+    }
+
+    @Test
+    void queryOverTheWholeWorldFindsEveryPoint() {
+        Random random = new Random(7);
+        GeoGridIndex<Long> index = new GeoGridIndex<>(CELL_DEGREES);
+        index.replaceAll(randomPoints(random, 500));
+
+        assertEquals(500, index.query(-90, 90, -180, 180).size());
+        assertEquals(500, index.query(-1_000, 1_000, -1_000, 1_000).size());
+    }
+
+    @Test
+    void putReplacesAnOwnersPoints() {
+        GeoGridIndex<String> index = new GeoGridIndex<>(CELL_DEGREES);
+        index.put(1, List.of(new GeoGridIndex.Entry<>(-1.29, 36.82, "Nairobi"),
+            new GeoGridIndex.Entry<>(-4.04, 39.67, "Mombasa")));
+        index.put(2, List.of(new GeoGridIndex.Entry<>(0.52, 35.27, "Eldoret")));
+
+        index.put(1, List.of(new GeoGridIndex.Entry<>(-0.09, 34.77, "Kisumu")));
+
+        assertEquals(2, index.size());
+        assertEquals(List.of("Eldoret", "Kisumu"), index.query(-5, 5, 33, 42).stream().sorted().toList());
+    }
+
+    @Test
+    void removeAndEmptyPutDropAnOwner() {
+        GeoGridIndex<String> index = new GeoGridIndex<>(CELL_DEGREES);
+        index.put(1, List.of(new GeoGridIndex.Entry<>(-1.29, 36.82, "Nairobi")));
+        index.put(2, List.of(new GeoGridIndex.Entry<>(-4.04, 39.67, "Mombasa")));
+        index.put(3, List.of(new GeoGridIndex.Entry<>(0.52, 35.27, "Eldoret")));
+
+        index.remove(1);
+        index.put(2, List.of());
+        index.remove(99);
+
+        assertEquals(1, index.size());
+        assertEquals(List.of("Eldoret"), index.query(-5, 5, 33, 42));
+    }
+
+    @Test
+    void pointsInTheSameCellAreKeptSeparatePerOwner() {
+        GeoGridIndex<String> index = new GeoGridIndex<>(CELL_DEGREES);
+        index.put(1, List.of(new GeoGridIndex.Entry<>(-1.29, 36.82, "first")));
+        index.put(2, List.of(new GeoGridIndex.Entry<>(-1.29, 36.82, "second")));
+
+        index.remove(1);
+
+        assertEquals(List.of("second"), index.query(-1.3, -1.28, 36.81, 36.83));
+    }
+
+    @Test
+    void nearestMatchesBruteForceOnRandomQueries() {
+        Random random = new Random(42);
+        Map<Long, List<GeoGridIndex.Entry<Long>>> points = randomPoints(random, 2_000);
+        GeoGridIndex<Long> index = new GeoGridIndex<>(CELL_DEGREES);
+        index.replaceAll(points);
+
+        for (int i = 0; i < 300; i++) {
+            double lat = -6 + random.nextDouble() * 12;
+            double lng = 32 + random.nextDouble() * 12;
+            double radius = i % 3 == 0 ? Double.POSITIVE_INFINITY : random.nextDouble() * 200;
+            int limit = 1 + random.nextInt(30);
+            Predicate<Long> filter = i % 4 == 0 ? value -> value % 3 == 0 : null;
+
+            List<GeoGridIndex.Neighbour<Long>> found = index.nearest(lat, lng, radius, limit, filter);
+            List<Double> expected = bruteForceNearest(points, lat, lng, radius, limit, filter);
+
+            assertEquals(expected.size(), found.size(), "query " + i);
+            for (int j = 0; j < found.size(); j++) {
+                GeoGridIndex.Neighbour<Long> neighbour = found.get(j);
+                assertEquals(expected.get(j), neighbour.getDistanceKm(), 1e-9, "query " + i + " rank " + j);
+                assertTrue(filter == null || filter.test(neighbour.getValue()), "query " + i);
+            }
+        }
+    }
+
+    @Test
+    void nearestFindsPointsFarOutsideTheDataAndAcrossTheEquator() {
+        GeoGridIndex<String> index = new GeoGridIndex<>(CELL_DEGREES);
+        index.put(1, List.of(new GeoGridIndex.Entry<>(0.1, 36.0, "north"),
+            new GeoGridIndex.Entry<>(-0.1, 36.0, "south"),
+            new GeoGridIndex.Entry<>(-0.3, 36.0, "further south")));
+
+        List<GeoGridIndex.Neighbour<String>> fromEquator = index.nearest(-0.05, 36.0, Double.POSITIVE_INFINITY, 2, null);
+        List<GeoGridIndex.Neighbour<String>> fromLondon = index.nearest(51.5, -0.13, Double.POSITIVE_INFINITY, 1, null);
+
+        assertEquals(List.of("south", "north"), fromEquator.stream().map(GeoGridIndex.Neighbour::getValue).toList());
+        assertEquals(List.of("north"), fromLondon.stream().map(GeoGridIndex.Neighbour::getValue).toList());
+        assertEquals(GeoGridIndex.distanceKm(51.5, -0.13, 0.1, 36.0), fromLondon.get(0).getDistanceKm(), 1e-9);
+    }
+
+    @Test
+    void nearestHonoursRadiusAndLimit() {
+        GeoGridIndex<String> index = new GeoGridIndex<>(CELL_DEGREES);
+        index.put(1, List.of(new GeoGridIndex.Entry<>(-1.29, 36.82, "Nairobi"),
+            new GeoGridIndex.Entry<>(-1.03, 37.07, "Thika"),
+            new GeoGridIndex.Entry<>(-4.04, 39.67, "Mombasa")));
+
+        assertEquals(List.of("Nairobi", "Thika"), index.nearest(-1.29, 36.82, 50, 10, null).stream()
+            .map(GeoGridIndex.Neighbour::getValue).toList());
+        assertEquals(List.of("Nairobi"), index.nearest(-1.29, 36.82, 50, 1, null).stream()
+            .map(GeoGridIndex.Neighbour::getValue).toList());
+        assertTrue(index.nearest(-1.29, 36.82, 50, 0, null).isEmpty());
+        assertTrue(index.nearest(-1.29, 36.82, -1, 10, null).isEmpty());
+        assertTrue(index.nearest(-1.29, 36.82, Double.NaN, 10, null).isEmpty());
+    }
+
+    @Test
+    void ringDistanceBoundNeverExceedsTheDistanceToAPointInTheRing() {
+        Random random = new Random(42);
+        GeoGridIndex<String> index = new GeoGridIndex<>(CELL_DEGREES);
+
+        for (int i = 0; i < 2_000; i++) {
+            // Include high latitudes, where a degree of longitude is shortest
+            double lat = -80 + random.nextDouble() * 160;
+            double lng = -170 + random.nextDouble() * 340;
+            long centerRow = (long) Math.floor(lat / CELL_DEGREES);
+            long centerCol = (long) Math.floor(lng / CELL_DEGREES);
+            long ring = 1 + random.nextInt(20);
+            double bound = ReflectionTestUtils.invokeMethod(index, "ringDistanceBound", lat, lng, centerRow, centerCol, ring);
+
+            for (int j = 0; j < 20; j++) {
+                // A random cell on the ring, then a random point in that cell
+                long offset = random.nextInt((int) (2 * ring + 1)) - ring;
+                long side = random.nextInt(2) == 0 ? -ring : ring;
+                long row = centerRow + (j % 2 == 0 ? side : offset);
+                long col = centerCol + (j % 2 == 0 ? offset : side);
+                double pointLat = (row + random.nextDouble()) * CELL_DEGREES;
+                double pointLng = (col + random.nextDouble()) * CELL_DEGREES;
+                if (Math.abs(pointLat) > 90) {
+                    continue;
+                }
+                double distance = GeoGridIndex.distanceKm(lat, lng, pointLat, pointLng);
+                assertTrue(bound <= distance + 1e-9, "bound " + bound + " km exceeds " + distance
+                    + " km from (" + lat + ", " + lng + ") to (" + pointLat + ", " + pointLng + ") in ring " + ring);
+            }
+        }
+    }
+
+    @Test
+    void rejectsNonPositiveCellSize() {
+        assertThrows(IllegalArgumentException.class, () -> new GeoGridIndex<String>(0));
+    }
+
+    /**
+     * Owners with one to three points scattered over Kenya, the value being a unique point id
+     */
+    private static Map<Long, List<GeoGridIndex.Entry<Long>>> randomPoints(Random random, int count) {
+        Map<Long, List<GeoGridIndex.Entry<Long>>> points = new HashMap<>();
+        long id = 0;
+        for (long owner = 0; id < count; owner++) {
+            List<GeoGridIndex.Entry<Long>> entries = new ArrayList<>();
+            for (int i = 1 + random.nextInt(3); i > 0 && id < count; i--) {
+                entries.add(new GeoGridIndex.Entry<>(-4.7 + random.nextDouble() * 9.7,
+                    33.9 + random.nextDouble() * 8, id++));
+            }
+            points.put(owner, entries);
+        }
+        return points;
+    }
+
+    private static List<Long> bruteForce(Map<Long, List<GeoGridIndex.Entry<Long>>> points,
+                                         double minLat, double maxLat, double minLng, double maxLng) {
+        List<Long> result = new ArrayList<>();
+        for (List<GeoGridIndex.Entry<Long>> entries : points.values()) {
+            for (GeoGridIndex.Entry<Long> entry : entries) {
+                if (entry.getLatitude() >= minLat && entry.getLatitude() <= maxLat
+                        && entry.getLongitude() >= minLng && entry.getLongitude() <= maxLng) {
+                    result.add(entry.getValue());
+                }
+            }
+        }
+        return sorted(result);
+    }
+
+    private static List<Double> bruteForceNearest(Map<Long, List<GeoGridIndex.Entry<Long>>> points,
+                                                  double latitude, double longitude, double maxDistanceKm,
+                                                  int limit, Predicate<Long> filter) {
+        List<Double> distances = new ArrayList<>();
+        for (List<GeoGridIndex.Entry<Long>> entries : points.values()) {
+            for (GeoGridIndex.Entry<Long> entry : entries) {
+                double distance = GeoGridIndex.distanceKm(latitude, longitude, entry.getLatitude(), entry.getLongitude());
+                if (distance <= maxDistanceKm && (filter == null || filter.test(entry.getValue()))) {
+                    distances.add(distance);
+                }
+            }
+        }
+        distances.sort(Comparator.naturalOrder());
+        return distances.subList(0, Math.min(limit, distances.size()));
+    }
+
+    private static List<Long> sorted(List<Long> values) {
+        List<Long> copy = new ArrayList<>(values);
+        copy.sort(null);
+        return copy;
+    }
+}
@@ -0,0 +1,107 @@
+package com.tujulishanehub.backend.util;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = newJwtUtil(3600L, 2);
+    }
+
+    @Test
+    void repeatVerificationIsServedFromTheCache() {
+        String token = jwtUtil.generateToken(user("partner@example.org"));
+
+        JwtUtil.VerifiedClaims first = jwtUtil.verifyToken(token);
+        JwtUtil.VerifiedClaims second = jwtUtil.verifyToken(token);
+
+        assertSame(first, second);
+        assertEquals("partner@example.org", jwtUtil.getUsernameFromToken(token));
+        assertEquals(1, cache(jwtUtil).size());
+    }
+
+    @Test
+    void expiredCacheEntryIsDroppedAndTheTokenVerifiedAgain() {
+        String token = jwtUtil.generateToken(user("partner@example.org"));
+        JwtUtil.VerifiedClaims verified = jwtUtil.verifyToken(token);
+
+        // Age the cached entry past its expiry; the token itself is still valid
+        JwtUtil.VerifiedClaims expired = new JwtUtil.VerifiedClaims(verified.getUsername(), null, null, null,
+            new Date(System.currentTimeMillis() - 1000));
+        cache(jwtUtil).replaceAll((key, claims) -> expired);
+
+        JwtUtil.VerifiedClaims reverified = jwtUtil.verifyToken(token);
+
+        assertNotSame(expired, reverified);
+        assertFalse(reverified.isExpired());
+        assertSame(reverified, cache(jwtUtil).values().iterator().next());
+    }
+
+    @Test
+    void expiredTokenIsRejectedAndNotCached() {
+        JwtUtil expiring = newJwtUtil(-60L, 2);
+        String token = expiring.generateToken(user("partner@example.org"));
+
+        assertThrows(ExpiredJwtException.class, () -> expiring.verifyToken(token));
+        assertTrue(cache(expiring).isEmpty());
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        JwtUtil other = newJwtUtil(3600L, 2, "another-secret-that-is-hashed-up-to-a-512-bit-signing-key");
+        String token = other.generateToken(user("partner@example.org"));
+
+        assertThrows(JwtException.class, () -> jwtUtil.verifyToken(token));
+        assertTrue(cache(jwtUtil).isEmpty());
+    }
+
+    @Test
+    void cacheIsBoundedToItsConfiguredSize() {
+        for (int i = 0; i < 5; i++) {
+            jwtUtil.verifyToken(jwtUtil.generateToken(user("user" + i + "@example.org")));
+        }
+
+        assertEquals(2, cache(jwtUtil).size());
+    }
+
+    private static JwtUtil newJwtUtil(long expirationSeconds, int cacheSize) {
+        return newJwtUtil(expirationSeconds, cacheSize, "test-secret-that-is-hashed-up-to-a-512-bit-signing-key");
+    }
+
+    private static JwtUtil newJwtUtil(long expirationSeconds, int cacheSize, String secret) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", secret);
+        ReflectionTestUtils.setField(util, "expiration", expirationSeconds);
+        ReflectionTestUtils.setField(util, "claimsCacheSize", cacheSize);
+        util.init();
+        return util;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, JwtUtil.VerifiedClaims> cache(JwtUtil util) {
+        return (Map<String, JwtUtil.VerifiedClaims>) ReflectionTestUtils.getField(util, "claimsCache");
+    }
+
+    private static UserDetails user(String email) {
+        return User.withUsername(email).password("unused").roles("PARTNER").build();
+    }
+}
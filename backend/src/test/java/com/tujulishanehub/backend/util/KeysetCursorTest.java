@@ -0,0 +1,111 @@
+package com.tujulishanehub.backend.util;
+
+import com.tujulishanehub.backend.util.KeysetCursor.SortKey;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeysetCursorTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_000);
+
+    @Test
+    void idCursorRoundTrips() {
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.after(SortKey.ID, true, 42L, CREATED_AT, "Title").encode());
+
+        assertEquals(SortKey.ID, cursor.getKey());
+        assertTrue(cursor.isDescending());
+        assertEquals(42L, cursor.getLastId());
+    }
+
+    @Test
+    void createdAtCursorRoundTrips() {
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.after(SortKey.CREATED_AT, false, 7L, CREATED_AT, null).encode());
+
+        assertEquals(SortKey.CREATED_AT, cursor.getKey());
+        assertEquals(false, cursor.isDescending());
+        assertEquals(7L, cursor.getLastId());
+        assertEquals(CREATED_AT, cursor.getCreatedAt());
+    }
+
+    @Test
+    void titleCursorKeepsColonsAndNonAsciiText() {
+        String title = "Phase 2: Maji Safi \u2013 Kisumu: 50% complete";
+
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.after(SortKey.TITLE, true, 9L, null, title).encode());
+
+        assertEquals(SortKey.TITLE, cursor.getKey());
+        assertEquals(9L, cursor.getLastId());
+        assertEquals(title, cursor.getTitle());
+    }
+
+    @Test
+    void nullTitleBecomesEmpty() {
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.after(SortKey.TITLE, false, 1L, null, null).encode());
+
+        assertEquals("", cursor.getTitle());
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = KeysetCursor.after(SortKey.TITLE, false, Long.MAX_VALUE, null, "??>>~~\u00ff\u00fe").encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void decodeAcceptsSurroundingWhitespace() {
+        String token = KeysetCursor.after(SortKey.ID, false, 5L, null, null).encode();
+
+        assertEquals(5L, KeysetCursor.decode(" " + token + "\n").getLastId());
+    }
+
+    @Test
+    void decodeRejectsMalformedTokens() {
+        for (String token : new String[]{
+            "",
+            "not base64!",
+            raw("ID:A:5"),
+            raw("ID:X:5:"),
+            raw("ID:a:5:"),
+            raw("RANK:A:5:"),
+            raw("id:A:5:"),
+            raw("ID:A:five:"),
+            raw("ID:A::"),
+            raw("CREATED_AT:A:5:yesterday"),
+            raw("CREATED_AT:D:5:"),
+        }) {
+            assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(token), token);
+        }
+    }
+
+    @Test
+    void sortKeyParsesParametersAndAliases() {
+        assertEquals(SortKey.ID, SortKey.fromParam(null));
+        assertEquals(SortKey.ID, SortKey.fromParam(" "));
+        assertEquals(SortKey.ID, SortKey.fromParam("ID"));
+        assertEquals(SortKey.CREATED_AT, SortKey.fromParam("created_at"));
+        assertEquals(SortKey.CREATED_AT, SortKey.fromParam("createdAt"));
+        assertEquals(SortKey.TITLE, SortKey.fromParam(" Title "));
+        assertEquals(SortKey.TITLE, SortKey.fromParam("name"));
+        assertThrows(IllegalArgumentException.class, () -> SortKey.fromParam("budget"));
+    }
+
+    @Test
+    void sortBreaksTiesOnId() {
+        assertEquals(Sort.by(Sort.Direction.DESC, "id"), SortKey.ID.sort(true, "title"));
+        assertEquals(Sort.by(Sort.Direction.ASC, "createdAt", "id"), SortKey.CREATED_AT.sort(false, "title"));
+        assertEquals(Sort.by(Sort.Direction.DESC, "name", "id"), SortKey.TITLE.sort(true, "name"));
+    }
+
+    private static String raw(String cursor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,66 @@
+package com.tujulishanehub.backend.util;
+
+import com.tujulishanehub.backend.util.KeysetCursor.SortKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeysetPageTest {
+
+    private static final Function<Long, KeysetCursor> BY_ID = id -> KeysetCursor.after(SortKey.ID, false, id, null, null);
+
+    @Test
+    void extraRowIsDroppedAndBecomesTheNextCursor() {
+        KeysetPage<Long> page = KeysetPage.of(List.of(1L, 2L, 3L, 4L), 3, BY_ID, null);
+
+        assertEquals(List.of(1L, 2L, 3L), page.getItems());
+        assertTrue(page.hasNext());
+        assertEquals(3L, KeysetCursor.decode(page.getNextCursor()).getLastId());
+    }
+
+    @Test
+    void pageWithoutTheExtraRowIsTheLast() {
+        assertFalse(KeysetPage.of(List.of(1L, 2L, 3L), 3, BY_ID, null).hasNext());
+        assertFalse(KeysetPage.of(List.<Long>of(), 3, BY_ID, null).hasNext());
+    }
+
+    @Test
+    void offsetPageHasNextUnlessShortOrAtTheTotal() {
+        assertTrue(KeysetPage.ofOffset(List.of(1L, 2L, 3L), 0, 3, BY_ID, null).hasNext());
+        assertTrue(KeysetPage.ofOffset(List.of(1L, 2L, 3L), 0, 3, BY_ID, 7L).hasNext());
+        assertFalse(KeysetPage.ofOffset(List.of(7L, 8L, 9L), 2, 3, BY_ID, 9L).hasNext());
+        assertFalse(KeysetPage.ofOffset(List.of(1L, 2L), 0, 3, BY_ID, null).hasNext());
+        assertFalse(KeysetPage.ofOffset(List.<Long>of(), 4, 3, BY_ID, null).hasNext());
+        assertEquals(3L, KeysetCursor.decode(KeysetPage.ofOffset(List.of(1L, 2L, 3L), 0, 3, BY_ID, null)
+            .getNextCursor()).getLastId());
+    }
+
+    @Test
+    void pageDataOfAFirstOffsetPage() {
+        Map<String, Object> data = KeysetPage.ofOffset(List.of(1L, 2L, 3L), 0, 3, BY_ID, 7L).toPageData(0, 3);
+
+        assertEquals(0, data.get("currentPage"));
+        assertEquals(7L, data.get("totalItems"));
+        assertEquals(3L, data.get("totalPages"));
+        assertEquals(true, data.get("hasNext"));
+        assertEquals(false, data.get("hasPrevious"));
+    }
+
+    @Test
+    void pageDataOfALastCursorPageWithoutTotal() {
+        Map<String, Object> data = KeysetPage.of(List.of(4L), 3, BY_ID, null).toPageData(null, 3);
+
+        assertFalse(data.containsKey("currentPage"));
+        assertFalse(data.containsKey("totalItems"));
+        assertEquals(false, data.get("hasNext"));
+        assertEquals(true, data.get("hasPrevious"));
+        assertNull(data.get("nextCursor"));
+    }
+}
@@ -0,0 +1,114 @@
+package com.tujulishanehub.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PolygonIndexTest {
+
+    @Test
+    void pointInsideConcavePolygonIsFoundAndPointInItsNotchIsNot() {
+        PolygonIndex<String> index = new PolygonIndex<>();
+        // An L shape: the square [0,2]x[0,2] without its top-right quarter
+        index.add("L", List.of(polygon(ring(0, 0, 2, 0, 2, 1, 1, 1, 1, 2, 0, 2))));
+
+        assertEquals("L", index.locate(0.5, 0.5));
+        assertEquals("L", index.locate(1.5, 0.5));
+        assertEquals("L", index.locate(0.5, 1.5));
+        // Inside the bounding box but in the notch
+        assertNull(index.locate(1.5, 1.5));
+        assertNull(index.locate(-0.5, 0.5));
+        assertNull(index.locate(0.5, 3));
+    }
+
+    @Test
+    void pointInHoleIsOutsideAndPointInIslandInHoleIsInside() {
+        PolygonIndex<String> index = new PolygonIndex<>();
+        index.add("ring", List.of(polygon(square(0, 0, 10), square(3, 3, 4))));
+        index.add("island", List.of(polygon(square(4, 4, 2))));
+
+        assertEquals("ring", index.locate(1, 1));
+        assertEquals("ring", index.locate(8, 8));
+        // In the hole but not on the island
+        assertNull(index.locate(3.5, 3.5));
+        assertEquals("island", index.locate(5, 5));
+    }
+
+    @Test
+    void multiPolygonMatchesEachPart() {
+        PolygonIndex<String> index = new PolygonIndex<>();
+        index.add("coast", List.of(polygon(square(0, 0, 1)), polygon(square(5, 5, 1))));
+
+        assertEquals("coast", index.locate(0.5, 0.5));
+        assertEquals("coast", index.locate(5.5, 5.5));
+        // Inside the shape's bounding box, between the parts
+        assertNull(index.locate(3, 3));
+    }
+
+    @Test
+    void pointOnSharedEdgeBelongsToExactlyOneNeighbour() {
+        PolygonIndex<String> index = new PolygonIndex<>();
+        index.add("west", List.of(polygon(square(0, 0, 1))));
+        index.add("east", List.of(polygon(square(1, 0, 1))));
+        index.add("north", List.of(polygon(square(0, 1, 1))));
+
+        // Rings are half-open: the low edges belong to the polygon, the high edges to the neighbour
+        assertEquals("east", index.locate(0.5, 1.0));
+        assertEquals("north", index.locate(1.0, 0.5));
+        assertEquals("west", index.locate(0.0, 0.5));
+        assertEquals("west", index.locate(0.5, 0.0));
+        assertNull(index.locate(0.5, 2.0));
+    }
+
+    @Test
+    void everyPointOfATilingIsFoundOnce() {
+        PolygonIndex<Integer> index = new PolygonIndex<>();
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                index.add(i * 4 + j, List.of(polygon(square(j, i, 1))));
+            }
+        }
+        Random random = new Random(7);
+        for (int n = 0; n < 1_000; n++) {
+            double lat = random.nextDouble() * 4;
+            double lng = random.nextDouble() * 4;
+            assertEquals(Integer.valueOf((int) Math.floor(lat) * 4 + (int) Math.floor(lng)), index.locate(lat, lng),
+                "lat " + lat + ", lng " + lng);
+        }
+    }
+
+    @Test
+    void degenerateRingsAreIgnored() {
+        PolygonIndex<String> index = new PolygonIndex<>();
+        index.add("line", List.of(polygon(ring(0, 0, 1, 1))));
+        index.add("empty", List.of(polygon()));
+        index.add("none", new ArrayList<>());
+
+        assertEquals(0, index.size());
+        assertNull(index.locate(0.5, 0.5));
+    }
+
+    private static List<double[][]> polygon(double[][]... rings) {
+        return List.of(rings);
+    }
+
+    /**
+     * Axis-aligned square with its lower-left corner at (x, y) in [lng, lat] ring order
+     */
+    private static double[][] square(double x, double y, double size) {
+        return ring(x, y, x + size, y, x + size, y + size, x, y + size);
+    }
+
+    private static double[][] ring(double... coordinates) {
+        double[][] points = new double[coordinates.length / 2][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new double[]{coordinates[2 * i], coordinates[2 * i + 1]};
+        }
+        return points;
+    }
+}
@@ -0,0 +1,115 @@
+package com.tujulishanehub.backend.util;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query latency of the unified search index at production scale: 10.5k documents in the mix of
+ * projects, past projects, reports and organizations, queried with one- and two-term searches
+ * drawn from a Zipf distribution, counting hits per entity type as the facets do.
+ *
+ * Run with ./gradlew benchmark. The budget is several times the measured p99 (4 to 8 ms on
+ * developer machines), so it only fails on a real regression.
+ */
+@Tag("benchmark")
+class TextSearchIndexBenchmark {
+
+    private static final int[] DOCUMENTS_PER_TYPE = {3000, 2000, 5000, 500};
+    private static final int[] BODY_WORDS_PER_TYPE = {120, 150, 300, 60};
+    private static final int VOCABULARY = 8000;
+    private static final int WARMUP_QUERIES = 1000;
+    private static final int QUERIES = 5000;
+    private static final double P99_BUDGET_MS = 25;
+
+    @Test
+    void zipfQueriesOverTenThousandDocuments(TestReporter reporter) {
+        Random random = new Random(7);
+        String[] vocabulary = vocabulary(random);
+        TextSearchIndex index = new TextSearchIndex(4, 2, 1);
+        int documents = 0;
+        for (int type = 0; type < DOCUMENTS_PER_TYPE.length; type++) {
+            for (int i = 1; i <= DOCUMENTS_PER_TYPE[type]; i++) {
+                // Low two bits carry the entity type, as in SearchIndexService
+                index.put(((long) i << 2) | type, text(random, vocabulary, 6), text(random, vocabulary, 5),
+                    text(random, vocabulary, BODY_WORDS_PER_TYPE[type]));
+                documents++;
+            }
+        }
+
+        for (int q = 0; q < WARMUP_QUERIES; q++) {
+            search(index, query(random, vocabulary));
+        }
+        long[] nanos = new long[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            String query = query(random, vocabulary);
+            long start = System.nanoTime();
+            search(index, query);
+            nanos[q] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        double p50 = nanos[QUERIES / 2] / 1e6;
+        double p99 = nanos[QUERIES * 99 / 100] / 1e6;
+
+        reporter.publishEntry(Map.of(
+            "documents", String.valueOf(documents),
+            "queries", String.valueOf(QUERIES),
+            "p50Ms", String.format("%.3f", p50),
+            "p99Ms", String.format("%.3f", p99),
+            "maxMs", String.format("%.3f", nanos[QUERIES - 1] / 1e6)));
+        assertTrue(p99 < P99_BUDGET_MS, "p99 " + p99 + " ms over the " + P99_BUDGET_MS + " ms budget");
+    }
+
+    /**
+     * Search and count hits per entity type, the work of one unified search request
+     */
+    private static long[] search(TextSearchIndex index, String query) {
+        List<TextSearchIndex.Hit> hits = index.search(query, id -> true);
+        long[] facets = new long[DOCUMENTS_PER_TYPE.length];
+        for (TextSearchIndex.Hit hit : hits) {
+            facets[(int) (hit.getId() & 3)]++;
+        }
+        return facets;
+    }
+
+    private static String[] vocabulary(Random random) {
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < words.length; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 4 + random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+
+    private static String query(Random random, String[] vocabulary) {
+        return random.nextBoolean()
+            ? zipf(random, vocabulary)
+            : zipf(random, vocabulary) + " " + zipf(random, vocabulary);
+    }
+
+    private static String text(Random random, String[] vocabulary, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            text.append(zipf(random, vocabulary)).append(' ');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Word with a roughly Zipf-distributed rank: common words are drawn far more often
+     */
+    private static String zipf(Random random, String[] vocabulary) {
+        return vocabulary[(int) Math.min(vocabulary.length - 1, Math.floor(Math.pow(vocabulary.length, random.nextDouble())))];
+    }
+}
@@ -0,0 +1,148 @@
+package com.tujulishanehub.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextSearchIndexTest {
+
+    @Test
+    void termsAreLowerCasedStemmedAndStripped() {
+        assertEquals(List.of("maternal", "health", "report", "county", "train", "nurse", "class"),
+            TextSearchIndex.terms("The Maternal-Health reports of the counties, training nurses in classes"));
+        assertEquals(List.of("campus", "2024"), TextSearchIndex.terms("campus 2024"));
+        assertTrue(TextSearchIndex.terms(null).isEmpty());
+    }
+
+    @Test
+    void queryMatchesDocumentsContainingEveryTerm() {
+        TextSearchIndex index = newIndex();
+
+        assertEquals(List.of(1L), ids(index.search("malaria nets", null)));
+        assertEquals(List.of(), ids(index.search("malaria vaccine", null)));
+    }
+
+    @Test
+    void queryMatchesAcrossFieldsAndWordForms() {
+        TextSearchIndex index = newIndex();
+
+        // "reported" and "vaccines" stem to the terms of "report" (title) and "vaccine" (content)
+        assertEquals(List.of(3L), ids(index.search("Reported VACCINES", null)));
+    }
+
+    @Test
+    void minusPrefixExcludesDocuments() {
+        TextSearchIndex index = newIndex();
+
+        assertEquals(2, index.search("malaria", null).size());
+        assertEquals(List.of(2L), ids(index.search("malaria -nets", null)));
+        assertEquals(List.of(), ids(index.search("-malaria", null)));
+    }
+
+    @Test
+    void titleMatchesRankAboveContentMatches() {
+        TextSearchIndex index = new TextSearchIndex(3, 1);
+        index.put(1, "Annual update", "Progress on water and sanitation across the county");
+        index.put(2, "Water sanitation report", "Annual progress across the county");
+        index.put(3, "Nutrition report", "School feeding programmes");
+
+        List<TextSearchIndex.Hit> hits = index.search("water", null);
+
+        assertEquals(List.of(2L, 1L), ids(hits));
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    @Test
+    void rarerTermsWeighMore() {
+        TextSearchIndex index = new TextSearchIndex(1);
+        index.put(1, "health clinic");
+        index.put(2, "health outreach");
+        index.put(3, "health survey");
+        index.put(4, "health clinic outreach");
+
+        List<TextSearchIndex.Hit> hits = index.search("health", null);
+
+        // Every document matches the common term with the same frequency; shorter documents win
+        assertEquals(4, hits.size());
+        assertEquals(4L, hits.get(3).getId());
+        assertTrue(index.search("clinic", null).get(0).getScore() > hits.get(0).getScore());
+    }
+
+    @Test
+    void equalScoresAreOrderedNewestFirst() {
+        TextSearchIndex index = new TextSearchIndex(1);
+        index.put(5, "borehole");
+        index.put(9, "borehole");
+        index.put(7, "borehole");
+
+        assertEquals(List.of(9L, 7L, 5L), ids(index.search("borehole", null)));
+    }
+
+    @Test
+    void filterIsAppliedToMatches() {
+        TextSearchIndex index = newIndex();
+
+        assertEquals(List.of(1L), ids(index.search("malaria", id -> id != 2)));
+    }
+
+    @Test
+    void putReplacesAndRemoveDropsADocument() {
+        TextSearchIndex index = newIndex();
+
+        index.put(1, "Borehole drilling", "Water for schools");
+        index.remove(2);
+        index.remove(42);
+
+        assertEquals(List.of(), ids(index.search("malaria", null)));
+        assertEquals(List.of(1L), ids(index.search("borehole", null)));
+        assertEquals(2, index.size());
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertEquals(List.of(), ids(index.search("borehole", null)));
+    }
+
+    @Test
+    void blankOrStopWordQueriesMatchNothing() {
+        TextSearchIndex index = newIndex();
+
+        assertTrue(index.search(null, null).isEmpty());
+        assertTrue(index.search("   ", null).isEmpty());
+        assertTrue(index.search("the and of", null).isEmpty());
+    }
+
+    @Test
+    void snippetMarksMatchesAroundTheDensestWindow() {
+        String text = "Intro words that say nothing at all here. Then the malaria nets were handed out, "
+            + "and malaria cases fell. Closing remarks follow.";
+
+        String snippet = TextSearchIndex.snippet(text, "malaria nets", 8);
+
+        assertEquals("\u2026 the <mark>malaria</mark> <mark>nets</mark> were handed out, and <mark>malaria</mark> \u2026",
+            snippet);
+    }
+
+    @Test
+    void snippetEscapesHtml() {
+        String snippet = TextSearchIndex.snippet("Clean <b>Water</b> & \"sanitation\" for 'all'", "water", 10);
+
+        assertEquals("Clean &lt;b&gt;<mark>Water</mark>&lt;/b&gt; &amp; &quot;sanitation&quot; for &#39;all", snippet);
+        assertEquals("", TextSearchIndex.snippet("  ", "water", 10));
+        assertEquals("", TextSearchIndex.snippet(null, "water", 10));
+    }
+
+    private static TextSearchIndex newIndex() {
+        TextSearchIndex index = new TextSearchIndex(3, 1);
+        index.put(1, "Malaria prevention", "Distributing bed nets to households in Kisumu");
+        index.put(2, "Malaria treatment", "Training community health workers on testing");
+        index.put(3, "Immunisation report", "Vaccine coverage for children under five");
+        return index;
+    }
+
+    private static List<Long> ids(List<TextSearchIndex.Hit> hits) {
+        return hits.stream().map(TextSearchIndex.Hit::getId).toList();
+    }
+}
@@ -0,0 +1,89 @@
+package com.tujulishanehub.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketRateLimiterTest {
+
+    @Test
+    void burstIsGrantedWithoutWaiting() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 5);
+
+        long elapsed = timeMillis(() -> acquire(limiter, 5));
+
+        assertTrue(elapsed < 500, "burst took " + elapsed + " ms");
+    }
+
+    @Test
+    void permitsBeyondBurstArriveAtTheConfiguredRate() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(20, 1);
+
+        // One permit from the bucket, then 10 more at 50 ms apart
+        long elapsed = timeMillis(() -> acquire(limiter, 11));
+
+        assertTrue(elapsed >= 450, "11 permits at 20/s took only " + elapsed + " ms");
+        assertTrue(elapsed < 5_000, "11 permits at 20/s took " + elapsed + " ms");
+    }
+
+    @Test
+    void concurrentCallersShareTheRate() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(20, 2);
+
+        long elapsed = timeMillis(() -> {
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                threads.add(Thread.ofVirtual().start(() -> {
+                    try {
+                        acquire(limiter, 3);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        });
+
+        // 12 permits, 2 from the bucket and 10 at 50 ms apart
+        assertTrue(elapsed >= 450, "12 permits at 20/s across 4 threads took only " + elapsed + " ms");
+    }
+
+    @Test
+    void zeroBurstStillAllowsOnePermit() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(0.1, 0);
+
+        long elapsed = timeMillis(() -> acquire(limiter, 1));
+
+        assertTrue(elapsed < 500, "first permit took " + elapsed + " ms");
+    }
+
+    @Test
+    void rejectsNonPositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(-1, 1));
+    }
+
+    private static void acquire(TokenBucketRateLimiter limiter, int permits) throws InterruptedException {
+        for (int i = 0; i < permits; i++) {
+            limiter.acquire();
+        }
+    }
+
+    private static long timeMillis(Action action) throws InterruptedException {
+        long start = System.nanoTime();
+        action.run();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run() throws InterruptedException;
+    }
+}